@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.benchmarks;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.DatanodeID;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.GetCommittedBlockLengthResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.PutBlockResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
+import org.apache.hadoop.hdds.scm.StreamBufferArgs;
+import org.apache.hadoop.hdds.scm.XceiverClientFactory;
+import org.apache.hadoop.hdds.scm.XceiverClientReply;
+import org.apache.hadoop.hdds.scm.XceiverClientSpi;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.storage.BlockOutputStream;
+import org.apache.hadoop.hdds.scm.storage.BufferPool;
+import org.apache.hadoop.hdds.scm.storage.RatisBlockOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark writing a block with {@link BlockOutputStream}.
+ * The datanode is replaced by a stub {@link XceiverClientSpi} which replies immediately,
+ * so that the benchmark measures the client side only:
+ * buffering, checksum computation and building the requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BlockOutputStreamBenchmark {
+  private static final int BUFFER_SIZE = 4 << 20;
+  private static final int BUFFER_CAPACITY = 8;
+
+  @Param({"16777216"})
+  private int blockSize;
+
+  @Param({"4096", "1048576"})
+  private int writeSize;
+
+  @Param({"NONE", "CRC32C"})
+  private ChecksumType checksumType;
+
+  private final AtomicLong localId = new AtomicLong();
+  private byte[] data;
+  private Pipeline pipeline;
+  private XceiverClientFactory clientFactory;
+  private OzoneClientConfig config;
+  private StreamBufferArgs streamBufferArgs;
+  private BufferPool bufferPool;
+  private ContainerClientMetrics metrics;
+  private ExecutorService executor;
+
+  @Setup
+  public void setup() {
+    data = new byte[blockSize];
+    ThreadLocalRandom.current().nextBytes(data);
+
+    final DatanodeDetails datanode = DatanodeDetails.newBuilder()
+        .setID(DatanodeID.randomID())
+        .setHostName("localhost")
+        .setIpAddress("127.0.0.1")
+        .build();
+    pipeline = Pipeline.newBuilder()
+        .setState(Pipeline.PipelineState.OPEN)
+        .setId(PipelineID.randomId())
+        .setReplicationConfig(RatisReplicationConfig.getInstance(ReplicationFactor.ONE))
+        .setNodes(Collections.singletonList(datanode))
+        .setLeaderId(datanode.getID())
+        .build();
+    clientFactory = new StubXceiverClientFactory(new StubXceiverClient(pipeline));
+
+    config = new OzoneClientConfig();
+    config.setStreamBufferSize(BUFFER_SIZE);
+    config.setStreamBufferFlushSize(4L * BUFFER_SIZE);
+    config.setStreamBufferMaxSize((long) BUFFER_CAPACITY * BUFFER_SIZE);
+    config.setChecksumType(checksumType);
+    config.setBytesPerChecksum(16 << 10);
+    streamBufferArgs = StreamBufferArgs.getDefaultStreamBufferArgs(pipeline.getReplicationConfig(), config);
+
+    bufferPool = new BufferPool(BUFFER_SIZE, BUFFER_CAPACITY);
+    metrics = ContainerClientMetrics.acquire();
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+    bufferPool.clearBufferPool();
+    ContainerClientMetrics.release();
+  }
+
+  @Benchmark
+  public long writeBlock() throws IOException {
+    final BlockID blockID = new BlockID(1, localId.incrementAndGet());
+    try (BlockOutputStream out = new RatisBlockOutputStream(blockID, blockSize, clientFactory, pipeline,
+        bufferPool, config, null, metrics, streamBufferArgs, () -> executor)) {
+      for (int offset = 0; offset < blockSize; offset += writeSize) {
+        out.write(data, offset, Math.min(writeSize, blockSize - offset));
+      }
+      return out.getTotalAckDataLength();
+    }
+  }
+
+  /** Always return the same client. */
+  private static final class StubXceiverClientFactory implements XceiverClientFactory {
+    private final XceiverClientSpi client;
+
+    private StubXceiverClientFactory(XceiverClientSpi client) {
+      this.client = client;
+    }
+
+    @Override
+    public XceiverClientSpi acquireClient(Pipeline p) {
+      return client;
+    }
+
+    @Override
+    public XceiverClientSpi acquireClient(Pipeline p, boolean topologyAware) {
+      return client;
+    }
+
+    @Override
+    public XceiverClientSpi acquireClientForReadData(Pipeline p) {
+      return client;
+    }
+
+    @Override
+    public void releaseClient(XceiverClientSpi c, boolean invalidateClient) {
+    }
+
+    @Override
+    public void releaseClient(XceiverClientSpi c, boolean invalidateClient, boolean topologyAware) {
+    }
+
+    @Override
+    public void releaseClientForReadData(XceiverClientSpi c, boolean invalidateClient) {
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  /** Reply success to all the requests without processing the data. */
+  private static final class StubXceiverClient extends XceiverClientSpi {
+    private final Pipeline pipeline;
+    private final AtomicLong logIndex = new AtomicLong();
+
+    private StubXceiverClient(Pipeline pipeline) {
+      this.pipeline = pipeline;
+    }
+
+    @Override
+    public void connect() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public Pipeline getPipeline() {
+      return pipeline;
+    }
+
+    @Override
+    public XceiverClientReply sendCommandAsync(ContainerCommandRequestProto request) {
+      final ContainerCommandResponseProto.Builder response = ContainerCommandResponseProto.newBuilder()
+          .setCmdType(request.getCmdType())
+          .setResult(Result.SUCCESS);
+      if (request.hasPutBlock()) {
+        response.setPutBlock(PutBlockResponseProto.newBuilder()
+            .setCommittedBlockLength(GetCommittedBlockLengthResponseProto.newBuilder()
+                .setBlockID(request.getPutBlock().getBlockData().getBlockID())
+                .setBlockLength(request.getPutBlock().getBlockData().getSize())));
+      }
+      final XceiverClientReply reply = new XceiverClientReply(CompletableFuture.completedFuture(response.build()));
+      reply.setLogIndex(logIndex.incrementAndGet());
+      return reply;
+    }
+
+    @Override
+    public CompletableFuture<XceiverClientReply> watchForCommit(long index) {
+      final XceiverClientReply reply = new XceiverClientReply(CompletableFuture.completedFuture(null));
+      reply.setLogIndex(index);
+      return CompletableFuture.completedFuture(reply);
+    }
+
+    @Override
+    public ReplicationType getPipelineType() {
+      return ReplicationType.RATIS;
+    }
+
+    @Override
+    public long getReplicatedMinCommitIndex() {
+      return logIndex.get();
+    }
+
+    @Override
+    public Map<DatanodeDetails, ContainerCommandResponseProto> sendCommandOnAllNodes(
+        ContainerCommandRequestProto request) {
+      return Collections.emptyMap();
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.scm.ByteStringConversion;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark slicing a {@link ChunkBuffer} as the client does
+ * for computing the checksums and for sending a chunk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ChunkBufferBenchmark {
+  @Param({"4194304"})
+  private int chunkSize;
+
+  /** 0 for a single buffer; otherwise, the size of each buffer in an incremental buffer. */
+  @Param({"0", "262144"})
+  private int increment;
+
+  @Param({"16384", "1048576"})
+  private int sliceSize;
+
+  private ChunkBuffer buffer;
+
+  @Setup
+  public void setup() {
+    final byte[] bytes = new byte[chunkSize];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    buffer = ChunkBuffer.allocate(chunkSize, increment);
+    buffer.put(bytes);
+  }
+
+  @TearDown
+  public void tearDown() {
+    buffer.close();
+  }
+
+  @Benchmark
+  public void duplicate(Blackhole blackhole) {
+    for (int position = 0; position < chunkSize; position += sliceSize) {
+      blackhole.consume(buffer.duplicate(position, Math.min(position + sliceSize, chunkSize)));
+    }
+  }
+
+  @Benchmark
+  public void iterate(Blackhole blackhole) {
+    for (ByteBuffer slice : buffer.duplicate(0, chunkSize).iterate(sliceSize)) {
+      blackhole.consume(slice);
+    }
+  }
+
+  @Benchmark
+  public List<ByteString> toByteStringList() {
+    return buffer.duplicate(0, chunkSize).toByteStringList(ByteStringConversion::safeWrap);
+  }
+}
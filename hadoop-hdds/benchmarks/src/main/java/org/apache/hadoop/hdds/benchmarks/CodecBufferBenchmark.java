@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
+import org.apache.hadoop.hdds.utils.db.CodecException;
+import org.apache.hadoop.hdds.utils.db.LongCodec;
+import org.apache.hadoop.hdds.utils.db.Proto3Codec;
+import org.apache.hadoop.hdds.utils.db.StringCodec;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark encoding and decoding the RocksDB keys and values with {@link CodecBuffer}s,
+ * compared to the byte[] methods of the {@link Codec}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CodecBufferBenchmark {
+  /** The types of the objects to encode. */
+  public enum Type {
+    LONG, STRING, BLOCK_DATA
+  }
+
+  @Param({"LONG", "STRING", "BLOCK_DATA"})
+  private Type type;
+
+  private Codec<Object> codec;
+  private Object object;
+  private CodecBuffer encoded;
+  private byte[] persisted;
+
+  @SuppressWarnings("unchecked")
+  @Setup
+  public void setup() throws CodecException {
+    switch (type) {
+    case LONG:
+      codec = (Codec<Object>) (Codec<?>) LongCodec.get();
+      object = ThreadLocalRandom.current().nextLong();
+      break;
+    case STRING:
+      codec = (Codec<Object>) (Codec<?>) StringCodec.get();
+      object = "/volume/bucket/dir/subdir/key-" + ThreadLocalRandom.current().nextLong();
+      break;
+    case BLOCK_DATA:
+      codec = (Codec<Object>) (Codec<?>) Proto3Codec.get(ContainerProtos.BlockData.getDefaultInstance());
+      object = newBlockData();
+      break;
+    default:
+      throw new IllegalArgumentException("Unexpected type " + type);
+    }
+    encoded = codec.toDirectCodecBuffer(object);
+    persisted = codec.toPersistedFormat(object);
+  }
+
+  @TearDown
+  public void tearDown() {
+    encoded.release();
+  }
+
+  /** @return a block of 4 chunks, each of which has 4MB data with a CRC32 per 16KB. */
+  private static ContainerProtos.BlockData newBlockData() {
+    final ContainerProtos.BlockData.Builder block = ContainerProtos.BlockData.newBuilder()
+        .setBlockID(ContainerProtos.DatanodeBlockID.newBuilder()
+            .setContainerID(1)
+            .setLocalID(ThreadLocalRandom.current().nextLong())
+            .setBlockCommitSequenceId(1));
+    final int chunkSize = 4 << 20;
+    final int bytesPerChecksum = 16 << 10;
+    for (int i = 0; i < 4; i++) {
+      final ContainerProtos.ChecksumData.Builder checksums = ContainerProtos.ChecksumData.newBuilder()
+          .setType(ChecksumType.CRC32)
+          .setBytesPerChecksum(bytesPerChecksum);
+      for (int j = 0; j < chunkSize / bytesPerChecksum; j++) {
+        final byte[] checksum = new byte[4];
+        ThreadLocalRandom.current().nextBytes(checksum);
+        checksums.addChecksums(ByteString.copyFrom(checksum));
+      }
+      block.addChunks(ContainerProtos.ChunkInfo.newBuilder()
+          .setChunkName(block.getBlockID().getLocalID() + "_chunk_" + i)
+          .setOffset((long) i * chunkSize)
+          .setLen(chunkSize)
+          .setChecksumData(checksums));
+    }
+    return block.setSize(4L * chunkSize).build();
+  }
+
+  @Benchmark
+  public int encodeCodecBuffer() throws CodecException {
+    try (CodecBuffer buffer = codec.toDirectCodecBuffer(object)) {
+      return buffer.readableBytes();
+    }
+  }
+
+  @Benchmark
+  public Object decodeCodecBuffer() throws CodecException {
+    return codec.fromCodecBuffer(encoded);
+  }
+
+  @Benchmark
+  public byte[] encodeByteArray() throws CodecException {
+    return codec.toPersistedFormat(object);
+  }
+
+  @Benchmark
+  public Object decodeByteArray() throws CodecException {
+    return codec.fromPersistedFormat(persisted);
+  }
+}
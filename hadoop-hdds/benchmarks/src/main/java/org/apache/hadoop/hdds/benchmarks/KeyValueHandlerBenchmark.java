@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.benchmarks;
+
+import static org.apache.hadoop.hdds.HddsConfigKeys.OZONE_METADATA_DIRS;
+import static org.apache.hadoop.hdds.scm.ScmConfigKeys.HDDS_DATANODE_DIR_KEY;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.hadoop.ozone.common.OzoneChecksumException;
+import org.apache.hadoop.ozone.container.checksum.ContainerChecksumTreeManager;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
+import org.apache.hadoop.ozone.container.common.volume.StorageVolume;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueHandler;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark dispatching the block and chunk requests by {@link KeyValueHandler}
+ * to a container on a local volume.
+ * The chunk is overwritten by each WriteChunk so that the disk usage is bounded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class KeyValueHandlerBenchmark {
+  private static final long CONTAINER_ID = 1;
+  private static final long LOCAL_ID = 1;
+
+  @Param({"4096", "1048576"})
+  private int chunkSize;
+
+  private File dir;
+  private MutableVolumeSet volumeSet;
+  private KeyValueHandler handler;
+  private Container<?> container;
+
+  private ContainerCommandRequestProto writeChunk;
+  private ContainerCommandRequestProto readChunk;
+  private ContainerCommandRequestProto putBlock;
+  private ContainerCommandRequestProto getBlock;
+
+  @Setup
+  public void setup() throws IOException {
+    dir = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+    final OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(HDDS_DATANODE_DIR_KEY, new File(dir, "data").getAbsolutePath());
+    conf.set(OZONE_METADATA_DIRS, new File(dir, "metadata").getAbsolutePath());
+
+    final String datanodeId = UUID.randomUUID().toString();
+    final String clusterId = UUID.randomUUID().toString();
+    volumeSet = new MutableVolumeSet(datanodeId, clusterId, conf, null, StorageVolume.VolumeType.DATA_VOLUME, null);
+    for (HddsVolume volume : StorageVolumeUtil.getHddsVolumesList(volumeSet.getVolumesList())) {
+      volume.format(clusterId);
+      volume.createWorkingDir(clusterId, null);
+      volume.createTmpDirs(clusterId);
+    }
+
+    final ContainerSet containerSet = ContainerSet.newReadOnlyContainerSet(1000);
+    handler = new KeyValueHandler(conf, datanodeId, containerSet, volumeSet, ContainerMetrics.create(conf),
+        c -> { }, new ContainerChecksumTreeManager(conf));
+    handler.setClusterID(clusterId);
+
+    dispatch(ContainerCommandRequestProto.newBuilder()
+        .setCmdType(Type.CreateContainer)
+        .setContainerID(CONTAINER_ID)
+        .setDatanodeUuid(datanodeId)
+        .setCreateContainer(ContainerProtos.CreateContainerRequestProto.getDefaultInstance())
+        .build());
+    container = containerSet.getContainer(CONTAINER_ID);
+
+    buildRequests(datanodeId);
+    dispatch(writeChunk);
+    dispatch(putBlock);
+  }
+
+  private void buildRequests(String datanodeId) throws OzoneChecksumException {
+    final byte[] data = new byte[chunkSize];
+    ThreadLocalRandom.current().nextBytes(data);
+    final ContainerProtos.DatanodeBlockID blockID = ContainerProtos.DatanodeBlockID.newBuilder()
+        .setContainerID(CONTAINER_ID)
+        .setLocalID(LOCAL_ID)
+        .build();
+    final ContainerProtos.ChunkInfo chunk = ContainerProtos.ChunkInfo.newBuilder()
+        .setChunkName(LOCAL_ID + "_chunk_0")
+        .setOffset(0)
+        .setLen(chunkSize)
+        .setChecksumData(new Checksum(ChecksumType.CRC32, 16 << 10)
+            .computeChecksum(ByteBuffer.wrap(data)).getProtoBufMessage())
+        .build();
+
+    writeChunk = newRequest(Type.WriteChunk, datanodeId)
+        .setWriteChunk(ContainerProtos.WriteChunkRequestProto.newBuilder()
+            .setBlockID(blockID)
+            .setChunkData(chunk)
+            .setData(ByteString.copyFrom(data)))
+        .build();
+    readChunk = newRequest(Type.ReadChunk, datanodeId)
+        .setReadChunk(ContainerProtos.ReadChunkRequestProto.newBuilder()
+            .setBlockID(blockID)
+            .setChunkData(chunk)
+            .setReadChunkVersion(ContainerProtos.ReadChunkVersion.V1))
+        .build();
+    putBlock = newRequest(Type.PutBlock, datanodeId)
+        .setPutBlock(ContainerProtos.PutBlockRequestProto.newBuilder()
+            .setBlockData(ContainerProtos.BlockData.newBuilder()
+                .setBlockID(blockID)
+                .addChunks(chunk)
+                .setSize(chunkSize)))
+        .build();
+    getBlock = newRequest(Type.GetBlock, datanodeId)
+        .setGetBlock(ContainerProtos.GetBlockRequestProto.newBuilder()
+            .setBlockID(blockID))
+        .build();
+  }
+
+  private static ContainerCommandRequestProto.Builder newRequest(Type type, String datanodeId) {
+    return ContainerCommandRequestProto.newBuilder()
+        .setCmdType(type)
+        .setContainerID(CONTAINER_ID)
+        .setDatanodeUuid(datanodeId);
+  }
+
+  private ContainerCommandResponseProto dispatch(ContainerCommandRequestProto request) {
+    final ContainerCommandResponseProto response = handler.handle(request, container, null);
+    if (response.getResult() != Result.SUCCESS) {
+      throw new IllegalStateException("Failed " + request.getCmdType() + ": " + response);
+    }
+    return response;
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    handler.stop();
+    volumeSet.shutdown();
+    FileUtils.deleteDirectory(dir);
+  }
+
+  @Benchmark
+  public ContainerCommandResponseProto writeChunk() {
+    return dispatch(writeChunk);
+  }
+
+  @Benchmark
+  public ContainerCommandResponseProto readChunk() {
+    return dispatch(readChunk);
+  }
+
+  @Benchmark
+  public ContainerCommandResponseProto putBlock() {
+    return dispatch(putBlock);
+  }
+
+  @Benchmark
+  public ContainerCommandResponseProto getBlock() {
+    return dispatch(getBlock);
+  }
+}
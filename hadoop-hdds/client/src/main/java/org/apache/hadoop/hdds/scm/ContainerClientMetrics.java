@@ -66,6 +66,15 @@ public final class ContainerClientMetrics {
   @Metric
   private MutableCounterLong flushesDuringWrite;
 
+  @Metric(about = "Number of chunks prefetched ahead of the readers")
+  private MutableCounterLong readAheadChunks;
+  @Metric(about = "Number of bytes prefetched ahead of the readers")
+  private MutableCounterLong readAheadBytes;
+  @Metric(about = "Number of prefetched chunks later read")
+  private MutableCounterLong readAheadHits;
+  @Metric(about = "Number of prefetched chunks dropped without being read")
+  private MutableCounterLong readAheadWastes;
+
   private MutableQuantiles[] listBlockLatency;
   private MutableQuantiles[] getBlockLatency;
   private MutableQuantiles[] getCommittedBlockLengthLatency;
@@ -255,6 +264,19 @@ public void addDataNodeHsyncLatency(long hsyncLatencyTime) {
     }
   }
 
+  public void recordReadAhead(long bytes) {
+    readAheadChunks.incr();
+    readAheadBytes.incr(bytes);
+  }
+
+  public void incrReadAheadHits() {
+    readAheadHits.incr();
+  }
+
+  public void incrReadAheadWastes() {
+    readAheadWastes.incr();
+  }
+
   @VisibleForTesting
   public MutableCounterLong getTotalWriteChunkBytes() {
     return totalWriteChunkBytes;
@@ -299,4 +321,20 @@ public MutableCounterLong getWriteChunksDuringWrite() {
   public MutableCounterLong getFlushesDuringWrite() {
     return flushesDuringWrite;
   }
+
+  public MutableCounterLong getReadAheadChunks() {
+    return readAheadChunks;
+  }
+
+  public MutableCounterLong getReadAheadBytes() {
+    return readAheadBytes;
+  }
+
+  public MutableCounterLong getReadAheadHits() {
+    return readAheadHits;
+  }
+
+  public MutableCounterLong getReadAheadWastes() {
+    return readAheadWastes;
+  }
 }
@@ -203,6 +203,31 @@ public class OzoneClientConfig {
   // 3 concurrent stripe read should be enough.
   private int ecReconstructStripeReadPoolLimit = 10 * 3;
 
+  @Config(key = "ozone.client.read.ahead.max.chunks",
+      defaultValue = "0",
+      description = "The maximum number of chunks prefetched ahead of a key being read sequentially. "
+          + "The number of prefetched chunks starts from one once the reads are detected to be sequential, "
+          + "doubles with each following sequential read up to this maximum, "
+          + "and is reset by a non-sequential read. "
+          + "Set it to 0 to disable prefetching.",
+      tags = ConfigTag.CLIENT)
+  private int readAheadMaxChunks = 0;
+
+  @Config(key = "ozone.client.read.ahead.pool.limit",
+      defaultValue = "16",
+      description = "Thread pool max size for prefetching chunks, shared by all the keys read by the client. "
+          + "Chunks are not prefetched when all the threads are busy.",
+      tags = ConfigTag.CLIENT)
+  private int readAheadPoolLimit = 16;
+
+  @Config(key = "ozone.client.read.vectored.pool.limit",
+      defaultValue = "16",
+      description = "Thread pool max size for reading the blocks of a vectored read in parallel, "
+          + "shared by all the keys read by the client. "
+          + "When all the threads are busy, the blocks are read by the caller.",
+      tags = ConfigTag.CLIENT)
+  private int vectoredReadPoolLimit = 16;
+
   @Config(key = "ozone.client.ec.reconstruct.stripe.write.pool.limit",
       defaultValue = "30",
       description = "Thread pool max size for parallel write" +
@@ -210,6 +235,23 @@ public class OzoneClientConfig {
       tags = ConfigTag.CLIENT)
   private int ecReconstructStripeWritePoolLimit = 10 * 3;
 
+  @Config(key = "ozone.client.ec.reconstruct.block.group.pool.limit",
+      defaultValue = "4",
+      description = "Thread pool max size for reconstructing the block groups"
+          + " of a container in parallel."
+          + " Set it to 1 to reconstruct the block groups one after another.",
+      tags = ConfigTag.CLIENT)
+  private int ecReconstructBlockGroupPoolLimit = 4;
+
+  @Config(key = "ozone.client.ec.reconstruct.buffer.limit",
+      defaultValue = "256MB",
+      type = ConfigType.SIZE,
+      description = "The maximum total size of the stripe buffers of the block groups"
+          + " being reconstructed in parallel, shared by all the containers being reconstructed."
+          + " A block group is not started until enough of the limit is released by the others.",
+      tags = ConfigTag.CLIENT)
+  private long ecReconstructBufferLimit = 256 * 1024 * 1024;
+
   @Config(key = "ozone.client.checksum.combine.mode",
       defaultValue = "COMPOSITE_CRC",
       description = "The combined checksum type [MD5MD5CRC / COMPOSITE_CRC] "
@@ -274,11 +316,29 @@ public class OzoneClientConfig {
       tags = ConfigTag.CLIENT)
   private int maxConcurrentWritePerKey = 1;
 
+  @Config(key = "ozone.client.stream.readblock.enable",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      description = "Read blocks using the streaming ReadBlock command instead of a ReadChunk command per chunk. "
+          + "The datanode reads the chunks ahead and streams them to the client. "
+          + "If the datanode does not support ReadBlock, the client falls back to ReadChunk.",
+      tags = ConfigTag.CLIENT)
+  private boolean streamReadBlock = false;
+
+  @Config(key = "ozone.client.stream.readblock.readahead",
+      defaultValue = "16MB",
+      type = ConfigType.SIZE,
+      description = "The number of bytes requested by each streaming ReadBlock command. "
+          + "The next range is requested once the reader has consumed half of the current range.",
+      tags = ConfigTag.CLIENT)
+  private long streamReadBlockReadAhead = 16 * 1024 * 1024;
+
   @PostConstruct
   public void validate() {
     Preconditions.checkState(streamBufferSize > 0);
     Preconditions.checkState(streamBufferFlushSize > 0);
     Preconditions.checkState(streamBufferMaxSize > 0);
+    Preconditions.checkState(streamReadBlockReadAhead > 0);
 
     Preconditions.checkArgument(bufferIncrement < streamBufferSize,
         "Buffer increment should be smaller than the size of the stream "
@@ -480,6 +540,30 @@ public int getEcReconstructStripeReadPoolLimit() {
     return ecReconstructStripeReadPoolLimit;
   }
 
+  public int getReadAheadMaxChunks() {
+    return readAheadMaxChunks;
+  }
+
+  public void setReadAheadMaxChunks(int readAheadMaxChunks) {
+    this.readAheadMaxChunks = readAheadMaxChunks;
+  }
+
+  public int getReadAheadPoolLimit() {
+    return readAheadPoolLimit;
+  }
+
+  public void setReadAheadPoolLimit(int readAheadPoolLimit) {
+    this.readAheadPoolLimit = readAheadPoolLimit;
+  }
+
+  public int getVectoredReadPoolLimit() {
+    return vectoredReadPoolLimit;
+  }
+
+  public void setVectoredReadPoolLimit(int vectoredReadPoolLimit) {
+    this.vectoredReadPoolLimit = vectoredReadPoolLimit;
+  }
+
   public void setEcReconstructStripeWritePoolLimit(int poolLimit) {
     this.ecReconstructStripeWritePoolLimit = poolLimit;
   }
@@ -488,6 +572,22 @@ public int getEcReconstructStripeWritePoolLimit() {
     return ecReconstructStripeWritePoolLimit;
   }
 
+  public int getEcReconstructBlockGroupPoolLimit() {
+    return ecReconstructBlockGroupPoolLimit;
+  }
+
+  public void setEcReconstructBlockGroupPoolLimit(int poolLimit) {
+    this.ecReconstructBlockGroupPoolLimit = poolLimit;
+  }
+
+  public long getEcReconstructBufferLimit() {
+    return ecReconstructBufferLimit;
+  }
+
+  public void setEcReconstructBufferLimit(long bufferLimit) {
+    this.ecReconstructBufferLimit = bufferLimit;
+  }
+
   public void setFsDefaultBucketLayout(String bucketLayout) {
     if (!bucketLayout.isEmpty()) {
       this.fsDefaultBucketLayout = bucketLayout;
@@ -538,6 +638,22 @@ public int getMaxConcurrentWritePerKey() {
     return this.maxConcurrentWritePerKey;
   }
 
+  public boolean isStreamReadBlock() {
+    return streamReadBlock;
+  }
+
+  public void setStreamReadBlock(boolean streamReadBlock) {
+    this.streamReadBlock = streamReadBlock;
+  }
+
+  public long getStreamReadBlockReadAhead() {
+    return streamReadBlockReadAhead;
+  }
+
+  public void setStreamReadBlockReadAhead(long streamReadBlockReadAhead) {
+    this.streamReadBlockReadAhead = streamReadBlockReadAhead;
+  }
+
   /**
    * Enum for indicating what mode to use when combining chunk and block
    * checksums to define an aggregate FileChecksum. This should be considered
@@ -623,6 +623,45 @@ private void decreasePendingMetricsAndReleaseSemaphore() {
     return new XceiverClientReply(replyFuture);
   }
 
+  @Override
+  public void streamRead(ContainerCommandRequestProto request, DatanodeDetails dn,
+      StreamObserver<ContainerCommandResponseProto> responseObserver) throws IOException {
+    Preconditions.checkArgument(HddsUtils.isReadOnly(request), "Not a read command: %s", request.getCmdType());
+    checkOpen(dn);
+    LOG.debug("Send streaming command {} to datanode {}", request.getCmdType(), dn);
+    metrics.incrPendingContainerOpsMetrics(request.getCmdType());
+    final long requestTime = Time.monotonicNow();
+
+    final StreamObserver<ContainerCommandRequestProto> requestObserver =
+        asyncStubs.get(dn.getID()).withDeadlineAfter(timeout, TimeUnit.SECONDS)
+            .send(new StreamObserver<ContainerCommandResponseProto>() {
+              @Override
+              public void onNext(ContainerCommandResponseProto value) {
+                responseObserver.onNext(value);
+              }
+
+              @Override
+              public void onError(Throwable t) {
+                onStreamEnd();
+                responseObserver.onError(t);
+              }
+
+              @Override
+              public void onCompleted() {
+                onStreamEnd();
+                responseObserver.onCompleted();
+              }
+
+              private void onStreamEnd() {
+                metrics.decrPendingContainerOpsMetrics(request.getCmdType());
+                metrics.addContainerOpsLatency(request.getCmdType(), Time.monotonicNow() - requestTime);
+              }
+            });
+    requestObserver.onNext(request.hasVersion() ? request
+        : request.toBuilder().setVersion(ClientVersion.CURRENT.toProtoValue()).build());
+    requestObserver.onCompleted();
+  }
+
   private synchronized void checkOpen(DatanodeDetails dn)
       throws IOException {
     if (closed) {
@@ -22,6 +22,7 @@
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -72,9 +73,11 @@ public class BlockInputStream extends BlockExtendedInputStream {
   private final AtomicReference<Token<OzoneBlockTokenIdentifier>> tokenRef =
       new AtomicReference<>();
   private final boolean verifyChecksum;
+  private final boolean streamReadBlock;
+  private final long streamReadBlockReadAhead;
   private XceiverClientFactory xceiverClientFactory;
   private XceiverClientSpi xceiverClient;
-  private boolean initialized = false;
+  private volatile boolean initialized = false;
   // TODO: do we need to change retrypolicy based on exception.
   private final RetryPolicy retryPolicy;
 
@@ -113,6 +116,9 @@ public class BlockInputStream extends BlockExtendedInputStream {
 
   private BlockData blockData;
 
+  /** Read the chunks using streaming ReadBlock commands; null if it is disabled. */
+  private StreamingBlockReader streamingReader;
+
   public BlockInputStream(
       BlockLocationInfo blockInfo,
       Pipeline pipeline,
@@ -126,6 +132,8 @@ public BlockInputStream(
     setPipeline(pipeline);
     tokenRef.set(token);
     this.verifyChecksum = config.isChecksumVerify();
+    this.streamReadBlock = config.isStreamReadBlock();
+    this.streamReadBlockReadAhead = config.getStreamReadBlockReadAhead();
     this.xceiverClientFactory = xceiverClientFactory;
     this.refreshFunction = refreshFunction;
     this.retryPolicy =
@@ -197,6 +205,11 @@ public synchronized void initialize() throws IOException {
       this.chunkOffsets = new long[chunks.size()];
       long tempOffset = 0;
 
+      if (streamReadBlock) {
+        streamingReader = new StreamingBlockReader(blockID, chunks, streamReadBlockReadAhead, verifyChecksum,
+            xceiverClientFactory, pipelineRef::get, tokenRef::get);
+      }
+
       this.chunkStreams = new ArrayList<>(chunks.size());
       for (int i = 0; i < chunks.size(); i++) {
         addStream(chunks.get(i));
@@ -344,6 +357,20 @@ protected synchronized void addStream(ChunkInfo chunkInfo) {
   }
 
   protected ChunkInputStream createChunkInputStream(ChunkInfo chunkInfo) {
+    final StreamingBlockReader reader = streamingReader;
+    if (reader != null) {
+      return new ChunkInputStream(chunkInfo, blockID,
+          xceiverClientFactory, pipelineRef::get, verifyChecksum, tokenRef::get) {
+        @Override
+        protected ByteBuffer[] readChunk(ChunkInfo readChunkInfo) throws IOException {
+          final ByteBuffer[] buffers = reader.read(getChunkInfo(), readChunkInfo);
+          if (buffers != null) {
+            return buffers;
+          }
+          return super.readChunk(readChunkInfo);
+        }
+      };
+    }
     return new ChunkInputStream(chunkInfo, blockID,
         xceiverClientFactory, pipelineRef::get, verifyChecksum, tokenRef::get);
   }
@@ -509,6 +536,7 @@ public boolean seekToNewSource(long targetPos) throws IOException {
   @Override
   public synchronized void close() {
     releaseClient();
+    releaseStreamingReader();
     xceiverClientFactory = null;
 
     final List<ChunkInputStream> inputStreams = this.chunkStreams;
@@ -519,6 +547,12 @@ public synchronized void close() {
     }
   }
 
+  private void releaseStreamingReader() {
+    if (streamingReader != null) {
+      streamingReader.release();
+    }
+  }
+
   private void releaseClient() {
     if (xceiverClientFactory != null && xceiverClient != null) {
       xceiverClientFactory.releaseClientForReadData(xceiverClient, false);
@@ -547,6 +581,13 @@ public long getLength() {
     return length;
   }
 
+  /**
+   * Unlike the other methods, this method does not wait for the stream lock.
+   */
+  boolean isInitialized() {
+    return initialized;
+  }
+
   public synchronized int getChunkIndex() {
     return chunkIndex;
   }
@@ -560,6 +601,7 @@ synchronized long getBlockPosition() {
   public synchronized void unbuffer() {
     storePosition();
     releaseClient();
+    releaseStreamingReader();
 
     final List<ChunkInputStream> inputStreams = this.chunkStreams;
     if (inputStreams != null) {
@@ -600,6 +642,7 @@ private boolean shouldRetryRead(IOException cause) throws IOException {
 
   private void handleReadError(IOException cause) throws IOException {
     releaseClient();
+    releaseStreamingReader();
     final List<ChunkInputStream> inputStreams = this.chunkStreams;
     if (inputStreams != null) {
       for (ChunkInputStream is : inputStreams) {
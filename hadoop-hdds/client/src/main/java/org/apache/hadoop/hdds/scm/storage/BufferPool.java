@@ -28,6 +28,7 @@
 import java.util.function.Function;
 import java.util.function.Supplier;
 import org.apache.hadoop.hdds.scm.ByteStringConversion;
+import org.apache.hadoop.hdds.utils.db.PooledBufferAllocator;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.apache.ratis.util.Preconditions;
@@ -95,7 +96,8 @@ public ChunkBuffer allocateBuffer(int increment) throws InterruptedException {
       }
       // Get a buffer to allocate, preferably from the released ones.
       final ChunkBuffer buffer = released.isEmpty() ?
-          ChunkBuffer.allocate(bufferSize, increment) : released.removeFirst();
+          ChunkBuffer.allocate(bufferSize, increment, PooledBufferAllocator.BLOCK_OUTPUT_STREAM) :
+          released.removeFirst();
       allocated.add(buffer);
       currentBuffer = buffer;
 
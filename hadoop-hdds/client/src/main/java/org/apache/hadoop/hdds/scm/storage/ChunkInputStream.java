@@ -38,6 +38,7 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkResponseProto;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.XceiverClientSpi;
 import org.apache.hadoop.hdds.scm.XceiverClientSpi.Validator;
@@ -96,6 +97,10 @@ public class ChunkInputStream extends InputStream
   // retry.  Once the chunk is read, this variable is reset.
   private long chunkPosition = -1;
 
+  // Set when the buffers hold data read by prefetch() which has not been
+  // read yet; the metrics record whether the data is read or dropped.
+  private ContainerClientMetrics prefetchMetrics;
+
   private final Supplier<Token<?>> tokenSupplier;
 
   private static final int EOF = -1;
@@ -336,6 +341,10 @@ private synchronized int prepareRead(int len) throws IOException {
       }
       if (buffersHaveData()) {
         // Data is available from buffers
+        if (prefetchMetrics != null) {
+          prefetchMetrics.incrReadAheadHits();
+          prefetchMetrics = null;
+        }
         ByteBuffer bb = buffers[bufferIndex];
         return Math.min(len, bb.remaining());
       } else if (dataRemainingInChunk()) {
@@ -360,6 +369,7 @@ private synchronized int prepareRead(int len) throws IOException {
    * to Datanode
    */
   private synchronized void readChunkFromContainer(int len) throws IOException {
+    dropPrefetched();
 
     // index of first byte to be read from the chunk
     long startByteIndex;
@@ -699,6 +709,7 @@ private void releaseBuffers(int releaseUptoBufferIndex) {
    * If EOF is reached, release the buffers.
    */
   private void releaseBuffers() {
+    dropPrefetched();
     buffers = null;
     bufferIndex = 0;
     firstUnreleasedBufferIndex = 0;
@@ -707,6 +718,44 @@ private void releaseBuffers() {
     // values and determine whether chunk is read completely or not.
   }
 
+  /**
+   * Read the remaining data of this chunk into the buffers ahead of the
+   * reader. This is a no-op if the buffers already hold data or if all the
+   * data of this chunk has been read.
+   * @param metrics to record whether the prefetched data is read or dropped
+   * @return true if the data is read from the datanode.
+   */
+  synchronized boolean prefetch(ContainerClientMetrics metrics)
+      throws IOException {
+    if (buffersAllocated() || !dataRemainingInChunk()) {
+      return false;
+    }
+    acquireClient();
+    final long startByteIndex = chunkPosition >= 0 ? chunkPosition
+        : bufferOffsetWrtChunkData + buffersSize;
+    readChunkFromContainer(Math.toIntExact(length - startByteIndex));
+    metrics.recordReadAhead(buffersSize);
+    prefetchMetrics = metrics;
+    return true;
+  }
+
+  /**
+   * Release the buffers if they hold prefetched data which has not been read.
+   */
+  synchronized void releasePrefetched() {
+    if (prefetchMetrics != null) {
+      storePosition();
+      releaseBuffers();
+    }
+  }
+
+  private void dropPrefetched() {
+    if (prefetchMetrics != null) {
+      prefetchMetrics.incrReadAheadWastes();
+      prefetchMetrics = null;
+    }
+  }
+
   /**
    * Reset the chunkPosition once the buffers are allocated.
    */
@@ -22,8 +22,15 @@
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import org.apache.hadoop.fs.FSExceptionMessages;
 
 /**
@@ -56,13 +63,34 @@ public class MultipartInputStream extends ExtendedInputStream {
 
   private boolean initialized = false;
 
+  // Prefetch the chunks ahead of sequential reads; null if disabled.
+  private final ReadAheadPrefetcher prefetcher;
+
+  // Read the ranges of different parts in parallel; null to read them in the
+  // caller thread.
+  private final Executor rangeReadExecutor;
+
   public MultipartInputStream(String keyName,
                               List<? extends PartInputStream> inputStreams) {
+    this(keyName, inputStreams, null);
+  }
+
+  public MultipartInputStream(String keyName,
+      List<? extends PartInputStream> inputStreams,
+      ReadAheadPrefetcher prefetcher) {
+    this(keyName, inputStreams, prefetcher, null);
+  }
+
+  public MultipartInputStream(String keyName,
+      List<? extends PartInputStream> inputStreams,
+      ReadAheadPrefetcher prefetcher, Executor rangeReadExecutor) {
 
     Preconditions.checkNotNull(inputStreams);
 
     this.key = keyName;
     this.partStreams = inputStreams;
+    this.prefetcher = prefetcher;
+    this.rangeReadExecutor = rangeReadExecutor;
 
     // Calculate and update the partOffsets
     this.partOffsets = new long[inputStreams.size()];
@@ -81,12 +109,13 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
     Preconditions.checkArgument(strategy != null);
     checkOpen();
 
+    final long position = prefetcher != null ? getPos() : 0;
     int totalReadLen = 0;
     while (strategy.getTargetLength() > 0) {
       if (partStreams.isEmpty() ||
           partStreams.size() - 1 <= partIndex &&
               partStreams.get(partIndex).getRemaining() == 0) {
-        return totalReadLen == 0 ? EOF : totalReadLen;
+        return onRead(position, totalReadLen == 0 ? EOF : totalReadLen);
       }
 
       // Get the current partStream and read data from it
@@ -102,7 +131,14 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
         partIndex += 1;
       }
     }
-    return totalReadLen;
+    return onRead(position, totalReadLen);
+  }
+
+  private int onRead(long position, int readLen) {
+    if (prefetcher != null && readLen > 0) {
+      prefetcher.onRead(position, readLen, partStreams, partIndex);
+    }
+    return readLen;
   }
 
   protected int getNumBytesToRead(ByteReaderStrategy strategy,
@@ -176,6 +212,138 @@ public synchronized void seek(long pos) throws IOException {
     prevPartIndex = partIndex;
   }
 
+  /**
+   * Read the given ranges without changing the position of this stream.
+   * <p>
+   * The ranges are split at the part boundaries and grouped by part.
+   * The parts are read in parallel, one task per part,
+   * and each task reads the ranges of its part in order.
+   * A part is locked while a range is read from it,
+   * so that the ranges can be read while this stream is being read.
+   *
+   * @param positions the positions where the ranges start.
+   * @param buffers the buffers to read the ranges into,
+   *                where the length of a range is the remaining of its buffer.
+   *                The buffer positions are not changed.
+   * @return for each range, a future completed once the range is read.
+   */
+  public synchronized List<CompletableFuture<Void>> readRanges(
+      long[] positions, List<ByteBuffer> buffers) throws IOException {
+    Preconditions.checkArgument(positions.length == buffers.size());
+    checkOpen();
+    if (!initialized) {
+      initialize();
+    }
+
+    // part index -> the reads from the part, in the order of the ranges
+    final Map<Integer, List<PartRead>> partReads = new TreeMap<>();
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < positions.length; i++) {
+      final long position = positions[i];
+      final ByteBuffer buffer = buffers.get(i);
+      if (position < 0 || position + buffer.remaining() > length) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(new EOFException("Range [" + position
+            + ", " + (position + buffer.remaining()) + ") is out of key "
+            + key + " with length " + length));
+        futures.add(future);
+        continue;
+      }
+
+      final List<CompletableFuture<Void>> rangeFutures = new ArrayList<>();
+      int index = getPartIndex(position);
+      for (int start = buffer.position(); start < buffer.limit(); index++) {
+        final long offset = position + start - buffer.position()
+            - partOffsets[index];
+        final int n = (int) Math.min(buffer.limit() - start,
+            partStreams.get(index).getLength() - offset);
+        if (n <= 0) {
+          continue;
+        }
+        final ByteBuffer slice = buffer.duplicate();
+        slice.limit(start + n);
+        slice.position(start);
+        final PartRead read = new PartRead(offset, slice);
+        partReads.computeIfAbsent(index, k -> new ArrayList<>()).add(read);
+        rangeFutures.add(read.future);
+        start += n;
+      }
+      futures.add(CompletableFuture.allOf(
+          rangeFutures.toArray(new CompletableFuture[0])));
+    }
+
+    for (Map.Entry<Integer, List<PartRead>> entry : partReads.entrySet()) {
+      final PartInputStream part = partStreams.get(entry.getKey());
+      final Runnable task = () -> {
+        for (PartRead read : entry.getValue()) {
+          read.run(part);
+        }
+      };
+      if (rangeReadExecutor == null) {
+        task.run();
+        continue;
+      }
+      try {
+        rangeReadExecutor.execute(task);
+      } catch (RejectedExecutionException e) {
+        // the executor is busy; read in the caller thread
+        task.run();
+      }
+    }
+    return futures;
+  }
+
+  /** @return the index of the part containing the given position. */
+  private int getPartIndex(long position) {
+    int index = Arrays.binarySearch(partOffsets, position);
+    if (index < 0) {
+      index = -index - 2;
+    }
+    // skip the empty parts
+    while (index + 1 < partOffsets.length
+        && partOffsets[index + 1] == position) {
+      index++;
+    }
+    return index;
+  }
+
+  /** Read a range of a part into a buffer. */
+  private static final class PartRead {
+    // The position of the range in the part
+    private final long offset;
+    private final ByteBuffer buffer;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    private PartRead(long offset, ByteBuffer buffer) {
+      this.offset = offset;
+      this.buffer = buffer;
+    }
+
+    private void run(PartInputStream part) {
+      try {
+        synchronized (part) {
+          final long partPosition = part.getPos();
+          try {
+            part.seek(offset);
+            final ByteBufferReader reader = new ByteBufferReader(buffer);
+            while (reader.getTargetLength() > 0) {
+              if (reader.readFromBlock((InputStream) part,
+                  reader.getTargetLength()) <= 0) {
+                throw new EOFException("Unexpected EOF reading " + part
+                    + " at position " + part.getPos());
+              }
+            }
+          } finally {
+            part.seek(partPosition);
+          }
+        }
+        future.complete(null);
+      } catch (IOException | RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+    }
+  }
+
   public synchronized void initialize() throws IOException {
     // Pre-check that the stream has not been intialized already
     if (initialized) {
@@ -211,6 +379,9 @@ public synchronized int available() throws IOException {
 
   @Override
   public synchronized void unbuffer() {
+    if (prefetcher != null) {
+      prefetcher.reset();
+    }
     for (PartInputStream stream : partStreams) {
       stream.unbuffer();
     }
@@ -235,6 +406,9 @@ public synchronized long skip(long n) throws IOException {
   @Override
   public synchronized void close() throws IOException {
     closed = true;
+    if (prefetcher != null) {
+      prefetcher.reset();
+    }
     for (PartInputStream stream : partStreams) {
       stream.close();
     }
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
+import org.apache.ratis.util.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Prefetch the chunks following the position of a {@link MultipartInputStream}
+ * which is read sequentially.
+ * <p>
+ * Once a read continues from where the previous read ended,
+ * one chunk is prefetched, and the number of prefetched chunks doubles with each following sequential read,
+ * up to the configured maximum.
+ * A non-sequential read stops prefetching and drops the prefetched data which has not been read.
+ * <p>
+ * The chunks are read into the buffers of their {@link ChunkInputStream}s by the given executor.
+ * Since the {@link ChunkInputStream} methods are synchronized,
+ * a reader reaching a chunk being prefetched waits for the prefetch to complete.
+ * The blocks following the current block are initialized by the executor as well.
+ * Streams other than {@link BlockInputStream}, e.g. EC streams, are not prefetched.
+ */
+public class ReadAheadPrefetcher {
+  private static final Logger LOG = LoggerFactory.getLogger(ReadAheadPrefetcher.class);
+
+  private final ExecutorService executor;
+  private final int maxChunks;
+  private final ContainerClientMetrics metrics;
+
+  /** The prefetch tasks submitted, from a {@link ChunkInputStream} or a {@link BlockInputStream} to its task. */
+  private Map<Object, Prefetch> submitted = new IdentityHashMap<>();
+  /** The position where the previous read ended. */
+  private long nextPosition = -1;
+  /** The number of chunks to prefetch. */
+  private int window = 0;
+
+  public ReadAheadPrefetcher(ExecutorService executor, int maxChunks, ContainerClientMetrics metrics) {
+    Preconditions.assertTrue(maxChunks > 0, () -> "maxChunks = " + maxChunks + " <= 0");
+    this.executor = executor;
+    this.maxChunks = maxChunks;
+    this.metrics = metrics;
+  }
+
+  @VisibleForTesting
+  synchronized int getWindow() {
+    return window;
+  }
+
+  /**
+   * Update the access pattern with a read and prefetch the chunks following it if the reads are sequential.
+   *
+   * @param position the position where the read started.
+   * @param length the number of bytes read.
+   * @param parts the streams of the parts.
+   * @param partIndex the index of the part at the position where the read ended.
+   */
+  synchronized void onRead(long position, long length, List<? extends PartInputStream> parts, int partIndex) {
+    if (position == nextPosition) {
+      window = Math.min(window == 0 ? 1 : 2 * window, maxChunks);
+    } else if (window > 0) {
+      LOG.debug("Non-sequential read at {} (expected {}), stop prefetching", position, nextPosition);
+      window = 0;
+      cancelAndDrop();
+    }
+    nextPosition = position + length;
+
+    if (window > 0) {
+      prefetch(parts, partIndex);
+    }
+  }
+
+  /** Submit the tasks to prefetch the chunks in the window, starting from the current chunk. */
+  private void prefetch(List<? extends PartInputStream> parts, int partIndex) {
+    final Map<Object, Prefetch> previous = submitted;
+    submitted = new IdentityHashMap<>();
+    int count = 0;
+    for (int p = partIndex; p < parts.size() && count < window; p++) {
+      if (!(parts.get(p) instanceof BlockInputStream)) {
+        continue;
+      }
+      final BlockInputStream block = (BlockInputStream) parts.get(p);
+      if (!block.isInitialized()) {
+        // initialize the block and then prefetch its first chunks in the same task
+        final int numChunks = window - count;
+        submit(block, previous, () -> {
+          block.initialize();
+          final List<ChunkInputStream> chunks = block.getChunkStreams();
+          for (int i = 0; chunks != null && i < Math.min(numChunks, chunks.size()); i++) {
+            chunks.get(i).prefetch(metrics);
+          }
+        });
+        break;
+      }
+
+      final List<ChunkInputStream> chunks = block.getChunkStreams();
+      if (chunks == null) {
+        continue;
+      }
+      for (int i = p == partIndex ? block.getChunkIndex() : 0; i < chunks.size() && count < window; i++) {
+        final ChunkInputStream chunk = chunks.get(i);
+        submit(chunk, previous, () -> chunk.prefetch(metrics));
+        count++;
+      }
+    }
+
+    // the remaining tasks are for the chunks already passed
+    for (Prefetch prefetch : previous.values()) {
+      prefetch.cancel();
+    }
+  }
+
+  /** Submit a task for the given stream unless a task has been submitted for it. */
+  private void submit(Object stream, Map<Object, Prefetch> previous, PrefetchTask task) {
+    Prefetch prefetch = previous.remove(stream);
+    if (prefetch == null) {
+      prefetch = new Prefetch(stream, task);
+      try {
+        executor.execute(prefetch::run);
+      } catch (RejectedExecutionException e) {
+        LOG.debug("Skip prefetching {}: the executor is busy", stream);
+        return;
+      }
+    }
+    submitted.put(stream, prefetch);
+  }
+
+  /** Cancel the tasks not yet started and drop the prefetched data which has not been read. */
+  private void cancelAndDrop() {
+    for (Map.Entry<Object, Prefetch> entry : submitted.entrySet()) {
+      final Prefetch prefetch = entry.getValue();
+      if (!prefetch.cancel() && prefetch.isDone() && entry.getKey() instanceof ChunkInputStream) {
+        ((ChunkInputStream) entry.getKey()).releasePrefetched();
+      }
+    }
+    submitted.clear();
+  }
+
+  /**
+   * Cancel the tasks not yet started and wait for the running tasks,
+   * so that the streams can be closed or unbuffered.
+   */
+  public synchronized void reset() {
+    final Map<Object, Prefetch> tasks = submitted;
+    submitted = new IdentityHashMap<>();
+    for (Prefetch prefetch : tasks.values()) {
+      if (!prefetch.cancel()) {
+        try {
+          prefetch.done.get();
+        } catch (ExecutionException e) {
+          throw new IllegalStateException("Unexpected failure", e);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+    }
+    nextPosition = -1;
+    window = 0;
+  }
+
+  /** A task to prefetch a stream. */
+  private interface PrefetchTask {
+    void run() throws IOException;
+  }
+
+  /** A {@link PrefetchTask} which runs at most once and can be cancelled before it starts. */
+  private static final class Prefetch {
+    private final Object stream;
+    private final PrefetchTask task;
+    /** Set when the task starts or is cancelled. */
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    private Prefetch(Object stream, PrefetchTask task) {
+      this.stream = stream;
+      this.task = task;
+    }
+
+    private void run() {
+      if (!claimed.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        task.run();
+      } catch (IOException | RuntimeException e) {
+        // the reader will read it again
+        LOG.debug("Failed to prefetch {}", stream, e);
+      } finally {
+        done.complete(null);
+      }
+    }
+
+    /** @return true if the task is cancelled before it starts. */
+    private boolean cancel() {
+      return claimed.compareAndSet(false, true);
+    }
+
+    private boolean isDone() {
+      return done.isDone();
+    }
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.DatanodeBlockID;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadBlockResponseProto;
+import org.apache.hadoop.hdds.scm.XceiverClientFactory;
+import org.apache.hadoop.hdds.scm.XceiverClientSpi;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.hadoop.ozone.common.ChecksumData;
+import org.apache.hadoop.ozone.common.OzoneChecksumException;
+import org.apache.hadoop.security.token.Token;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.thirdparty.io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read the chunks of a block using streaming ReadBlock commands.
+ * <p>
+ * The chunks are requested ahead of the reader in ranges of the read-ahead size,
+ * so that the datanode can read the following chunks
+ * while the earlier chunks are being transferred and consumed.
+ * The next range is requested once the reader has reached the middle of the current range.
+ * <p>
+ * When a chunk fails the checksum verification,
+ * its datanode is excluded and the chunks are requested again from another replica.
+ * When a ReadBlock command fails, for example the datanode does not support it,
+ * or no replica is left, this reader is disabled and {@link #read} returns null,
+ * so that the caller falls back to ReadChunk, which retries the replicas on its own.
+ */
+class StreamingBlockReader {
+  private static final Logger LOG = LoggerFactory.getLogger(StreamingBlockReader.class);
+
+  private final BlockID blockID;
+  /** Chunk offset -> chunk, for all the chunks in the block. */
+  private final NavigableMap<Long, ChunkInfo> chunks = new TreeMap<>();
+  private final long readAhead;
+  private final boolean verifyChecksum;
+  private final XceiverClientFactory xceiverClientFactory;
+  private final Supplier<Pipeline> pipelineSupplier;
+  private final Supplier<Token<?>> tokenSupplier;
+
+  /** Chunk offset -> the chunk read from the datanode, for the chunks requested but not yet passed. */
+  private final ConcurrentSkipListMap<Long, CompletableFuture<VerifiedChunk>> requested
+      = new ConcurrentSkipListMap<>();
+  /** The end offset of the last requested range. */
+  private long requestedEnd;
+  /** The datanodes which have returned corrupted chunks. */
+  private final Set<DatanodeDetails> excludedNodes = new HashSet<>();
+
+  private XceiverClientSpi xceiverClient;
+  private boolean disabled = false;
+
+  StreamingBlockReader(BlockID blockID, List<ChunkInfo> chunkList, long readAhead, boolean verifyChecksum,
+      XceiverClientFactory xceiverClientFactory, Supplier<Pipeline> pipelineSupplier,
+      Supplier<Token<?>> tokenSupplier) {
+    this.blockID = blockID;
+    for (ChunkInfo chunk : chunkList) {
+      chunks.put(chunk.getOffset(), chunk);
+    }
+    this.readAhead = readAhead;
+    this.verifyChecksum = verifyChecksum;
+    this.xceiverClientFactory = xceiverClientFactory;
+    this.pipelineSupplier = pipelineSupplier;
+    this.tokenSupplier = tokenSupplier;
+  }
+
+  /**
+   * Read the given range of the given chunk.
+   *
+   * @param chunk the chunk to read.
+   * @param readChunkInfo the range to read, with the offset and the length relative to the block.
+   * @return the data read, or null if this reader is disabled.
+   */
+  synchronized ByteBuffer[] read(ChunkInfo chunk, ChunkInfo readChunkInfo) throws IOException {
+    if (disabled) {
+      return null;
+    }
+    final long chunkOffset = chunk.getOffset();
+    if (!chunk.equals(chunks.get(chunkOffset))) {
+      return null;
+    }
+
+    // drop the chunks before the current chunk
+    requested.headMap(chunkOffset).clear();
+    try {
+      while (true) {
+        CompletableFuture<VerifiedChunk> future = requested.get(chunkOffset);
+        if (future == null) {
+          // not requested yet, e.g. the reader has seeked to a new position
+          requested.clear();
+          requestRange(chunkOffset);
+          future = requested.get(chunkOffset);
+        }
+        if (requestedEnd < getBlockEnd() && requestedEnd - chunkOffset <= readAhead / 2) {
+          requestRange(requestedEnd);
+        }
+        final VerifiedChunk verified = future.get();
+        final ByteString data;
+        try {
+          data = verified.getData(verifyChecksum);
+        } catch (OzoneChecksumException e) {
+          LOG.warn("Failed to verify {} from {}, reading from another replica", blockID, verified.datanode, e);
+          excludedNodes.add(verified.datanode);
+          requested.clear();
+          continue;
+        }
+        final int relativeOffset = Math.toIntExact(readChunkInfo.getOffset() - chunkOffset);
+        return data.substring(relativeOffset, relativeOffset + Math.toIntExact(readChunkInfo.getLen()))
+            .asReadOnlyByteBufferList().toArray(new ByteBuffer[0]);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw (IOException) new InterruptedIOException("Interrupted while reading " + blockID).initCause(e);
+    } catch (ExecutionException | IOException | UnsupportedOperationException e) {
+      disable(e instanceof ExecutionException ? e.getCause() : e);
+      return null;
+    }
+  }
+
+  private long getBlockEnd() {
+    final ChunkInfo last = chunks.lastEntry().getValue();
+    return last.getOffset() + last.getLen();
+  }
+
+  /**
+   * Send a ReadBlock command for the chunks starting from the given offset, up to the read-ahead size,
+   * to the closest datanode not excluded.
+   */
+  private void requestRange(long startOffset) throws IOException {
+    final Map<Long, CompletableFuture<VerifiedChunk>> futures = new TreeMap<>();
+    long endOffset = startOffset;
+    for (ChunkInfo chunk : chunks.tailMap(startOffset, true).values()) {
+      if (endOffset - startOffset >= readAhead) {
+        break;
+      }
+      futures.put(chunk.getOffset(), new CompletableFuture<>());
+      endOffset = chunk.getOffset() + chunk.getLen();
+    }
+
+    final Pipeline pipeline = pipelineSupplier.get();
+    // throws if all the datanodes are excluded
+    final DatanodeDetails datanode = pipeline.getClosestNode(excludedNodes);
+    requested.putAll(futures);
+    requestedEnd = endOffset;
+    if (xceiverClient == null) {
+      xceiverClient = xceiverClientFactory.acquireClientForReadData(pipeline);
+    }
+    final DatanodeBlockID.Builder datanodeBlockID = blockID.getDatanodeBlockIDProtobufBuilder();
+    final int replicaIndex = pipeline.getReplicaIndex(datanode);
+    if (replicaIndex > 0) {
+      datanodeBlockID.setReplicaIndex(replicaIndex);
+    }
+    LOG.debug("ReadBlock {} [{}, {}) from {}", blockID, startOffset, endOffset, datanode);
+    ContainerProtocolCalls.readBlock(xceiverClient, datanode, datanodeBlockID.build(),
+        startOffset, endOffset - startOffset, tokenSupplier.get(), new ResponseObserver(futures, datanode));
+  }
+
+  private void disable(Throwable cause) {
+    LOG.warn("Failed to stream {}, falling back to ReadChunk", blockID, cause);
+    disabled = true;
+    requested.clear();
+  }
+
+  /** Release the client and drop the chunks requested. */
+  synchronized void release() {
+    requested.clear();
+    requestedEnd = 0;
+    if (xceiverClient != null) {
+      xceiverClientFactory.releaseClientForReadData(xceiverClient, false);
+      xceiverClient = null;
+    }
+  }
+
+  /** Complete the futures of a ReadBlock command. */
+  private static final class ResponseObserver implements StreamObserver<ContainerCommandResponseProto> {
+    private final Map<Long, CompletableFuture<VerifiedChunk>> futures;
+    private final DatanodeDetails datanode;
+
+    private ResponseObserver(Map<Long, CompletableFuture<VerifiedChunk>> futures, DatanodeDetails datanode) {
+      this.futures = futures;
+      this.datanode = datanode;
+    }
+
+    @Override
+    public void onNext(ContainerCommandResponseProto response) {
+      if (response.getResult() != ContainerProtos.Result.SUCCESS) {
+        completeAllExceptionally(new StorageContainerException(response.getMessage(), response.getResult()));
+        return;
+      }
+      final ReadBlockResponseProto readBlock = response.getReadBlock();
+      final CompletableFuture<VerifiedChunk> future = futures.get(readBlock.getChunkData().getOffset());
+      if (future != null) {
+        future.complete(new VerifiedChunk(readBlock, datanode));
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      completeAllExceptionally(t);
+    }
+
+    @Override
+    public void onCompleted() {
+      completeAllExceptionally(new IOException("ReadBlock completed without returning all the chunks"));
+    }
+
+    private void completeAllExceptionally(Throwable t) {
+      for (CompletableFuture<VerifiedChunk> future : futures.values()) {
+        future.completeExceptionally(t);
+      }
+    }
+  }
+
+  /** A chunk read from the datanode; its checksums are verified when the data is first accessed. */
+  private static final class VerifiedChunk {
+    private final ReadBlockResponseProto response;
+    private final DatanodeDetails datanode;
+    private ByteString data;
+
+    private VerifiedChunk(ReadBlockResponseProto response, DatanodeDetails datanode) {
+      this.response = response;
+      this.datanode = datanode;
+    }
+
+    synchronized ByteString getData(boolean verifyChecksum) throws OzoneChecksumException {
+      if (data == null) {
+        final ChunkInfo chunk = response.getChunkData();
+        final List<ByteString> buffers = response.getData().getBuffersList();
+        // concatenate without copying
+        ByteString concatenated = ByteString.EMPTY;
+        for (ByteString buffer : buffers) {
+          concatenated = concatenated.concat(buffer);
+        }
+        if (concatenated.size() != chunk.getLen()) {
+          throw new OzoneChecksumException(String.format("Inconsistent read for chunk=%s len=%d bytesRead=%d",
+              chunk.getChunkName(), chunk.getLen(), concatenated.size()));
+        }
+        if (verifyChecksum) {
+          Checksum.verifyChecksum(buffers, ChecksumData.getFromProtoBuf(chunk.getChecksumData()), 0);
+        }
+        data = concatenated;
+      }
+      return data;
+    }
+  }
+}
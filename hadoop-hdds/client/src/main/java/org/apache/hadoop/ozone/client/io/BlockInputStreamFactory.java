@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.client.io;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
@@ -26,6 +27,7 @@
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.storage.BlockExtendedInputStream;
 import org.apache.hadoop.hdds.scm.storage.BlockLocationInfo;
+import org.apache.hadoop.hdds.scm.storage.ReadAheadPrefetcher;
 import org.apache.hadoop.hdds.security.token.OzoneBlockTokenIdentifier;
 import org.apache.hadoop.security.token.Token;
 
@@ -53,4 +55,22 @@ BlockExtendedInputStream create(ReplicationConfig repConfig,
        Function<BlockID, BlockLocationInfo> refreshFunction,
        OzoneClientConfig config) throws IOException;
 
+  /**
+   * Create a prefetcher for reading a key with the streams created by this
+   * factory.
+   * @param config The client config
+   * @return the prefetcher, or null if prefetching is disabled.
+   */
+  default ReadAheadPrefetcher createReadAheadPrefetcher(
+      OzoneClientConfig config) {
+    return null;
+  }
+
+  /**
+   * @return the executor to read the ranges of a key in parallel, or null to
+   * read them in the caller thread.
+   */
+  default Executor getVectoredReadExecutor() {
+    return null;
+  }
 }
@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.client.io;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Function;
@@ -26,12 +27,14 @@
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
 import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.storage.BlockExtendedInputStream;
 import org.apache.hadoop.hdds.scm.storage.BlockInputStream;
 import org.apache.hadoop.hdds.scm.storage.BlockLocationInfo;
+import org.apache.hadoop.hdds.scm.storage.ReadAheadPrefetcher;
 import org.apache.hadoop.hdds.security.token.OzoneBlockTokenIdentifier;
 import org.apache.hadoop.io.ByteBufferPool;
 import org.apache.hadoop.io.ElasticByteBufferPool;
@@ -43,6 +46,9 @@
 public class BlockInputStreamFactoryImpl implements BlockInputStreamFactory {
 
   private ECBlockInputStreamFactory ecBlockStreamFactory;
+  private Supplier<ExecutorService> readAheadExecutorSupplier;
+  private Supplier<ExecutorService> vectoredReadExecutorSupplier;
+  private ContainerClientMetrics clientMetrics;
 
   public static BlockInputStreamFactory getInstance(
       ByteBufferPool byteBufferPool,
@@ -51,6 +57,20 @@ public static BlockInputStreamFactory getInstance(
         ecReconstructExecutorSupplier);
   }
 
+  public static BlockInputStreamFactory getInstance(
+      ByteBufferPool byteBufferPool,
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      Supplier<ExecutorService> readAheadExecutorSupplier,
+      Supplier<ExecutorService> vectoredReadExecutorSupplier,
+      ContainerClientMetrics clientMetrics) {
+    final BlockInputStreamFactoryImpl factory = new BlockInputStreamFactoryImpl(
+        byteBufferPool, ecReconstructExecutorSupplier);
+    factory.readAheadExecutorSupplier = readAheadExecutorSupplier;
+    factory.vectoredReadExecutorSupplier = vectoredReadExecutorSupplier;
+    factory.clientMetrics = clientMetrics;
+    return factory;
+  }
+
   public BlockInputStreamFactoryImpl() {
     this(new ElasticByteBufferPool(), Executors::newSingleThreadExecutor);
   }
@@ -92,4 +112,21 @@ public BlockExtendedInputStream create(ReplicationConfig repConfig,
     }
   }
 
+  @Override
+  public ReadAheadPrefetcher createReadAheadPrefetcher(
+      OzoneClientConfig config) {
+    // a streaming ReadBlock already reads the chunks ahead
+    if (readAheadExecutorSupplier == null || config.getReadAheadMaxChunks() <= 0
+        || config.isStreamReadBlock()) {
+      return null;
+    }
+    return new ReadAheadPrefetcher(readAheadExecutorSupplier.get(),
+        config.getReadAheadMaxChunks(), clientMetrics);
+  }
+
+  @Override
+  public Executor getVectoredReadExecutor() {
+    return vectoredReadExecutorSupplier == null ? null
+        : vectoredReadExecutorSupplier.get();
+  }
 }
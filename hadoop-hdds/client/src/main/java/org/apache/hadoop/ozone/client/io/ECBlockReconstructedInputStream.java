@@ -37,7 +37,15 @@ public class ECBlockReconstructedInputStream extends BlockExtendedInputStream {
   private ByteBuffer[] bufs;
   private final ByteBufferPool byteBufferPool;
   private boolean closed = false;
-  private boolean unBuffered = false;
+  /**
+   * Is the next read the first read after a seek?
+   * If so, only the range to read is loaded, since the reads after a seek are often small and random.
+   * Otherwise, whole stripes are loaded for the sequential reads.
+   */
+  private boolean seeked = false;
+  /** The range of the block loaded to the buffers, [loadedStart, loadedEnd), for the seeks within it. */
+  private long loadedStart = 0;
+  private long loadedEnd = 0;
 
   private long position = 0;
 
@@ -77,13 +85,9 @@ public synchronized int read(ByteBuffer buf) throws IOException {
       return EOF;
     }
     allocateBuffers();
-    if (unBuffered) {
-      seek(getPos());
-      unBuffered = false;
-    }
     int totalRead = 0;
     while (buf.hasRemaining() && getRemaining() > 0) {
-      ByteBuffer b = selectNextBuffer();
+      ByteBuffer b = selectNextBuffer(buf.remaining());
       if (b == null) {
         // This should not happen, so if it does abort.
         throw new IOException(getRemaining() + " bytes remaining but unable " +
@@ -109,7 +113,7 @@ private void ensureNotClosed() throws IOException {
     }
   }
 
-  private ByteBuffer selectNextBuffer() throws IOException {
+  private ByteBuffer selectNextBuffer(int length) throws IOException {
     for (ByteBuffer b : bufs) {
       if (b.hasRemaining()) {
         return b;
@@ -117,11 +121,11 @@ private ByteBuffer selectNextBuffer() throws IOException {
     }
     // If we get here, then no buffer has any remaining, so we need to
     // fill them.
-    long read = readStripe();
+    long read = readStripe(length);
     if (read == EOF) {
       return null;
     }
-    return selectNextBuffer();
+    return selectNextBuffer(length);
   }
 
   private long readBufferToDest(ByteBuffer src, ByteBuffer dest) {
@@ -144,7 +148,6 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
   public synchronized void unbuffer() {
     stripeReader.unbuffer();
     freeBuffers();
-    unBuffered = true;
   }
 
   @Override
@@ -160,6 +163,8 @@ public synchronized void close() throws IOException {
   }
 
   private void freeBuffers() {
+    loadedStart = 0;
+    loadedEnd = 0;
     if (bufs != null) {
       for (int i = 0; i < bufs.length; i++) {
         byteBufferPool.putBuffer(bufs[i]);
@@ -181,36 +186,75 @@ public synchronized void seek(long pos) throws IOException {
       throw new EOFException(
           "EOF encountered at pos: " + pos + " for block: " + getBlockID());
     }
-    long stripeSize = (long)repConfig.getEcChunkSize() * repConfig.getData();
-    long stripeNum = pos / stripeSize;
-    int partial = (int)(pos % stripeSize);
-    // Seek the stripe reader to the beginning of the new current stripe
-    stripeReader.seek(stripeNum * stripeSize);
-    // Now reload the data buffers and adjust their position to the partial
-    // stripe offset.
-    readAndSeekStripe(partial);
     position = pos;
-  }
-
-  private void readAndSeekStripe(int offset) throws IOException {
-    allocateBuffers();
-    readStripe();
-    if (offset == 0) {
+    if (bufs != null && pos >= loadedStart && pos < loadedEnd) {
+      // The data has been loaded, e.g. the range read after the previous seek.
+      positionBuffers();
       return;
     }
-    for (ByteBuffer b : bufs) {
-      int newPos = Math.min(b.remaining(), offset);
-      b.position(newPos);
-      offset -= newPos;
-      if (offset == 0) {
-        break;
+    // The data is loaded lazily by the next read.
+    if (bufs != null) {
+      for (ByteBuffer b : bufs) {
+        b.limit(0);
+      }
+    }
+    seeked = true;
+  }
+
+  /** Set the buffers to the loaded data from the current position. */
+  private void positionBuffers() {
+    final int chunkSize = repConfig.getEcChunkSize();
+    final long stripeStart = loadedStart - loadedStart % ((long) chunkSize * repConfig.getData());
+    for (int i = 0; i < bufs.length; i++) {
+      final long cellStart = stripeStart + (long) i * chunkSize;
+      final int from = (int) (Math.max(position, loadedStart) - cellStart);
+      final int to = (int) (Math.min(loadedEnd, cellStart + chunkSize) - cellStart);
+      final ByteBuffer b = bufs[i];
+      if (from < to) {
+        b.limit(to);
+        b.position(Math.max(0, from));
+      } else {
+        b.position(0);
+        b.limit(0);
       }
     }
   }
 
-  private long readStripe() throws IOException {
+  /**
+   * Load the stripe containing the current position to the buffers, from the current position.
+   * The first read after a seek loads only the requested length.
+   * The next read in the same stripe loads the rest of the cell,
+   * so that the range already loaded is not read again.
+   * The reads from the start of a stripe load the whole stripe.
+   *
+   * @param length the length requested by the caller.
+   */
+  private long readStripe(int length) throws IOException {
+    final int chunkSize = repConfig.getEcChunkSize();
+    final long stripeSize = (long) chunkSize * repConfig.getData();
+    final long stripeStart = position - position % stripeSize;
+    final int offset = (int) (position - stripeStart);
+    if (stripeReader.getPos() != stripeStart) {
+      // e.g. after a seek, an unbuffer or a partial stripe read
+      stripeReader.seek(stripeStart);
+    }
     clearBuffers();
-    return stripeReader.readStripe(bufs);
+    final int toRead = seeked ? length
+        : offset > 0 ? chunkSize - offset % chunkSize
+        : Integer.MAX_VALUE;
+    seeked = false;
+    final int read = stripeReader.readStripe(bufs, offset, toRead);
+    if (read == EOF) {
+      loadedStart = 0;
+      loadedEnd = 0;
+      return read;
+    }
+    // The same condition as the stripe reader for loading only the range
+    final int end = (int) Math.min(read, (long) offset + toRead);
+    final boolean rangeLoaded = offset < end && offset / chunkSize == (end - 1) / chunkSize;
+    loadedStart = rangeLoaded ? position : stripeStart;
+    loadedEnd = stripeStart + (rangeLoaded ? end : read);
+    return read;
   }
 
   private void allocateBuffers() {
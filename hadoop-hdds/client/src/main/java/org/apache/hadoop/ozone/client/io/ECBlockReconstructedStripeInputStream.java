@@ -64,6 +64,7 @@
  * the data blocks are not available. The public API for this class is:
  *
  *     readStripe(ByteBuffer[] bufs)
+ *     readStripe(ByteBuffer[] bufs, int offset, int length)
  *     recoverChunks(ByteBuffer[] bufs)
  *
  * The other inherited public APIs will throw a NotImplementedException. This is
@@ -362,6 +363,146 @@ public synchronized int readStripe(ByteBuffer[] bufs) throws IOException {
     return read(bufs);
   }
 
+  /**
+   * Similar to {@link #readStripe(ByteBuffer[])}
+   * except that the data of the next stripe is only required from the given offset up to the given length.
+   * When the range is within a single cell, only the range of that cell is read if it is available.
+   * Otherwise, only the same range of the cells selected as the decoder inputs is read,
+   * and then only the range is decoded.
+   * When the range spans more than one cell, the whole stripe is read.
+   * <p>
+   * The buffers are returned "ready to read" with the data of the stripe from the given offset,
+   * i.e. a buffer has no remaining if its cell is entirely before the offset or after the range,
+   * and the buffer of the cell containing the offset has its position set to the offset in the cell.
+   *
+   * @param offset the offset of the range in the stripe
+   * @param length the length of the range
+   * @return the number of bytes in the stripe, the same as {@link #readStripe(ByteBuffer[])}.
+   */
+  public synchronized int readStripe(ByteBuffer[] bufs, int offset, int length) throws IOException {
+    Preconditions.assertTrue(!isOfflineRecovery());
+    final int toRead = (int)Math.min(getRemaining(), getStripeSize());
+    if (toRead == 0) {
+      return EOF;
+    }
+    final int chunkSize = getRepConfig().getEcChunkSize();
+    final int end = (int) Math.min(toRead, (long) offset + length);
+    final int cell = offset / chunkSize;
+    if (offset >= end || cell != (end - 1) / chunkSize) {
+      final int read = read(bufs);
+      skip(bufs, offset);
+      return read;
+    }
+
+    // read and decode only the range [from, to) of the cells
+    final int from = offset - cell * chunkSize;
+    final int to = end - cell * chunkSize;
+    if (!initialized) {
+      init();
+    }
+    validateBuffers(bufs);
+    // the underlying streams will be positioned to the range
+    seek(getPos());
+    while (true) {
+      try {
+        assignBuffers(bufs);
+        loadRange(cell, from, to, toRead);
+        break;
+      } catch (IOException e) {
+        seek(getPos());
+        for (ByteBuffer b : bufs) {
+          b.clear();
+          b.limit(chunkSize);
+        }
+        init();
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted waiting for reads to complete", ie);
+      }
+    }
+    for (int i = 0; i < bufs.length; i++) {
+      if (i == cell) {
+        bufs[i].limit(to);
+        bufs[i].position(from);
+      } else {
+        bufs[i].position(0);
+        bufs[i].limit(0);
+      }
+    }
+    setPos(getPos() + toRead);
+    if (remaining() == 0) {
+      freeAllResourcesWithoutClosing();
+    }
+    return toRead;
+  }
+
+  /** Skip the given number of bytes from the buffers in order. */
+  private static void skip(ByteBuffer[] bufs, int n) {
+    for (ByteBuffer b : bufs) {
+      if (n == 0) {
+        return;
+      }
+      final int skipped = Math.min(b.remaining(), n);
+      b.position(b.position() + skipped);
+      n -= skipped;
+    }
+  }
+
+  /**
+   * Load the range [from, to) of the given cell of the current stripe, which has toRead bytes.
+   * If the cell is missing, the same range of all the decoder inputs are read and then decoded.
+   */
+  private void loadRange(int cell, int from, int to, int toRead) throws IOException, InterruptedException {
+    if (!isMissingIndex(cell)) {
+      final ByteBuffer buf = decoderInputBuffers[cell];
+      buf.clear();
+      buf.limit(to);
+      buf.position(from);
+      loadFromStreams(Collections.singleton(cell), from);
+      return;
+    }
+
+    // The parity cells have the same length as the first cell.
+    final int chunkSize = getRepConfig().getEcChunkSize();
+    final int paritySize = Math.min(toRead, chunkSize);
+    final int dataNum = getRepConfig().getData();
+    for (int i = 0; i < decoderInputBuffers.length; i++) {
+      final ByteBuffer buf = decoderInputBuffers[i];
+      if (buf == null) {
+        continue;
+      }
+      final int cellLength = i < dataNum ? Math.max(0, Math.min(toRead - i * chunkSize, chunkSize)) : paritySize;
+      buf.clear();
+      buf.limit(selectedIndexes.contains(i) ? Math.max(from, Math.min(to, cellLength)) : from);
+      buf.position(from);
+    }
+    final List<Integer> toLoad = new ArrayList<>();
+    for (int i : selectedIndexes) {
+      if (decoderInputBuffers[i].hasRemaining()) {
+        toLoad.add(i);
+      }
+    }
+    loadFromStreams(toLoad, from);
+
+    // pad the inputs shorter than the range with zeros, and then flip them to the range
+    for (ByteBuffer buf : decoderInputBuffers) {
+      if (buf != null) {
+        buf.limit(to);
+        zeroFill(buf);
+        buf.position(from);
+      }
+    }
+    for (ByteBuffer buf : decoderOutputBuffers) {
+      buf.clear();
+      buf.limit(to);
+      buf.position(from);
+    }
+    final int[] erasedIndexes = missingIndexes.stream()
+        .mapToInt(Integer::valueOf)
+        .toArray();
+    decoder.decode(decoderInputBuffers, erasedIndexes, decoderOutputBuffers);
+  }
+
   @VisibleForTesting
   synchronized int read(ByteBuffer[] bufs) throws IOException {
     int toRead = (int)Math.min(getRemaining(), getStripeSize());
@@ -570,12 +711,21 @@ private void clearInternalBuffers() {
 
   protected void loadDataBuffersFromStream()
       throws IOException, InterruptedException {
+    loadFromStreams(selectedIndexes, 0);
+  }
+
+  /**
+   * Read the given indexes in parallel into their decoder input buffers,
+   * starting from the given offset in their cells of the current stripe.
+   */
+  private void loadFromStreams(Collection<Integer> indexes, int cellOffset)
+      throws IOException, InterruptedException {
     Queue<ImmutablePair<Integer, Future<Void>>> pendingReads
         = new ArrayDeque<>();
-    for (int i : selectedIndexes) {
+    for (int i : indexes) {
       ByteBuffer buf = decoderInputBuffers[i];
       pendingReads.add(new ImmutablePair<>(i, executor.submit(() -> {
-        readIntoBuffer(i, buf);
+        readIntoBuffer(i, buf, cellOffset);
         return null;
       })));
     }
@@ -624,12 +774,12 @@ protected void loadDataBuffersFromStream()
     }
   }
 
-  private void readIntoBuffer(int ind, ByteBuffer buf) throws IOException {
+  private void readIntoBuffer(int ind, ByteBuffer buf, int cellOffset) throws IOException {
     List<DatanodeDetails> failedLocations = new LinkedList<>();
     while (true) {
       int currentBufferPosition = buf.position();
       try {
-        readFromCurrentLocation(ind, buf);
+        readFromCurrentLocation(ind, buf, cellOffset);
         break;
       } catch (IOException e) {
         DatanodeDetails failedLocation = getDataLocations()[ind];
@@ -648,10 +798,10 @@ private void readIntoBuffer(int ind, ByteBuffer buf) throws IOException {
     }
   }
 
-  private void readFromCurrentLocation(int ind, ByteBuffer buf)
+  private void readFromCurrentLocation(int ind, ByteBuffer buf, int cellOffset)
       throws IOException {
     BlockExtendedInputStream stream = getOrOpenStream(ind);
-    seekStreamIfNecessary(stream, 0);
+    seekStreamIfNecessary(stream, cellOffset);
     while (buf.hasRemaining()) {
       int read = stream.read(buf);
       if (read == EOF) {
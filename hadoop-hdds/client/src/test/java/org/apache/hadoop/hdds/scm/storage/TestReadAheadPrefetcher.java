@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ReadAheadPrefetcher}.
+ */
+public class TestReadAheadPrefetcher {
+  private static final int CHUNK_SIZE = 100;
+  private static final int READ_SIZE = 50;
+
+  private final Random random = new Random();
+  private ContainerClientMetrics metrics;
+  private byte[] keyData;
+
+  @BeforeEach
+  public void setup() {
+    metrics = ContainerClientMetrics.acquire();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    ContainerClientMetrics.release();
+  }
+
+  private List<BlockInputStream> createBlocks(int numBlocks, int chunksPerBlock) throws Exception {
+    final OzoneClientConfig config = new OzoneConfiguration().getObject(OzoneClientConfig.class);
+    config.setChecksumVerify(false);
+    final Checksum checksum = new Checksum(ChecksumType.NONE, CHUNK_SIZE);
+    keyData = new byte[numBlocks * chunksPerBlock * CHUNK_SIZE];
+    random.nextBytes(keyData);
+
+    final List<BlockInputStream> blocks = new ArrayList<>();
+    for (int b = 0; b < numBlocks; b++) {
+      final List<ChunkInfo> chunks = new ArrayList<>();
+      final Map<String, byte[]> chunkData = new HashMap<>();
+      for (int c = 0; c < chunksPerBlock; c++) {
+        final byte[] data = new byte[CHUNK_SIZE];
+        System.arraycopy(keyData, (b * chunksPerBlock + c) * CHUNK_SIZE, data, 0, CHUNK_SIZE);
+        final String name = "chunk-" + b + "-" + c;
+        chunks.add(ChunkInfo.newBuilder()
+            .setChunkName(name)
+            .setOffset(0)
+            .setLen(CHUNK_SIZE)
+            .setChecksumData(checksum.computeChecksum(data).getProtoBufMessage())
+            .build());
+        chunkData.put(name, data);
+      }
+      blocks.add(new DummyBlockInputStream(new BlockID(1, b), (long) chunksPerBlock * CHUNK_SIZE,
+          null, null, null, null, chunks, chunkData, config));
+    }
+    return blocks;
+  }
+
+  private void readAndVerify(MultipartInputStream in, long position, int length) throws Exception {
+    final byte[] buffer = new byte[length];
+    if (in.getPos() != position) {
+      in.seek(position);
+    }
+    assertEquals(length, in.read(buffer, 0, length));
+    final byte[] expected = new byte[length];
+    System.arraycopy(keyData, (int) position, expected, 0, length);
+    assertArrayEquals(expected, buffer);
+  }
+
+  @Test
+  public void testAdaptiveWindow() throws Exception {
+    final ReadAheadPrefetcher prefetcher = new ReadAheadPrefetcher(
+        MoreExecutors.newDirectExecutorService(), 4, metrics);
+    try (MultipartInputStream in = new MultipartInputStream("key", createBlocks(1, 8), prefetcher)) {
+      readAndVerify(in, 0, READ_SIZE);
+      assertEquals(0, prefetcher.getWindow());
+
+      // sequential: prefetch the next chunk
+      readAndVerify(in, READ_SIZE, READ_SIZE);
+      assertEquals(1, prefetcher.getWindow());
+      assertEquals(1, metrics.getReadAheadChunks().value());
+
+      // the prefetched chunk is read; prefetch one more chunk
+      readAndVerify(in, 2 * READ_SIZE, READ_SIZE);
+      assertEquals(2, prefetcher.getWindow());
+      assertEquals(1, metrics.getReadAheadHits().value());
+      assertEquals(2, metrics.getReadAheadChunks().value());
+      assertEquals(2 * CHUNK_SIZE, metrics.getReadAheadBytes().value());
+
+      // non-sequential: stop prefetching and drop the chunk not read
+      readAndVerify(in, 7 * CHUNK_SIZE, READ_SIZE);
+      assertEquals(0, prefetcher.getWindow());
+      assertEquals(1, metrics.getReadAheadWastes().value());
+      assertEquals(2, metrics.getReadAheadChunks().value());
+    }
+  }
+
+  @Test
+  public void testSequentialReadAcrossBlocks() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final ReadAheadPrefetcher prefetcher = new ReadAheadPrefetcher(executor, 4, metrics);
+      try (MultipartInputStream in = new MultipartInputStream("key", createBlocks(3, 4), prefetcher)) {
+        for (int position = 0; position < keyData.length; position += READ_SIZE) {
+          readAndVerify(in, position, READ_SIZE);
+        }
+        assertEquals(4, prefetcher.getWindow());
+      }
+      assertThat(metrics.getReadAheadChunks().value()).isPositive();
+      assertThat(metrics.getReadAheadHits().value()).isPositive();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
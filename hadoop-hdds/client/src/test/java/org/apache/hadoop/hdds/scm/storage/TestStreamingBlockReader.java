@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.DataBuffers;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadBlockRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadBlockResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
+import org.apache.hadoop.hdds.scm.XceiverClientFactory;
+import org.apache.hadoop.hdds.scm.XceiverClientSpi;
+import org.apache.hadoop.hdds.scm.pipeline.MockPipeline;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.thirdparty.io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StreamingBlockReader}.
+ */
+public class TestStreamingBlockReader {
+  private static final int CHUNK_SIZE = 100;
+  private static final int NUM_CHUNKS = 4;
+  private static final int BYTES_PER_CHECKSUM = 20;
+
+  private final BlockID blockID = new BlockID(1, 1);
+  private final List<ChunkInfo> chunks = new ArrayList<>();
+  private final List<ReadBlockRequestProto> requests = new ArrayList<>();
+  private byte[] blockData;
+  private XceiverClientSpi client;
+  private XceiverClientFactory clientFactory;
+  private Pipeline pipeline;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    final Checksum checksum = new Checksum(ChecksumType.CRC32, BYTES_PER_CHECKSUM);
+    blockData = new byte[CHUNK_SIZE * NUM_CHUNKS];
+    new Random().nextBytes(blockData);
+    for (int i = 0; i < NUM_CHUNKS; i++) {
+      chunks.add(ChunkInfo.newBuilder()
+          .setChunkName("chunk" + i)
+          .setOffset(i * CHUNK_SIZE)
+          .setLen(CHUNK_SIZE)
+          .setChecksumData(checksum.computeChecksum(blockData, i * CHUNK_SIZE, CHUNK_SIZE).getProtoBufMessage())
+          .build());
+    }
+
+    pipeline = MockPipeline.createSingleNodePipeline();
+    client = mock(XceiverClientSpi.class);
+    clientFactory = mock(XceiverClientFactory.class);
+    when(clientFactory.acquireClientForReadData(any())).thenReturn(client);
+  }
+
+  private StreamingBlockReader newReader(long readAhead) {
+    return new StreamingBlockReader(blockID, chunks, readAhead, true, clientFactory, () -> pipeline, () -> null);
+  }
+
+  /** Let the mock client respond to ReadBlock with the chunks in the requested range. */
+  private void respondWith(byte[] data) throws Exception {
+    respondWith(datanode -> data);
+  }
+
+  /** Let the mock client respond to ReadBlock with the data of the requested datanode. */
+  private void respondWith(Function<DatanodeDetails, byte[]> replicas) throws Exception {
+    doAnswer(invocation -> {
+      final ReadBlockRequestProto request = invocation.<ContainerCommandRequestProto>getArgument(0).getReadBlock();
+      final byte[] data = replicas.apply(invocation.getArgument(1));
+      final StreamObserver<ContainerCommandResponseProto> observer = invocation.getArgument(2);
+      requests.add(request);
+      for (ChunkInfo chunk : chunks) {
+        if (chunk.getOffset() >= request.getOffset()
+            && chunk.getOffset() < request.getOffset() + request.getLength()) {
+          observer.onNext(ContainerCommandResponseProto.newBuilder()
+              .setCmdType(Type.ReadBlock)
+              .setResult(Result.SUCCESS)
+              .setReadBlock(ReadBlockResponseProto.newBuilder()
+                  .setBlockID(request.getBlockID())
+                  .setChunkData(chunk)
+                  .setData(DataBuffers.newBuilder()
+                      .addBuffers(ByteString.copyFrom(data, (int) chunk.getOffset(), CHUNK_SIZE / 2))
+                      .addBuffers(ByteString.copyFrom(data, (int) chunk.getOffset() + CHUNK_SIZE / 2,
+                          CHUNK_SIZE / 2))))
+              .build());
+        }
+      }
+      observer.onCompleted();
+      return null;
+    }).when(client).streamRead(any(), any(), any());
+  }
+
+  private static byte[] toBytes(ByteBuffer[] buffers) {
+    int length = 0;
+    for (ByteBuffer b : buffers) {
+      length += b.remaining();
+    }
+    final ByteBuffer result = ByteBuffer.allocate(length);
+    for (ByteBuffer b : buffers) {
+      result.put(b.duplicate());
+    }
+    return result.array();
+  }
+
+  private byte[] read(StreamingBlockReader reader, int chunkIndex, int offset, int length) throws Exception {
+    final ChunkInfo chunk = chunks.get(chunkIndex);
+    final ChunkInfo range = chunk.toBuilder().setOffset(chunk.getOffset() + offset).setLen(length).build();
+    final ByteBuffer[] buffers = reader.read(chunk, range);
+    return buffers == null ? null : toBytes(buffers);
+  }
+
+  private byte[] expected(int chunkIndex, int offset, int length) {
+    final byte[] bytes = new byte[length];
+    System.arraycopy(blockData, chunkIndex * CHUNK_SIZE + offset, bytes, 0, length);
+    return bytes;
+  }
+
+  @Test
+  public void testReadAhead() throws Exception {
+    respondWith(blockData);
+    final StreamingBlockReader reader = newReader(2 * CHUNK_SIZE);
+
+    assertArrayEquals(expected(0, 0, CHUNK_SIZE), read(reader, 0, 0, CHUNK_SIZE));
+    assertEquals(1, requests.size());
+    assertEquals(0, requests.get(0).getOffset());
+    assertEquals(2 * CHUNK_SIZE, requests.get(0).getLength());
+
+    // reaching the middle of the requested range requests the next range
+    assertArrayEquals(expected(1, 20, 40), read(reader, 1, 20, 40));
+    assertEquals(2, requests.size());
+    assertEquals(2 * CHUNK_SIZE, requests.get(1).getOffset());
+    assertEquals(2 * CHUNK_SIZE, requests.get(1).getLength());
+
+    assertArrayEquals(expected(2, 0, CHUNK_SIZE), read(reader, 2, 0, CHUNK_SIZE));
+    assertArrayEquals(expected(3, 40, 60), read(reader, 3, 40, 60));
+    assertEquals(2, requests.size());
+
+    // seeking back requests the chunk again
+    assertArrayEquals(expected(0, 0, 20), read(reader, 0, 0, 20));
+    assertEquals(3, requests.size());
+
+    reader.release();
+    verify(clientFactory).releaseClientForReadData(client, false);
+  }
+
+  @Test
+  public void testFallbackWhenUnsupported() throws Exception {
+    doThrow(new UnsupportedOperationException("test")).when(client).streamRead(any(), any(), any());
+    final StreamingBlockReader reader = newReader(2 * CHUNK_SIZE);
+
+    assertNull(read(reader, 0, 0, CHUNK_SIZE));
+    assertNull(read(reader, 1, 0, CHUNK_SIZE));
+    verify(client, times(1)).streamRead(any(), any(), any());
+  }
+
+  @Test
+  public void testChecksumMismatch() throws Exception {
+    final byte[] corrupted = blockData.clone();
+    corrupted[CHUNK_SIZE + 1]++;
+    respondWith(corrupted);
+    final StreamingBlockReader reader = newReader(2 * CHUNK_SIZE);
+
+    assertArrayEquals(expected(0, 0, CHUNK_SIZE), read(reader, 0, 0, CHUNK_SIZE));
+    // no other replica, fall back to ReadChunk
+    assertNull(read(reader, 1, 0, CHUNK_SIZE));
+    assertNull(read(reader, 2, 0, CHUNK_SIZE));
+  }
+
+  @Test
+  public void testChecksumMismatchReadsOtherReplica() throws Exception {
+    pipeline = MockPipeline.createPipeline(3);
+    final DatanodeDetails corruptedNode = pipeline.getClosestNode();
+    final byte[] corrupted = blockData.clone();
+    corrupted[CHUNK_SIZE + 1]++;
+    final List<DatanodeDetails> readFrom = new ArrayList<>();
+    respondWith(datanode -> {
+      readFrom.add(datanode);
+      return datanode.equals(corruptedNode) ? corrupted : blockData;
+    });
+    final StreamingBlockReader reader = newReader(2 * CHUNK_SIZE);
+
+    assertArrayEquals(expected(0, 0, CHUNK_SIZE), read(reader, 0, 0, CHUNK_SIZE));
+    assertArrayEquals(expected(1, 0, CHUNK_SIZE), read(reader, 1, 0, CHUNK_SIZE));
+    assertArrayEquals(expected(2, 0, CHUNK_SIZE), read(reader, 2, 0, CHUNK_SIZE));
+    // the corrupted replica is not used after the mismatch
+    assertEquals(2, readFrom.stream().filter(corruptedNode::equals).count());
+    assertNotEquals(corruptedNode, readFrom.get(readFrom.size() - 1));
+  }
+}
@@ -289,6 +289,7 @@ public static class TestBlockInputStream extends BlockExtendedInputStream {
     private boolean shouldErrorOnSeek = false;
     private IOException errorToThrow = null;
     private int ecReplicaIndex = 0;
+    private long bytesRead = 0;
     private static final byte EOF = -1;
 
     TestBlockInputStream(BlockID blockId, long blockLen, ByteBuffer data) {
@@ -324,6 +325,11 @@ public int getEcReplicaIndex() {
       return ecReplicaIndex;
     }
 
+    /** @return the number of bytes read from this stream. */
+    public long getBytesRead() {
+      return bytesRead;
+    }
+
     @Override
     public BlockID getBlockID() {
       return blockID;
@@ -354,6 +360,7 @@ public int read(ByteBuffer buf) throws IOException {
           throwError();
         }
         buf.put(data.get());
+        bytesRead++;
       }
       return toRead;
     }
@@ -341,6 +341,54 @@ public void testSeek() throws IOException {
     }
   }
 
+  @Test
+  public void testReadAfterSeekLoadsOnlyTheRange() throws IOException {
+    int chunkSize = repConfig.getEcChunkSize();
+    int blockLength = chunkSize * repConfig.getData() * 2;
+    ByteBuffer[] dataBufs = allocateBuffers(repConfig.getData(), chunkSize * 2);
+    ECStreamTestUtil.randomFill(dataBufs, chunkSize, dataGenerator, blockLength);
+    ByteBuffer[] parity = generateParity(dataBufs, repConfig);
+    addDataStreamsToFactory(dataBufs, parity);
+
+    Map<DatanodeDetails, Integer> dnMap = ECStreamTestUtil.createIndexMap(1, 2, 3, 4, 5);
+    try (ECBlockReconstructedStripeInputStream stripeStream = createStripeInputStream(dnMap, blockLength);
+         ECBlockReconstructedInputStream stream = new ECBlockReconstructedInputStream(repConfig, bufferPool,
+             stripeStream)) {
+      ByteBuffer b = ByteBuffer.allocate(200);
+
+      // only the range is loaded after a seek
+      int seekPosition = chunkSize + 100;
+      stream.seek(seekPosition);
+      assertEquals(200, stream.read(b));
+      resetAndAdvanceDataGenerator(seekPosition);
+      ECStreamTestUtil.assertBufferMatches(b, dataGenerator);
+      assertEquals(200, getBytesRead());
+
+      // the next read loads the rest of the cell without reading the range again
+      b.clear();
+      assertEquals(200, stream.read(b));
+      ECStreamTestUtil.assertBufferMatches(b, dataGenerator);
+      assertEquals(chunkSize - 100, getBytesRead());
+
+      // the loaded data is reused after seeking within it
+      b.clear();
+      seekPosition = chunkSize + 150;
+      stream.seek(seekPosition);
+      assertEquals(200, stream.read(b));
+      resetAndAdvanceDataGenerator(seekPosition);
+      ECStreamTestUtil.assertBufferMatches(b, dataGenerator);
+      assertEquals(chunkSize - 100, getBytesRead());
+    }
+  }
+
+  private long getBytesRead() {
+    long total = 0;
+    for (ECStreamTestUtil.TestBlockInputStream s : streamFactory.getBlockStreams()) {
+      total += s.getBytesRead();
+    }
+    return total;
+  }
+
   private void resetAndAdvanceDataGenerator(long position) {
     dataGenerator = new SplittableRandom(randomSeed);
     for (long i = 0; i < position; i++) {
@@ -631,6 +631,76 @@ public void testSeek() throws IOException {
     }
   }
 
+  @Test
+  void testReadStripeRange() throws IOException {
+    int chunkSize = repConfig.getEcChunkSize();
+    int partialStripeSize = chunkSize + 100;
+    int dataLength = stripeSize() * 2 + partialStripeSize;
+    ByteBuffer[] dataBufs = allocateBuffers(repConfig.getData(), 3 * chunkSize);
+    ECStreamTestUtil.randomFill(dataBufs, chunkSize, dataGen, dataLength);
+    ByteBuffer[] parity = generateParity(dataBufs, repConfig);
+
+    List<Map<DatanodeDetails, Integer>> locations = new ArrayList<>();
+    // The second data missing
+    locations.add(ECStreamTestUtil.createIndexMap(1, 3, 4, 5));
+    // Two data missing including the second
+    locations.add(ECStreamTestUtil.createIndexMap(1, 4, 5));
+    // One data and one parity missing
+    locations.add(ECStreamTestUtil.createIndexMap(1, 3, 4));
+    // No locations missing
+    locations.add(ECStreamTestUtil.createIndexMap(1, 2, 3, 4, 5));
+
+    for (Map<DatanodeDetails, Integer> dnMap : locations) {
+      streamFactory = new TestBlockInputStreamFactory();
+      addDataStreamsToFactory(dataBufs, parity);
+      BlockLocationInfo keyInfo = ECStreamTestUtil.createKeyInfo(repConfig, dataLength, dnMap);
+      streamFactory.setCurrentPipeline(keyInfo.getPipeline());
+
+      ByteBuffer[] bufs = allocateByteBuffers(repConfig);
+      try (ECBlockReconstructedStripeInputStream ecb = createInputStream(keyInfo)) {
+        // A range within the second cell of the second stripe
+        ecb.seek(stripeSize());
+        int read = ecb.readStripe(bufs, chunkSize + 100, 200);
+        assertEquals(stripeSize(), read);
+        assertEquals(0, bufs[0].remaining());
+        validateContents(dataBufs[1], bufs[1], chunkSize + 100, 200);
+        assertEquals(0, bufs[2].remaining());
+        assertEquals(partialStripeSize, ecb.getRemaining());
+        // only the range is read, from the cell or else from each decoder input
+        final boolean cellAvailable = dnMap.containsValue(2);
+        for (ECStreamTestUtil.TestBlockInputStream stream : streamFactory.getBlockStreams()) {
+          assertThat(stream.getBytesRead()).isLessThanOrEqualTo(200);
+        }
+        assertEquals(cellAvailable ? 200 : 200 * repConfig.getData(), getBytesRead());
+
+        // A range spanning two cells of the first stripe
+        clearBuffers(bufs);
+        ecb.seek(0);
+        read = ecb.readStripe(bufs, chunkSize - 10, 20);
+        assertEquals(stripeSize(), read);
+        validateContents(dataBufs[0], bufs[0], chunkSize - 10, 10);
+        validateContents(dataBufs[1], bufs[1], 0, chunkSize);
+        validateContents(dataBufs[2], bufs[2], 0, chunkSize);
+
+        // A range in the second cell of the last partial stripe
+        clearBuffers(bufs);
+        ecb.seek(stripeSize() * 2L);
+        read = ecb.readStripe(bufs, chunkSize + 50, 1000);
+        assertEquals(partialStripeSize, read);
+        validateContents(dataBufs[1], bufs[1], 2 * chunkSize + 50, 50);
+        assertEquals(0, ecb.getRemaining());
+      }
+    }
+  }
+
+  private long getBytesRead() {
+    long total = 0;
+    for (ECStreamTestUtil.TestBlockInputStream stream : streamFactory.getBlockStreams()) {
+      total += stream.getBytesRead();
+    }
+    return total;
+  }
+
   @Test
   public void testSeekToPartialOffsetFails() {
     Map<DatanodeDetails, Integer> dnMap =
@@ -418,6 +418,7 @@ public static boolean isReadOnly(
     switch (proto.getCmdType()) {
     case ReadContainer:
     case ReadChunk:
+    case ReadBlock:
     case ListBlock:
     case GetBlock:
     case GetSmallFile:
@@ -478,6 +479,7 @@ public static boolean requireBlockToken(Type cmdType) {
     case PutBlock:
     case PutSmallFile:
     case ReadChunk:
+    case ReadBlock:
     case WriteChunk:
     case FinalizeBlock:
       return true;
@@ -553,6 +555,11 @@ public static BlockID getBlockID(ContainerCommandRequestProtoOrBuilder msg) {
         blockID = msg.getReadChunk().getBlockID();
       }
       break;
+    case ReadBlock:
+      if (msg.hasReadBlock()) {
+        blockID = msg.getReadBlock().getBlockID();
+      }
+      break;
     case WriteChunk:
       if (msg.hasWriteChunk()) {
         blockID = msg.getWriteChunk().getBlockID();
@@ -784,8 +791,13 @@ public static String processForDebug(ContainerCommandResponseProto msg) {
       return null;
     }
 
-    if (msg.hasReadChunk() || msg.hasGetSmallFile()) {
+    if (msg.hasReadChunk() || msg.hasGetSmallFile() || msg.hasReadBlock()) {
       final ContainerCommandResponseProto.Builder builder = msg.toBuilder();
+      if (msg.hasReadBlock()) {
+        builder.getReadBlockBuilder().getDataBuilder()
+            .clearBuffers()
+            .addBuffers(REDACTED);
+      }
       if (msg.hasReadChunk()) {
         if (msg.getReadChunk().hasData()) {
           builder.getReadChunkBuilder().setData(REDACTED);
@@ -27,10 +27,21 @@
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.hadoop.hdds.HddsUtils;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.DataBuffers;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.GetBlockRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadBlockRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadBlockResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkVersion;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.ratis.thirdparty.io.grpc.stub.StreamObserver;
 import org.apache.ratis.util.function.CheckedBiConsumer;
 
 /**
@@ -191,4 +202,75 @@ public CompletableFuture<XceiverClientReply> watchForCommit(long index) {
   public abstract Map<DatanodeDetails, ContainerCommandResponseProto>
       sendCommandOnAllNodes(ContainerCommandRequestProto request)
       throws IOException, InterruptedException;
+
+  /**
+   * Send a read command to the given datanode, which answers with a stream of responses,
+   * such as a ReadBlock command.
+   * The responses are passed to the given observer as they arrive.
+   * <p>
+   * This default implementation does not stream:
+   * it reads the chunks of a ReadBlock command one by one with ReadChunk commands,
+   * which are sent by {@link #sendCommand(ContainerCommandRequestProto)},
+   * and passes a ReadBlock response for each chunk to the observer.
+   *
+   * @throws UnsupportedOperationException if the command is not a ReadBlock command.
+   */
+  public void streamRead(ContainerCommandRequestProto request, DatanodeDetails datanode,
+      StreamObserver<ContainerCommandResponseProto> responseObserver) throws IOException {
+    if (request.getCmdType() != Type.ReadBlock) {
+      throw new UnsupportedOperationException("Streaming " + request.getCmdType()
+          + " is not supported by " + getClass().getSimpleName());
+    }
+    try {
+      readBlockByChunks(request, responseObserver);
+    } catch (IOException e) {
+      responseObserver.onError(e);
+      return;
+    }
+    responseObserver.onCompleted();
+  }
+
+  private void readBlockByChunks(ContainerCommandRequestProto request,
+      StreamObserver<ContainerCommandResponseProto> responseObserver) throws IOException {
+    final ReadBlockRequestProto readBlock = request.getReadBlock();
+    final ContainerCommandResponseProto getBlock = sendCommand(request.toBuilder()
+        .clearReadBlock()
+        .setCmdType(Type.GetBlock)
+        .setGetBlock(GetBlockRequestProto.newBuilder().setBlockID(readBlock.getBlockID()))
+        .build());
+    if (getBlock.getResult() != Result.SUCCESS) {
+      responseObserver.onNext(getBlock);
+      return;
+    }
+
+    final long start = readBlock.getOffset();
+    final long end = start + readBlock.getLength();
+    for (ChunkInfo chunk : getBlock.getGetBlock().getBlockData().getChunksList()) {
+      if (chunk.getOffset() >= end || chunk.getOffset() + chunk.getLen() <= start) {
+        continue;
+      }
+      final ContainerCommandResponseProto readChunk = sendCommand(request.toBuilder()
+          .clearReadBlock()
+          .setCmdType(Type.ReadChunk)
+          .setReadChunk(ReadChunkRequestProto.newBuilder()
+              .setBlockID(readBlock.getBlockID())
+              .setChunkData(chunk)
+              .setReadChunkVersion(ReadChunkVersion.V1))
+          .build());
+      if (readChunk.getResult() != Result.SUCCESS) {
+        responseObserver.onNext(readChunk);
+        return;
+      }
+      final ReadChunkResponseProto data = readChunk.getReadChunk();
+      responseObserver.onNext(readChunk.toBuilder()
+          .clearReadChunk()
+          .setCmdType(Type.ReadBlock)
+          .setReadBlock(ReadBlockResponseProto.newBuilder()
+              .setBlockID(readBlock.getBlockID())
+              .setChunkData(chunk)
+              .setData(data.hasDataBuffers() ? data.getDataBuffers()
+                  : DataBuffers.newBuilder().addBuffers(data.getData()).build()))
+          .build());
+    }
+  }
 }
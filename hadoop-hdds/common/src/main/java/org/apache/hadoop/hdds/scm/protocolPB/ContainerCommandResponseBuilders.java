@@ -39,6 +39,7 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ListBlockResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.PutBlockResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.PutSmallFileResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadBlockResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadContainerResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result;
@@ -334,6 +335,25 @@ public static ContainerCommandResponseProto getReadChunkResponse(
         .build();
   }
 
+  /**
+   * Returns a ReadBlock response carrying the data of the given chunk.
+   */
+  public static ContainerCommandResponseProto getReadBlockResponse(
+      ContainerCommandRequestProto request, ChunkInfo chunk,
+      ChunkBufferToByteString data,
+      Function<ByteBuffer, ByteString> byteBufferToByteString) {
+    final ReadBlockResponseProto.Builder response = ReadBlockResponseProto.newBuilder()
+        .setBlockID(request.getReadBlock().getBlockID())
+        .setChunkData(chunk)
+        .setData(DataBuffers.newBuilder()
+            .addAllBuffers(data.toByteStringList(byteBufferToByteString))
+            .build());
+
+    return getSuccessResponseBuilder(request)
+        .setReadBlock(response)
+        .build();
+  }
+
   public static ContainerCommandResponseProto getFinalizeBlockResponse(
       ContainerCommandRequestProto msg, BlockData data) {
 
@@ -55,6 +55,7 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.PutBlockRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.PutSmallFileRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.PutSmallFileResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadBlockRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadContainerRequestProto;
@@ -75,6 +76,7 @@
 import org.apache.hadoop.security.token.Token;
 import org.apache.hadoop.security.token.TokenIdentifier;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.thirdparty.io.grpc.stub.StreamObserver;
 import org.apache.ratis.util.function.CheckedFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -404,6 +406,44 @@ private static ContainerProtos.ReadChunkResponseProto readChunk(
     return response;
   }
 
+  /**
+   * Calls the container protocol to read the chunks of a block
+   * overlapping the given range from the given datanode.
+   * The datanode answers with a stream of responses, one for each chunk,
+   * which are passed to the given observer as they arrive.
+   *
+   * @param xceiverClient client to perform call
+   * @param datanode the datanode to read from
+   * @param blockID ID of the block
+   * @param offset the offset in the block
+   * @param length the number of bytes to read
+   * @param token a token for this block (may be null)
+   * @param responseObserver to receive the responses
+   * @throws IOException if there is an I/O error while performing the call
+   */
+  public static void readBlock(XceiverClientSpi xceiverClient,
+      DatanodeDetails datanode, DatanodeBlockID blockID, long offset, long length,
+      Token<? extends TokenIdentifier> token,
+      StreamObserver<ContainerCommandResponseProto> responseObserver) throws IOException {
+    final ReadBlockRequestProto.Builder readBlockRequest = ReadBlockRequestProto.newBuilder()
+        .setBlockID(blockID)
+        .setOffset(offset)
+        .setLength(length);
+    final ContainerCommandRequestProto.Builder builder = ContainerCommandRequestProto.newBuilder()
+        .setCmdType(Type.ReadBlock)
+        .setContainerID(blockID.getContainerID())
+        .setDatanodeUuid(datanode.getUuidString())
+        .setReadBlock(readBlockRequest);
+    if (token != null) {
+      builder.setEncodedToken(token.encodeToUrlString());
+    }
+    final String traceId = TracingUtil.exportCurrentSpan();
+    if (traceId != null) {
+      builder.setTraceID(traceId);
+    }
+    xceiverClient.streamRead(builder.build(), datanode, responseObserver);
+  }
+
   static String toErrorMessage(ChunkInfo chunk, DatanodeBlockID blockId,
       DatanodeDetails d) {
     return String.format("Failed to read chunk %s (len=%s) %s from %s",
@@ -63,7 +63,7 @@ default CodecBuffer toCodecBuffer(@Nonnull T object, CodecBuffer.Allocator alloc
    * @return a direct buffer storing the serialized bytes.
    */
   default CodecBuffer toDirectCodecBuffer(@Nonnull T object) throws CodecException {
-    return toCodecBuffer(object, CodecBuffer.Allocator.getDirect());
+    return toCodecBuffer(object, PooledBufferAllocator.CODEC);
   }
 
   /**
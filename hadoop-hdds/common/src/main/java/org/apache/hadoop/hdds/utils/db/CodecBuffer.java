@@ -75,6 +75,11 @@ public class CodecBuffer implements UncheckedAutoCloseable {
 
   private final CompletableFuture<Void> released = new CompletableFuture<>();
 
+  /** The allocator accounting this buffer, if there is any. */
+  private PooledBufferAllocator owner;
+  /** The capacity accounted by the {@link #owner}. */
+  private int ownedCapacity;
+
   /** To create {@link CodecBuffer} instances. */
   private static class Factory {
     private static volatile BiFunction<ByteBuf, Object, CodecBuffer> constructor
@@ -231,6 +236,11 @@ public static CodecBuffer wrap(ByteString bytes) {
         Unpooled.wrappedBuffer(bytes.asReadOnlyByteBuffer()), bytes);
   }
 
+  /** @return the number of leaks detected. */
+  public static int getLeakCount() {
+    return LEAK_COUNT.get();
+  }
+
   /** Assert the number of leak detected is zero. */
   public static void assertNoLeaks() {
     final long leak = LEAK_COUNT.get();
@@ -299,6 +309,8 @@ public void release() {
     if (!set) {
       // Allow a zero capacity buffer to be released multiple times.
       Preconditions.assertSame(0, buf.capacity(), "capacity");
+    } else if (owner != null) {
+      owner.recordRelease(ownedCapacity);
     }
     if (buf.release()) {
       assertRefCnt(0);
@@ -308,6 +320,17 @@ public void release() {
     }
   }
 
+  /**
+   * Account this buffer by the given allocator until it is released.
+   * It must be called before this buffer is shared with other threads.
+   */
+  void setOwner(PooledBufferAllocator allocator) {
+    Preconditions.assertTrue(owner == null, "owner is already set");
+    this.owner = allocator;
+    this.ownedCapacity = buf.capacity();
+    allocator.recordAllocation(ownedCapacity);
+  }
+
   /** @return the future of {@link #release()}. */
   public CompletableFuture<Void> getReleaseFuture() {
     return released;
@@ -338,6 +361,11 @@ public boolean setCapacity(int newCapacity) {
     return false;
   }
 
+  /** @return the capacity of this buffer. */
+  public int capacity() {
+    return buf.capacity();
+  }
+
   /** @return the number of bytes can be read. */
   public int readableBytes() {
     return buf.readableBytes();
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.hadoop.io.ByteBufferPool;
+import org.apache.hadoop.metrics2.MetricsCollector;
+import org.apache.hadoop.metrics2.MetricsInfo;
+import org.apache.hadoop.metrics2.MetricsSource;
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.ratis.thirdparty.io.netty.buffer.PooledByteBufAllocator;
+import org.apache.ratis.thirdparty.io.netty.buffer.PooledByteBufAllocatorMetric;
+
+/**
+ * A {@link CodecBuffer.Allocator} for a component of the process.
+ * <p>
+ * All the allocators allocate {@link CodecBuffer}s from the same pooled allocator,
+ * which manages the buffers in size-classed arenas,
+ * so that the memory released by a component is reused by the others
+ * instead of being allocated again.
+ * Each allocator accounts the buffers in use by its component;
+ * the usage is published as the metrics {@link #SOURCE_NAME}.
+ * A buffer not released is reported as a leak once
+ * {@link CodecBuffer#enableLeakDetection()} is called.
+ */
+public final class PooledBufferAllocator implements CodecBuffer.Allocator {
+  public static final String SOURCE_NAME = PooledBufferAllocator.class.getSimpleName();
+
+  /** Component name -> allocator. */
+  private static final Map<String, PooledBufferAllocator> ALLOCATORS = new ConcurrentSkipListMap<>();
+
+  public static final PooledBufferAllocator BLOCK_OUTPUT_STREAM = get("BlockOutputStream");
+  public static final PooledBufferAllocator EC_KEY_OUTPUT_STREAM = get("ECKeyOutputStream");
+  public static final PooledBufferAllocator CHUNK_MANAGER = get("ChunkManager");
+  public static final PooledBufferAllocator CODEC = get("Codec");
+
+  static {
+    final MetricsSystem ms = DefaultMetricsSystem.instance();
+    if (ms.getSource(SOURCE_NAME) == null) {
+      ms.register(SOURCE_NAME, "Pooled buffer usage", new Metrics());
+    }
+  }
+
+  private final String component;
+  private final LongAdder usedBytes = new LongAdder();
+  private final LongAdder usedBuffers = new LongAdder();
+  private final LongAdder allocations = new LongAdder();
+
+  /** @return the allocator for the given component. */
+  public static PooledBufferAllocator get(String component) {
+    return ALLOCATORS.computeIfAbsent(component, PooledBufferAllocator::new);
+  }
+
+  private PooledBufferAllocator(String component) {
+    this.component = component;
+  }
+
+  /**
+   * Allocate a direct buffer.
+   * @see CodecBuffer#allocateDirect(int)
+   */
+  @Override
+  public CodecBuffer apply(int capacity) {
+    final CodecBuffer buffer = CodecBuffer.allocateDirect(capacity);
+    buffer.setOwner(this);
+    return buffer;
+  }
+
+  @Override
+  public boolean isDirect() {
+    return true;
+  }
+
+  /**
+   * Account a buffer allocated by the component from the pooled allocator directly,
+   * which must be followed by {@link #recordRelease(long)} once the buffer is released.
+   */
+  public void recordAllocation(long capacity) {
+    usedBytes.add(capacity);
+    usedBuffers.increment();
+    allocations.increment();
+  }
+
+  /** Account a buffer released by the component. */
+  public void recordRelease(long capacity) {
+    usedBytes.add(-capacity);
+    usedBuffers.decrement();
+  }
+
+  public String getComponent() {
+    return component;
+  }
+
+  public long getUsedBytes() {
+    return usedBytes.sum();
+  }
+
+  public long getUsedBuffers() {
+    return usedBuffers.sum();
+  }
+
+  public long getAllocations() {
+    return allocations.sum();
+  }
+
+  /**
+   * Account the buffers taken from the given pool for this component,
+   * for the components whose buffers cannot be allocated by this allocator,
+   * e.g. the buffers must be backed by an array starting from offset 0.
+   *
+   * @return a {@link ByteBufferPool} taking the buffers from the given pool.
+   */
+  public ByteBufferPool track(ByteBufferPool pool) {
+    return new ByteBufferPool() {
+      @Override
+      public ByteBuffer getBuffer(boolean direct, int length) {
+        final ByteBuffer buffer = pool.getBuffer(direct, length);
+        recordAllocation(buffer.capacity());
+        return buffer;
+      }
+
+      @Override
+      public void putBuffer(ByteBuffer buffer) {
+        recordRelease(buffer.capacity());
+        pool.putBuffer(buffer);
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    return SOURCE_NAME + "-" + component;
+  }
+
+  /** Publish the usage of all the allocators and the pooled allocator. */
+  private static final class Metrics implements MetricsSource {
+    @Override
+    public void getMetrics(MetricsCollector collector, boolean all) {
+      for (PooledBufferAllocator allocator : ALLOCATORS.values()) {
+        collector.addRecord(SOURCE_NAME)
+            .setContext("Buffer metrics")
+            .tag(Info.Component, allocator.getComponent())
+            .addGauge(Info.UsedBytes, allocator.getUsedBytes())
+            .addGauge(Info.UsedBuffers, allocator.getUsedBuffers())
+            .addGauge(Info.Allocations, allocator.getAllocations());
+      }
+
+      final PooledByteBufAllocatorMetric pool = PooledByteBufAllocator.DEFAULT.metric();
+      collector.addRecord(SOURCE_NAME)
+          .setContext("Buffer metrics")
+          .tag(Info.Component, "Total")
+          .addGauge(Info.UsedDirectMemory, pool.usedDirectMemory())
+          .addGauge(Info.UsedHeapMemory, pool.usedHeapMemory())
+          .addGauge(Info.Leaks, CodecBuffer.getLeakCount());
+    }
+  }
+
+  enum Info implements MetricsInfo {
+    Component("The component using the buffers."),
+    UsedBytes("The total capacity of the buffers in use by the component."),
+    UsedBuffers("The number of buffers in use by the component."),
+    Allocations("The number of buffers allocated by the component."),
+    UsedDirectMemory("The direct memory used by the pooled allocator."),
+    UsedHeapMemory("The heap memory used by the pooled allocator."),
+    Leaks("The number of buffers detected as leaked.");
+
+    private final String desc;
+
+    Info(String desc) {
+      this.desc = desc;
+    }
+
+    @Override
+    public String description() {
+      return desc;
+    }
+  }
+}
@@ -487,6 +487,10 @@ public final class OzoneConfigKeys {
       "ozone.client.wait.between.retries.millis";
   public static final long OZONE_CLIENT_WAIT_BETWEEN_RETRIES_MILLIS_DEFAULT =
       2000;
+  public static final String OZONE_CLIENT_FOLLOWER_READ_ENABLED_KEY =
+      "ozone.client.follower.read.enabled";
+  public static final boolean OZONE_CLIENT_FOLLOWER_READ_ENABLED_DEFAULT =
+      false;
 
   public static final String OZONE_FREON_HTTP_ENABLED_KEY =
       "ozone.freon.http.enabled";
@@ -559,6 +563,14 @@ public final class OzoneConfigKeys {
   public static final long OZONE_CLIENT_KEY_PROVIDER_CACHE_EXPIRY_DEFAULT =
       TimeUnit.DAYS.toMillis(10); // 10 days
 
+  public static final String OZONE_CLIENT_METADATA_CACHE_TTL =
+      "ozone.client.metadata.cache.ttl";
+  public static final long OZONE_CLIENT_METADATA_CACHE_TTL_DEFAULT = 0;
+  public static final String OZONE_CLIENT_METADATA_CACHE_MAX_SIZE =
+      "ozone.client.metadata.cache.max.size";
+  public static final long OZONE_CLIENT_METADATA_CACHE_MAX_SIZE_DEFAULT =
+      1000;
+
   public static final String OZONE_CLIENT_KEY_LATEST_VERSION_LOCATION =
       "ozone.client.key.latest.version.location";
   public static final boolean OZONE_CLIENT_KEY_LATEST_VERSION_LOCATION_DEFAULT =
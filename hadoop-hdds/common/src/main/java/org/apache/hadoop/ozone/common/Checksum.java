@@ -224,6 +224,10 @@ public ChecksumData computeChecksum(ChunkBuffer data, boolean useCache)
       return new ChecksumData(checksumType, bytesPerChecksum);
     }
 
+    if (CrcChecksumEngine.isSupported(checksumType)) {
+      return computeCrc(data, useCache);
+    }
+
     final Function<ByteBuffer, ByteString> function;
     try {
       function = Algorithm.valueOf(checksumType).newChecksumFunction();
@@ -249,6 +253,20 @@ public ChecksumData computeChecksum(ChunkBuffer data, boolean useCache)
     return new ChecksumData(checksumType, bytesPerChecksum, checksumList);
   }
 
+  private ChecksumData computeCrc(ChunkBuffer data, boolean useCache) {
+    final List<ByteString> checksumList;
+    if (checksumCache == null || !useCache) {
+      // The engine is created for each call, as for the other algorithms,
+      // so that an instance without a cache can be shared by threads.
+      final CrcChecksumEngine crcEngine = new CrcChecksumEngine(checksumType, bytesPerChecksum);
+      checksumList = new ArrayList<>(data.remaining() / bytesPerChecksum + 1);
+      crcEngine.update(data, checksumList);
+    } else {
+      checksumList = checksumCache.computeChecksum(data, checksumType);
+    }
+    return new ChecksumData(checksumType, bytesPerChecksum, checksumList);
+  }
+
   /**
    * Compute checksum using the algorithm for the data upto the max length.
    * @param data input data
@@ -21,6 +21,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +41,8 @@ public class ChecksumCache {
 
   private final int bytesPerChecksum;
   private final List<ByteString> checksums;
+  /** For continuing the CRC of the last partial checksum; see {@link #computeChecksum(ChunkBuffer, ChecksumType)}. */
+  private CrcChecksumEngine crcEngine;
   // Chunk length last time the checksum is computed
   private int prevChunkLength;
   // This only serves as a hint for array list initial allocation. The array list will still grow as needed.
@@ -57,21 +60,45 @@ public ChecksumCache(int bytesPerChecksum) {
    * Clear cached checksums. And reset the written index.
    */
   public void clear() {
-    prevChunkLength = 0;
-    checksums.clear();
+    clearChecksums();
+    crcEngine = null;
   }
 
   public List<ByteString> getChecksums() {
     return checksums;
   }
 
-  public List<ByteString> computeChecksum(ChunkBuffer data, Function<ByteBuffer, ByteString> function) {
-    // Indicates how much data the current chunk buffer holds
+  /**
+   * Similar to {@link #computeChecksum(ChunkBuffer, Function)} for CRC32/CRC32C
+   * except that the CRC of the last partial checksum is continued with the appended data,
+   * instead of being computed again from the beginning of its slice.
+   */
+  public List<ByteString> computeChecksum(ChunkBuffer data, ChecksumType type) {
     final int currChunkLength = data.limit();
+    if (!hasNewData(currChunkLength)) {
+      return checksums;
+    }
+
+    if (crcEngine == null) {
+      // the checksums were computed by the function, if there are any
+      clearChecksums();
+      crcEngine = new CrcChecksumEngine(type, bytesPerChecksum);
+    }
+    crcEngine.update(data.duplicate(prevChunkLength, currChunkLength), checksums);
+    prevChunkLength = currChunkLength;
+    return checksums;
+  }
 
+  private void clearChecksums() {
+    prevChunkLength = 0;
+    checksums.clear();
+  }
+
+  /** @return true iff the chunk has new data since the last time. */
+  private boolean hasNewData(int currChunkLength) {
     if (currChunkLength == prevChunkLength) {
       LOG.debug("ChunkBuffer data limit same as last time ({}). No new checksums need to be computed", prevChunkLength);
-      return checksums;
+      return false;
     }
 
     // Sanity check
@@ -81,6 +108,20 @@ public List<ByteString> computeChecksum(ChunkBuffer data, Function<ByteBuffer, B
       throw new IllegalArgumentException("ChunkBuffer data limit (" + currChunkLength + ")" +
           " must not be smaller than last time (" + prevChunkLength + ")");
     }
+    return true;
+  }
+
+  public List<ByteString> computeChecksum(ChunkBuffer data, Function<ByteBuffer, ByteString> function) {
+    // Indicates how much data the current chunk buffer holds
+    final int currChunkLength = data.limit();
+    if (!hasNewData(currChunkLength)) {
+      return checksums;
+    }
+    if (crcEngine != null) {
+      // the checksums were computed by the engine
+      clearChecksums();
+      crcEngine = null;
+    }
 
     // One or more checksums need to be computed
 
@@ -99,7 +140,6 @@ public List<ByteString> computeChecksum(ChunkBuffer data, Function<ByteBuffer, B
       // 2. one after the last element   -- in which case a new checksum needs to be added
       assert i == checksums.size() - 1 || i == checksums.size();
 
-      // TODO: Furthermore for CRC32/CRC32C, it can be even more efficient by updating the last checksum byte-by-byte.
       final ByteString checksum = Checksum.computeChecksum(b, function, bytesPerChecksum);
       if (i == checksums.size()) {
         checksums.add(checksum);
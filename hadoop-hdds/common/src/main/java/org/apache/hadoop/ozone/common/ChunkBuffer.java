@@ -42,10 +42,17 @@ static ChunkBuffer allocate(int capacity) {
    *   When increment {@literal <= 0}, entire buffer is allocated in the beginning.
    */
   static ChunkBuffer allocate(int capacity, int increment) {
+    return allocate(capacity, increment, CodecBuffer.Allocator.getDirect());
+  }
+
+  /** Similar to {@link #allocate(int, int)}
+   * except that the buffers are allocated by the given allocator.
+   */
+  static ChunkBuffer allocate(int capacity, int increment, CodecBuffer.Allocator allocator) {
     if (increment > 0 && increment < capacity) {
-      return new IncrementalChunkBuffer(capacity, increment, false);
+      return new IncrementalChunkBuffer(capacity, increment, false, allocator);
     }
-    CodecBuffer codecBuffer = CodecBuffer.allocateDirect(capacity);
+    CodecBuffer codecBuffer = allocator.apply(capacity);
     return new ChunkBufferImplWithByteBuffer(codecBuffer.asWritableByteBuffer(), codecBuffer);
   }
 
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.common;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.thirdparty.com.google.protobuf.UnsafeByteOperations;
+
+/**
+ * Compute the CRC32/CRC32C checksums of all the bytesPerChecksum slices of a {@link ChunkBuffer} in one pass.
+ * <p>
+ * The underlying buffers are passed to a single {@link ChecksumByteBuffer},
+ * which uses the JDK intrinsics when available,
+ * without slicing them per checksum nor copying a slice spanning two buffers.
+ * The checksums computed in a pass share a single byte array.
+ * <p>
+ * The CRC of the last partial slice is kept,
+ * so that the data appended later, e.g. by hsync, continues it instead of computing it again.
+ * <p>
+ * This class is not thread safe.
+ */
+final class CrcChecksumEngine {
+  private static final int CHECKSUM_SIZE = 4;
+
+  private final ChecksumByteBuffer crc;
+  private final int bytesPerChecksum;
+  /** The number of bytes of the current slice already passed to {@link #crc}. */
+  private int sliceLength;
+
+  static boolean isSupported(ChecksumType type) {
+    return type == ChecksumType.CRC32 || type == ChecksumType.CRC32C;
+  }
+
+  CrcChecksumEngine(ChecksumType type, int bytesPerChecksum) {
+    if (!isSupported(type)) {
+      throw new IllegalArgumentException("Unsupported checksum type " + type);
+    }
+    this.crc = type == ChecksumType.CRC32 ? ChecksumByteBufferFactory.crc32Impl()
+        : ChecksumByteBufferFactory.crc32CImpl();
+    this.bytesPerChecksum = bytesPerChecksum;
+  }
+
+  /** Start a new data, i.e. the next data passed is at offset 0. */
+  void reset() {
+    crc.reset();
+    sliceLength = 0;
+  }
+
+  /**
+   * Compute the checksums of the given data appended to the data passed since the last {@link #reset()}.
+   * The position of the given data is unchanged.
+   *
+   * @param data the data from its position to its limit.
+   * @param checksums the checksums computed previously;
+   *                  if the previous data ended with a partial slice,
+   *                  its checksum, i.e. the last element, is replaced.
+   */
+  void update(ChunkBuffer data, List<ByteString> checksums) {
+    final int length = data.remaining();
+    if (length == 0) {
+      return;
+    }
+    final boolean continued = sliceLength > 0;
+    final int count = (sliceLength + length - 1) / bytesPerChecksum + 1;
+    final byte[] computed = new byte[count * CHECKSUM_SIZE];
+
+    int index = 0;
+    for (ByteBuffer buffer : data.asByteBufferList()) {
+      final ByteBuffer b = buffer.duplicate();
+      final int limit = b.limit();
+      while (b.position() < limit) {
+        final int n = Math.min(bytesPerChecksum - sliceLength, limit - b.position());
+        b.limit(b.position() + n);
+        crc.update(b);
+        b.limit(limit);
+        sliceLength += n;
+        if (sliceLength == bytesPerChecksum) {
+          put(crc.getValue(), computed, index++);
+          crc.reset();
+          sliceLength = 0;
+        }
+      }
+    }
+    if (sliceLength > 0) {
+      // a partial slice; keep the crc for continuing it
+      put(crc.getValue(), computed, index++);
+    }
+    if (index != count) {
+      throw new IllegalStateException("Unexpected number of checksums: " + index + " != " + count);
+    }
+
+    for (int i = 0; i < count; i++) {
+      final ByteString checksum = UnsafeByteOperations.unsafeWrap(computed, i * CHECKSUM_SIZE, CHECKSUM_SIZE);
+      if (i == 0 && continued && !checksums.isEmpty()) {
+        checksums.set(checksums.size() - 1, checksum);
+      } else {
+        checksums.add(checksum);
+      }
+    }
+  }
+
+  /** Put the value as a big-endian int, the same as {@link Checksum#int2ByteString(int)}. */
+  private static void put(long value, byte[] array, int index) {
+    final int offset = index * CHECKSUM_SIZE;
+    array[offset] = (byte) (value >>> 24);
+    array[offset + 1] = (byte) (value >>> 16);
+    array[offset + 2] = (byte) (value >>> 8);
+    array[offset + 3] = (byte) value;
+  }
+}
@@ -52,10 +52,16 @@ final class IncrementalChunkBuffer implements ChunkBuffer {
   private final List<CodecBuffer> underlying;
   /** Is this a duplicated buffer? (for debug only) */
   private final boolean isDuplicated;
+  /** To allocate the underlying buffers. */
+  private final CodecBuffer.Allocator allocator;
   /** The index of the first non-full buffer. */
   private int firstNonFullIndex = 0;
 
   IncrementalChunkBuffer(int limit, int increment, boolean isDuplicated) {
+    this(limit, increment, isDuplicated, CodecBuffer.Allocator.getDirect());
+  }
+
+  IncrementalChunkBuffer(int limit, int increment, boolean isDuplicated, CodecBuffer.Allocator allocator) {
     Preconditions.checkArgument(limit >= 0);
     Preconditions.checkArgument(increment > 0);
     this.limit = limit;
@@ -65,6 +71,7 @@ final class IncrementalChunkBuffer implements ChunkBuffer {
     this.buffers = new ArrayList<>(size);
     this.underlying = isDuplicated ? Collections.emptyList() : new ArrayList<>(size);
     this.isDuplicated = isDuplicated;
+    this.allocator = allocator;
   }
 
   @Override
@@ -126,7 +133,7 @@ private ByteBuffer getAndAllocateAtIndex(int index) {
     // allocate upto the given index
     ByteBuffer b = null;
     for (; i <= index; i++) {
-      final CodecBuffer c = CodecBuffer.allocateDirect(getBufferCapacityAtIndex(i));
+      final CodecBuffer c = allocator.apply(getBufferCapacityAtIndex(i));
       underlying.add(c);
       b = c.asWritableByteBuffer();
       buffers.add(b);
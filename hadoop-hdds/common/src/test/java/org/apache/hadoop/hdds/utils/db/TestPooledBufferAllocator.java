@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import org.apache.hadoop.io.ByteBufferPool;
+import org.apache.hadoop.io.ElasticByteBufferPool;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link PooledBufferAllocator}.
+ */
+final class TestPooledBufferAllocator {
+  @Test
+  void testAllocate() {
+    final PooledBufferAllocator allocator = PooledBufferAllocator.get("testAllocate");
+    assertSame(allocator, PooledBufferAllocator.get("testAllocate"));
+
+    final CodecBuffer first = allocator.apply(10);
+    final CodecBuffer second = allocator.apply(20);
+    assertTrue(first.isDirect());
+    assertEquals(30, allocator.getUsedBytes());
+    assertEquals(2, allocator.getUsedBuffers());
+
+    first.release();
+    assertEquals(20, allocator.getUsedBytes());
+    assertEquals(1, allocator.getUsedBuffers());
+    second.release();
+    assertEquals(0, allocator.getUsedBytes());
+    assertEquals(0, allocator.getUsedBuffers());
+    assertEquals(2, allocator.getAllocations());
+  }
+
+  @Test
+  void testChunkBuffer() {
+    final PooledBufferAllocator allocator = PooledBufferAllocator.get("testChunkBuffer");
+    try (ChunkBuffer buffer = ChunkBuffer.allocate(100, 30, allocator)) {
+      // the buffer is allocated incrementally
+      assertEquals(0, allocator.getUsedBuffers());
+      buffer.put(new byte[50]);
+      assertEquals(60, allocator.getUsedBytes());
+      assertEquals(2, allocator.getUsedBuffers());
+    }
+    assertEquals(0, allocator.getUsedBytes());
+    assertEquals(0, allocator.getUsedBuffers());
+  }
+
+  @Test
+  void testTrackByteBufferPool() {
+    final PooledBufferAllocator allocator = PooledBufferAllocator.get("testTrackByteBufferPool");
+    final ByteBufferPool pool = allocator.track(new ElasticByteBufferPool());
+
+    final ByteBuffer buffer = pool.getBuffer(false, 16);
+    assertEquals(buffer.capacity(), allocator.getUsedBytes());
+    assertEquals(1, allocator.getUsedBuffers());
+    pool.putBuffer(buffer);
+    assertEquals(0, allocator.getUsedBytes());
+    assertEquals(0, allocator.getUsedBuffers());
+  }
+}
@@ -22,9 +22,15 @@
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 /**
@@ -100,4 +106,32 @@ public void testChecksumMismatchForDifferentChecksumTypes(boolean useChecksumCac
     // The two checksums should not match as they have different types
     assertNotEquals(checksum1, checksum2, "Checksums should not match for different checksum types");
   }
+
+  /**
+   * Tests that a {@link Checksum} without cache can be shared by threads.
+   */
+  @ParameterizedTest
+  @EnumSource(names = {"CRC32", "CRC32C"})
+  public void testSharedByThreads(ContainerProtos.ChecksumType type) throws Exception {
+    final Checksum checksum = getChecksum(type, false);
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 1000; i++) {
+            final byte[] data = RandomStringUtils.secure().nextAlphabetic(55).getBytes(UTF_8);
+            final ChecksumData checksumData = checksum.computeChecksum(data);
+            Checksum.verifyChecksum(ByteBuffer.wrap(data), checksumData, 0);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> f : futures) {
+        f.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
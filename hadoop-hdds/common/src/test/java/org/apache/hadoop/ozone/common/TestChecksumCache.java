@@ -69,4 +69,33 @@ void testComputeChecksum(ChecksumType checksumType) throws Exception {
     // Sanity check
     checksumCache.clear();
   }
+
+  @ParameterizedTest
+  @EnumSource(value = ChecksumType.class, names = {"CRC32", "CRC32C"})
+  void testContinueCrc(ChecksumType checksumType) {
+    final int bytesPerChecksum = 16;
+    final ChecksumCache checksumCache = new ChecksumCache(bytesPerChecksum);
+    final Function<ByteBuffer, ByteString> function = Algorithm.valueOf(checksumType).newChecksumFunction();
+
+    final int size = 100;
+    final byte[] byteArray = new byte[size];
+    for (int i = 0; i < size; i++) {
+      byteArray[i] = (byte) (i * 7);
+    }
+
+    // append a few bytes each time so that the last partial checksum is continued
+    for (int length = 3; length <= size; length += 3) {
+      try (ChunkBuffer chunkBuffer = ChunkBuffer.wrap(ByteBuffer.wrap(byteArray, 0, length).asReadOnlyBuffer())) {
+        final List<ByteString> res = checksumCache.computeChecksum(chunkBuffer, checksumType);
+        Assertions.assertEquals(0, chunkBuffer.position());
+        Assertions.assertEquals((length - 1) / bytesPerChecksum + 1, res.size());
+        for (int j = 0; j < res.size(); j++) {
+          final int offset = j * bytesPerChecksum;
+          final ByteBuffer slice = ByteBuffer.wrap(byteArray, offset, Math.min(bytesPerChecksum, length - offset));
+          Assertions.assertEquals(function.apply(slice), res.get(j), "length=" + length + ", j=" + j);
+        }
+      }
+    }
+    checksumCache.clear();
+  }
 }
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.ozone.common.Checksum.Algorithm;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Tests for {@link CrcChecksumEngine}.
+ */
+class TestCrcChecksumEngine {
+  private static final int BYTES_PER_CHECKSUM = 100;
+
+  @ParameterizedTest
+  @EnumSource(value = ChecksumType.class, names = {"CRC32", "CRC32C"})
+  void testByteBufferList(ChecksumType type) {
+    final byte[] bytes = new byte[1000];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    final List<ByteString> expected = computeExpected(type, bytes);
+
+    // buffers with sizes not aligned with bytesPerChecksum, some of them direct
+    final int[] sizes = {1, 99, 150, 250, 7, 293, 200};
+    final List<ByteBuffer> buffers = new ArrayList<>();
+    int offset = 0;
+    for (int i = 0; i < sizes.length; i++) {
+      final ByteBuffer b = i % 2 == 0 ? ByteBuffer.allocateDirect(sizes[i]) : ByteBuffer.allocate(sizes[i]);
+      b.put(bytes, offset, sizes[i]).flip();
+      buffers.add(b);
+      offset += sizes[i];
+    }
+    assertEquals(bytes.length, offset);
+
+    final CrcChecksumEngine engine = new CrcChecksumEngine(type, BYTES_PER_CHECKSUM);
+    final ChunkBuffer data = ChunkBuffer.wrap(buffers);
+    final List<ByteString> computed = new ArrayList<>();
+    engine.update(data, computed);
+    assertEquals(expected, computed);
+    assertEquals(0, data.position());
+
+    // reset and compute again
+    engine.reset();
+    computed.clear();
+    engine.update(data, computed);
+    assertEquals(expected, computed);
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ChecksumType.class, names = {"CRC32", "CRC32C"})
+  void testChecksum(ChecksumType type) throws Exception {
+    final byte[] bytes = new byte[1234];
+    ThreadLocalRandom.current().nextBytes(bytes);
+
+    final ChecksumData checksumData = new Checksum(type, BYTES_PER_CHECKSUM)
+        .computeChecksum(ByteBuffer.wrap(bytes));
+    assertEquals(computeExpected(type, bytes), checksumData.getChecksums());
+    Checksum.verifyChecksum(ByteBuffer.wrap(bytes), checksumData, 0);
+  }
+
+  private static List<ByteString> computeExpected(ChecksumType type, byte[] bytes) {
+    final Function<ByteBuffer, ByteString> function = Algorithm.valueOf(type).newChecksumFunction();
+    final List<ByteString> expected = new ArrayList<>();
+    for (int offset = 0; offset < bytes.length; offset += BYTES_PER_CHECKSUM) {
+      final int length = Math.min(BYTES_PER_CHECKSUM, bytes.length - offset);
+      expected.add(function.apply(ByteBuffer.wrap(bytes, offset, length)));
+    }
+    return expected;
+  }
+}
@@ -43,7 +43,8 @@ public enum DNAction implements AuditAction {
   STREAM_INIT,
   FINALIZE_BLOCK,
   ECHO,
-  GET_CONTAINER_CHECKSUM_INFO;
+  GET_CONTAINER_CHECKSUM_INFO,
+  READ_BLOCK;
 
   @Override
   public String getAction() {
@@ -32,6 +32,8 @@
 import java.nio.file.Files;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
@@ -61,6 +63,9 @@ public class ContainerChecksumTreeManager {
   // The file is atomically renamed into place, so readers do not need coordination.
   private final Striped<Lock> fileLocks;
   private final ContainerMerkleTreeMetrics metrics;
+  // The trees of the open containers created on this datanode, updated in memory as their blocks are committed.
+  // Each tree is synchronized on itself.
+  private final Map<Long, ContainerMerkleTreeWriter> openContainerTrees = new ConcurrentHashMap<>();
 
   /**
    * Creates one instance that should be used to coordinate all container checksum info within a datanode.
@@ -343,6 +348,57 @@ public void addDeletedBlocks(ContainerData data, Collection<BlockData> blocks) t
     });
   }
 
+  /**
+   * Starts maintaining the merkle tree of a newly created, empty container in memory. The tree is updated by
+   * {@link #addCommittedBlock} until it is taken by {@link #removeOpenContainer}.
+   * Only containers created since the datanode started are tracked, since the blocks committed before a restart are
+   * not known to this instance.
+   */
+  public void addOpenContainer(long containerID) {
+    openContainerTrees.put(containerID, new ContainerMerkleTreeWriter());
+  }
+
+  /**
+   * Adds a committed block to the in memory tree of an open container, if the container is tracked.
+   * The chunks in the BlockData overwrite the chunks at the same offsets in the tree, so both full and incremental
+   * chunk lists can be added. The chunks are assumed to be healthy until the scanner checks them.
+   */
+  public void addCommittedBlock(long containerID, BlockData block) {
+    ContainerMerkleTreeWriter tree = openContainerTrees.get(containerID);
+    if (tree == null) {
+      return;
+    }
+    synchronized (tree) {
+      tree.addBlock(block.getLocalID());
+      tree.addChunks(block.getLocalID(), true, block.getChunks());
+    }
+  }
+
+  /**
+   * Stops maintaining the in memory tree of a container.
+   * @return A writer with all the blocks committed to the container since it was created, or null if the container is
+   * not tracked or the tree does not have the same number of blocks as the container. In these cases the tree needs to
+   * be built from the block metadata.
+   */
+  public ContainerMerkleTreeWriter removeOpenContainer(ContainerData data) {
+    long containerID = data.getContainerID();
+    ContainerMerkleTreeWriter tree = openContainerTrees.remove(containerID);
+    if (tree == null) {
+      return null;
+    }
+    ContainerProtos.ContainerMerkleTree treeProto;
+    synchronized (tree) {
+      // Copy the tree so that a put block still in progress cannot modify it after this point.
+      treeProto = tree.toProto();
+    }
+    if (treeProto.getBlockMerkleTreeCount() != data.getBlockCount()) {
+      LOG.debug("Discarding the in memory merkle tree of container {} with {} blocks, expected {} blocks", containerID,
+          treeProto.getBlockMerkleTreeCount(), data.getBlockCount());
+      return null;
+    }
+    return new ContainerMerkleTreeWriter(treeProto);
+  }
+
   /**
    * Reads the checksum info of the specified container. If the tree file with the information does not exist, or there
    * is an exception trying to read the file, an empty instance is returned.
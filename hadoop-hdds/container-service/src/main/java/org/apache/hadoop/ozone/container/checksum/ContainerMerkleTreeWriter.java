@@ -59,6 +59,8 @@ public ContainerMerkleTreeWriter() {
   /**
    * Constructs a writer for a container merkle tree which initially contains all the information from the specified
    * proto.
+   * The block checksums of the proto are reused for the blocks which are not modified through this writer, so only the
+   * modified blocks and the container level checksum are computed again by {@link #toProto}.
    */
   public ContainerMerkleTreeWriter(ContainerProtos.ContainerMerkleTree fromTree) {
     id2Block = new TreeMap<>();
@@ -67,10 +69,7 @@ public ContainerMerkleTreeWriter(ContainerProtos.ContainerMerkleTree fromTree) {
       if (blockTree.getDeleted()) {
         setDeletedBlock(blockID, blockTree.getDataChecksum());
       } else {
-        addBlock(blockID);
-        for (ContainerProtos.ChunkMerkleTree chunkTree: blockTree.getChunkMerkleTreeList()) {
-          addChunks(blockID, new ChunkMerkleTreeWriter(chunkTree));
-        }
+        id2Block.put(blockID, new BlockMerkleTreeWriter(blockTree));
       }
     }
   }
@@ -229,6 +228,8 @@ private static class BlockMerkleTreeWriter {
     private final long blockID;
     private boolean deleted;
     private Long dataChecksum;
+    // The proto this block was read from, until the block is modified.
+    private ContainerProtos.BlockMerkleTree unmodifiedProto;
 
     BlockMerkleTreeWriter(long blockID) {
       this.blockID = blockID;
@@ -236,13 +237,26 @@ private static class BlockMerkleTreeWriter {
       this.deleted = false;
     }
 
+    /**
+     * Constructs a writer for a live block which initially contains all the chunks from the specified proto.
+     */
+    BlockMerkleTreeWriter(ContainerProtos.BlockMerkleTree blockTree) {
+      this(blockTree.getBlockID());
+      for (ContainerProtos.ChunkMerkleTree chunkTree: blockTree.getChunkMerkleTreeList()) {
+        offset2Chunk.put(chunkTree.getOffset(), new ChunkMerkleTreeWriter(chunkTree));
+      }
+      this.unmodifiedProto = blockTree;
+    }
+
     public void markDeleted(long deletedDataChecksum) {
       this.deleted = true;
       this.dataChecksum = deletedDataChecksum;
+      this.unmodifiedProto = null;
     }
 
     public void markDeleted() {
       this.deleted = true;
+      this.unmodifiedProto = null;
     }
 
     /**
@@ -255,6 +269,9 @@ public void addChunks(ChunkMerkleTreeWriter... chunks) {
       for (ChunkMerkleTreeWriter chunk: chunks) {
         offset2Chunk.put(chunk.getOffset(), chunk);
       }
+      if (chunks.length > 0) {
+        unmodifiedProto = null;
+      }
     }
 
     public boolean isDeleted() {
@@ -268,6 +285,9 @@ public boolean isDeleted() {
      * @return A complete protobuf object representation of this block tree.
      */
     public ContainerProtos.BlockMerkleTree toProto() {
+      if (unmodifiedProto != null) {
+        return unmodifiedProto;
+      }
       ContainerProtos.BlockMerkleTree.Builder blockTreeBuilder = ContainerProtos.BlockMerkleTree.newBuilder();
       if (dataChecksum != null) {
         blockTreeBuilder.setDataChecksum(dataChecksum);
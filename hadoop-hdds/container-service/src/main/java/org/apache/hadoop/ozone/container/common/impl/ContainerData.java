@@ -111,6 +111,10 @@ public abstract class ContainerData {
   private Long dataScanTimestamp; // for serialization
   private transient Optional<Instant> lastDataScanTime = Optional.empty();
 
+  /** Timestamp of last chunk write (milliseconds since Unix Epoch) since the
+   * datanode started, 0 if not written. */
+  private transient volatile long lastWriteTimestamp;
+
   public static final Charset CHARSET_ENCODING = StandardCharsets.UTF_8;
   public static final String ZERO_CHECKSUM = new String(new byte[64],
       CHARSET_ENCODING);
@@ -499,6 +503,17 @@ public Long getDataScanTimestamp() {
     return dataScanTimestamp;
   }
 
+  /**
+   * @return true if data was written to the container after its last data
+   * scan, or since the datanode started if it was never scanned.
+   */
+  public boolean isWrittenSinceDataScan() {
+    final long timestamp = lastWriteTimestamp;
+    final Long scanTimestamp = dataScanTimestamp;
+    return timestamp > 0
+        && (scanTimestamp == null || timestamp > scanTimestamp);
+  }
+
   /**
    * Returns the origin pipeline Id of this container.
    * @return origin node Id
@@ -572,6 +587,7 @@ public boolean needsDataChecksum() {
   public void updateWriteStats(long bytesWritten, boolean overwrite) {
     getStatistics().updateWrite(bytesWritten, overwrite);
     incrWriteBytes(bytesWritten);
+    lastWriteTimestamp = System.currentTimeMillis();
   }
 
   @Override
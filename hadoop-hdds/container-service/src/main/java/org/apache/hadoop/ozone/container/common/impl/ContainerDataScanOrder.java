@@ -20,37 +20,69 @@
 import java.time.Instant;
 import java.util.Comparator;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 
 /**
  * Orders containers:
  * 1. containers not yet scanned first,
- * 2. then least recently scanned first,
- * 3. ties are broken by containerID.
+ * 2. then containers written since their last scan,
+ * 3. then least recently scanned first,
+ * 4. ties are broken by containerID.
  */
 public class ContainerDataScanOrder implements Comparator<Container<?>> {
 
   public static final Comparator<Container<?>> INSTANCE =
       new ContainerDataScanOrder();
 
+  /**
+   * Sort the given containers in this order.
+   * The keys are read once before sorting,
+   * since the writes and the scans may change them during the sort.
+   */
+  public static Stream<Container<?>> sort(Stream<Container<?>> containers) {
+    return containers.map(Key::new)
+        .sorted()
+        .map(key -> key.container);
+  }
+
   @Override
   public int compare(Container<?> o1, Container<?> o2) {
-    ContainerData d1 = o1.getContainerData();
-    ContainerData d2 = o2.getContainerData();
+    return new Key(o1).compareTo(new Key(o2));
+  }
 
-    Optional<Instant> scan1 = d1.lastDataScanTime();
-    boolean scanned1 = scan1.isPresent();
-    Optional<Instant> scan2 = d2.lastDataScanTime();
-    boolean scanned2 = scan2.isPresent();
+  /** The sort key of a container, read at once. */
+  private static final class Key implements Comparable<Key> {
+    private final Container<?> container;
+    private final Instant lastScan;
+    private final boolean writtenSinceScan;
+    private final long containerID;
 
-    int result = Boolean.compare(scanned1, scanned2);
-    if (0 == result && scanned1 && scanned2) {
-      result = scan1.get().compareTo(scan2.get());
-    }
-    if (0 == result) {
-      result = Long.compare(d1.getContainerID(), d2.getContainerID());
+    private Key(Container<?> container) {
+      final ContainerData data = container.getContainerData();
+      final Optional<Instant> scan = data.lastDataScanTime();
+      this.container = container;
+      this.lastScan = scan.orElse(null);
+      this.writtenSinceScan = data.isWrittenSinceDataScan();
+      this.containerID = data.getContainerID();
     }
 
-    return result;
+    @Override
+    public int compareTo(Key that) {
+      final boolean scanned1 = this.lastScan != null;
+      final boolean scanned2 = that.lastScan != null;
+
+      int result = Boolean.compare(scanned1, scanned2);
+      if (0 == result) {
+        result = Boolean.compare(that.writtenSinceScan, this.writtenSinceScan);
+      }
+      if (0 == result && scanned1 && scanned2) {
+        result = this.lastScan.compareTo(that.lastScan);
+      }
+      if (0 == result) {
+        result = Long.compare(this.containerID, that.containerID);
+      }
+      return result;
+    }
   }
 }
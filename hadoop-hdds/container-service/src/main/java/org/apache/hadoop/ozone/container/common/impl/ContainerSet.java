@@ -411,10 +411,9 @@ public Iterator<Container<?>> getContainerIterator(HddsVolume volume) {
     Preconditions.checkNotNull(volume);
     Preconditions.checkNotNull(volume.getStorageID());
     String volumeUuid = volume.getStorageID();
-    return containerMap.values().stream()
+    return ContainerDataScanOrder.sort(containerMap.values().stream()
         .filter(x -> volumeUuid.equals(x.getContainerData().getVolume()
-            .getStorageID()))
-        .sorted(ContainerDataScanOrder.INSTANCE)
+            .getStorageID())))
         .iterator();
   }
 
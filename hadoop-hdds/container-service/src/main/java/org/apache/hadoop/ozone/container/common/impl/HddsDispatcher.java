@@ -836,6 +836,7 @@ private static DNAction getAuditAction(Type cmdType) {
     case FinalizeBlock    : return DNAction.FINALIZE_BLOCK;
     case Echo             : return DNAction.ECHO;
     case GetContainerChecksumInfo: return DNAction.GET_CONTAINER_CHECKSUM_INFO;
+    case ReadBlock        : return DNAction.READ_BLOCK;
     default :
       LOG.debug("Invalid command type - {}", cmdType);
       return null;
@@ -916,6 +917,15 @@ private static Map<String, String> getAuditParams(
           String.valueOf(msg.getReadChunk().getChunkData().getLen()));
       return auditParams;
 
+    case ReadBlock:
+      auditParams.put(AUDIT_PARAM_BLOCK_DATA,
+          BlockID.getFromProtobuf(msg.getReadBlock().getBlockID()).toString());
+      auditParams.put(AUDIT_PARAM_BLOCK_DATA_OFFSET,
+          String.valueOf(msg.getReadBlock().getOffset()));
+      auditParams.put(AUDIT_PARAM_BLOCK_DATA_SIZE,
+          String.valueOf(msg.getReadBlock().getLength()));
+      return auditParams;
+
     case DeleteChunk:
       auditParams.put(AUDIT_PARAM_BLOCK_DATA,
           BlockID.getFromProtobuf(msg.getDeleteChunk().getBlockID())
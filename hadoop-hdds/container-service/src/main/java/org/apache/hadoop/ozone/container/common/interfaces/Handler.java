@@ -21,8 +21,10 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.util.Collection;
+import java.util.function.Predicate;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
@@ -40,6 +42,7 @@
 import org.apache.hadoop.ozone.container.common.report.IncrementalReportSender;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.common.volume.VolumeSet;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueHandler;
 import org.apache.hadoop.ozone.container.keyvalue.TarContainerPacker;
 import org.apache.ratis.statemachine.StateMachine;
@@ -146,7 +149,7 @@ public abstract ContainerCommandResponseProto handle(
    */
   public abstract Container importContainer(
       ContainerData containerData, InputStream rawContainerStream,
-      TarContainerPacker packer)
+      ContainerUnpacker<KeyValueContainerData> packer)
       throws IOException;
 
   /**
@@ -158,6 +161,19 @@ public abstract void exportContainer(
       TarContainerPacker packer)
       throws IOException;
 
+  /**
+   * Exports the files of the container to the given directory.
+   */
+  public abstract void exportContainerFiles(Container container,
+      Path destination) throws IOException;
+
+  /**
+   * Exports the chunk files of the container accepted by the filter to the
+   * given directory.
+   */
+  public abstract void exportChunkFiles(Container container,
+      Path destination, Predicate<String> filter) throws IOException;
+
   /**
    * Stop the Handler.
    */
@@ -22,6 +22,7 @@
 import static org.apache.hadoop.hdds.conf.ConfigTag.DATANODE;
 import static org.apache.hadoop.hdds.conf.ConfigTag.MANAGEMENT;
 import static org.apache.hadoop.hdds.conf.ConfigTag.OZONE;
+import static org.apache.hadoop.hdds.conf.ConfigTag.PERFORMANCE;
 import static org.apache.hadoop.hdds.conf.ConfigTag.STORAGE;
 import static org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration.CONFIG_PREFIX;
 
@@ -82,6 +83,7 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
       "hdds.datanode.container.client.cache.stale.threshold";
 
   static final boolean CHUNK_DATA_VALIDATION_CHECK_DEFAULT = false;
+  static final int CHUNK_DATA_VALIDATION_ASYNC_QUEUE_SIZE_DEFAULT = 1024;
 
   static final long PERIODIC_DISK_CHECK_INTERVAL_MINUTES_DEFAULT = 60;
 
@@ -413,6 +415,43 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   private boolean isChunkDataValidationCheck =
       CHUNK_DATA_VALIDATION_CHECK_DEFAULT;
 
+  @Config(key = "chunk.data.validation.async",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, PERFORMANCE },
+      description = "When hdds.datanode.chunk.data.validation.check is enabled,"
+          + " whether to verify the checksums of the chunks written by WriteChunk"
+          + " after they are written, instead of before."
+          + " The write is acknowledged without waiting for the verification."
+          + " The chunks are read back and verified in batches by a thread per volume,"
+          + " and a container having a corrupted chunk is marked unhealthy and scanned."
+  )
+  private boolean chunkDataValidationAsync = false;
+
+  @Config(key = "chunk.data.validation.async.queue.size",
+      defaultValue = "1024",
+      type = ConfigType.INT,
+      tags = { DATANODE, PERFORMANCE },
+      description = "The maximum number of written chunks waiting for verification per volume"
+          + " when hdds.datanode.chunk.data.validation.async is enabled."
+          + " When the queue is full, a chunk is verified before the WriteChunk is acknowledged."
+  )
+  private int chunkDataValidationAsyncQueueSize = CHUNK_DATA_VALIDATION_ASYNC_QUEUE_SIZE_DEFAULT;
+
+  @Config(key = "chunk.write.drop.cache.behind",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, PERFORMANCE },
+      description = "Whether to keep chunk data written to FILE_PER_BLOCK containers"
+          + " out of the OS page cache. When enabled, after a chunk is written,"
+          + " a thread of its volume starts the writeback of the chunk and drops"
+          + " the pages of the earlier chunks of the block file from the page cache."
+          + " These operations are queued in a bounded queue per volume, and"
+          + " skipped when the queue is full; the chunk data itself is still"
+          + " written by the request handler. This requires the Hadoop native library."
+  )
+  private boolean chunkWriteDropCacheBehind = false;
+
   @Config(key = "wait.on.all.followers",
       defaultValue = "false",
       type = ConfigType.BOOLEAN,
@@ -611,6 +650,13 @@ public void validate() {
           PERIODIC_DISK_CHECK_INTERVAL_MINUTES_DEFAULT;
     }
 
+    if (chunkDataValidationAsyncQueueSize < 1) {
+      LOG.warn("hdds.datanode.chunk.data.validation.async.queue.size must be greater than zero"
+              + " and was set to {}. Defaulting to {}",
+          chunkDataValidationAsyncQueueSize, CHUNK_DATA_VALIDATION_ASYNC_QUEUE_SIZE_DEFAULT);
+      chunkDataValidationAsyncQueueSize = CHUNK_DATA_VALIDATION_ASYNC_QUEUE_SIZE_DEFAULT;
+    }
+
     if (failedDataVolumesTolerated < -1) {
       LOG.warn(FAILED_DATA_VOLUMES_TOLERATED_KEY +
           "must be greater than -1 and was set to {}. Defaulting to {}",
@@ -952,6 +998,30 @@ public void setChunkDataValidationCheck(boolean writeChunkValidationCheck) {
     isChunkDataValidationCheck = writeChunkValidationCheck;
   }
 
+  public boolean isChunkDataValidationAsync() {
+    return chunkDataValidationAsync;
+  }
+
+  public void setChunkDataValidationAsync(boolean async) {
+    this.chunkDataValidationAsync = async;
+  }
+
+  public int getChunkDataValidationAsyncQueueSize() {
+    return chunkDataValidationAsyncQueueSize;
+  }
+
+  public void setChunkDataValidationAsyncQueueSize(int queueSize) {
+    this.chunkDataValidationAsyncQueueSize = queueSize;
+  }
+
+  public boolean isChunkWriteDropCacheBehind() {
+    return chunkWriteDropCacheBehind;
+  }
+
+  public void setChunkWriteDropCacheBehind(boolean dropCacheBehind) {
+    this.chunkWriteDropCacheBehind = dropCacheBehind;
+  }
+
   public int getNumReadThreadPerVolume() {
     return numReadThreadPerVolume;
   }
@@ -23,6 +23,8 @@
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.SCMCommandProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.SCMCommandProto.Type;
+import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.statemachine.SCMConnectionManager;
 import org.apache.hadoop.ozone.container.common.statemachine.StateContext;
 import org.apache.hadoop.ozone.container.ozoneimpl.OzoneContainer;
@@ -84,12 +86,25 @@ public void handle(SCMCommand<?> command, OzoneContainer container,
             downloadReplicator : pushReplicator;
 
     ReplicationTask task = new ReplicationTask(replicateCommand, replicator);
+    if (target != null) {
+      // Pushed containers are read from the volume of the local replica.
+      task.setVolume(getVolume(container, containerID));
+    }
     if (metricsName == null) {
       metricsName = task.getMetricName();
     }
     supervisor.addTask(task);
   }
 
+  private static String getVolume(OzoneContainer container, long containerID) {
+    ContainerSet containerSet =
+        container != null ? container.getContainerSet() : null;
+    Container<?> replica =
+        containerSet != null ? containerSet.getContainer(containerID) : null;
+    return replica != null && replica.getContainerData().getVolume() != null
+        ? replica.getContainerData().getVolume().getStorageID() : null;
+  }
+
   @Override
   public int getQueuedCount() {
     return this.metricsName == null ? 0 : (int) this.supervisor
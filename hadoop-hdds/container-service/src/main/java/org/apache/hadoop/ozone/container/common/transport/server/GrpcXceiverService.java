@@ -26,11 +26,13 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.XceiverClientProtocolServiceGrpc;
 import org.apache.hadoop.ozone.container.common.interfaces.ContainerDispatcher;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
+import org.apache.hadoop.util.Time;
 import org.apache.ratis.grpc.util.ZeroCopyMessageMarshaller;
 import org.apache.ratis.thirdparty.com.google.protobuf.MessageLite;
 import org.apache.ratis.thirdparty.io.grpc.MethodDescriptor;
 import org.apache.ratis.thirdparty.io.grpc.ServerCallHandler;
 import org.apache.ratis.thirdparty.io.grpc.ServerServiceDefinition;
+import org.apache.ratis.thirdparty.io.grpc.stub.ServerCallStreamObserver;
 import org.apache.ratis.thirdparty.io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,18 +92,47 @@ private static <Req extends MessageLite, Resp> void addZeroCopyMethod(
     newServiceBuilder.addMethod(newMethod, serverCallHandler);
   }
 
+  /**
+   * Read responses are sent before the context is released,
+   * so that the data buffers can be passed to gRPC without copying.
+   * A streaming read command sends its intermediate responses to the given observer
+   * when the given flow control is ready.
+   *
+   * @return a release-supported context for the read commands; otherwise, return null.
+   */
+  static DispatcherContext newReleaseSupportedContext(Type cmdType,
+      StreamObserver<ContainerCommandResponseProto> responseObserver, DispatcherContext.FlowControl flowControl) {
+    final DispatcherContext.Builder builder;
+    switch (cmdType) {
+    case ReadChunk:
+      builder = DispatcherContext.newBuilder(DispatcherContext.Op.HANDLE_READ_CHUNK);
+      break;
+    case GetSmallFile:
+      builder = DispatcherContext.newBuilder(DispatcherContext.Op.HANDLE_GET_SMALL_FILE);
+      break;
+    case ReadBlock:
+      builder = DispatcherContext.newBuilder(DispatcherContext.Op.HANDLE_READ_BLOCK)
+          .setResponseObserver(responseObserver)
+          .setFlowControl(flowControl);
+      break;
+    default:
+      return null;
+    }
+    return builder.setReleaseSupported(true).build();
+  }
+
   @Override
   public StreamObserver<ContainerCommandRequestProto> send(
       StreamObserver<ContainerCommandResponseProto> responseObserver) {
+    final DispatcherContext.FlowControl flowControl = responseObserver instanceof ServerCallStreamObserver
+        ? new ResponseFlowControl((ServerCallStreamObserver<?>) responseObserver) : null;
     return new StreamObserver<ContainerCommandRequestProto>() {
       private final AtomicBoolean isClosed = new AtomicBoolean(false);
 
       @Override
       public void onNext(ContainerCommandRequestProto request) {
-        final DispatcherContext context = request.getCmdType() != Type.ReadChunk ? null
-            : DispatcherContext.newBuilder(DispatcherContext.Op.HANDLE_READ_CHUNK)
-            .setReleaseSupported(true)
-            .build();
+        final DispatcherContext context = newReleaseSupportedContext(request.getCmdType(), responseObserver,
+            flowControl);
 
         try {
           final ContainerCommandResponseProto resp = dispatcher.dispatch(request, context);
@@ -134,4 +165,44 @@ public void onCompleted() {
       }
     };
   }
+
+  /**
+   * The flow control of the responses of a call, using {@link ServerCallStreamObserver#isReady()}.
+   * <p>
+   * The requests of a call and its onReady notifications are run by the same serializing executor,
+   * so a notification is usually delivered only after the waiting request has been handled.
+   * Therefore, the readiness is also polled.
+   */
+  static final class ResponseFlowControl implements DispatcherContext.FlowControl {
+    private static final long POLL_INTERVAL_MS = 10;
+
+    private final ServerCallStreamObserver<?> observer;
+
+    ResponseFlowControl(ServerCallStreamObserver<?> observer) {
+      this.observer = observer;
+      observer.setOnReadyHandler(this::onReady);
+    }
+
+    private synchronized void onReady() {
+      notifyAll();
+    }
+
+    @Override
+    public boolean isReady() {
+      return observer.isReady();
+    }
+
+    @Override
+    public synchronized boolean awaitReady(long timeoutMs) throws InterruptedException {
+      final long deadline = Time.monotonicNow() + timeoutMs;
+      while (!observer.isReady()) {
+        final long remaining = deadline - Time.monotonicNow();
+        if (observer.isCancelled() || remaining <= 0) {
+          return false;
+        }
+        wait(Math.min(remaining, POLL_INTERVAL_MS));
+      }
+      return true;
+    }
+  }
 }
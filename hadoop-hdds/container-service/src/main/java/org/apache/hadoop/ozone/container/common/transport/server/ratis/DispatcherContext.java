@@ -21,8 +21,10 @@
 import java.util.Objects;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.hdds.annotation.InterfaceStability;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
 import org.apache.hadoop.util.Time;
 import org.apache.ratis.server.protocol.TermIndex;
+import org.apache.ratis.thirdparty.io.grpc.stub.StreamObserver;
 import org.apache.ratis.util.Preconditions;
 
 /**
@@ -53,6 +55,9 @@ public final class DispatcherContext {
 
   private final boolean releaseSupported;
   private volatile Runnable releaseMethod;
+  // for sending the intermediate responses of a streaming command
+  private final StreamObserver<ContainerCommandResponseProto> responseObserver;
+  private final FlowControl flowControl;
 
   private final long startTime = Time.monotonicNowNanos();
 
@@ -95,6 +100,7 @@ public enum Op {
     HANDLE_WRITE_CHUNK,
     HANDLE_GET_SMALL_FILE,
     HANDLE_PUT_SMALL_FILE,
+    HANDLE_READ_BLOCK,
 
     READ_STATE_MACHINE_DATA,
     WRITE_STATE_MACHINE_DATA,
@@ -131,6 +137,8 @@ private DispatcherContext(Builder b) {
     this.stage = b.stage;
     this.container2BCSIDMap = b.container2BCSIDMap;
     this.releaseSupported = b.releaseSupported;
+    this.responseObserver = b.responseObserver;
+    this.flowControl = b.flowControl;
   }
 
   /** Use {@link DispatcherContext#op(DispatcherContext)} for handling null. */
@@ -162,9 +170,37 @@ public boolean isReleaseSupported() {
     return releaseSupported;
   }
 
-  public void setReleaseMethod(Runnable releaseMethod) {
+  /**
+   * @return the observer for sending the intermediate responses of a streaming command,
+   *         or null if streaming is not supported.
+   */
+  public StreamObserver<ContainerCommandResponseProto> getResponseObserver() {
+    return responseObserver;
+  }
+
+  /**
+   * @return the flow control of the {@link #getResponseObserver()},
+   *         or null if the responses can always be sent.
+   */
+  public FlowControl getFlowControl() {
+    return flowControl;
+  }
+
+  /**
+   * Set the method to release the resources held by the response.
+   * When it is set more than once, for example, when a response contains multiple chunks,
+   * all the given methods are invoked in {@link #release()}.
+   */
+  public synchronized void setReleaseMethod(Runnable releaseMethod) {
     Preconditions.assertTrue(releaseSupported, "Unsupported release method");
-    this.releaseMethod = releaseMethod;
+    final Runnable previous = this.releaseMethod;
+    this.releaseMethod = previous == null ? releaseMethod : () -> {
+      try {
+        previous.run();
+      } finally {
+        releaseMethod.run();
+      }
+    };
   }
 
   public void release() {
@@ -182,6 +218,19 @@ public static Builder newBuilder(Op op) {
     return new Builder(Objects.requireNonNull(op, "op == null"));
   }
 
+  /** The flow control of the intermediate responses of a streaming command. */
+  public interface FlowControl {
+    /** @return can more responses be sent without buffering them in the transport? */
+    boolean isReady();
+
+    /**
+     * Wait until more responses can be sent.
+     *
+     * @return true if ready; false if the timeout has elapsed or the call has been cancelled.
+     */
+    boolean awaitReady(long timeoutMs) throws InterruptedException;
+  }
+
   /**
    * Builder class for building DispatcherContext.
    */
@@ -192,6 +241,8 @@ public static final class Builder {
     private long logIndex;
     private Map<Long, Long> container2BCSIDMap;
     private boolean releaseSupported;
+    private StreamObserver<ContainerCommandResponseProto> responseObserver;
+    private FlowControl flowControl;
 
     private Builder(Op op) {
       this.op = op;
@@ -246,6 +297,16 @@ public Builder setReleaseSupported(boolean releaseSupported) {
       return this;
     }
 
+    public Builder setResponseObserver(StreamObserver<ContainerCommandResponseProto> responseObserver) {
+      this.responseObserver = responseObserver;
+      return this;
+    }
+
+    public Builder setFlowControl(FlowControl flowControl) {
+      this.flowControl = flowControl;
+      return this;
+    }
+
     /**
      * Builds and returns DispatcherContext instance.
      *
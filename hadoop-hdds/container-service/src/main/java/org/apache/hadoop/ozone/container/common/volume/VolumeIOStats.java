@@ -17,6 +17,7 @@
 
 package org.apache.hadoop.ozone.container.common.volume;
 
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.hadoop.metrics2.MetricsSystem;
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
@@ -48,6 +49,16 @@ public class VolumeIOStats {
   private MutableRate writeTime;
   @Metric
   private MutableQuantiles[] writeLatencyQuantiles;
+  @Metric
+  private MutableCounterLong mappedBufferHits;
+  @Metric
+  private MutableCounterLong mappedBufferMisses;
+  @Metric
+  private MutableCounterLong mappedBufferEvictions;
+  // Running totals of readTime and writeTime, which only expose the values
+  // of the last metrics snapshot.
+  private final LongAdder cumulativeReadTime = new LongAdder();
+  private final LongAdder cumulativeWriteTime = new LongAdder();
 
   @Deprecated
   public VolumeIOStats() {
@@ -128,6 +139,7 @@ public void incWriteOpCount() {
    */
   public void incReadTime(long time) {
     readTime.add(time);
+    cumulativeReadTime.add(time);
     for (MutableQuantiles q : readLatencyQuantiles) {
       q.add(time);
     }
@@ -139,11 +151,33 @@ public void incReadTime(long time) {
    */
   public void incWriteTime(long time) {
     writeTime.add(time);
+    cumulativeWriteTime.add(time);
     for (MutableQuantiles q : writeLatencyQuantiles) {
       q.add(time);
     }
   }
 
+  /**
+   * Increment the number of reads served by a cached mapped buffer.
+   */
+  public void incMappedBufferHits() {
+    mappedBufferHits.incr();
+  }
+
+  /**
+   * Increment the number of reads which have to map a new buffer.
+   */
+  public void incMappedBufferMisses() {
+    mappedBufferMisses.incr();
+  }
+
+  /**
+   * Increment the number of mapped buffers evicted from the cache.
+   */
+  public void incMappedBufferEvictions() {
+    mappedBufferEvictions.incr();
+  }
+
   /**
    * Returns total number of bytes read from the volume.
    * @return long
@@ -192,6 +226,36 @@ public long getWriteTime() {
     return (long) writeTime.lastStat().total();
   }
 
+  /**
+   * Returns total read operations time on the volume since it was added,
+   * unlike {@link #getReadTime()} which is as of the last metrics snapshot.
+   * @return long
+   */
+  public long getCumulativeReadTime() {
+    return cumulativeReadTime.sum();
+  }
+
+  /**
+   * Returns total write operations time on the volume since it was added,
+   * unlike {@link #getWriteTime()} which is as of the last metrics snapshot.
+   * @return long
+   */
+  public long getCumulativeWriteTime() {
+    return cumulativeWriteTime.sum();
+  }
+
+  public long getMappedBufferHits() {
+    return mappedBufferHits.value();
+  }
+
+  public long getMappedBufferMisses() {
+    return mappedBufferMisses.value();
+  }
+
+  public long getMappedBufferEvictions() {
+    return mappedBufferEvictions.value();
+  }
+
   @Metric
   public String getStorageDirectory() {
     return storageDirectory;
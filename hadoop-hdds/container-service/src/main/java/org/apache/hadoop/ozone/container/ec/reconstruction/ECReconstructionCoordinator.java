@@ -25,6 +25,7 @@
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -40,9 +41,11 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
@@ -85,12 +88,13 @@
  * - ListBlock from all healthy replicas
  * - calculate effective block group len for all blocks
  * - create RECOVERING containers in TargetDNs
- * -  for each block
+ * -  for each block, in parallel up to the pool limit and the buffer limit
  * -    build a ECReconstructedStripedInputStream to read healthy chunks
  * -    build a ECBlockOutputStream to write out decoded chunks
  * -      for each stripe
  * -        use ECReconstructedStripedInputStream.recoverChunks to decode chunks
  * -        use ECBlockOutputStream.write to write decoded chunks to TargetDNs
+ * -          without waiting, so that the next stripe is decoded while the chunks are written
  * -    PutBlock
  * - Close RECOVERING containers in TargetDNs
  */
@@ -103,12 +107,19 @@ public class ECReconstructionCoordinator implements Closeable {
 
   private static final int EC_RECONSTRUCT_STRIPE_WRITE_POOL_MIN_SIZE = 5;
 
+  /** The number of stripe buffers of a block group, i.e. the stripes being decoded or written. */
+  private static final int STRIPE_PIPELINE_DEPTH = 2;
+
   private final ECContainerOperationClient containerOperationClient;
 
   private final ByteBufferPool byteBufferPool;
 
   private final ExecutorService ecReconstructReadExecutor;
   private final MemoizedSupplier<ExecutorService> ecReconstructWriteExecutor;
+  private final ExecutorService ecReconstructBlockGroupExecutor;
+  /** Limit the stripe buffers of the block groups being reconstructed, in KB. */
+  private final Semaphore bufferLimit;
+  private final int bufferLimitKB;
   private final BlockInputStreamFactory blockInputStreamFactory;
   private final TokenHelper tokenHelper;
   private final ContainerClientMetrics clientMetrics;
@@ -135,6 +146,12 @@ public ECReconstructionCoordinator(
             EC_RECONSTRUCT_STRIPE_WRITE_POOL_MIN_SIZE,
             ozoneClientConfig.getEcReconstructStripeWritePoolLimit(),
             threadNamePrefix + "ec-reconstruct-writer-TID-%d"));
+    final int blockGroupPoolLimit = Math.max(1, ozoneClientConfig.getEcReconstructBlockGroupPoolLimit());
+    this.ecReconstructBlockGroupExecutor = createThreadPoolExecutor(1, blockGroupPoolLimit,
+        threadNamePrefix + "ec-reconstruct-block-group-TID-%d");
+    this.bufferLimitKB = (int) Math.min(Integer.MAX_VALUE,
+        Math.max(1, ozoneClientConfig.getEcReconstructBufferLimit() >> 10));
+    this.bufferLimit = new Semaphore(bufferLimitKB);
     this.blockInputStreamFactory = BlockInputStreamFactoryImpl
         .getInstance(byteBufferPool, () -> ecReconstructReadExecutor);
     tokenHelper = new TokenHelper(new SecurityConfig(conf), secretKeyClient);
@@ -173,13 +190,7 @@ public void reconstructECContainerGroup(long containerID,
       }
 
       // 2. Reconstruct and transfer to targets
-      for (Map.Entry<Long, BlockLocationInfo> blockLocationInfoEntry
-          : blockLocationInfoMap.entrySet()) {
-        Long key = blockLocationInfoEntry.getKey();
-        BlockLocationInfo blockLocationInfo = blockLocationInfoEntry.getValue();
-        reconstructECBlockGroup(blockLocationInfo, repConfig,
-            targetNodeMap, blockDataMap.get(key));
-      }
+      reconstructECBlockGroups(blockLocationInfoMap, repConfig, targetNodeMap, blockDataMap);
 
       // 3. Close containers
       for (DatanodeDetails dn: recoveringContainersCreatedDNs) {
@@ -221,6 +232,70 @@ public void reconstructECContainerGroup(long containerID,
 
   }
 
+  /**
+   * Reconstruct the block groups in parallel.
+   * A block group is submitted only after acquiring its buffers from {@link #bufferLimit},
+   * and it is run by the caller when all the threads are busy.
+   * Once a block group has failed, no more block groups are submitted.
+   * This method returns only after all the submitted block groups have completed.
+   */
+  @VisibleForTesting
+  void reconstructECBlockGroups(SortedMap<Long, BlockLocationInfo> blockLocationInfoMap,
+      ECReplicationConfig repConfig, SortedMap<Integer, DatanodeDetails> targetNodeMap,
+      SortedMap<Long, BlockData[]> blockDataMap) throws IOException {
+    final int bufferKB = getBlockGroupBufferKB(repConfig, targetNodeMap.size());
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    try {
+      for (Map.Entry<Long, BlockLocationInfo> entry : blockLocationInfoMap.entrySet()) {
+        if (firstFailure.get() != null) {
+          break;
+        }
+        bufferLimit.acquire(bufferKB);
+        final BlockLocationInfo blockLocationInfo = entry.getValue();
+        final BlockData[] blockDataGroup = blockDataMap.get(entry.getKey());
+        futures.add(CompletableFuture.runAsync(() -> {
+          try {
+            if (firstFailure.get() == null) {
+              reconstructECBlockGroup(blockLocationInfo, repConfig, targetNodeMap, blockDataGroup);
+            }
+          } catch (Throwable t) {
+            firstFailure.compareAndSet(null, t);
+          } finally {
+            bufferLimit.release(bufferKB);
+          }
+        }, ecReconstructBlockGroupExecutor));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      firstFailure.compareAndSet(null, new InterruptedIOException(
+          "Interrupted while waiting for the EC reconstruction buffers"));
+    } finally {
+      // wait for all the submitted block groups before returning, even if some of them failed
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+
+    final Throwable t = firstFailure.get();
+    if (t instanceof IOException) {
+      throw (IOException) t;
+    } else if (t instanceof RuntimeException) {
+      throw (RuntimeException) t;
+    } else if (t instanceof Error) {
+      throw (Error) t;
+    } else if (t != null) {
+      throw new IOException(t);
+    }
+  }
+
+  /** @return the size of the buffers needed to reconstruct a block group, in KB. */
+  private int getBlockGroupBufferKB(ECReplicationConfig repConfig, int targetCount) {
+    // the input stream buffers a stripe of data chunks; the output has the stripe pipeline buffers
+    final long bytes = (long) (repConfig.getData() + STRIPE_PIPELINE_DEPTH * targetCount)
+        * repConfig.getEcChunkSize();
+    // a block group larger than the limit still runs, alone
+    return (int) Math.min(bufferLimitKB, Math.max(1, bytes >> 10));
+  }
+
   private ECBlockOutputStream getECBlockOutputStream(
       BlockLocationInfo blockLocationInfo, DatanodeDetails datanodeDetails,
       ECReplicationConfig repConfig, int replicaIndex) throws IOException {
@@ -272,15 +347,23 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
           new ECBlockOutputStream[toReconstructIndexes.size()];
       ECBlockOutputStream[] emptyBlockStreams =
           new ECBlockOutputStream[notReconstructIndexes.size()];
-      ByteBuffer[] bufs = new ByteBuffer[toReconstructIndexes.size()];
+      // While the chunks of a stripe are being written, the next stripe is decoded to other buffers.
+      ByteBuffer[][] stripes = new ByteBuffer[STRIPE_PIPELINE_DEPTH][toReconstructIndexes.size()];
+      List<List<CompletableFuture<ContainerProtos.ContainerCommandResponseProto>>> pendingWrites =
+          new ArrayList<>(STRIPE_PIPELINE_DEPTH);
+      for (int s = 0; s < STRIPE_PIPELINE_DEPTH; s++) {
+        pendingWrites.add(new ArrayList<>(toReconstructIndexes.size()));
+      }
       try {
         // Create streams and buffers for all indexes that need reconstructed
         for (int i = 0; i < toReconstructIndexes.size(); i++) {
           int replicaIndex = toReconstructIndexes.get(i);
           DatanodeDetails datanodeDetails = targetMap.get(replicaIndex);
           targetBlockStreams[i] = getECBlockOutputStream(blockLocationInfo, datanodeDetails, repConfig, replicaIndex);
-          bufs[i] = byteBufferPool.getBuffer(false, repConfig.getEcChunkSize());
-          bufs[i].clear();
+          for (ByteBuffer[] bufs : stripes) {
+            bufs[i] = byteBufferPool.getBuffer(false, repConfig.getEcChunkSize());
+            bufs[i].clear();
+          }
         }
         // Then create a stream for all indexes that don't need reconstructed, but still need a stream to
         // write the empty block data to.
@@ -294,7 +377,15 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
           sis.setRecoveryIndexes(toReconstructIndexes.stream().map(i -> (i - 1))
               .collect(Collectors.toSet()));
           long length = safeBlockGroupLength;
-          while (length > 0) {
+          for (int stripe = 0; length > 0; stripe++) {
+            final ByteBuffer[] bufs = stripes[stripe % STRIPE_PIPELINE_DEPTH];
+            final List<CompletableFuture<ContainerProtos.ContainerCommandResponseProto>> writes
+                = pendingWrites.get(stripe % STRIPE_PIPELINE_DEPTH);
+            // the buffers can be reused only after the earlier writes from them have completed
+            awaitWrites(targetBlockStreams, writes);
+            for (ByteBuffer buf : bufs) {
+              buf.clear();
+            }
             int readLen;
             try {
               readLen = sis.recoverChunks(bufs);
@@ -320,19 +411,21 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
                   blockDataGroup);
               throw e;
             }
-            // TODO: can be submitted in parallel
+            // write to all the targets in parallel without waiting for the responses
             for (int i = 0; i < bufs.length; i++) {
               if (bufs[i].remaining() != 0) {
                 // If the buffer is empty, we don't need to write it as it will cause
                 // an empty chunk to be added to the end of the block.
-                CompletableFuture<ContainerProtos.ContainerCommandResponseProto>
-                    future = targetBlockStreams[i].write(bufs[i]);
-                checkFailures(targetBlockStreams[i], future);
+                writes.add(targetBlockStreams[i].write(bufs[i]));
+              } else {
+                writes.add(null);
               }
-              bufs[i].clear();
             }
             length -= readLen;
           }
+          for (List<CompletableFuture<ContainerProtos.ContainerCommandResponseProto>> writes : pendingWrites) {
+            awaitWrites(targetBlockStreams, writes);
+          }
         }
         List<ECBlockOutputStream> allStreams = new ArrayList<>(Arrays.asList(targetBlockStreams));
         allStreams.addAll(Arrays.asList(emptyBlockStreams));
@@ -341,10 +434,23 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
           checkFailures(targetStream, targetStream.getCurrentPutBlkResponseFuture());
         }
       } finally {
-        for (ByteBuffer buf : bufs) {
-          byteBufferPool.putBuffer(buf);
+        // After a failure, there may be pending writes;
+        // the streams are closed and the buffers are released only after them.
+        for (List<CompletableFuture<ContainerProtos.ContainerCommandResponseProto>> writes : pendingWrites) {
+          for (CompletableFuture<ContainerProtos.ContainerCommandResponseProto> w : writes) {
+            if (w != null) {
+              w.handle((r, e) -> null).join();
+            }
+          }
         }
         IOUtils.cleanupWithLogger(LOG, targetBlockStreams);
+        for (ByteBuffer[] bufs : stripes) {
+          for (ByteBuffer buf : bufs) {
+            if (buf != null) {
+              byteBufferPool.putBuffer(buf);
+            }
+          }
+        }
         IOUtils.cleanupWithLogger(LOG, emptyBlockStreams);
       }
     }
@@ -387,6 +493,20 @@ private void logBlockGroupDetails(BlockLocationInfo blockLocationInfo,
     }
   }
 
+  /**
+   * Wait for the given writes, where the i-th write, if not null, is to the i-th stream,
+   * and then clear the list if all of them have succeeded.
+   */
+  private void awaitWrites(ECBlockOutputStream[] streams,
+      List<CompletableFuture<ContainerProtos.ContainerCommandResponseProto>> writes) throws IOException {
+    for (int i = 0; i < writes.size(); i++) {
+      if (writes.get(i) != null) {
+        checkFailures(streams[i], writes.get(i));
+      }
+    }
+    writes.clear();
+  }
+
   private void checkFailures(ECBlockOutputStream targetBlockStream,
       CompletableFuture<ContainerProtos.ContainerCommandResponseProto>
           currentPutBlkResponseFuture)
@@ -466,6 +586,7 @@ public void close() throws IOException {
       ecReconstructWriteExecutor.get().shutdownNow();
     }
     ecReconstructReadExecutor.shutdownNow();
+    ecReconstructBlockGroupExecutor.shutdownNow();
   }
 
   private Pipeline rebuildInputPipeline(ECReplicationConfig repConfig,
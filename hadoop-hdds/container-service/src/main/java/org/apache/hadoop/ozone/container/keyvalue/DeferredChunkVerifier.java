@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State;
+import org.apache.hadoop.ozone.common.OzoneChecksumException;
+import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
+import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.ozoneimpl.ContainerScanError;
+import org.apache.hadoop.ozone.container.ozoneimpl.ContainerScanError.FailureType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Verify the checksums of the written chunks asynchronously,
+ * so that the verification is off the latency-critical write path.
+ * <p>
+ * Each volume has a bounded queue drained by its own thread,
+ * which reads back and verifies the queued chunks in batches.
+ * The errors found in a batch are passed to the {@link CorruptionHandler} once per container.
+ * <p>
+ * A place in the queue is {@link #reserve}d before writing a chunk,
+ * so that the caller can verify the chunk itself before writing it when the queue is full.
+ * The place is then either used by {@link #submit} after the chunk is written
+ * or given back by {@link #cancel} if the write fails.
+ * <p>
+ * A chunk may be overwritten, e.g. by a retried write, before its earlier write is verified.
+ * Therefore, every write of a chunk must be announced by {@link #onWrite} before writing it,
+ * and a chunk is verified, or reported as corrupted, only if it has not been written again since it was submitted.
+ */
+class DeferredChunkVerifier implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(DeferredChunkVerifier.class);
+
+  private static final int BATCH_SIZE = 64;
+
+  /** Read back the given chunk and verify its checksums. */
+  @FunctionalInterface
+  interface ChunkVerifier {
+    /**
+     * @param writeContext the context of writing the chunk.
+     * @throws OzoneChecksumException if the checksums do not match.
+     * @throws IOException if the chunk cannot be read, e.g. the container is deleted.
+     */
+    void verify(KeyValueContainer container, BlockID blockID, ChunkInfo info, DispatcherContext writeContext)
+        throws IOException;
+  }
+
+  /** Handle the corrupted chunks found in a container. */
+  @FunctionalInterface
+  interface CorruptionHandler {
+    void onCorruption(KeyValueContainer container, List<ContainerScanError> errors);
+  }
+
+  /** A chunk waiting for verification. */
+  private static final class Task {
+    private final KeyValueContainer container;
+    private final BlockID blockID;
+    /** The length and the checksums of the chunk at the time it is submitted. */
+    private final ChunkInfo info;
+    private final DispatcherContext writeContext;
+    private final String chunkKey;
+    /** The generation of the write of the chunk. */
+    private final long generation;
+
+    private Task(KeyValueContainer container, BlockID blockID, ChunkInfo info, DispatcherContext writeContext,
+        String chunkKey, long generation) {
+      this.container = container;
+      this.blockID = blockID;
+      this.info = new ChunkInfo(info.getChunkName(), info.getOffset(), info.getLen());
+      this.info.setChecksumData(info.getChecksumData());
+      this.writeContext = writeContext;
+      this.chunkKey = chunkKey;
+      this.generation = generation;
+    }
+  }
+
+  /** The writes of a chunk with verification pending; updated only in {@link Map#compute}. */
+  private static final class ChunkWrites {
+    /** The generation of the latest write. */
+    private volatile long generation;
+    /** The number of the submitted tasks not yet done. */
+    private int pending;
+  }
+
+  /** The chunks of a volume waiting for verification. */
+  private static final class VolumeQueue {
+    private final BlockingQueue<Task> tasks = new LinkedBlockingQueue<>();
+    /** The places left in {@link #tasks}. */
+    private final Semaphore places;
+
+    private VolumeQueue(int size) {
+      this.places = new Semaphore(size);
+    }
+  }
+
+  private final ChunkVerifier verifier;
+  private final CorruptionHandler corruptionHandler;
+  private final int queueSize;
+  private final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+      .setNameFormat("DeferredChunkVerifier-%d")
+      .setDaemon(true)
+      .build();
+
+  private final Map<HddsVolume, VolumeQueue> queues = new ConcurrentHashMap<>();
+  /** Chunk key -> the writes of the chunk, for the chunks waiting for verification. */
+  private final Map<String, ChunkWrites> chunkWrites = new ConcurrentHashMap<>();
+  private final AtomicLong generations = new AtomicLong();
+  private final List<ExecutorService> executors = new ArrayList<>();
+  private boolean closed;
+
+  DeferredChunkVerifier(int queueSize, ChunkVerifier verifier, CorruptionHandler corruptionHandler) {
+    this.queueSize = queueSize;
+    this.verifier = verifier;
+    this.corruptionHandler = corruptionHandler;
+  }
+
+  /**
+   * Reserve a place in the queue of the given volume for a chunk to be written.
+   *
+   * @return true if a place is reserved; false if the queue is full or this is closed.
+   */
+  boolean reserve(HddsVolume volume) {
+    final VolumeQueue queue = getQueue(volume);
+    return queue != null && queue.places.tryAcquire();
+  }
+
+  /** Give back a place {@link #reserve}d for a chunk which is not written. */
+  void cancel(HddsVolume volume) {
+    final VolumeQueue queue = queues.get(volume);
+    if (queue != null) {
+      queue.places.release();
+    }
+  }
+
+  /**
+   * Announce that the given chunk is about to be written,
+   * so that the verification of its earlier writes is skipped.
+   * It must be called before writing any chunk, whether or not the chunk will be submitted.
+   */
+  void onWrite(KeyValueContainer container, BlockID blockID, ChunkInfo info) {
+    chunkWrites.computeIfPresent(getChunkKey(container, blockID, info), (key, writes) -> {
+      writes.generation = generations.incrementAndGet();
+      return writes;
+    });
+  }
+
+  /**
+   * Submit the given chunk, which has been written, for verification.
+   * A place must have been {@link #reserve}d for it.
+   */
+  void submit(KeyValueContainer container, BlockID blockID, ChunkInfo info, DispatcherContext writeContext) {
+    final VolumeQueue queue = queues.get(container.getContainerData().getVolume());
+    if (queue != null) {
+      final String chunkKey = getChunkKey(container, blockID, info);
+      final ChunkWrites writes = chunkWrites.compute(chunkKey, (key, w) -> {
+        final ChunkWrites computed = w != null ? w : new ChunkWrites();
+        computed.generation = generations.incrementAndGet();
+        computed.pending++;
+        return computed;
+      });
+      queue.tasks.add(new Task(container, blockID, info, writeContext, chunkKey, writes.generation));
+    }
+  }
+
+  private static String getChunkKey(KeyValueContainer container, BlockID blockID, ChunkInfo info) {
+    return container.getContainerData().getContainerID() + "/" + blockID.getLocalID() + "@" + info.getOffset();
+  }
+
+  /** @return has the chunk of the given task not been written again since the task was submitted? */
+  private boolean isLatestWrite(Task task) {
+    final ChunkWrites writes = chunkWrites.get(task.chunkKey);
+    return writes != null && writes.generation == task.generation;
+  }
+
+  private void done(Task task) {
+    chunkWrites.computeIfPresent(task.chunkKey, (key, writes) -> --writes.pending > 0 ? writes : null);
+  }
+
+  private VolumeQueue getQueue(HddsVolume volume) {
+    final VolumeQueue queue = queues.get(volume);
+    if (queue != null) {
+      return queue;
+    }
+    synchronized (this) {
+      if (closed) {
+        return null;
+      }
+      return queues.computeIfAbsent(volume, v -> {
+        final VolumeQueue q = new VolumeQueue(queueSize);
+        final ExecutorService executor = Executors.newSingleThreadExecutor(threadFactory);
+        executor.execute(() -> run(q));
+        executors.add(executor);
+        return q;
+      });
+    }
+  }
+
+  private void run(VolumeQueue queue) {
+    final List<Task> batch = new ArrayList<>(BATCH_SIZE);
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        batch.add(queue.tasks.take());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      queue.tasks.drainTo(batch, BATCH_SIZE - 1);
+      try {
+        verify(batch);
+      } finally {
+        queue.places.release(batch.size());
+        batch.clear();
+      }
+    }
+  }
+
+  private void verify(List<Task> batch) {
+    final Map<KeyValueContainer, List<ContainerScanError>> errors = new IdentityHashMap<>();
+    for (Task task : batch) {
+      final ContainerScanError error;
+      try {
+        error = verify(task);
+      } finally {
+        done(task);
+      }
+      if (error != null) {
+        errors.computeIfAbsent(task.container, c -> new ArrayList<>()).add(error);
+      }
+    }
+    errors.forEach(corruptionHandler::onCorruption);
+  }
+
+  private ContainerScanError verify(Task task) {
+    final KeyValueContainerData data = task.container.getContainerData();
+    if (data.getState() == State.UNHEALTHY || data.getState() == State.DELETED) {
+      return null;
+    }
+    if (!isLatestWrite(task)) {
+      // the latest write will be verified instead
+      return null;
+    }
+    try {
+      verifier.verify(task.container, task.blockID, task.info, task.writeContext);
+      return null;
+    } catch (OzoneChecksumException e) {
+      if (!isLatestWrite(task)) {
+        LOG.debug("Skip reporting container {} block {} chunk {}: it is overwritten during verification",
+            data.getContainerID(), task.blockID, task.info);
+        return null;
+      }
+      LOG.warn("Checksum mismatch in container {} block {} chunk {}",
+          data.getContainerID(), task.blockID, task.info, e);
+      return new ContainerScanError(FailureType.CORRUPT_CHUNK, getChunkFile(task), e);
+    } catch (IOException e) {
+      // e.g. the container or the block is deleted; the scanners will catch the other cases
+      LOG.info("Skip verifying container {} block {} chunk {}: {}",
+          data.getContainerID(), task.blockID, task.info, e.toString());
+      return null;
+    }
+  }
+
+  private static File getChunkFile(Task task) {
+    final KeyValueContainerData data = task.container.getContainerData();
+    try {
+      return data.getLayoutVersion().getChunkFile(data, task.blockID, task.info.getChunkName());
+    } catch (IOException e) {
+      return new File(data.getContainerPath());
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    closed = true;
+    executors.forEach(ExecutorService::shutdownNow);
+    executors.clear();
+    queues.clear();
+    chunkWrites.clear();
+  }
+}
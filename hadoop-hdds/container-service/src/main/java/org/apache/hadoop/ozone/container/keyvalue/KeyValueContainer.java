@@ -53,6 +53,7 @@
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.fs.FileAlreadyExistsException;
 import org.apache.hadoop.fs.FileUtil;
@@ -71,6 +72,7 @@
 import org.apache.hadoop.ozone.container.common.impl.ContainerDataYaml;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.ContainerPacker;
+import org.apache.hadoop.ozone.container.common.interfaces.ContainerUnpacker;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
 import org.apache.hadoop.ozone.container.common.interfaces.VolumeChoosingPolicy;
 import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
@@ -85,6 +87,7 @@
 import org.apache.hadoop.ozone.container.replication.ContainerImporter;
 import org.apache.hadoop.ozone.container.upgrade.VersionedDatanodeFeatures;
 import org.apache.hadoop.util.DiskChecker.DiskOutOfSpaceException;
+import org.apache.ratis.util.function.CheckedRunnable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -582,7 +585,7 @@ public void updateDeleteTransactionId(long deleteTransactionId) {
 
   @Override
   public void importContainerData(InputStream input,
-      ContainerPacker<KeyValueContainerData> packer)
+      ContainerUnpacker<KeyValueContainerData> packer)
       throws IOException {
     HddsVolume hddsVolume = containerData.getVolume();
     String idDir = VersionedDatanodeFeatures.ScmHA.chooseContainerPathID(
@@ -672,15 +675,53 @@ public void importContainerData(KeyValueContainerData originalContainerData)
   @Override
   public void exportContainerData(OutputStream destination,
       ContainerPacker<KeyValueContainerData> packer) throws IOException {
+    export(() -> packer.pack(this, destination));
+  }
+
+  /**
+   * Exports the container as separate files to the given directory, to be
+   * streamed after the container lock is released.
+   *
+   * @see StreamedContainerPacker#linkContainerFiles
+   */
+  public void exportContainerFiles(Path destination) throws IOException {
+    export(() -> StreamedContainerPacker.linkContainerFiles(this,
+        destination));
+  }
+
+  /**
+   * Exports only the chunk files accepted by the filter to the given
+   * directory. Unlike {@link #exportContainerFiles}, the DB is not touched,
+   * so the write lock is not needed.
+   *
+   * @see StreamedContainerPacker#linkChunkFiles
+   */
+  public void exportChunkFiles(Path destination, Predicate<String> filter)
+      throws IOException {
+    readLock();
+    try {
+      checkExportable();
+      StreamedContainerPacker.linkChunkFiles(this, destination, filter);
+    } finally {
+      readUnlock();
+    }
+  }
+
+  private void checkExportable() {
+    // Closed/ Quasi closed and unhealthy containers are considered for
+    // replication by replication manager if they are under-replicated.
+    final State state = getContainerData().getState();
+    // Only CLOSED, QUASI_CLOSED and UNHEALTHY containers can be exported.
+    if (state != CLOSED && state != QUASI_CLOSED && state != UNHEALTHY) {
+      throw new IllegalStateException("Failed to export: Unexpected state in " + getContainerData());
+    }
+  }
+
+  private void export(CheckedRunnable<IOException> exporter)
+      throws IOException {
     writeLock();
     try {
-      // Closed/ Quasi closed and unhealthy containers are considered for
-      // replication by replication manager if they are under-replicated.
-      final State state = getContainerData().getState();
-      // Only CLOSED, QUASI_CLOSED and UNHEALTHY containers can be exported.
-      if (state != CLOSED && state != QUASI_CLOSED && state != UNHEALTHY) {
-        throw new IllegalStateException("Failed to export: Unexpected state in " + getContainerData());
-      }
+      checkExportable();
 
       try {
         if (!containerData.hasSchema(OzoneConsts.SCHEMA_V3)) {
@@ -694,7 +735,7 @@ public void exportContainerData(OutputStream destination,
         writeUnlock();
       }
 
-      packContainerToDestination(destination, packer);
+      exportWithDump(exporter);
     } finally {
       if (lock.isWriteLockedByCurrentThread()) {
         writeUnlock();
@@ -908,8 +949,7 @@ private File createTempFile(File file) throws IOException {
         file.getName(), file.getParentFile());
   }
 
-  private void packContainerToDestination(OutputStream destination,
-      ContainerPacker<KeyValueContainerData> packer)
+  private void exportWithDump(CheckedRunnable<IOException> exporter)
       throws IOException {
     if (containerData.hasSchema(OzoneConsts.SCHEMA_V3)) {
       // Synchronize the dump and pack operation,
@@ -918,10 +958,10 @@ private void packContainerToDestination(OutputStream destination,
       // so it should not influence performance much.
       synchronized (dumpLock) {
         BlockUtils.dumpKVContainerDataToFiles(containerData, config);
-        packer.pack(this, destination);
+        exporter.run();
       }
     } else {
-      packer.pack(this, destination);
+      exporter.run();
     }
   }
 }
@@ -34,6 +34,7 @@
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.INVALID_CONTAINER_STATE;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.IO_EXCEPTION;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.PUT_SMALL_FILE_ERROR;
+import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.UNABLE_TO_FIND_CHUNK;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.UNCLOSED_CONTAINER_IO;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.UNSUPPORTED_REQUEST;
 import static org.apache.hadoop.hdds.scm.ScmConfigKeys.OZONE_SCM_CHUNK_SIZE_DEFAULT;
@@ -46,6 +47,7 @@
 import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.getGetSmallFileResponseSuccess;
 import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.getListBlockResponse;
 import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.getPutFileResponseSuccess;
+import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.getReadBlockResponse;
 import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.getReadChunkResponse;
 import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.getReadContainerResponse;
 import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.getSuccessResponse;
@@ -74,8 +76,10 @@
 import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -86,6 +90,7 @@
 import java.util.TreeMap;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.apache.hadoop.fs.FileUtil;
 import org.apache.hadoop.hdds.HddsUtils;
@@ -102,6 +107,7 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.GetSmallFileRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.KeyValue;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.PutSmallFileRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadBlockRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.WriteChunkRequestProto;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
@@ -138,6 +144,7 @@
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
 import org.apache.hadoop.ozone.container.common.interfaces.BlockIterator;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.interfaces.ContainerUnpacker;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
 import org.apache.hadoop.ozone.container.common.interfaces.Handler;
 import org.apache.hadoop.ozone.container.common.interfaces.ScanResult;
@@ -157,11 +164,14 @@
 import org.apache.hadoop.ozone.container.keyvalue.impl.ChunkManagerFactory;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
+import org.apache.hadoop.ozone.container.ozoneimpl.ContainerScanError;
+import org.apache.hadoop.ozone.container.ozoneimpl.DataScanResult;
 import org.apache.hadoop.ozone.container.upgrade.VersionedDatanodeFeatures;
 import org.apache.hadoop.security.token.Token;
 import org.apache.hadoop.util.Time;
 import org.apache.ratis.statemachine.StateMachine;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.thirdparty.io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -173,6 +183,11 @@ public class KeyValueHandler extends Handler {
   private static final Logger LOG = LoggerFactory.getLogger(
       KeyValueHandler.class);
 
+  /** The max bytes of the chunks read ahead by a ReadBlock command while its responses cannot be sent. */
+  private static final long READ_BLOCK_READ_AHEAD_BYTES = 8L << 20;
+  /** The max time for a ReadBlock command to wait for its client to accept more responses. */
+  private static final long READ_BLOCK_SEND_TIMEOUT_MS = 60_000;
+
   private final BlockManager blockManager;
   private final ChunkManager chunkManager;
   private final VolumeChoosingPolicy volumeChoosingPolicy;
@@ -180,6 +195,8 @@ public class KeyValueHandler extends Handler {
   private final long maxDeleteLockWaitMs;
   private final Function<ByteBuffer, ByteString> byteBufferToByteString;
   private final boolean validateChunkChecksumData;
+  /** Verify the written chunks asynchronously; null if chunk data validation is disabled or synchronous. */
+  private final DeferredChunkVerifier deferredChunkVerifier;
   private final int chunkSize;
   // A striped lock that is held during container creation.
   private final Striped<Lock> containerCreationLocks;
@@ -211,8 +228,12 @@ public KeyValueHandler(ConfigurationSource config,
     super(config, datanodeId, contSet, volSet, metrics, icrSender);
     this.clock = clock;
     blockManager = new BlockManagerImpl(config);
-    validateChunkChecksumData = conf.getObject(
-        DatanodeConfiguration.class).isChunkDataValidationCheck();
+    final DatanodeConfiguration datanodeConfig = conf.getObject(DatanodeConfiguration.class);
+    validateChunkChecksumData = datanodeConfig.isChunkDataValidationCheck();
+    deferredChunkVerifier = validateChunkChecksumData && datanodeConfig.isChunkDataValidationAsync()
+        ? new DeferredChunkVerifier(datanodeConfig.getChunkDataValidationAsyncQueueSize(),
+            this::verifyWrittenChunk, this::onCorruptedChunks)
+        : null;
     chunkManager = ChunkManagerFactory.createChunkManager(config, blockManager,
         volSet);
     this.checksumManager = checksumManager;
@@ -279,6 +300,9 @@ public StateMachine.DataChannel getStreamDataChannel(
 
   @Override
   public void stop() {
+    if (deferredChunkVerifier != null) {
+      deferredChunkVerifier.close();
+    }
     chunkManager.shutdown();
     blockManager.shutdown();
   }
@@ -336,6 +360,8 @@ static ContainerCommandResponseProto dispatchRequest(KeyValueHandler handler,
       return handler.handleListBlock(request, kvContainer);
     case ReadChunk:
       return handler.handleReadChunk(request, kvContainer, dispatcherContext);
+    case ReadBlock:
+      return handler.handleReadBlock(request, kvContainer, dispatcherContext);
     case DeleteChunk:
       return handler.handleDeleteChunk(request, kvContainer);
     case WriteChunk:
@@ -350,7 +376,7 @@ static ContainerCommandResponseProto dispatchRequest(KeyValueHandler handler,
       return handler
           .handlePutSmallFile(request, kvContainer, dispatcherContext);
     case GetSmallFile:
-      return handler.handleGetSmallFile(request, kvContainer);
+      return handler.handleGetSmallFile(request, kvContainer, dispatcherContext);
     case GetCommittedBlockLength:
       return handler.handleGetCommittedBlockLength(request, kvContainer);
     case FinalizeBlock:
@@ -490,6 +516,7 @@ ContainerCommandResponseProto handleCreateContainer(
     }
 
     if (created) {
+      checksumManager.addOpenContainer(containerID);
       ContainerLogger.logOpen(newContainerData);
       try {
         sendICR(newContainer);
@@ -668,6 +695,7 @@ ContainerCommandResponseProto handlePutBlock(
           dispatcherContext == null ? 0 : dispatcherContext.getLogIndex();
       blockData.setBlockCommitSequenceId(bcsId);
       blockManager.putBlock(kvContainer, blockData, endOfBlock);
+      checksumManager.addCommittedBlock(kvContainer.getContainerData().getContainerID(), blockData);
 
       blockDataProto = blockData.getProtoBufMessage();
 
@@ -982,6 +1010,129 @@ ContainerCommandResponseProto handleReadChunk(
     return getReadChunkResponse(request, data, byteBufferToByteString);
   }
 
+  /**
+   * Handle Read Block operation.
+   * Read the chunks overlapping the requested range one by one.
+   * The responses of all the chunks except the last are sent to the response observer
+   * of the dispatcher context, and the response of the last chunk is returned.
+   * <p>
+   * A response is sent only when the flow control of the context is ready,
+   * so that a slow client does not make the transport buffer the whole range.
+   * While it is not ready, the following chunks are read ahead,
+   * up to {@link #READ_BLOCK_READ_AHEAD_BYTES}.
+   */
+  ContainerCommandResponseProto handleReadBlock(
+      ContainerCommandRequestProto request, KeyValueContainer kvContainer,
+      DispatcherContext dispatcherContext) {
+    if (!request.hasReadBlock()) {
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Malformed Read Block request. trace ID: {}",
+            request.getTraceID());
+      }
+      return malformedRequest(request);
+    }
+    final StreamObserver<ContainerCommandResponseProto> responseObserver
+        = dispatcherContext == null ? null : dispatcherContext.getResponseObserver();
+    if (responseObserver == null) {
+      return unsupportedRequest(request);
+    }
+    final DispatcherContext.FlowControl flowControl = dispatcherContext.getFlowControl();
+
+    final ReadBlockRequestProto readBlock = request.getReadBlock();
+    final long start = readBlock.getOffset();
+    final long end = start + readBlock.getLength();
+    final Deque<ReadBlockChunk> readAhead = new ArrayDeque<>();
+    try {
+      final BlockID blockID = BlockID.getFromProtobuf(readBlock.getBlockID());
+      BlockUtils.verifyReplicaIdx(kvContainer, blockID);
+      BlockUtils.verifyBCSId(kvContainer, blockID);
+      final BlockData blockData = blockManager.getBlock(kvContainer, blockID);
+
+      final List<ContainerProtos.ChunkInfo> chunks = new ArrayList<>();
+      for (ContainerProtos.ChunkInfo chunk : blockData.getChunks()) {
+        if (chunk.getOffset() < end && chunk.getOffset() + chunk.getLen() > start) {
+          chunks.add(chunk);
+        }
+      }
+      if (chunks.isEmpty()) {
+        throw new StorageContainerException("No chunks found in " + blockID + " for range ["
+            + start + ", " + end + ")", UNABLE_TO_FIND_CHUNK);
+      }
+
+      int next = 0;
+      long readAheadBytes = 0;
+      while (true) {
+        // read at least one chunk, and more while the earlier responses cannot be sent
+        while (next < chunks.size() && (readAhead.isEmpty() || (flowControl != null
+            && readAheadBytes < READ_BLOCK_READ_AHEAD_BYTES && !flowControl.isReady()))) {
+          final ReadBlockChunk chunk = readBlockChunk(request, kvContainer, blockID, chunks.get(next++),
+              dispatcherContext);
+          readAhead.add(chunk);
+          readAheadBytes += chunk.length;
+        }
+
+        final ReadBlockChunk chunk = readAhead.remove();
+        readAheadBytes -= chunk.length;
+        if (next == chunks.size() && readAhead.isEmpty()) {
+          // the last response is sent by the caller, which releases the buffers afterward
+          if (dispatcherContext.isReleaseSupported()) {
+            dispatcherContext.setReleaseMethod(chunk.context::release);
+          }
+          return chunk.response;
+        }
+        try {
+          if (flowControl != null && !flowControl.awaitReady(READ_BLOCK_SEND_TIMEOUT_MS)) {
+            throw new StorageContainerException("Client is not ready to receive " + blockID
+                + " in " + READ_BLOCK_SEND_TIMEOUT_MS + "ms or has cancelled", IO_EXCEPTION);
+          }
+          responseObserver.onNext(chunk.response);
+        } finally {
+          chunk.context.release();
+        }
+      }
+    } catch (StorageContainerException ex) {
+      return ContainerUtils.logAndReturnError(LOG, ex, request);
+    } catch (IOException ex) {
+      return ContainerUtils.logAndReturnError(LOG,
+          new StorageContainerException("Read Block failed", ex, IO_EXCEPTION),
+          request);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return ContainerUtils.logAndReturnError(LOG,
+          new StorageContainerException("Read Block interrupted", ex, IO_EXCEPTION),
+          request);
+    } finally {
+      readAhead.forEach(chunk -> chunk.context.release());
+    }
+  }
+
+  private ReadBlockChunk readBlockChunk(ContainerCommandRequestProto request, KeyValueContainer kvContainer,
+      BlockID blockID, ContainerProtos.ChunkInfo chunk, DispatcherContext dispatcherContext)
+      throws StorageContainerException {
+    // use a separate context for each chunk so that its buffers can be released once it is sent
+    final DispatcherContext chunkContext = DispatcherContext.newBuilder(DispatcherContext.Op.HANDLE_READ_CHUNK)
+        .setReleaseSupported(dispatcherContext.isReleaseSupported())
+        .build();
+    final ChunkBufferToByteString data = chunkManager.readChunk(kvContainer, blockID,
+        ChunkInfo.getFromProtoBuf(chunk), chunkContext);
+    metrics.incContainerBytesStats(Type.ReadBlock, chunk.getLen());
+    return new ReadBlockChunk(getReadBlockResponse(request, chunk, data, byteBufferToByteString),
+        chunkContext, chunk.getLen());
+  }
+
+  /** A chunk read by a ReadBlock command, holding its buffers until it is sent. */
+  private static final class ReadBlockChunk {
+    private final ContainerCommandResponseProto response;
+    private final DispatcherContext context;
+    private final long length;
+
+    private ReadBlockChunk(ContainerCommandResponseProto response, DispatcherContext context, long length) {
+      this.response = response;
+      this.context = context;
+      this.length = length;
+    }
+  }
+
   /**
    * Handle Delete Chunk operation. Calls ChunkManager to process the request.
    */
@@ -999,19 +1150,49 @@ private void validateChunkChecksumData(ChunkBufferToByteString data, ChunkInfo i
       throws StorageContainerException {
     if (validateChunkChecksumData) {
       try {
-        if (data instanceof ChunkBuffer) {
-          final ChunkBuffer b = (ChunkBuffer)data;
-          Checksum.verifyChecksum(b.duplicate(b.position(), b.limit()), info.getChecksumData(), 0);
-        } else {
-          Checksum.verifyChecksum(data.toByteString(byteBufferToByteString).asReadOnlyByteBuffer(),
-              info.getChecksumData(), 0);
-        }
+        verifyChecksum(data, info);
       } catch (OzoneChecksumException ex) {
         throw ChunkUtils.wrapInStorageContainerException(ex);
       }
     }
   }
 
+  private void verifyChecksum(ChunkBufferToByteString data, ChunkInfo info) throws OzoneChecksumException {
+    if (data instanceof ChunkBuffer) {
+      final ChunkBuffer b = (ChunkBuffer)data;
+      Checksum.verifyChecksum(b.duplicate(b.position(), b.limit()), info.getChecksumData(), 0);
+    } else {
+      Checksum.verifyChecksum(data.toByteString(byteBufferToByteString).asReadOnlyByteBuffer(),
+          info.getChecksumData(), 0);
+    }
+  }
+
+  /** Read back a chunk written earlier and verify it; see {@link DeferredChunkVerifier}. */
+  private void verifyWrittenChunk(KeyValueContainer container, BlockID blockID, ChunkInfo info,
+      DispatcherContext writeContext) throws IOException {
+    // The chunk may not be committed yet, i.e. it may be still in the tmp file of FilePerChunk.
+    final DispatcherContext readContext = DispatcherContext.newBuilder(DispatcherContext.Op.READ_STATE_MACHINE_DATA)
+        .setTerm(writeContext.getTerm())
+        .setLogIndex(writeContext.getLogIndex())
+        .build();
+    final ChunkBufferToByteString data = chunkManager.readChunk(container, blockID, info, readContext);
+    try {
+      verifyChecksum(data, info);
+    } finally {
+      data.release();
+    }
+  }
+
+  private void onCorruptedChunks(KeyValueContainer container, List<ContainerScanError> errors) {
+    final long containerID = container.getContainerData().getContainerID();
+    try {
+      markContainerUnhealthy(container, DataScanResult.fromErrors(errors));
+    } catch (IOException e) {
+      LOG.error("Failed to mark container {} UNHEALTHY", containerID, e);
+    }
+    containerSet.scanContainerWithoutGap(containerID, "Corrupted chunk written");
+  }
+
   /**
    * Handle Write Chunk operation. Calls ChunkManager to process the request.
    */
@@ -1043,14 +1224,33 @@ ContainerCommandResponseProto handleWriteChunk(
         dispatcherContext = DispatcherContext.getHandleWriteChunk();
       }
       final boolean isWrite = dispatcherContext.getStage().isWrite();
+      final HddsVolume volume = kvContainer.getContainerData().getVolume();
+      boolean deferred = false;
       if (isWrite) {
         data =
             ChunkBuffer.wrap(writeChunk.getData().asReadOnlyByteBufferList());
-        // TODO: Can improve checksum validation here. Make this one-shot after protocol change.
-        validateChunkChecksumData(data, chunkInfo);
+        deferred = deferredChunkVerifier != null && deferredChunkVerifier.reserve(volume);
+        if (!deferred) {
+          // verify it now if the verification is not deferred or the queue is full
+          // TODO: Can improve checksum validation here. Make this one-shot after protocol change.
+          validateChunkChecksumData(data, chunkInfo);
+        }
+      }
+      try {
+        if (isWrite && deferredChunkVerifier != null) {
+          deferredChunkVerifier.onWrite(kvContainer, blockID, chunkInfo);
+        }
+        chunkManager
+            .writeChunk(kvContainer, blockID, chunkInfo, data, dispatcherContext);
+        if (deferred) {
+          deferredChunkVerifier.submit(kvContainer, blockID, chunkInfo, dispatcherContext);
+          deferred = false;
+        }
+      } finally {
+        if (deferred) {
+          deferredChunkVerifier.cancel(volume);
+        }
       }
-      chunkManager
-          .writeChunk(kvContainer, blockID, chunkInfo, data, dispatcherContext);
 
       final boolean isCommit = dispatcherContext.getStage().isCommit();
       if (isCommit && writeChunk.hasBlock()) {
@@ -1071,6 +1271,7 @@ ContainerCommandResponseProto handleWriteChunk(
           chunkManager.finishWriteChunks(kvContainer, blockData);
         }
         blockManager.putBlock(kvContainer, blockData, eob);
+        checksumManager.addCommittedBlock(kvContainer.getContainerData().getContainerID(), blockData);
         blockDataProto = blockData.getProtoBufMessage();
         final long numBytes = blockDataProto.getSerializedSize();
         metrics.incContainerBytesStats(Type.PutBlock, numBytes);
@@ -1202,6 +1403,7 @@ ContainerCommandResponseProto handlePutSmallFile(
       blockData.setBlockCommitSequenceId(dispatcherContext.getLogIndex());
 
       blockManager.putBlock(kvContainer, blockData);
+      checksumManager.addCommittedBlock(kvContainer.getContainerData().getContainerID(), blockData);
 
       blockDataProto = blockData.getProtoBufMessage();
       metrics.incContainerBytesStats(Type.PutSmallFile, chunkInfo.getLen());
@@ -1222,7 +1424,8 @@ ContainerCommandResponseProto handlePutSmallFile(
    * ChunkManager to process the request.
    */
   ContainerCommandResponseProto handleGetSmallFile(
-      ContainerCommandRequestProto request, KeyValueContainer kvContainer) {
+      ContainerCommandRequestProto request, KeyValueContainer kvContainer,
+      DispatcherContext context) {
 
     if (!request.hasGetSmallFile()) {
       if (LOG.isDebugEnabled()) {
@@ -1241,8 +1444,8 @@ ContainerCommandResponseProto handleGetSmallFile(
 
       ContainerProtos.ChunkInfo chunkInfoProto = null;
       List<ByteString> dataBuffers = new ArrayList<>();
-      final DispatcherContext dispatcherContext
-          = DispatcherContext.getHandleGetSmallFile();
+      final DispatcherContext dispatcherContext = context != null ? context
+          : DispatcherContext.getHandleGetSmallFile();
       for (ContainerProtos.ChunkInfo chunk : responseData.getChunks()) {
         // if the block is committed, all chunks must have been committed.
         // Tmp chunk files won't exist here.
@@ -1343,7 +1546,7 @@ private boolean checkContainerClose(KeyValueContainer kvContainer) {
   @Override
   public Container importContainer(ContainerData originalContainerData,
       final InputStream rawContainerStream,
-      final TarContainerPacker packer)
+      final ContainerUnpacker<KeyValueContainerData> packer)
       throws IOException {
     Preconditions.checkState(originalContainerData instanceof
         KeyValueContainerData, "Should be KeyValueContainerData instance");
@@ -1373,6 +1576,22 @@ public void exportContainer(final Container container,
     ContainerLogger.logExported(container.getContainerData());
   }
 
+  @Override
+  public void exportContainerFiles(final Container container,
+      final Path destination) throws IOException {
+    final KeyValueContainer kvc = (KeyValueContainer) container;
+    kvc.exportContainerFiles(destination);
+    ContainerLogger.logExported(container.getContainerData());
+  }
+
+  @Override
+  public void exportChunkFiles(final Container container,
+      final Path destination, final Predicate<String> filter)
+      throws IOException {
+    final KeyValueContainer kvc = (KeyValueContainer) container;
+    kvc.exportChunkFiles(destination, filter);
+  }
+
   @Override
   public void markContainerForClose(Container container)
       throws IOException {
@@ -1416,17 +1635,25 @@ public void updateContainerChecksum(Container container, ContainerMerkleTreeWrit
    * been made from the metadata or data itself so there is no need to recreate it from the metadata. This method
    * does not send an ICR with the updated checksum info.
    * <p>
+   * If the tree was maintained in memory while the container was open, it is used instead of iterating the block
+   * metadata.
    *
    * @param container The container which will have a tree generated.
    */
   private void updateContainerChecksumFromMetadataIfNeeded(Container container) {
+    ContainerMerkleTreeWriter openContainerTree =
+        checksumManager.removeOpenContainer(container.getContainerData());
     if (!container.getContainerData().needsDataChecksum()) {
       return;
     }
 
     try {
       KeyValueContainer keyValueContainer = (KeyValueContainer) container;
-      updateAndGetContainerChecksumFromMetadata(keyValueContainer);
+      if (openContainerTree != null) {
+        updateAndGetContainerChecksum(keyValueContainer, openContainerTree, false);
+      } else {
+        updateAndGetContainerChecksumFromMetadata(keyValueContainer);
+      }
     } catch (IOException ex) {
       LOG.error("Cannot create container checksum for container {} , Exception: ",
           container.getContainerData().getContainerID(), ex);
@@ -2182,6 +2409,7 @@ private void deleteInternal(Container container, boolean force)
           container.markContainerForDelete();
           long containerId = container.getContainerData().getContainerID();
           containerSet.removeContainer(containerId);
+          checksumManager.removeOpenContainer(container.getContainerData());
           ContainerLogger.logDeleted(container.getContainerData(), force);
           KeyValueContainerUtil.removeContainer(keyValueContainerData, conf);
         } catch (IOException ioe) {
@@ -2213,6 +2441,7 @@ private void deleteInternal(Container container, boolean force)
     sendICR(container);
     long bytesUsed = container.getContainerData().getBytesUsed();
     HddsVolume volume = container.getContainerData().getVolume();
+    chunkManager.releaseContainer(container);
     container.delete();
     volume.decrementUsedSpace(bytesUsed);
   }
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue;
+
+import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.CONTAINER_ALREADY_EXISTS;
+import static org.apache.hadoop.ozone.container.keyvalue.TarContainerPacker.CHUNKS_DIR_NAME;
+import static org.apache.hadoop.ozone.container.keyvalue.TarContainerPacker.DB_DIR_NAME;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.container.checksum.ContainerChecksumTreeManager;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerUtils;
+import org.apache.hadoop.ozone.container.common.impl.ContainerDataYaml;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.interfaces.ContainerUnpacker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Imports KeyValueContainer data streamed file by file, instead of as a tar
+ * archive.
+ * <p>
+ * The streamed files have the same logical names as the entries of the
+ * archive created by {@link TarContainerPacker}, and they are received
+ * directly into the directory the archive would be extracted to. Importing
+ * moves them to their place within the container, so the data is written
+ * only once on the target.
+ * <p>
+ * On the source, {@link #linkContainerFiles} prepares the files to stream.
+ */
+public class StreamedContainerPacker
+    implements ContainerUnpacker<KeyValueContainerData> {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(StreamedContainerPacker.class);
+
+  /** Logical name of the container descriptor file. */
+  public static final String CONTAINER_FILE_NAME =
+      TarContainerPacker.CONTAINER_FILE_NAME;
+
+  private final ConfigurationSource conf = new OzoneConfiguration();
+
+  /**
+   * The directory of the streamed files of a container before import.
+   *
+   * @param tmpDir the directory used by the container import of the volume
+   */
+  public static Path getStreamingDirectory(Path tmpDir, long containerId) {
+    return tmpDir.resolve(String.valueOf(containerId));
+  }
+
+  /**
+   * @return true if the file with the given logical name does not change
+   * after the container is closed, so a copy received by a failed attempt
+   * can be kept when streaming is resumed from the same source.
+   */
+  public static boolean isResumable(String name) {
+    return name.startsWith(CHUNKS_DIR_NAME + "/");
+  }
+
+  /**
+   * Links the files of the container to be replicated into the given
+   * directory, with their logical names. Chunk files are hard linked,
+   * while the container descriptor, the checksum file and the metadata DB
+   * are copied, since they may change in place later.
+   * <p>
+   * The caller must hold the container lock, and the DB dump of a schema V3
+   * container must be up-to-date.
+   */
+  static void linkContainerFiles(KeyValueContainer container,
+      Path destination) throws IOException {
+    KeyValueContainerData containerData = container.getContainerData();
+    Files.createDirectories(destination);
+    Files.copy(container.getContainerFile().toPath(),
+        destination.resolve(CONTAINER_FILE_NAME));
+
+    File containerChecksumFile =
+        ContainerChecksumTreeManager.getContainerChecksumFile(containerData);
+    if (containerChecksumFile.exists()) {
+      Files.copy(containerChecksumFile.toPath(),
+          destination.resolve(containerChecksumFile.getName()));
+    }
+
+    copyDirectory(TarContainerPacker.getDbPath(containerData),
+        destination.resolve(DB_DIR_NAME), false, name -> true);
+    copyDirectory(Paths.get(containerData.getChunksPath()),
+        destination.resolve(CHUNKS_DIR_NAME), true, name -> true);
+  }
+
+  /**
+   * Links only the chunk files of the container with logical names accepted
+   * by the filter into the given directory. The metadata of the container
+   * is not needed for them, so the caller only has to hold the read lock.
+   */
+  static void linkChunkFiles(KeyValueContainer container, Path destination,
+      Predicate<String> filter) throws IOException {
+    Files.createDirectories(destination);
+    copyDirectory(
+        Paths.get(container.getContainerData().getChunksPath()),
+        destination.resolve(CHUNKS_DIR_NAME), true,
+        name -> filter.test(CHUNKS_DIR_NAME + "/" + name));
+  }
+
+  /**
+   * @param filter accepts the name of the files relative to the source
+   */
+  private static void copyDirectory(Path source, Path destination,
+      boolean link, Predicate<String> filter) throws IOException {
+    if (!Files.isDirectory(source)) {
+      return;
+    }
+    final List<Path> files;
+    try (Stream<Path> stream = Files.walk(source)) {
+      files = stream.filter(Files::isRegularFile)
+          .filter(file -> filter.test(source.relativize(file).toString()))
+          .collect(Collectors.toList());
+    }
+    for (Path file : files) {
+      Path target = destination.resolve(source.relativize(file).toString());
+      Files.createDirectories(target.getParent());
+      if (link) {
+        try {
+          Files.createLink(target, file);
+          continue;
+        } catch (UnsupportedOperationException | IOException e) {
+          LOG.debug("Failed to link {}, copying it instead", file, e);
+        }
+      }
+      Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Moves the streamed files of the container to the destination
+   * directory. The input stream is not used.
+   */
+  @Override
+  public byte[] unpackContainerData(Container<KeyValueContainerData> container,
+      InputStream input, Path tmpDir, Path destContainerDir)
+      throws IOException {
+    KeyValueContainerData containerData = container.getContainerData();
+    long containerId = containerData.getContainerID();
+    Path streamedDir = getStreamingDirectory(tmpDir, containerId);
+
+    Path descriptorFile = streamedDir.resolve(CONTAINER_FILE_NAME);
+    byte[] descriptorFileContent = Files.readAllBytes(descriptorFile);
+    Files.delete(descriptorFile);
+
+    Path metadataDir = streamedDir.resolve(
+        Paths.get(containerData.getMetadataPath()).getFileName().toString());
+    Files.createDirectories(metadataDir);
+    try (Stream<Path> stream = Files.list(streamedDir)) {
+      for (Path file : stream.filter(Files::isRegularFile)
+          .collect(Collectors.toList())) {
+        Files.move(file, metadataDir.resolve(file.getFileName()));
+      }
+    }
+    Path streamedDb = streamedDir.resolve(DB_DIR_NAME);
+    if (Files.exists(streamedDb)) {
+      Path dbRoot = TarContainerPacker.getDbPath(streamedDir, containerData);
+      Files.createDirectories(dbRoot.getParent());
+      Files.move(streamedDb, dbRoot);
+    }
+    Files.createDirectories(TarContainerPacker.getChunkPath(streamedDir));
+
+    if (!Files.exists(destContainerDir)) {
+      Files.createDirectories(destContainerDir);
+    }
+    if (!FileUtils.isEmptyDirectory(destContainerDir.toFile())) {
+      throw new StorageContainerException("Container " + containerId +
+          " import failed because ContainerFile " +
+          destContainerDir.toAbsolutePath() + " already exists",
+          CONTAINER_ALREADY_EXISTS);
+    }
+    KeyValueContainerData streamedContainerData =
+        (KeyValueContainerData) ContainerDataYaml
+            .readContainer(descriptorFileContent);
+    ContainerUtils.verifyContainerFileChecksum(streamedContainerData, conf);
+
+    persistCustomContainerState(container, descriptorFileContent,
+        State.RECOVERING, metadataDir);
+    Files.move(streamedDir, destContainerDir,
+        StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+    return descriptorFileContent;
+  }
+
+  /**
+   * Reads the descriptor from the streamed container file.
+   */
+  @Override
+  public byte[] unpackContainerDescriptor(InputStream input)
+      throws IOException {
+    return IOUtils.toByteArray(input);
+  }
+}
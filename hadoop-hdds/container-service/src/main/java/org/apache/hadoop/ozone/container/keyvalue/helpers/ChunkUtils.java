@@ -55,6 +55,7 @@
 import java.util.function.ToLongFunction;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.hdds.utils.db.PooledBufferAllocator;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.common.ChunkBufferToByteString;
@@ -199,12 +200,19 @@ private static long writeDataToChannel(FileChannel channel, ChunkBuffer data,
     }
   }
 
+  /**
+   * Read data from the given file.
+   * The data is read using the given {@link MappedBufferManager}, if any,
+   * when it is large enough and the given context can release the mapped regions after use.
+   */
   @SuppressWarnings("checkstyle:parameternumber")
   public static ChunkBuffer readData(long len, int bufferCapacity,
-      File file, long off, HddsVolume volume, int readMappedBufferThreshold, boolean mmapEnabled,
-      MappedBufferManager mappedBufferManager) throws StorageContainerException {
-    if (mmapEnabled && len > readMappedBufferThreshold && bufferCapacity > readMappedBufferThreshold) {
-      return readData(file, bufferCapacity, off, len, volume, mappedBufferManager);
+      File file, long off, HddsVolume volume, int readMappedBufferThreshold,
+      MappedBufferManager mappedBufferManager, long containerId, DispatcherContext context)
+      throws StorageContainerException {
+    if (mappedBufferManager != null && context != null && context.isReleaseSupported()
+        && len > readMappedBufferThreshold && bufferCapacity > readMappedBufferThreshold) {
+      return readData(file, bufferCapacity, off, len, volume, mappedBufferManager, containerId, context);
     } else if (len == 0) {
       return ChunkBuffer.wrap(Collections.emptyList());
     }
@@ -252,56 +260,54 @@ private static void readData(File file, long offset, long len,
    * whose javadoc recommends that it is generally only worth mapping
    * relatively large files (larger than a few tens of kilobytes)
    * into memory from the standpoint of performance.
+   * The mapped regions are cached by the given {@link MappedBufferManager}
+   * and released by the given context once the data is no longer used.
    *
-   * @return a list of {@link MappedByteBuffer} containing the data.
+   * @return a list of buffers backed by {@link MappedByteBuffer}s containing the data.
    */
+  @SuppressWarnings("checkstyle:parameternumber")
   private static ChunkBuffer readData(File file, int chunkSize,
-      long offset, long length, HddsVolume volume, MappedBufferManager mappedBufferManager)
-      throws StorageContainerException {
+      long offset, long length, HddsVolume volume, MappedBufferManager mappedBufferManager,
+      long containerId, DispatcherContext context) throws StorageContainerException {
 
     final int bufferNum = Math.toIntExact((length - 1) / chunkSize) + 1;
-    if (!mappedBufferManager.getQuota(bufferNum)) {
-      // proceed with normal buffer
-      final ByteBuffer[] buffers = BufferUtils.assignByteBuffers(length,
-          chunkSize);
-      readData(file, offset, length, c -> c.position(offset).read(buffers), volume);
-      Arrays.stream(buffers).forEach(ByteBuffer::flip);
-      return ChunkBuffer.wrap(Arrays.asList(buffers));
-    } else {
-      try {
-        // proceed with mapped buffer
-        final List<ByteBuffer> buffers = new ArrayList<>(bufferNum);
-        readData(file, offset, length, channel -> {
-          long readLen = 0;
-          while (readLen < length) {
-            final int n = Math.toIntExact(Math.min(length - readLen, chunkSize));
-            final long finalOffset = offset + readLen;
-            final AtomicReference<IOException> exception = new AtomicReference<>();
-            ByteBuffer mapped = mappedBufferManager.computeIfAbsent(file.getAbsolutePath(), finalOffset, n,
-                () -> {
-                  try {
-                    return channel.map(FileChannel.MapMode.READ_ONLY, finalOffset, n);
-                  } catch (IOException e) {
-                    LOG.error("Failed to map file {} with offset {} and length {}", file, finalOffset, n);
-                    exception.set(e);
-                    return null;
-                  }
-                });
-            if (mapped == null) {
-              throw exception.get();
-            }
-            LOG.debug("mapped: offset={}, readLen={}, n={}, {}", finalOffset, readLen, n, mapped.getClass());
-            readLen += mapped.remaining();
-            buffers.add(mapped);
+    final List<ByteBuffer> buffers = new ArrayList<>(bufferNum);
+    final List<MappedBufferManager.Region> regions = new ArrayList<>(bufferNum);
+    final String path = file.getAbsolutePath();
+    try {
+      readData(file, offset, length, channel -> {
+        long readLen = 0;
+        while (readLen < length) {
+          final int n = Math.toIntExact(Math.min(length - readLen, chunkSize));
+          final long finalOffset = offset + readLen;
+          final AtomicReference<IOException> exception = new AtomicReference<>();
+          final MappedBufferManager.Region region = mappedBufferManager.computeIfAbsent(
+              volume, containerId, path, finalOffset, n, () -> {
+                try {
+                  return channel.map(FileChannel.MapMode.READ_ONLY, finalOffset, n);
+                } catch (IOException e) {
+                  LOG.error("Failed to map file {} with offset {} and length {}", file, finalOffset, n);
+                  exception.set(e);
+                  return null;
+                }
+              });
+          if (region == null) {
+            throw exception.get();
           }
-          return readLen;
-        }, volume);
-        return ChunkBuffer.wrap(buffers);
-      } catch (Throwable e) {
-        mappedBufferManager.releaseQuota(bufferNum);
-        throw e;
-      }
+          regions.add(region);
+          final ByteBuffer mapped = region.getBuffer();
+          LOG.debug("mapped: offset={}, readLen={}, n={}, {}", finalOffset, readLen, n, mapped.getClass());
+          readLen += mapped.remaining();
+          buffers.add(mapped);
+        }
+        return readLen;
+      }, volume);
+    } catch (StorageContainerException e) {
+      regions.forEach(MappedBufferManager.Region::release);
+      throw e;
     }
+    context.setReleaseMethod(() -> regions.forEach(MappedBufferManager.Region::release));
+    return ChunkBuffer.wrap(buffers);
   }
 
   public static ChunkBufferToByteString readData(File file, long chunkSize,
@@ -309,8 +315,17 @@ public static ChunkBufferToByteString readData(File file, long chunkSize,
       throws StorageContainerException {
     final List<ByteBuf> buffers = readDataNettyChunkedNioFile(
         file, Math.toIntExact(chunkSize), offset, length, volume);
+    final int[] capacities = buffers.stream().mapToInt(ByteBuf::capacity).toArray();
+    for (int capacity : capacities) {
+      PooledBufferAllocator.CHUNK_MANAGER.recordAllocation(capacity);
+    }
     final ChunkBufferToByteString b = ChunkBufferToByteString.wrap(buffers);
-    context.setReleaseMethod(b::release);
+    context.setReleaseMethod(() -> {
+      b.release();
+      for (int capacity : capacities) {
+        PooledBufferAllocator.CHUNK_MANAGER.recordRelease(capacity);
+      }
+    });
     return b;
   }
 
@@ -55,10 +55,17 @@ public class ChunkManagerDispatcher implements ChunkManager {
       = new EnumMap<>(ContainerLayoutVersion.class);
 
   ChunkManagerDispatcher(boolean sync, BlockManager manager) {
+    this(sync, manager, false);
+  }
+
+  ChunkManagerDispatcher(boolean sync, BlockManager manager,
+      boolean dropCacheBehindWrites) {
+    // the mapped buffers of a volume are counted together for all the layouts
+    final MappedBufferManager mappedBufferManager = MappedBufferManager.newInstance(manager);
     handlers.put(FILE_PER_CHUNK,
-        new FilePerChunkStrategy(sync, manager));
+        new FilePerChunkStrategy(sync, manager, mappedBufferManager));
     handlers.put(FILE_PER_BLOCK,
-        new FilePerBlockStrategy(sync, manager));
+        new FilePerBlockStrategy(sync, manager, dropCacheBehindWrites, mappedBufferManager));
   }
 
   @Override
@@ -145,6 +152,11 @@ public void shutdown() {
     handlers.values().forEach(ChunkManager::shutdown);
   }
 
+  @Override
+  public void releaseContainer(Container container) {
+    handlers.values().forEach(h -> h.releaseContainer(container));
+  }
+
   private @Nonnull ChunkManager selectHandler(Container container)
       throws StorageContainerException {
 
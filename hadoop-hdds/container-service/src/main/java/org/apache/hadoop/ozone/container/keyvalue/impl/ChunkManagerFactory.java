@@ -23,6 +23,7 @@
 
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.volume.VolumeSet;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
@@ -74,6 +75,12 @@ public static ChunkManager createChunkManager(ConfigurationSource conf,
       return new ChunkManagerDummyImpl();
     }
 
-    return new ChunkManagerDispatcher(sync, manager);
+    final boolean dropCacheBehindWrites = conf.getObject(DatanodeConfiguration.class)
+        .isChunkWriteDropCacheBehind();
+    if (dropCacheBehindWrites && sync) {
+      LOG.info("Ignoring drop cache behind writes since {} is enabled",
+          OzoneConfigKeys.HDDS_CONTAINER_CHUNK_WRITE_SYNC_KEY);
+    }
+    return new ChunkManagerDispatcher(sync, manager, dropCacheBehindWrites && !sync);
   }
 }
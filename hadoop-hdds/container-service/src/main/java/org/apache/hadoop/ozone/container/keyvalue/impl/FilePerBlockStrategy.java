@@ -30,7 +30,9 @@
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
+import java.io.FileDescriptor;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
@@ -38,11 +40,18 @@
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.hadoop.fs.FileUtil;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.io.nativeio.NativeIO;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.common.ChunkBufferToByteString;
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
@@ -68,29 +77,47 @@ public class FilePerBlockStrategy implements ChunkManager {
   private static final Logger LOG =
       LoggerFactory.getLogger(FilePerBlockStrategy.class);
 
+  /**
+   * Keep the pages of the recently written chunks in the page cache,
+   * since they may still be under writeback.
+   */
+  static final long CACHE_DROP_LAG_BYTES = 8 * 1024 * 1024;
+
+  /** The max number of pending page cache operations of a volume. */
+  static final int CACHE_DROP_QUEUE_SIZE = 256;
+
   private final boolean doSyncWrite;
+  private final boolean dropCacheBehindWrites;
+  /** Manage the page cache of the chunk files of each volume off the write path. */
+  private final Map<HddsVolume, ExecutorService> cacheDropExecutors = new ConcurrentHashMap<>();
   private final OpenFiles files = new OpenFiles();
   private final int defaultReadBufferCapacity;
   private final int readMappedBufferThreshold;
-  private final int readMappedBufferMaxCount;
   private final MappedBufferManager mappedBufferManager;
 
   private final boolean readNettyChunkedNioFile;
 
   public FilePerBlockStrategy(boolean sync, BlockManager manager) {
+    this(sync, manager, false);
+  }
+
+  public FilePerBlockStrategy(boolean sync, BlockManager manager,
+      boolean dropCacheBehindWrites) {
+    this(sync, manager, dropCacheBehindWrites, MappedBufferManager.newInstance(manager));
+  }
+
+  FilePerBlockStrategy(boolean sync, BlockManager manager,
+      boolean dropCacheBehindWrites, MappedBufferManager mappedBufferManager) {
     doSyncWrite = sync;
+    this.dropCacheBehindWrites = dropCacheBehindWrites && NativeIO.isAvailable();
+    if (dropCacheBehindWrites && !this.dropCacheBehindWrites) {
+      LOG.warn("Native IO is not available, drop cache behind writes is disabled.");
+    }
     this.defaultReadBufferCapacity = manager == null ? 0 :
         manager.getDefaultReadBufferCapacity();
     this.readMappedBufferThreshold = manager == null ? 0
         : manager.getReadMappedBufferThreshold();
-    this.readMappedBufferMaxCount = manager == null ? 0
-        : manager.getReadMappedBufferMaxCount();
-    LOG.info("ozone.chunk.read.mapped.buffer.max.count is load with {}", readMappedBufferMaxCount);
-    if (this.readMappedBufferMaxCount > 0) {
-      mappedBufferManager = new MappedBufferManager(this.readMappedBufferMaxCount);
-    } else {
-      mappedBufferManager = null;
-    }
+    this.mappedBufferManager = mappedBufferManager;
 
     this.readNettyChunkedNioFile = manager != null && manager.isReadNettyChunkedNioFile();
   }
@@ -151,10 +178,12 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
 
     HddsVolume volume = containerData.getVolume();
 
+    OpenFile openFile;
     FileChannel channel = null;
     boolean overwrite;
     try {
-      channel = files.getChannel(chunkFile, doSyncWrite);
+      openFile = files.get(chunkFile, doSyncWrite);
+      channel = openFile.getChannel();
       overwrite = validateChunkForOverwrite(channel, info);
     } catch (IOException e) {
       onFailure(volume);
@@ -180,6 +209,9 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
     }
 
     ChunkUtils.writeData(channel, chunkFile.getName(), data, offset, chunkLength, volume);
+    if (dropCacheBehindWrites) {
+      getCacheDropExecutor(volume).execute(() -> manageOsCache(openFile, chunkFile, offset, chunkLength));
+    }
 
     // When overwriting, update the bytes used if the new length is greater than the old length
     // This is to ensure that the bytes used is updated correctly when overwriting a smaller chunk
@@ -194,6 +226,60 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
     containerData.updateWriteStats(chunkLength, overwrite);
   }
 
+  /**
+   * @return the single thread executor of the given volume.
+   *         When its bounded queue is full, the new tasks are discarded,
+   *         and the pages they would have dropped are dropped by the next task of the file.
+   */
+  private ExecutorService getCacheDropExecutor(HddsVolume volume) {
+    return cacheDropExecutors.computeIfAbsent(volume, v -> new ThreadPoolExecutor(1, 1,
+        0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(CACHE_DROP_QUEUE_SIZE),
+        new ThreadFactoryBuilder()
+            .setNameFormat("ChunkCacheDrop-" + (v == null ? "" : v.getStorageID()) + "-%d")
+            .setDaemon(true)
+            .build(),
+        new ThreadPoolExecutor.DiscardPolicy()));
+  }
+
+  /**
+   * Start the writeback of the given range asynchronously
+   * and then drop the pages written before it from the page cache,
+   * except for the last {@link #CACHE_DROP_LAG_BYTES}.
+   * Only the pages not dropped by the previous writes of the file are advised,
+   * so the cost of a write does not grow with the block size.
+   * Failures are ignored since it is only an optimization.
+   */
+  private static void manageOsCache(OpenFile openFile, File chunkFile, long offset, long length) {
+    // The file must not be closed, and its descriptor reused, while it is advised.
+    synchronized (openFile) {
+      if (openFile.isClosed()) {
+        return;
+      }
+      manageOsCacheOfOpenFile(openFile, chunkFile, offset, length);
+    }
+  }
+
+  private static void manageOsCacheOfOpenFile(OpenFile openFile, File chunkFile, long offset, long length) {
+    try {
+      final FileDescriptor fd = openFile.getFD();
+      NativeIO.POSIX.syncFileRangeIfPossible(fd, offset, length, NativeIO.POSIX.SYNC_FILE_RANGE_WRITE);
+      final long dropEnd = offset - CACHE_DROP_LAG_BYTES;
+      final long dropStart = openFile.advanceCacheDropped(dropEnd);
+      if (dropEnd > dropStart) {
+        NativeIO.POSIX.getCacheManipulator().posixFadviseIfPossible(chunkFile.getName(), fd,
+            dropStart, dropEnd - dropStart, NativeIO.POSIX.POSIX_FADV_DONTNEED);
+      }
+    } catch (IOException e) {
+      LOG.debug("Failed to manage OS cache for {}", chunkFile, e);
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    cacheDropExecutors.values().forEach(ExecutorService::shutdownNow);
+    cacheDropExecutors.clear();
+  }
+
   @Override
   public ChunkBufferToByteString readChunk(Container container, BlockID blockID,
       ChunkInfo info, DispatcherContext dispatcherContext)
@@ -223,8 +309,15 @@ public ChunkBufferToByteString readChunk(Container container, BlockID blockID,
     if (readNettyChunkedNioFile && dispatcherContext != null && dispatcherContext.isReleaseSupported()) {
       return ChunkUtils.readData(chunkFile, bufferCapacity, offset, len, volume, dispatcherContext);
     }
-    return ChunkUtils.readData(len, bufferCapacity, chunkFile, offset, volume,
-        readMappedBufferThreshold, readMappedBufferMaxCount > 0, mappedBufferManager);
+    return ChunkUtils.readData(len, bufferCapacity, chunkFile, offset, volume, readMappedBufferThreshold,
+        mappedBufferManager, containerData.getContainerID(), dispatcherContext);
+  }
+
+  @Override
+  public void releaseContainer(Container container) {
+    if (mappedBufferManager != null) {
+      mappedBufferManager.invalidateContainer(container.getContainerData().getContainerID());
+    }
   }
 
   @Override
@@ -293,6 +386,9 @@ private void deleteChunk(Container container, BlockID blockID,
     }
 
     FileUtil.fullyDelete(file);
+    if (mappedBufferManager != null) {
+      mappedBufferManager.invalidate(container.getContainerData().getContainerID(), file.getAbsolutePath());
+    }
     LOG.info("Deleted block file: {}", file);
   }
 
@@ -322,11 +418,11 @@ private static final class OpenFiles {
         .removalListener(ON_REMOVE)
         .build();
 
-    public FileChannel getChannel(File file, boolean sync)
+    public OpenFile get(File file, boolean sync)
         throws StorageContainerException {
       try {
         return files.get(file.getPath(),
-            () -> open(file, sync)).getChannel();
+            () -> open(file, sync));
       } catch (ExecutionException e) {
         if (e.getCause() instanceof IOException) {
           throw new UncheckedIOException((IOException) e.getCause());
@@ -372,6 +468,9 @@ private static void close(String filename, OpenFile openFile) {
   private static final class OpenFile {
 
     private final RandomAccessFile file;
+    /** The end of the pages already dropped from the page cache. */
+    private long cacheDropped;
+    private boolean closed;
 
     private OpenFile(File file, boolean sync) throws FileNotFoundException {
       String mode = sync ? "rws" : "rw";
@@ -385,7 +484,28 @@ public FileChannel getChannel() {
       return file.getChannel();
     }
 
-    public void close() {
+    public FileDescriptor getFD() throws IOException {
+      return file.getFD();
+    }
+
+    /**
+     * Record that the pages up to the given end are dropped from the page cache.
+     * @return the end of the pages dropped before this call
+     */
+    synchronized long advanceCacheDropped(long end) {
+      final long previous = cacheDropped;
+      if (end > previous) {
+        cacheDropped = end;
+      }
+      return previous;
+    }
+
+    synchronized boolean isClosed() {
+      return closed;
+    }
+
+    public synchronized void close() {
+      closed = true;
       try {
         file.close();
       } catch (IOException e) {
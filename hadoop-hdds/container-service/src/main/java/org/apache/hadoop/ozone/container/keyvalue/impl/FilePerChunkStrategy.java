@@ -62,26 +62,23 @@ public class FilePerChunkStrategy implements ChunkManager {
   private final BlockManager blockManager;
   private final int defaultReadBufferCapacity;
   private final int readMappedBufferThreshold;
-  private final int readMappedBufferMaxCount;
   private final MappedBufferManager mappedBufferManager;
 
   private final boolean readNettyChunkedNioFile;
 
   public FilePerChunkStrategy(boolean sync, BlockManager manager) {
+    this(sync, manager, MappedBufferManager.newInstance(manager));
+  }
+
+  FilePerChunkStrategy(boolean sync, BlockManager manager,
+      MappedBufferManager mappedBufferManager) {
     doSyncWrite = sync;
     blockManager = manager;
     this.defaultReadBufferCapacity = manager == null ? 0 :
         manager.getDefaultReadBufferCapacity();
     this.readMappedBufferThreshold = manager == null ? 0
         : manager.getReadMappedBufferThreshold();
-    this.readMappedBufferMaxCount = manager == null ? 0
-        : manager.getReadMappedBufferMaxCount();
-    LOG.info("ozone.chunk.read.mapped.buffer.max.count is load with {}", readMappedBufferMaxCount);
-    if (this.readMappedBufferMaxCount > 0) {
-      mappedBufferManager = new MappedBufferManager(this.readMappedBufferMaxCount);
-    } else {
-      mappedBufferManager = null;
-    }
+    this.mappedBufferManager = mappedBufferManager;
 
     this.readNettyChunkedNioFile = manager != null && manager.isReadNettyChunkedNioFile();
   }
@@ -273,8 +270,8 @@ public ChunkBufferToByteString readChunk(Container container, BlockID blockID,
           if (readNettyChunkedNioFile && dispatcherContext != null && dispatcherContext.isReleaseSupported()) {
             return ChunkUtils.readData(file, bufferCapacity, offset, len, volume, dispatcherContext);
           }
-          return ChunkUtils.readData(len, bufferCapacity, file, offset, volume,
-              readMappedBufferThreshold, readMappedBufferMaxCount > 0, mappedBufferManager);
+          return ChunkUtils.readData(len, bufferCapacity, file, offset, volume, readMappedBufferThreshold,
+              mappedBufferManager, containerData.getContainerID(), dispatcherContext);
         }
       } catch (StorageContainerException ex) {
         //UNABLE TO FIND chunk is not a problem as we will try with the
@@ -297,6 +294,13 @@ public ChunkBufferToByteString readChunk(Container container, BlockID blockID,
    * @param info - Chunk Info
    * @throws StorageContainerException
    */
+  @Override
+  public void releaseContainer(Container container) {
+    if (mappedBufferManager != null) {
+      mappedBufferManager.invalidateContainer(container.getContainerData().getContainerID());
+    }
+  }
+
   @Override
   public void deleteChunk(Container container, BlockID blockID, ChunkInfo info)
       throws StorageContainerException {
@@ -324,6 +328,9 @@ public void deleteChunk(Container container, BlockID blockID, ChunkInfo info)
         || info.getLen() + info.getOffset() == chunkFileSize;
     if (allowed) {
       FileUtil.fullyDelete(chunkFile);
+      if (mappedBufferManager != null) {
+        mappedBufferManager.invalidate(kvContainer.getContainerData().getContainerID(), chunkFile.getAbsolutePath());
+      }
       LOG.info("Deleted chunk file {} (size {}) for chunk {}",
           chunkFile, chunkFileSize, info);
     } else {
@@ -17,102 +17,256 @@
 
 package org.apache.hadoop.ozone.container.keyvalue.impl;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
 import com.google.common.util.concurrent.Striped;
-import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
-import java.util.concurrent.CompletableFuture;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import org.apache.hadoop.io.nativeio.NativeIO;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
+import org.apache.ratis.util.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A Manager who manages the mapped buffers to under a predefined total count, also support reuse mapped buffers.
+ * A Manager who caches the mapped buffers of each volume of a datanode under a predefined count.
+ * <p>
+ * Each volume has its own cache, so that the reads of a busy volume do not evict the regions of the others.
+ * The least recently used regions of a volume are evicted when its count is reached.
+ * A region is unmapped once it has been evicted or invalidated
+ * and all the reads using it have released it, see {@link Region#release()}.
+ * The regions of a container are invalidated when its files are deleted.
+ * <p>
+ * The hits, misses and evictions are recorded in the {@link VolumeIOStats} of the volume.
  */
 public class MappedBufferManager {
-
-  private static ConcurrentHashMap<String, WeakReference<ByteBuffer>> mappedBuffers =
-      new ConcurrentHashMap<String, WeakReference<ByteBuffer>>();
   private static final Logger LOG = LoggerFactory.getLogger(MappedBufferManager.class);
-  private final Semaphore semaphore;
-  private final AtomicBoolean cleanupInProgress = new AtomicBoolean(false);
-  private final Striped<Lock> lock;
+
+  private final int capacity;
+  private final ConcurrentMap<HddsVolume, VolumeRegions> volumes = new ConcurrentHashMap<>();
+  /** The regions of the files whose volume is unknown. */
+  private final VolumeRegions unknownVolume;
+  private final Striped<Lock> lock = Striped.lazyWeakLock(1024);
 
   public MappedBufferManager(int capacity) {
-    this.semaphore = new Semaphore(capacity);
-    this.lock = Striped.lazyWeakLock(1024);
+    Preconditions.assertTrue(capacity > 0, () -> "capacity = " + capacity + " <= 0");
+    this.capacity = capacity;
+    this.unknownVolume = new VolumeRegions(capacity, null);
+  }
+
+  /**
+   * @return a manager with the capacity of ozone.chunk.read.mapped.buffer.max.count per volume,
+   *         or null if mapped buffers are disabled.
+   */
+  static MappedBufferManager newInstance(BlockManager manager) {
+    final int maxCount = manager == null ? 0 : manager.getReadMappedBufferMaxCount();
+    LOG.info("ozone.chunk.read.mapped.buffer.max.count is load with {}", maxCount);
+    return maxCount > 0 ? new MappedBufferManager(maxCount) : null;
+  }
+
+  /** @return the max count of the regions cached for each volume. */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  private VolumeRegions getVolumeRegions(HddsVolume volume) {
+    if (volume == null) {
+      return unknownVolume;
+    }
+    return volumes.computeIfAbsent(volume, v -> new VolumeRegions(capacity, v.getVolumeIOStats()));
   }
 
-  public boolean getQuota(int permits) {
-    boolean ret = semaphore.tryAcquire(permits);
-    if (ret) {
-      if (LOG.isDebugEnabled()) {
-        LOG.debug("quota is decreased by {} to total {}", permits, semaphore.availablePermits());
+  /**
+   * Get the mapped region of the given file from the cache of its volume.
+   * If the region is not cached, map it using the given supplier and cache it.
+   * The caller must release the returned region once its buffer is no longer used.
+   *
+   * @param volume the volume of the file, or null if unknown.
+   * @param supplier map the region; return null if it has failed.
+   * @return the mapped region, or null if the supplier has returned null.
+   */
+  public Region computeIfAbsent(HddsVolume volume, long containerId, String file, long position, long size,
+      Supplier<ByteBuffer> supplier) {
+    final String key = file + "-" + position + "-" + size;
+    final VolumeRegions cache = getVolumeRegions(volume);
+    final Region cached = cache.retain(key);
+    if (cached != null) {
+      cache.onHit(key);
+      return cached;
+    }
+
+    final Lock regionLock = lock.get(key);
+    regionLock.lock();
+    try {
+      final Region loaded = cache.retain(key);
+      if (loaded != null) {
+        cache.onHit(key);
+        return loaded;
       }
-    } else {
-      if (cleanupInProgress.compareAndSet(false, true)) {
-        CompletableFuture.runAsync(() -> {
-          int p = 0;
-          try {
-            for (String key : mappedBuffers.keySet()) {
-              ByteBuffer buf = mappedBuffers.get(key).get();
-              if (buf == null) {
-                mappedBuffers.remove(key);
-                p++;
-              }
-            }
-            if (p > 0) {
-              releaseQuota(p);
-            }
-          } finally {
-            cleanupInProgress.set(false);
-          }
-        });
+      if (cache.stats != null) {
+        cache.stats.incMappedBufferMisses();
       }
+      final ByteBuffer buffer = supplier.get();
+      if (buffer == null) {
+        return null;
+      }
+      final Region region = new Region(containerId, buffer);
+      region.retain();
+      cache.put(key, region);
+      LOG.debug("add buffer for key {}", key);
+      return region;
+    } finally {
+      regionLock.unlock();
     }
-    return ret;
   }
 
-  public void releaseQuota(int permits) {
-    semaphore.release(permits);
-    if (LOG.isDebugEnabled()) {
-      LOG.debug("quota is increased by {} to total {}", permits, semaphore.availablePermits());
-    }
+  /** Invalidate all the cached regions of the given file, e.g. when the file is deleted. */
+  public void invalidate(long containerId, String file) {
+    final String prefix = file + "-";
+    forEachVolume(cache -> cache.invalidate(containerId, key -> key.startsWith(prefix)));
   }
 
-  public int availableQuota() {
-    return semaphore.availablePermits();
+  /** Invalidate all the cached regions of the given container, e.g. when the container is deleted. */
+  public void invalidateContainer(long containerId) {
+    forEachVolume(cache -> cache.invalidate(containerId, key -> true));
   }
 
-  public ByteBuffer computeIfAbsent(String file, long position, long size,
-      Supplier<ByteBuffer> supplier) {
-    String key = file + "-" + position + "-" + size;
-    Lock fileLock = lock.get(key);
-    fileLock.lock();
-    try {
-      WeakReference<ByteBuffer> refer = mappedBuffers.get(key);
-      if (refer != null && refer.get() != null) {
-        // reuse the mapped buffer
-        if (LOG.isDebugEnabled()) {
-          LOG.debug("find buffer for key {}", key);
+  private void forEachVolume(Consumer<VolumeRegions> action) {
+    volumes.values().forEach(action);
+    action.accept(unknownVolume);
+  }
+
+  /** @return the number of cached regions of all the volumes. */
+  @VisibleForTesting
+  long size() {
+    final AtomicLong size = new AtomicLong();
+    forEachVolume(cache -> size.addAndGet(cache.regions.size()));
+    return size.get();
+  }
+
+  /** The cached regions of a volume. */
+  private static final class VolumeRegions {
+    private final Cache<String, Region> regions;
+    /** Container ID -> the keys of its cached regions. */
+    private final ConcurrentMap<Long, Set<String>> containerRegions = new ConcurrentHashMap<>();
+    private final VolumeIOStats stats;
+
+    private VolumeRegions(int capacity, VolumeIOStats stats) {
+      this.stats = stats;
+      this.regions = CacheBuilder.newBuilder()
+          .maximumSize(capacity)
+          .<String, Region>removalListener(event -> onRemoval(event.getKey(), event.getValue(), event.getCause()))
+          .build();
+    }
+
+    private Region retain(String key) {
+      final Region region = regions.getIfPresent(key);
+      return region != null && region.retain() ? region : null;
+    }
+
+    private void put(String key, Region region) {
+      containerRegions.compute(region.containerId, (id, keys) -> {
+        final Set<String> set = keys != null ? keys : ConcurrentHashMap.newKeySet();
+        set.add(key);
+        return set;
+      });
+      regions.put(key, region);
+    }
+
+    private void onHit(String key) {
+      if (stats != null) {
+        stats.incMappedBufferHits();
+      }
+      LOG.debug("find buffer for key {}", key);
+    }
+
+    private void onRemoval(String key, Region region, RemovalCause cause) {
+      if (cause == RemovalCause.SIZE && stats != null) {
+        stats.incMappedBufferEvictions();
+      }
+      if (cause != RemovalCause.REPLACED) {
+        containerRegions.computeIfPresent(region.containerId, (id, keys) -> {
+          keys.remove(key);
+          return keys.isEmpty() ? null : keys;
+        });
+      }
+      LOG.debug("Removed mapped buffer {} ({})", key, cause);
+      region.release();
+    }
+
+    private void invalidate(long containerId, Predicate<String> filter) {
+      final Set<String> keys = containerRegions.get(containerId);
+      if (keys == null) {
+        return;
+      }
+      final List<String> matched = new ArrayList<>();
+      for (String key : keys) {
+        if (filter.test(key)) {
+          matched.add(key);
         }
-        releaseQuota(1);
-        return refer.get();
       }
+      regions.invalidateAll(matched);
+    }
+  }
+
+  /**
+   * A mapped region shared by the cache and the reads using it.
+   * The region is unmapped once all of them have released it.
+   */
+  public static final class Region {
+    private final long containerId;
+    private final ByteBuffer buffer;
+    /** The cache and each read hold a reference. */
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private Region(long containerId, ByteBuffer buffer) {
+      this.containerId = containerId;
+      this.buffer = buffer;
+    }
 
-      ByteBuffer buffer = supplier.get();
-      if (buffer != null) {
-        mappedBuffers.put(key, new WeakReference<>(buffer));
-        if (LOG.isDebugEnabled()) {
-          LOG.debug("add buffer for key {}", key);
+    /** @return a new buffer of the region, so that concurrent readers do not share a position. */
+    public ByteBuffer getBuffer() {
+      return buffer.duplicate();
+    }
+
+    private boolean retain() {
+      for (;;) {
+        final int current = references.get();
+        if (current <= 0) {
+          return false;
+        }
+        if (references.compareAndSet(current, current + 1)) {
+          return true;
         }
       }
-      return buffer;
-    } finally {
-      fileLock.unlock();
+    }
+
+    public void release() {
+      final int remaining = references.decrementAndGet();
+      Preconditions.assertTrue(remaining >= 0, () -> "Released more than retained: " + remaining);
+      if (remaining == 0 && buffer instanceof MappedByteBuffer) {
+        NativeIO.POSIX.munmap((MappedByteBuffer) buffer);
+      }
+    }
+
+    @VisibleForTesting
+    boolean isReleased() {
+      return references.get() == 0;
     }
   }
 }
@@ -98,6 +98,14 @@ default void shutdown() {
     // if applicable
   }
 
+  /**
+   * Release the resources held for the chunks of the given container
+   * before the container is deleted.
+   */
+  default void releaseContainer(Container container) {
+    // if applicable
+  }
+
   default void finishWriteChunks(KeyValueContainer kvContainer,
       BlockData blockData) throws IOException {
     // no-op
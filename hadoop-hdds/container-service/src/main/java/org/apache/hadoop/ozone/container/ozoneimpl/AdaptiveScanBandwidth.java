@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.ozoneimpl;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the bandwidth of a background container data scanner from the
+ * foreground I/O load of its volume.
+ * <p>
+ * The foreground load is sampled from {@link VolumeIOStats} once per
+ * {@link ContainerScannerConfiguration#getAdaptiveInterval() interval}.
+ * The scanner reads chunk files directly, so its own reads are not part of
+ * these statistics. The bandwidth is
+ * <ul>
+ *   <li>doubled if there was no foreground I/O during the interval,</li>
+ *   <li>halved if the average foreground latency exceeded the threshold,</li>
+ *   <li>otherwise increased by the minimum bandwidth,</li>
+ * </ul>
+ * and always kept between the configured minimum and maximum.
+ */
+final class AdaptiveScanBandwidth {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(AdaptiveScanBandwidth.class);
+
+  private final VolumeIOStats stats;
+  private final long minBandwidth;
+  private final long maxBandwidth;
+  private final long latencyThreshold;
+  private final long interval;
+
+  private long bandwidth;
+  private long lastSampleTime;
+  private long lastOpCount;
+  private long lastOpTime;
+
+  AdaptiveScanBandwidth(ContainerScannerConfiguration conf,
+      VolumeIOStats stats, long now) {
+    this.stats = stats;
+    this.minBandwidth = conf.getMinBandwidthPerVolume();
+    this.maxBandwidth = conf.getMaxBandwidthPerVolume();
+    this.latencyThreshold = conf.getAdaptiveLatencyThreshold();
+    this.interval = conf.getAdaptiveInterval();
+    this.bandwidth = clamp(conf.getBandwidthPerVolume());
+    this.lastSampleTime = now;
+    this.lastOpCount = getOpCount();
+    this.lastOpTime = getOpTime();
+  }
+
+  /**
+   * @param now the current monotonic time in milliseconds
+   * @return the bandwidth in bytes per second the scanner should use now
+   */
+  synchronized long getBandwidth(long now) {
+    if (now - lastSampleTime < interval) {
+      return bandwidth;
+    }
+    final long opCount = getOpCount();
+    final long opTime = getOpTime();
+    final long ops = opCount - lastOpCount;
+    final long previous = bandwidth;
+    if (ops <= 0) {
+      bandwidth = clamp(bandwidth * 2);
+    } else if ((opTime - lastOpTime) / ops > latencyThreshold) {
+      bandwidth = clamp(bandwidth / 2);
+    } else {
+      bandwidth = clamp(bandwidth + minBandwidth);
+    }
+    if (bandwidth != previous) {
+      LOG.debug("Scan bandwidth of {} changed from {} to {} B/s after {}"
+          + " foreground ops", stats.getStorageDirectory(), previous,
+          bandwidth, ops);
+    }
+    lastSampleTime = now;
+    lastOpCount = opCount;
+    lastOpTime = opTime;
+    return bandwidth;
+  }
+
+  @VisibleForTesting
+  synchronized long getBandwidth() {
+    return bandwidth;
+  }
+
+  private long clamp(long value) {
+    return Math.max(minBandwidth, Math.min(maxBandwidth, value));
+  }
+
+  private long getOpCount() {
+    return stats.getReadOpCount() + stats.getWriteOpCount();
+  }
+
+  private long getOpTime() {
+    return stats.getCumulativeReadTime() + stats.getCumulativeWriteTime();
+  }
+}
@@ -24,6 +24,8 @@
 import org.apache.hadoop.hdfs.util.DataTransferThrottler;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.apache.hadoop.util.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +47,11 @@ public class BackgroundContainerDataScanner extends
   private static final String NAME_FORMAT = "ContainerDataScanner(%s)";
   private final ContainerDataScannerMetrics metrics;
   private final ContainerScanHelper scanHelper;
+  /**
+   * Adjusts the bandwidth to the foreground load of the volume,
+   * {@code null} if the bandwidth is fixed.
+   */
+  private final AdaptiveScanBandwidth adaptiveBandwidth;
 
   public BackgroundContainerDataScanner(ContainerScannerConfiguration conf,
                                         ContainerController controller,
@@ -52,7 +59,16 @@ public BackgroundContainerDataScanner(ContainerScannerConfiguration conf,
     super(String.format(NAME_FORMAT, volume), conf.getDataScanInterval());
     this.controller = controller;
     this.volume = volume;
-    throttler = new HddsDataTransferThrottler(conf.getBandwidthPerVolume());
+    VolumeIOStats ioStats = volume.getVolumeIOStats();
+    if (conf.isAdaptiveEnabled() && ioStats != null) {
+      adaptiveBandwidth = new AdaptiveScanBandwidth(conf, ioStats,
+          Time.monotonicNow());
+      throttler = new HddsDataTransferThrottler(
+          adaptiveBandwidth.getBandwidth());
+    } else {
+      adaptiveBandwidth = null;
+      throttler = new HddsDataTransferThrottler(conf.getBandwidthPerVolume());
+    }
     canceler = new Canceler();
     this.metrics = ContainerDataScannerMetrics.create(volume.toString());
     this.metrics.setStorageDirectory(volume.toString());
@@ -100,6 +116,11 @@ public String toString() {
     return String.format(NAME_FORMAT, volume + ", " + volume.getStorageID());
   }
 
+  @VisibleForTesting
+  long getBandwidth() {
+    return throttler.getBandwidth();
+  }
+
   private class HddsDataTransferThrottler extends DataTransferThrottler {
     HddsDataTransferThrottler(long bandwidthPerSec) {
       super(bandwidthPerSec);
@@ -109,6 +130,7 @@ private class HddsDataTransferThrottler extends DataTransferThrottler {
     public synchronized void throttle(long numOfBytes) {
       BackgroundContainerDataScanner.this.metrics.incNumBytesScanned(
           numOfBytes);
+      adjustBandwidth();
       super.throttle(numOfBytes);
     }
 
@@ -116,7 +138,17 @@ public synchronized void throttle(long numOfBytes) {
     public synchronized void throttle(long numOfBytes, Canceler c) {
       BackgroundContainerDataScanner.this.metrics.incNumBytesScanned(
           numOfBytes);
+      adjustBandwidth();
       super.throttle(numOfBytes, c);
     }
+
+    private void adjustBandwidth() {
+      if (adaptiveBandwidth != null) {
+        long bandwidth = adaptiveBandwidth.getBandwidth(Time.monotonicNow());
+        if (bandwidth != getBandwidth()) {
+          setBandwidth(bandwidth);
+        }
+      }
+    }
   }
 }
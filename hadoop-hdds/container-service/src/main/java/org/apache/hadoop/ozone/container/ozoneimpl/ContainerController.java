@@ -20,10 +20,12 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerType;
@@ -35,9 +37,11 @@
 import org.apache.hadoop.ozone.container.common.impl.ContainerData;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.interfaces.ContainerUnpacker;
 import org.apache.hadoop.ozone.container.common.interfaces.Handler;
 import org.apache.hadoop.ozone.container.common.interfaces.ScanResult;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.TarContainerPacker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -205,7 +209,7 @@ public boolean isFinalizedBlockExist(final long containerId,
   public Container importContainer(
       final ContainerData containerData,
       final InputStream rawContainerStream,
-      final TarContainerPacker packer) throws IOException {
+      final ContainerUnpacker<KeyValueContainerData> packer) throws IOException {
     return handlers.get(containerData.getContainerType())
         .importContainer(containerData, rawContainerStream, packer);
   }
@@ -223,6 +227,31 @@ public void exportContainer(final ContainerType type,
     }
   }
 
+  public void exportContainerFiles(final ContainerType type,
+      final long containerId, final Path destination) throws IOException {
+    try {
+      handlers.get(type).exportContainerFiles(
+          containerSet.getContainer(containerId), destination);
+    } catch (IOException e) {
+      // If export fails, then trigger a scan for the container
+      containerSet.scanContainer(containerId, "Export failed");
+      throw e;
+    }
+  }
+
+  public void exportChunkFiles(final ContainerType type,
+      final long containerId, final Path destination,
+      final Predicate<String> filter) throws IOException {
+    try {
+      handlers.get(type).exportChunkFiles(
+          containerSet.getContainer(containerId), destination, filter);
+    } catch (IOException e) {
+      // If export fails, then trigger a scan for the container
+      containerSet.scanContainer(containerId, "Export failed");
+      throw e;
+    }
+  }
+
   /**
    * Deletes a container given its Id.
    * @param containerId Id of the container to be deleted
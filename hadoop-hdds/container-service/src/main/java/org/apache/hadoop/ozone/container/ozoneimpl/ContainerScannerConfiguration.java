@@ -55,6 +55,14 @@ public class ContainerScannerConfiguration {
       "hdds.container.scrub.on.demand.volume.bytes.per.second";
   public static final String CONTAINER_SCAN_MIN_GAP =
       "hdds.container.scrub.min.gap";
+  public static final String VOLUME_MIN_BYTES_PER_SECOND_KEY =
+      "hdds.container.scrub.volume.min.bytes.per.second";
+  public static final String VOLUME_MAX_BYTES_PER_SECOND_KEY =
+      "hdds.container.scrub.volume.max.bytes.per.second";
+  public static final String ADAPTIVE_LATENCY_THRESHOLD_KEY =
+      "hdds.container.scrub.adaptive.latency.threshold";
+  public static final String ADAPTIVE_INTERVAL_KEY =
+      "hdds.container.scrub.adaptive.interval";
 
   static final long CONTAINER_SCAN_MIN_GAP_DEFAULT =
       Duration.ofMinutes(15).toMillis();
@@ -67,6 +75,12 @@ public class ContainerScannerConfiguration {
   public static final long BANDWIDTH_PER_VOLUME_DEFAULT = OzoneConsts.MB * 5L;
   public static final long ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT =
       OzoneConsts.MB * 5L;
+  public static final long MIN_BANDWIDTH_PER_VOLUME_DEFAULT = OzoneConsts.MB;
+  public static final long MAX_BANDWIDTH_PER_VOLUME_DEFAULT =
+      OzoneConsts.MB * 20L;
+  public static final long ADAPTIVE_LATENCY_THRESHOLD_DEFAULT = 50;
+  public static final long ADAPTIVE_INTERVAL_DEFAULT =
+      Duration.ofSeconds(10).toMillis();
 
   @Config(key = "enabled",
       type = ConfigType.BOOLEAN,
@@ -127,6 +141,54 @@ public class ContainerScannerConfiguration {
   private long onDemandBandwidthPerVolume
       = ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT;
 
+  @Config(key = "adaptive.enabled",
+      type = ConfigType.BOOLEAN,
+      defaultValue = "false",
+      tags = {ConfigTag.STORAGE},
+      description = "If enabled, the background container data scanner"
+          + " adjusts its bandwidth per volume to the foreground I/O load of"
+          + " the volume, between hdds.container.scrub.volume.min.bytes"
+          + ".per.second and hdds.container.scrub.volume.max.bytes.per.second."
+          + " The scanner backs off when the average latency of client reads"
+          + " and writes exceeds hdds.container.scrub.adaptive.latency"
+          + ".threshold, and speeds up while the volume is idle.")
+  private boolean adaptiveEnabled = false;
+
+  @Config(key = "volume.min.bytes.per.second",
+      type = ConfigType.LONG,
+      defaultValue = "1048576",
+      tags = {ConfigTag.STORAGE},
+      description = "The lowest I/O bandwidth per volume the adaptive"
+          + " container data scanner backs off to under foreground load.")
+  private long minBandwidthPerVolume = MIN_BANDWIDTH_PER_VOLUME_DEFAULT;
+
+  @Config(key = "volume.max.bytes.per.second",
+      type = ConfigType.LONG,
+      defaultValue = "20971520",
+      tags = {ConfigTag.STORAGE},
+      description = "The highest I/O bandwidth per volume the adaptive"
+          + " container data scanner speeds up to while the volume is idle.")
+  private long maxBandwidthPerVolume = MAX_BANDWIDTH_PER_VOLUME_DEFAULT;
+
+  @Config(key = "adaptive.latency.threshold",
+      type = ConfigType.TIME,
+      defaultValue = "50ms",
+      tags = {ConfigTag.STORAGE},
+      description = "Average latency of foreground reads and writes on a"
+          + " volume above which the adaptive container data scanner halves"
+          + " its bandwidth. Unit could be defined with postfix"
+          + " (ns,ms,s,m,h,d).")
+  private long adaptiveLatencyThreshold = ADAPTIVE_LATENCY_THRESHOLD_DEFAULT;
+
+  @Config(key = "adaptive.interval",
+      type = ConfigType.TIME,
+      defaultValue = "10s",
+      tags = {ConfigTag.STORAGE},
+      description = "How often the adaptive container data scanner samples"
+          + " the foreground I/O statistics of its volume to adjust its"
+          + " bandwidth. Unit could be defined with postfix (ns,ms,s,m,h,d).")
+  private long adaptiveInterval = ADAPTIVE_INTERVAL_DEFAULT;
+
   @Config(key = "min.gap",
       defaultValue = "15m",
       type = ConfigType.TIME,
@@ -172,6 +234,32 @@ public void validate() {
           onDemandBandwidthPerVolume, ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT);
       onDemandBandwidthPerVolume = ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT;
     }
+
+    if (minBandwidthPerVolume <= 0) {
+      LOG.warn(VOLUME_MIN_BYTES_PER_SECOND_KEY +
+              " must be > 0 and was set to {}. Defaulting to {}",
+          minBandwidthPerVolume, MIN_BANDWIDTH_PER_VOLUME_DEFAULT);
+      minBandwidthPerVolume = MIN_BANDWIDTH_PER_VOLUME_DEFAULT;
+    }
+    if (maxBandwidthPerVolume < minBandwidthPerVolume) {
+      LOG.warn(VOLUME_MAX_BYTES_PER_SECOND_KEY +
+              " must be >= {} and was set to {}. Defaulting to {}",
+          minBandwidthPerVolume, maxBandwidthPerVolume,
+          minBandwidthPerVolume);
+      maxBandwidthPerVolume = minBandwidthPerVolume;
+    }
+    if (adaptiveLatencyThreshold <= 0) {
+      LOG.warn(ADAPTIVE_LATENCY_THRESHOLD_KEY +
+              " must be > 0 and was set to {}. Defaulting to {}",
+          adaptiveLatencyThreshold, ADAPTIVE_LATENCY_THRESHOLD_DEFAULT);
+      adaptiveLatencyThreshold = ADAPTIVE_LATENCY_THRESHOLD_DEFAULT;
+    }
+    if (adaptiveInterval <= 0) {
+      LOG.warn(ADAPTIVE_INTERVAL_KEY +
+              " must be > 0 and was set to {}. Defaulting to {}",
+          adaptiveInterval, ADAPTIVE_INTERVAL_DEFAULT);
+      adaptiveInterval = ADAPTIVE_INTERVAL_DEFAULT;
+    }
   }
 
   public void setEnabled(boolean enabled) {
@@ -214,6 +302,30 @@ public long getOnDemandBandwidthPerVolume() {
     return onDemandBandwidthPerVolume;
   }
 
+  public boolean isAdaptiveEnabled() {
+    return adaptiveEnabled;
+  }
+
+  public void setAdaptiveEnabled(boolean adaptiveEnabled) {
+    this.adaptiveEnabled = adaptiveEnabled;
+  }
+
+  public long getMinBandwidthPerVolume() {
+    return minBandwidthPerVolume;
+  }
+
+  public long getMaxBandwidthPerVolume() {
+    return maxBandwidthPerVolume;
+  }
+
+  public long getAdaptiveLatencyThreshold() {
+    return adaptiveLatencyThreshold;
+  }
+
+  public long getAdaptiveInterval() {
+    return adaptiveInterval;
+  }
+
   public long getContainerScanMinGap() {
     return containerScanMinGap;
   }
@@ -44,6 +44,8 @@ public abstract class AbstractReplicationTask {
 
   private boolean shouldOnlyRunOnInServiceDatanodes = true;
 
+  private volatile String volume;
+
   protected AbstractReplicationTask(long containerID,
       long deadlineMsSinceEpoch, long term) {
     this(containerID, deadlineMsSinceEpoch, term,
@@ -90,6 +92,27 @@ public long getDeadline() {
     return deadlineMsSinceEpoch;
   }
 
+  /**
+   * Returns the storage ID of the local volume the task reads or writes, or
+   * null if it is not known. Tasks are queued for each volume separately,
+   * see {@link ReplicationTaskQueue}.
+   */
+  public String getVolume() {
+    return volume;
+  }
+
+  public void setVolume(String volume) {
+    this.volume = volume;
+  }
+
+  /**
+   * Returns true if the task writes a new replica to a local volume, which
+   * can be chosen by the scheduler when the task is started.
+   */
+  public boolean needsTargetVolume() {
+    return false;
+  }
+
   /**
    * Abstract method which needs to be overridden by the sub classes to execute
    * the task.
@@ -26,6 +26,8 @@
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Supplier;
+import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
@@ -36,18 +38,21 @@
 import org.apache.hadoop.ozone.container.common.impl.ContainerDataYaml;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.interfaces.ContainerUnpacker;
 import org.apache.hadoop.ozone.container.common.interfaces.VolumeChoosingPolicy;
 import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.apache.hadoop.ozone.container.keyvalue.StreamedContainerPacker;
 import org.apache.hadoop.ozone.container.keyvalue.TarContainerPacker;
 import org.apache.hadoop.ozone.container.ozoneimpl.ContainerController;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Imports container from tarball.
+ * Imports container from tarball, or from the files streamed into a
+ * directory.
  */
 public class ContainerImporter {
 
@@ -55,6 +60,7 @@ public class ContainerImporter {
       LoggerFactory.getLogger(ContainerImporter.class);
 
   public static final String CONTAINER_COPY_DIR = "container-copy";
+  public static final String CONTAINER_EXPORT_DIR = "container-export";
   private static final String CONTAINER_COPY_TMP_DIR = "tmp";
   private final ContainerSet containerSet;
   private final ContainerController controller;
@@ -90,8 +96,30 @@ public boolean isAllowedContainerImport(long containerID) {
   public void importContainer(long containerID, Path tarFilePath,
       HddsVolume targetVolume, CopyContainerCompression compression)
       throws IOException {
+    importContainer(containerID, tarFilePath, tarFilePath, targetVolume,
+        () -> getPacker(compression));
+  }
+
+  /**
+   * Imports a container streamed file by file into the
+   * {@link StreamedContainerPacker#getStreamingDirectory streaming directory}
+   * of the target volume.
+   */
+  public void importStreamedContainer(long containerID,
+      HddsVolume targetVolume) throws IOException {
+    Path streamedDir = StreamedContainerPacker.getStreamingDirectory(
+        getUntarDirectory(targetVolume), containerID);
+    importContainer(containerID,
+        streamedDir.resolve(StreamedContainerPacker.CONTAINER_FILE_NAME),
+        streamedDir, targetVolume, StreamedContainerPacker::new);
+  }
+
+  private void importContainer(long containerID, Path descriptorPath,
+      Path source, HddsVolume targetVolume,
+      Supplier<ContainerUnpacker<KeyValueContainerData>> packerSupplier)
+      throws IOException {
     if (!importContainerProgress.add(containerID)) {
-      deleteFileQuietely(tarFilePath);
+      deleteQuietly(source);
       String log = "Container import in progress with container Id " + containerID;
       LOG.warn(log);
       throw new StorageContainerException(log,
@@ -107,9 +135,9 @@ public void importContainer(long containerID, Path tarFilePath,
       }
 
       KeyValueContainerData containerData;
-      TarContainerPacker packer = getPacker(compression);
+      ContainerUnpacker<KeyValueContainerData> packer = packerSupplier.get();
 
-      try (InputStream input = Files.newInputStream(tarFilePath)) {
+      try (InputStream input = Files.newInputStream(descriptorPath)) {
         byte[] containerDescriptorYaml =
             packer.unpackContainerDescriptor(input);
         containerData = getKeyValueContainerData(containerDescriptorYaml);
@@ -119,7 +147,9 @@ public void importContainer(long containerID, Path tarFilePath,
       // lastDataScanTime should be cleared for an imported container
       containerData.setDataScanTimestamp(null);
 
-      try (InputStream input = Files.newInputStream(tarFilePath)) {
+      // A streamed container is imported from its directory in place.
+      try (InputStream input = Files.isDirectory(source) ? null
+          : Files.newInputStream(source)) {
         Container container = controller.importContainer(
             containerData, input, packer);
         // After container import is successful, increase used space for the volume and schedule an OnDemand scan for it
@@ -133,19 +163,50 @@ public void importContainer(long containerID, Path tarFilePath,
       }
     } finally {
       importContainerProgress.remove(containerID);
-      deleteFileQuietely(tarFilePath);
+      deleteQuietly(source);
     }
   }
 
-  private static void deleteFileQuietely(Path tarFilePath) {
+  private static void deleteQuietly(Path path) {
     try {
-      Files.delete(tarFilePath);
+      if (Files.isDirectory(path)) {
+        FileUtils.deleteDirectory(path.toFile());
+      } else {
+        Files.deleteIfExists(path);
+      }
     } catch (Exception ex) {
       LOG.error("Got exception while deleting temporary container file: "
-          + tarFilePath.toAbsolutePath(), ex);
+          + path.toAbsolutePath(), ex);
     }
   }
 
+  /**
+   * Reserves space on the preferred volume if it has enough, otherwise
+   * chooses a volume by the volume choosing policy.
+   *
+   * @param preferredVolume the storage ID of the preferred volume, or null
+   */
+  HddsVolume chooseNextVolume(long spaceToReserve, String preferredVolume)
+      throws IOException {
+    if (preferredVolume != null) {
+      for (HddsVolume volume : StorageVolumeUtil.getHddsVolumesList(
+          volumeSet.getVolumesList())) {
+        if (preferredVolume.equals(volume.getStorageID())) {
+          synchronized (volumeChoosingPolicy) {
+            if (volume.getReport().getUsableSpace() > spaceToReserve) {
+              volume.incCommittedBytes(spaceToReserve);
+              return volume;
+            }
+          }
+          LOG.debug("Preferred volume {} does not have {} bytes available",
+              volume, spaceToReserve);
+          break;
+        }
+      }
+    }
+    return chooseNextVolume(spaceToReserve);
+  }
+
   HddsVolume chooseNextVolume(long spaceToReserve) throws IOException {
     // Choose volume that can hold both container in tmp and dest directory
     LOG.debug("Choosing volume to reserve space : {}", spaceToReserve);
@@ -160,6 +221,31 @@ public static Path getUntarDirectory(HddsVolume hddsVolume)
         .resolve(CONTAINER_COPY_TMP_DIR).resolve(CONTAINER_COPY_DIR);
   }
 
+  /**
+   * @return the directory for the files of containers being streamed from
+   * the volume, see {@link ContainerStreamingSource}.
+   */
+  public static Path getExportDirectory(HddsVolume hddsVolume) {
+    return Paths.get(hddsVolume.getVolumeRootDir())
+        .resolve(CONTAINER_COPY_TMP_DIR).resolve(CONTAINER_EXPORT_DIR);
+  }
+
+  /**
+   * Deletes the export directories left by streams interrupted by a restart.
+   * Their hard links would keep deleted chunk files, and the copies of the
+   * container DBs would never be freed.
+   */
+  public void cleanupExportDirectories() {
+    for (HddsVolume volume : StorageVolumeUtil.getHddsVolumesList(
+        volumeSet.getVolumesList())) {
+      Path exportDir = getExportDirectory(volume);
+      if (Files.exists(exportDir)) {
+        LOG.info("Deleting leftover container export directory {}", exportDir);
+        deleteQuietly(exportDir);
+      }
+    }
+  }
+
   protected KeyValueContainerData getKeyValueContainerData(
       byte[] containerDescriptorYaml) throws IOException {
     return  (KeyValueContainerData) ContainerDataYaml
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.replication;
+
+import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.hdds.security.SecurityConfig;
+import org.apache.hadoop.hdds.security.x509.certificate.client.CertificateClient;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.keyvalue.StreamedContainerPacker;
+import org.apache.hadoop.ozone.container.ozoneimpl.ContainerController;
+import org.apache.hadoop.ozone.container.stream.StreamingException;
+import org.apache.hadoop.ozone.container.stream.StreamingServer;
+import org.apache.hadoop.ozone.container.stream.StreamingSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides the files of a container to be streamed to another datanode.
+ * <p>
+ * The files are exported to a separate directory for each request, on the
+ * volume of the container, so that the container lock is only held while
+ * they are linked, not during the transfer.
+ * <p>
+ * The request ID is either the container ID, for all the files of the
+ * container, or a stripe ID (see {@link #getStripeId}) for the chunk files
+ * in a range of buckets only, so that different stripes of the same
+ * container can be downloaded from different replicas in parallel. Only
+ * the chunk files of the stripe are linked for such a request, the metadata
+ * of the container is exported only for the full request.
+ */
+public class ContainerStreamingSource implements StreamingSource {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ContainerStreamingSource.class);
+
+  /** The number of buckets the chunk files of a container are split into. */
+  static final int STRIPE_BUCKETS = 1024;
+
+  private static final String STRIPE_SEPARATOR = ":";
+
+  private final ContainerController controller;
+
+  public ContainerStreamingSource(ContainerController controller) {
+    this.controller = controller;
+  }
+
+  /**
+   * Creates the server streaming containers, with mutual TLS if enabled
+   * for gRPC.
+   */
+  public static StreamingServer createServer(ContainerController controller,
+      int port, SecurityConfig secConf, CertificateClient caClient) {
+    SslContext sslContext = null;
+    if (secConf.isSecurityEnabled() && secConf.isGrpcTlsEnabled()) {
+      try {
+        sslContext = SslContextBuilder.forServer(caClient.getKeyManager())
+            .trustManager(caClient.getTrustManager())
+            .clientAuth(ClientAuth.REQUIRE)
+            .build();
+      } catch (IOException ex) {
+        throw new IllegalArgumentException(
+            "Unable to setup TLS for secure datanode container streaming "
+                + "endpoint.", ex);
+      }
+    }
+    return new StreamingServer(new ContainerStreamingSource(controller),
+        port, sslContext);
+  }
+
+  /**
+   * @return the request ID of the chunk files of the container with bucket
+   * (see {@link #getStripeBucket}) in the range of {@code [from, to)}.
+   */
+  static String getStripeId(long containerId, int from, int to) {
+    return containerId + STRIPE_SEPARATOR + from + "-" + to;
+  }
+
+  /**
+   * @return the bucket of the file with the given logical name, which is
+   * the same on every replica.
+   */
+  static int getStripeBucket(String name) {
+    return (name.hashCode() & Integer.MAX_VALUE) % STRIPE_BUCKETS;
+  }
+
+  @Override
+  public Map<String, Path> getFilesToStream(String id) {
+    final long containerId;
+    int from = 0;
+    int to = STRIPE_BUCKETS;
+    final boolean stripe = id.contains(STRIPE_SEPARATOR);
+    try {
+      if (stripe) {
+        String[] parts = id.split(STRIPE_SEPARATOR, 2);
+        String[] range = parts[1].split("-", 2);
+        containerId = Long.parseLong(parts[0]);
+        from = Integer.parseInt(range[0]);
+        to = Integer.parseInt(range[1]);
+      } else {
+        containerId = Long.parseLong(id);
+      }
+    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+      throw new StreamingException("Invalid container ID: " + id);
+    }
+    Container<?> container = controller.getContainer(containerId);
+    if (container == null) {
+      throw new StreamingException("Container " + id + " is not found.");
+    }
+
+    Path exportDir = ContainerImporter.getExportDirectory(
+        container.getContainerData().getVolume())
+        .resolve(containerId + "-" + UUID.randomUUID());
+    Map<String, Path> files = new HashMap<>();
+    try {
+      if (stripe) {
+        final int first = from;
+        final int last = to;
+        controller.exportChunkFiles(container.getContainerType(),
+            containerId, exportDir, name -> isInStripe(name, first, last));
+      } else {
+        controller.exportContainerFiles(container.getContainerType(),
+            containerId, exportDir);
+      }
+      try (Stream<Path> list = Files.walk(exportDir)
+          .filter(Files::isRegularFile)) {
+        list.forEach(path ->
+            files.put(exportDir.relativize(path).toString(), path));
+      }
+      if (files.isEmpty()) {
+        FileUtils.deleteDirectory(exportDir.toFile());
+      }
+    } catch (IOException e) {
+      deleteQuietly(exportDir);
+      throw new StreamingException(
+          "Couldn't export container " + id + " for streaming", e);
+    }
+    return files;
+  }
+
+  /**
+   * @return true if the file with the given logical name is a chunk file in
+   * the given range of buckets
+   */
+  private static boolean isInStripe(String name, int from, int to) {
+    int bucket = getStripeBucket(name);
+    return StreamedContainerPacker.isResumable(name)
+        && bucket >= from && bucket < to;
+  }
+
+  @Override
+  public void release(String id, Map<String, Path> files) {
+    if (files.isEmpty()) {
+      return;
+    }
+    // Every file is in the export directory under its logical name.
+    Map.Entry<String, Path> file = files.entrySet().iterator().next();
+    Path exportDir = file.getValue();
+    for (int i = 0; i < Paths.get(file.getKey()).getNameCount(); i++) {
+      exportDir = exportDir.getParent();
+    }
+    deleteQuietly(exportDir);
+  }
+
+  private static void deleteQuietly(Path dir) {
+    try {
+      FileUtils.deleteDirectory(dir.toFile());
+    } catch (IOException e) {
+      LOG.warn("Failed to delete exported container files {}", dir, e);
+    }
+  }
+}
@@ -21,6 +21,7 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
@@ -74,7 +75,7 @@ public void replicate(ReplicationTask task) {
 
     try {
       targetVolume = containerImporter.chooseNextVolume(
-          containerImporter.getDefaultReplicationSpace());
+          containerImporter.getDefaultReplicationSpace(), task.getVolume());
 
       // Wait for the download. This thread pool is limiting the parallel
       // downloads, so it's ok to block here and wait for the full download.
@@ -85,13 +86,21 @@ public void replicate(ReplicationTask task) {
         task.setStatus(Status.FAILED);
         return;
       }
-      long bytes = Files.size(tarFilePath);
+      // A streaming downloader returns the directory of the container files.
+      boolean streamed = Files.isDirectory(tarFilePath);
+      long bytes = streamed
+          ? FileUtils.sizeOfDirectory(tarFilePath.toFile())
+          : Files.size(tarFilePath);
       LOG.info("Container {} is downloaded with size {}, starting to import.",
               containerID, bytes);
       task.setTransferredBytes(bytes);
 
-      containerImporter.importContainer(containerID, tarFilePath, targetVolume,
-          compression);
+      if (streamed) {
+        containerImporter.importStreamedContainer(containerID, targetVolume);
+      } else {
+        containerImporter.importContainer(containerID, tarFilePath,
+            targetVolume, compression);
+      }
 
       LOG.info("Container {} is replicated successfully", containerID);
       task.setStatus(Status.DONE);
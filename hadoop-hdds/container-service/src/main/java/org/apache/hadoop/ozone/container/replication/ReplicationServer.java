@@ -24,6 +24,7 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -37,6 +38,7 @@
 import org.apache.hadoop.hdds.tracing.GrpcServerInterceptor;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.container.ozoneimpl.ContainerController;
+import org.apache.hadoop.ozone.container.stream.StreamingServer;
 import org.apache.ratis.thirdparty.io.grpc.Server;
 import org.apache.ratis.thirdparty.io.grpc.ServerInterceptors;
 import org.apache.ratis.thirdparty.io.grpc.netty.GrpcSslContexts;
@@ -65,6 +67,9 @@ public class ReplicationServer {
   private int port;
   private final ContainerImporter importer;
 
+  /** Server of streamed replication, {@code null} if not enabled. */
+  private StreamingServer streamingServer;
+
   private ThreadPoolExecutor executor;
 
   public ReplicationServer(ContainerController controller,
@@ -76,6 +81,10 @@ public ReplicationServer(ContainerController controller,
     this.controller = controller;
     this.importer = importer;
     this.port = replicationConfig.getPort();
+    if (replicationConfig.isStreamingEnabled()) {
+      streamingServer = ContainerStreamingSource.createServer(controller,
+          replicationConfig.getStreamingPort(), secConf, caClient);
+    }
 
     int replicationServerWorkers =
         replicationConfig.getReplicationMaxStreams();
@@ -132,9 +141,13 @@ public void init() {
   }
 
   public void start() throws IOException {
+    importer.cleanupExportDirectories();
     server.start();
     port = server.getPort();
     LOG.info("{} is started using port {}", getClass().getSimpleName(), port);
+    if (streamingServer != null) {
+      streamingServer.start();
+    }
   }
 
   public void stop() {
@@ -142,6 +155,9 @@ public void stop() {
       executor.shutdown();
       executor.awaitTermination(5L, TimeUnit.SECONDS);
       server.shutdown().awaitTermination(10L, TimeUnit.SECONDS);
+      if (streamingServer != null) {
+        streamingServer.stop();
+      }
     } catch (InterruptedException ex) {
       LOG.warn("{} couldn't be stopped gracefully", getClass().getSimpleName());
       Thread.currentThread().interrupt();
@@ -186,6 +202,18 @@ public static final class ReplicationConfig {
     public static final String PREFIX = "hdds.datanode.replication";
     public static final String STREAMS_LIMIT_KEY = "streams.limit";
     public static final String QUEUE_LIMIT = "queue.limit";
+    public static final String VOLUME_STREAMS_LIMIT_KEY =
+        "volume.streams.limit";
+    public static final int VOLUME_STREAMS_LIMIT_DEFAULT = 2;
+    public static final String STREAMING_ENABLED_KEY = "streaming.enabled";
+    public static final String STREAMING_PORT_KEY = "streaming.port";
+    public static final String STREAMING_ATTEMPTS_KEY = "streaming.attempts";
+    public static final int STREAMING_ATTEMPTS_DEFAULT = 3;
+    public static final String STREAMING_TIMEOUT_KEY = "streaming.timeout";
+    public static final String STREAMING_SOURCES_KEY = "streaming.sources";
+    public static final int STREAMING_SOURCES_DEFAULT = 3;
+    public static final long STREAMING_TIMEOUT_DEFAULT =
+        Duration.ofHours(1).toMillis();
 
     public static final String REPLICATION_STREAMS_LIMIT_KEY =
         PREFIX + "." + STREAMS_LIMIT_KEY;
@@ -225,11 +253,75 @@ public static final class ReplicationConfig {
     )
     private int replicationQueueLimit = 4096;
 
+    /**
+     * The number of replication commands using the same volume which are
+     * preferred to be executed simultaneously.
+     */
+    @Config(key = VOLUME_STREAMS_LIMIT_KEY,
+        type = ConfigType.INT,
+        defaultValue = "2",
+        tags = {DATANODE},
+        description = "The number of replication commands using the same "
+            + "local volume that a datanode executes simultaneously, as long "
+            + "as commands for other volumes are waiting. Idle threads of "
+            + PREFIX + "." + STREAMS_LIMIT_KEY + " still take commands "
+            + "beyond this limit if there is nothing else to do, so a slow "
+            + "volume does not hold up the replication to other volumes."
+    )
+    private int volumeStreamsLimit = VOLUME_STREAMS_LIMIT_DEFAULT;
+
     @Config(key = "port", defaultValue = "9886",
         description = "Port used for the server2server replication server",
         tags = {DATANODE, MANAGEMENT})
     private int port;
 
+    @Config(key = STREAMING_ENABLED_KEY,
+        type = ConfigType.BOOLEAN,
+        defaultValue = "false",
+        tags = {DATANODE},
+        description = "If enabled, datanodes serve the files of closed "
+            + "containers without packing them into a compressed tar archive,"
+            + " and download containers this way. The files are sent with "
+            + "zero-copy transfer (unless TLS is enabled) and received "
+            + "directly into the target volume, so they are written only once."
+            + " Must be enabled on all datanodes.")
+    private boolean streamingEnabled = false;
+
+    @Config(key = STREAMING_PORT_KEY, defaultValue = "9887",
+        description = "Port used for streaming containers between datanodes,"
+            + " if " + PREFIX + "." + STREAMING_ENABLED_KEY + " is true. "
+            + "Datanodes connect to the same port on the source datanodes.",
+        tags = {DATANODE, MANAGEMENT})
+    private int streamingPort = 9887;
+
+    @Config(key = STREAMING_ATTEMPTS_KEY,
+        type = ConfigType.INT,
+        defaultValue = "3",
+        tags = {DATANODE},
+        description = "The number of attempts to stream a container from the "
+            + "same source datanode. Chunk files fully received by a failed "
+            + "attempt are not streamed again.")
+    private int streamingAttempts = STREAMING_ATTEMPTS_DEFAULT;
+
+    @Config(key = STREAMING_TIMEOUT_KEY,
+        type = ConfigType.TIME,
+        defaultValue = "1h",
+        tags = {DATANODE},
+        description = "Timeout of a single attempt to stream a container "
+            + "from a source datanode.")
+    private long streamingTimeout = STREAMING_TIMEOUT_DEFAULT;
+
+    @Config(key = STREAMING_SOURCES_KEY,
+        type = ConfigType.INT,
+        defaultValue = "3",
+        tags = {DATANODE},
+        description = "The maximum number of source datanodes a container "
+            + "is streamed from in parallel. The chunk files are split "
+            + "between the sources in proportion to the throughput measured "
+            + "in previous downloads, and the metadata is taken from the "
+            + "fastest one.")
+    private int streamingSources = STREAMING_SOURCES_DEFAULT;
+
     @Config(key = OUTOFSERVICE_FACTOR_KEY,
         type = ConfigType.DOUBLE,
         defaultValue = OUTOFSERVICE_FACTOR_DEFAULT_VALUE,
@@ -258,6 +350,41 @@ public ReplicationConfig setPort(int portParam) {
       return this;
     }
 
+    public boolean isStreamingEnabled() {
+      return streamingEnabled;
+    }
+
+    public ReplicationConfig setStreamingEnabled(boolean enabled) {
+      this.streamingEnabled = enabled;
+      return this;
+    }
+
+    public int getStreamingPort() {
+      return streamingPort;
+    }
+
+    public ReplicationConfig setStreamingPort(int portParam) {
+      this.streamingPort = portParam;
+      return this;
+    }
+
+    public int getStreamingAttempts() {
+      return streamingAttempts;
+    }
+
+    public Duration getStreamingTimeout() {
+      return Duration.ofMillis(streamingTimeout);
+    }
+
+    public int getStreamingSources() {
+      return streamingSources;
+    }
+
+    public ReplicationConfig setStreamingSources(int sources) {
+      this.streamingSources = sources;
+      return this;
+    }
+
     public int getReplicationMaxStreams() {
       return replicationMaxStreams;
     }
@@ -266,6 +393,14 @@ public void setReplicationMaxStreams(int replicationMaxStreams) {
       this.replicationMaxStreams = replicationMaxStreams;
     }
 
+    public int getVolumeStreamsLimit() {
+      return volumeStreamsLimit;
+    }
+
+    public void setVolumeStreamsLimit(int limit) {
+      this.volumeStreamsLimit = limit;
+    }
+
     public int getReplicationQueueLimit() {
       return replicationQueueLimit;
     }
@@ -283,6 +418,27 @@ public void validate() {
         replicationMaxStreams = REPLICATION_MAX_STREAMS_DEFAULT;
       }
 
+      if (volumeStreamsLimit < 1) {
+        LOG.warn("{} must be greater than zero and was set to {}. "
+                + "Defaulting to {}", PREFIX + "." + VOLUME_STREAMS_LIMIT_KEY,
+            volumeStreamsLimit, VOLUME_STREAMS_LIMIT_DEFAULT);
+        volumeStreamsLimit = VOLUME_STREAMS_LIMIT_DEFAULT;
+      }
+
+      if (streamingAttempts < 1) {
+        LOG.warn("{} must be greater than zero and was set to {}. "
+                + "Defaulting to {}", PREFIX + "." + STREAMING_ATTEMPTS_KEY,
+            streamingAttempts, STREAMING_ATTEMPTS_DEFAULT);
+        streamingAttempts = STREAMING_ATTEMPTS_DEFAULT;
+      }
+
+      if (streamingSources < 1) {
+        LOG.warn("{} must be greater than zero and was set to {}. "
+                + "Defaulting to {}", PREFIX + "." + STREAMING_SOURCES_KEY,
+            streamingSources, STREAMING_SOURCES_DEFAULT);
+        streamingSources = STREAMING_SOURCES_DEFAULT;
+      }
+
       if (outOfServiceFactor < OUTOFSERVICE_FACTOR_MIN ||
           outOfServiceFactor > OUTOFSERVICE_FACTOR_MAX) {
         LOG.warn(
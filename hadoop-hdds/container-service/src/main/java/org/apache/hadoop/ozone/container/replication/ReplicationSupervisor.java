@@ -25,6 +25,7 @@
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -34,7 +35,6 @@
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -42,6 +42,7 @@
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
@@ -59,17 +60,23 @@
 
 /**
  * Single point to schedule the downloading tasks based on priorities.
+ * <p>
+ * Tasks are executed in the order of their priority, then deadline, then
+ * the time they were queued. Unless a custom executor is used, the tasks of
+ * each local volume are queued separately, see {@link ReplicationTaskQueue}.
  */
 public final class ReplicationSupervisor {
 
   private static final Logger LOG =
       LoggerFactory.getLogger(ReplicationSupervisor.class);
 
-  private static final Comparator<TaskRunner> TASK_RUNNER_COMPARATOR =
+  static final Comparator<TaskRunner> TASK_RUNNER_COMPARATOR =
       Comparator.comparing(TaskRunner::getTaskPriority)
+          .thenComparing(TaskRunner::getTaskDeadline)
           .thenComparing(TaskRunner::getTaskQueueTime);
 
   private final ExecutorService executor;
+  private final ReplicationTaskQueue taskQueue;
   private final StateContext context;
   private final Clock clock;
 
@@ -116,6 +123,7 @@ public static class Builder {
     private DatanodeConfiguration datanodeConfig;
     private ExecutorService executor;
     private Clock clock;
+    private Supplier<Collection<String>> volumes;
     private IntConsumer executorThreadUpdater = threadCount -> {
     };
 
@@ -139,6 +147,14 @@ public Builder datanodeConfig(DatanodeConfiguration newDatanodeConfig) {
       return this;
     }
 
+    /**
+     * Sets the storage IDs of the volumes new replicas can be written to.
+     */
+    public Builder volumes(Supplier<Collection<String>> newVolumes) {
+      volumes = newVolumes;
+      return this;
+    }
+
     public Builder stateContext(StateContext newContext) {
       context = newContext;
       return this;
@@ -165,6 +181,7 @@ public ReplicationSupervisor build() {
         clock = Clock.system(ZoneId.systemDefault());
       }
 
+      ReplicationTaskQueue taskQueue = null;
       if (executor == null) {
         LOG.info("Initializing replication supervisor with thread count = {}",
             replicationConfig.getReplicationMaxStreams());
@@ -173,26 +190,35 @@ public ReplicationSupervisor build() {
             .setDaemon(true)
             .setNameFormat(threadNamePrefix + "ContainerReplicationThread-%d")
             .build();
+        taskQueue = new ReplicationTaskQueue(
+            replicationConfig.getVolumeStreamsLimit(),
+            replicationConfig.getReplicationMaxStreams(), volumes);
         ThreadPoolExecutor tpe = new ThreadPoolExecutor(
             replicationConfig.getReplicationMaxStreams(),
             replicationConfig.getReplicationMaxStreams(),
             60, TimeUnit.SECONDS,
-            new PriorityBlockingQueue<>(),
+            taskQueue,
             threadFactory);
+        // Tasks are only scheduled by the queue if all the threads are
+        // started, otherwise they are executed by the new threads directly.
+        tpe.prestartAllCoreThreads();
         executor = tpe;
+        final ReplicationTaskQueue queue = taskQueue;
         executorThreadUpdater = threadCount -> {
+          queue.setThreadCount(threadCount);
           if (threadCount < tpe.getCorePoolSize()) {
             tpe.setCorePoolSize(threadCount);
             tpe.setMaximumPoolSize(threadCount);
           } else {
             tpe.setMaximumPoolSize(threadCount);
             tpe.setCorePoolSize(threadCount);
+            tpe.prestartAllCoreThreads();
           }
         };
       }
 
-      return new ReplicationSupervisor(context, executor, replicationConfig,
-          datanodeConfig, clock, executorThreadUpdater);
+      return new ReplicationSupervisor(context, executor, taskQueue,
+          replicationConfig, datanodeConfig, clock, executorThreadUpdater);
     }
   }
 
@@ -205,11 +231,13 @@ public static Map<String, String> getMetricsMap() {
   }
 
   private ReplicationSupervisor(StateContext context, ExecutorService executor,
-      ReplicationConfig replicationConfig, DatanodeConfiguration datanodeConfig,
-      Clock clock, IntConsumer executorThreadUpdater) {
+      ReplicationTaskQueue taskQueue, ReplicationConfig replicationConfig,
+      DatanodeConfiguration datanodeConfig, Clock clock,
+      IntConsumer executorThreadUpdater) {
     this.inFlight = ConcurrentHashMap.newKeySet();
     this.context = context;
     this.executor = executor;
+    this.taskQueue = taskQueue;
     this.replicationConfig = replicationConfig;
     this.datanodeConfig = datanodeConfig;
     maxQueueSize = datanodeConfig.getCommandQueueLimit();
@@ -368,6 +396,8 @@ public void nodeStateUpdated(HddsProtos.NodeOperationalState newState) {
    */
   public final class TaskRunner implements Comparable<TaskRunner>, Runnable {
     private final AbstractReplicationTask task;
+    /** The volume the task is counted as running on by the task queue. */
+    private String runningVolume;
 
     public TaskRunner(AbstractReplicationTask task) {
       this.task = task;
@@ -428,6 +458,9 @@ public void run() {
         opsLatencyMs.get(task.getMetricName()).add(Time.monotonicNow() - startTime);
         inFlight.remove(task);
         decrementTaskCounter(task);
+        if (taskQueue != null) {
+          taskQueue.finished(this);
+        }
       }
     }
 
@@ -436,10 +469,30 @@ public String toString() {
       return task.toString();
     }
 
+    AbstractReplicationTask getTask() {
+      return task;
+    }
+
+    String getRunningVolume() {
+      return runningVolume;
+    }
+
+    void setRunningVolume(String volume) {
+      runningVolume = volume;
+    }
+
     public ReplicationCommandPriority getTaskPriority() {
       return task.getPriority();
     }
 
+    /**
+     * Returns the deadline of the task, tasks without deadline last.
+     */
+    public long getTaskDeadline() {
+      final long deadline = task.getDeadline();
+      return deadline > 0 ? deadline : Long.MAX_VALUE;
+    }
+
     public long getTaskQueueTime() {
       return task.getQueued().toEpochMilli();
     }
@@ -127,6 +127,15 @@ DatanodeDetails getTarget() {
     return cmd.getTargetDatanode();
   }
 
+  /**
+   * Only containers downloaded from other datanodes are written locally,
+   * pushed containers are read from the volume of the container.
+   */
+  @Override
+  public boolean needsTargetVolume() {
+    return getTarget() == null;
+  }
+
   @Override
   public void runTask() {
     replicator.replicate(this);
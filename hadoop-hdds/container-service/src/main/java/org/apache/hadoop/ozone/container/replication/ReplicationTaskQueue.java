@@ -0,0 +1,410 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.replication;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.apache.hadoop.ozone.container.replication.ReplicationSupervisor.TaskRunner;
+
+/**
+ * Work queue of the replication executor, with a separate queue for the
+ * tasks of each local volume.
+ * <p>
+ * The next task is the most urgent one (see
+ * {@link ReplicationSupervisor#TASK_RUNNER_COMPARATOR}) among the tasks not
+ * bound to any volume and the tasks of the volumes running less than the
+ * limit of tasks. Tasks which write a new replica are bound to the least
+ * busy volume when they are taken. If there is no such task, idle threads
+ * steal tasks of the busy volumes, so that a slow volume can only hold up
+ * the other volumes by the limit of its tasks. A volume can run stolen
+ * tasks up to the number of threads minus the number of other volumes with
+ * queued tasks, so that a slow volume cannot hold all the threads while
+ * other volumes are waiting.
+ * <p>
+ * The tasks taken from the queue must be reported by {@link #finished} when
+ * they are completed.
+ */
+class ReplicationTaskQueue extends AbstractQueue<Runnable>
+    implements BlockingQueue<Runnable> {
+
+  private final int volumeLimit;
+  /** The number of threads taking tasks from this queue. */
+  private volatile int threadCount;
+  private final Supplier<Collection<String>> volumes;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition available = lock.newCondition();
+
+  /** Tasks not bound to any volume. */
+  private final PriorityQueue<TaskRunner> unbound = newQueue();
+  /** Tasks to be bound to a volume when taken. */
+  private final PriorityQueue<TaskRunner> unassigned = newQueue();
+  /** Tasks of each volume. */
+  private final Map<String, PriorityQueue<TaskRunner>> volumeQueues =
+      new HashMap<>();
+  /** The number of running tasks of each volume. */
+  private final Map<String, Integer> running = new HashMap<>();
+  private int size;
+
+  /**
+   * @param volumeLimit the number of running tasks of a volume, above which
+   *                    its tasks are only taken if there is nothing else to do
+   * @param threadCount the number of threads taking tasks from this queue
+   * @param volumes the storage IDs of the volumes new replicas can be
+   *                written to, or null if not known
+   */
+  ReplicationTaskQueue(int volumeLimit, int threadCount,
+      Supplier<Collection<String>> volumes) {
+    this.volumeLimit = volumeLimit;
+    this.threadCount = threadCount;
+    this.volumes = volumes != null ? volumes : Collections::emptyList;
+  }
+
+  private static PriorityQueue<TaskRunner> newQueue() {
+    return new PriorityQueue<>(ReplicationSupervisor.TASK_RUNNER_COMPARATOR);
+  }
+
+  /**
+   * Updates the number of threads taking tasks from this queue.
+   */
+  void setThreadCount(int threadCount) {
+    this.threadCount = threadCount;
+  }
+
+  /**
+   * Records the completion of a task taken from the queue.
+   */
+  void finished(TaskRunner runner) {
+    final String volume = runner.getRunningVolume();
+    if (volume == null) {
+      return;
+    }
+    lock.lock();
+    try {
+      running.computeIfPresent(volume, (k, v) -> v > 1 ? v - 1 : null);
+      available.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of running tasks of the volume
+   */
+  int getRunning(String volume) {
+    lock.lock();
+    try {
+      return running.getOrDefault(volume, 0);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean offer(Runnable runnable) {
+    final TaskRunner runner = (TaskRunner) runnable;
+    final AbstractReplicationTask task = runner.getTask();
+    lock.lock();
+    try {
+      if (task.getVolume() != null) {
+        volumeQueues.computeIfAbsent(task.getVolume(), k -> newQueue())
+            .add(runner);
+      } else if (task.needsTargetVolume()) {
+        unassigned.add(runner);
+      } else {
+        unbound.add(runner);
+      }
+      size++;
+      available.signal();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean offer(Runnable runnable, long timeout, TimeUnit unit) {
+    return offer(runnable);
+  }
+
+  @Override
+  public void put(Runnable runnable) {
+    offer(runnable);
+  }
+
+  @Override
+  public Runnable poll() {
+    lock.lock();
+    try {
+      return dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Runnable take() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      Runnable next;
+      while ((next = dequeue()) == null) {
+        available.await();
+      }
+      return next;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Runnable poll(long timeout, TimeUnit unit)
+      throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      Runnable next;
+      while ((next = dequeue()) == null) {
+        if (nanos <= 0) {
+          return null;
+        }
+        nanos = available.awaitNanos(nanos);
+      }
+      return next;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private TaskRunner dequeue() {
+    if (size == 0) {
+      return null;
+    }
+    final Comparator<TaskRunner> comparator =
+        ReplicationSupervisor.TASK_RUNNER_COMPARATOR;
+    PriorityQueue<TaskRunner> best = null;
+    PriorityQueue<TaskRunner> busiest = null;
+    int queuedVolumes = unassigned.isEmpty() ? 0 : 1;
+    for (PriorityQueue<TaskRunner> queue : volumeQueues.values()) {
+      if (!queue.isEmpty()) {
+        queuedVolumes++;
+      }
+    }
+    // Leave a thread to each of the other volumes with queued tasks.
+    final int stealLimit = Math.max(volumeLimit, threadCount - queuedVolumes + 1);
+    for (Map.Entry<String, PriorityQueue<TaskRunner>> entry
+        : volumeQueues.entrySet()) {
+      final PriorityQueue<TaskRunner> queue = entry.getValue();
+      if (queue.isEmpty()) {
+        continue;
+      }
+      final int volumeRunning = running.getOrDefault(entry.getKey(), 0);
+      if (volumeRunning < volumeLimit) {
+        best = moreUrgent(best, queue, comparator);
+      } else if (volumeRunning < stealLimit) {
+        busiest = moreUrgent(busiest, queue, comparator);
+      }
+    }
+    best = moreUrgent(best, unbound, comparator);
+
+    String targetVolume = null;
+    final Collection<String> candidates = volumes.get();
+    if (!unassigned.isEmpty()) {
+      targetVolume = getLeastBusyVolume(candidates, running, volumeQueues,
+          volumeLimit, true);
+      // Without known volumes the target is chosen by the task itself.
+      if (targetVolume != null || candidates.isEmpty()) {
+        best = moreUrgent(best, unassigned, comparator);
+      } else {
+        busiest = moreUrgent(busiest, unassigned, comparator);
+      }
+    }
+
+    // Steal from the busy volumes only if there is nothing else to do.
+    if (best == null) {
+      best = busiest;
+      if (best == unassigned) {
+        targetVolume = getLeastBusyVolume(candidates, running, volumeQueues,
+            volumeLimit, false);
+      }
+    }
+    if (best == null) {
+      return null;
+    }
+
+    final TaskRunner next = best.poll();
+    size--;
+    if (best == unassigned) {
+      next.getTask().setVolume(targetVolume);
+    }
+    final String volume = next.getTask().getVolume();
+    if (volume != null) {
+      running.merge(volume, 1, Integer::sum);
+      next.setRunningVolume(volume);
+    }
+    return next;
+  }
+
+  private static PriorityQueue<TaskRunner> moreUrgent(
+      PriorityQueue<TaskRunner> current, PriorityQueue<TaskRunner> candidate,
+      Comparator<TaskRunner> comparator) {
+    if (candidate.isEmpty()) {
+      return current;
+    }
+    if (current == null
+        || comparator.compare(candidate.peek(), current.peek()) < 0) {
+      return candidate;
+    }
+    return current;
+  }
+
+  /**
+   * @param belowLimit whether only the volumes running less than the limit
+   *                   of tasks can be chosen
+   * @return the volume with the least running, then queued tasks, or null
+   * if there is no such volume
+   */
+  private static String getLeastBusyVolume(Collection<String> candidates,
+      Map<String, Integer> running, Map<String, PriorityQueue<TaskRunner>>
+      volumeQueues, int volumeLimit, boolean belowLimit) {
+    String leastBusy = null;
+    int leastRunning = Integer.MAX_VALUE;
+    int leastQueued = Integer.MAX_VALUE;
+    for (String volume : candidates) {
+      final int volumeRunning = running.getOrDefault(volume, 0);
+      if (belowLimit && volumeRunning >= volumeLimit) {
+        continue;
+      }
+      final PriorityQueue<TaskRunner> queue = volumeQueues.get(volume);
+      final int queued = queue == null ? 0 : queue.size();
+      if (volumeRunning < leastRunning
+          || (volumeRunning == leastRunning && queued < leastQueued)) {
+        leastBusy = volume;
+        leastRunning = volumeRunning;
+        leastQueued = queued;
+      }
+    }
+    return leastBusy;
+  }
+
+  @Override
+  public Runnable peek() {
+    lock.lock();
+    try {
+      return snapshot().stream().min(ReplicationSupervisor.TASK_RUNNER_COMPARATOR)
+          .orElse(null);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    lock.lock();
+    try {
+      for (PriorityQueue<TaskRunner> queue : allQueues()) {
+        if (queue.remove(o)) {
+          size--;
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int remainingCapacity() {
+    return Integer.MAX_VALUE;
+  }
+
+  /**
+   * Iterates over a snapshot of the queued tasks.
+   */
+  @Override
+  public Iterator<Runnable> iterator() {
+    lock.lock();
+    try {
+      return Collections.<Runnable>unmodifiableList(snapshot()).iterator();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int drainTo(Collection<? super Runnable> c) {
+    return drainTo(c, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(Collection<? super Runnable> c, int maxElements) {
+    lock.lock();
+    try {
+      int count = 0;
+      for (PriorityQueue<TaskRunner> queue : allQueues()) {
+        while (count < maxElements && !queue.isEmpty()) {
+          c.add(queue.poll());
+          size--;
+          count++;
+        }
+      }
+      return count;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private List<PriorityQueue<TaskRunner>> allQueues() {
+    final List<PriorityQueue<TaskRunner>> queues =
+        new ArrayList<>(volumeQueues.values());
+    queues.add(unbound);
+    queues.add(unassigned);
+    return queues;
+  }
+
+  private List<TaskRunner> snapshot() {
+    final List<TaskRunner> tasks = new ArrayList<>(size);
+    for (PriorityQueue<TaskRunner> queue : allQueues()) {
+      tasks.addAll(queue);
+    }
+    return tasks;
+  }
+}
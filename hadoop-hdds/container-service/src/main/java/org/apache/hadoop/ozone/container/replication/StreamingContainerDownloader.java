@@ -0,0 +1,390 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.replication;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.security.SecurityConfig;
+import org.apache.hadoop.hdds.security.x509.certificate.client.CertificateClient;
+import org.apache.hadoop.ozone.container.keyvalue.StreamedContainerPacker;
+import org.apache.hadoop.ozone.container.replication.ReplicationServer.ReplicationConfig;
+import org.apache.hadoop.ozone.container.stream.StreamingClient;
+import org.apache.hadoop.ozone.container.stream.StreamingDestination;
+import org.apache.hadoop.ozone.container.stream.StreamingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Downloads the files of a container from the source datanodes directly
+ * into the directory it is imported from, see
+ * {@link ContainerStreamingSource}.
+ * <p>
+ * The chunk files are split into stripes, which are streamed from up to
+ * {@link ReplicationConfig#getStreamingSources()} sources in parallel. The
+ * size of the stripes is proportional to the throughput of the sources
+ * measured in previous downloads. The chunk files of the replicas of a
+ * closed container are the same, but their metadata may differ, so the
+ * metadata of the container is streamed from a single source at the end,
+ * together with the chunk files still missing, e.g. due to a failed stripe.
+ * That source also confirms which of the chunk files are part of its
+ * replica, the rest are deleted. Chunk files received from the other
+ * sources are only kept if they have the same size as in that replica,
+ * otherwise they are streamed again. Their content is verified against the
+ * block metadata of that replica by the scan of the imported container.
+ * <p>
+ * A failed stream is resumed without the chunk files which were fully
+ * received, from the same source, then from the other ones.
+ */
+public class StreamingContainerDownloader implements ContainerDownloader {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(StreamingContainerDownloader.class);
+
+  /** Weight of the last download in the throughput of a source. */
+  private static final double THROUGHPUT_SAMPLE_WEIGHT = 0.5;
+
+  /**
+   * The smallest stripe of a source relative to the fastest one, so that
+   * the throughput of slow sources is still measured.
+   */
+  private static final double MIN_STRIPE_RATIO = 0.125;
+
+  private final SecurityConfig securityConfig;
+  private final CertificateClient certClient;
+  private final int port;
+  private final int attempts;
+  private final long timeoutMillis;
+  private final int maxSources;
+  private final ExecutorService executor;
+
+  /** Throughput of the source datanodes in bytes per second. */
+  private final Map<UUID, Double> throughput = new ConcurrentHashMap<>();
+
+  public StreamingContainerDownloader(
+      ConfigurationSource conf, CertificateClient certClient) {
+    securityConfig = new SecurityConfig(conf);
+    this.certClient = certClient;
+    ReplicationConfig replicationConfig =
+        conf.getObject(ReplicationConfig.class);
+    port = replicationConfig.getStreamingPort();
+    attempts = replicationConfig.getStreamingAttempts();
+    timeoutMillis = replicationConfig.getStreamingTimeout().toMillis();
+    maxSources = replicationConfig.getStreamingSources();
+    executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+        .setDaemon(true)
+        .setNameFormat("ContainerStripeStreamer-%d")
+        .build());
+  }
+
+  /**
+   * @return the directory of the streamed container files, within the
+   * download directory, or {@code null} if the container could not be
+   * downloaded. The compression is not used.
+   */
+  @Override
+  public Path getContainerDataFromReplicas(
+      long containerId, List<DatanodeDetails> sourceDatanodes,
+      Path downloadDir, CopyContainerCompression compression) {
+
+    if (downloadDir == null) {
+      downloadDir = Paths.get(System.getProperty("java.io.tmpdir"))
+          .resolve(ContainerImporter.CONTAINER_COPY_DIR);
+    }
+    final Path containerDir = StreamedContainerPacker.getStreamingDirectory(
+        downloadDir, containerId);
+
+    final List<DatanodeDetails> sources = orderByThroughput(sourceDatanodes);
+    final Set<String> received = ConcurrentHashMap.newKeySet();
+    try {
+      FileUtils.deleteDirectory(containerDir.toFile());
+    } catch (IOException e) {
+      LOG.error("Failed to clean up {} before streaming container {}",
+          containerDir, containerId, e);
+      return null;
+    }
+    if (maxSources > 1 && sources.size() > 1) {
+      try {
+        streamStripes(containerId,
+            sources.subList(0, Math.min(maxSources, sources.size())),
+            containerDir, received);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        deleteQuietly(containerDir);
+        return null;
+      }
+    }
+
+    for (DatanodeDetails datanode : sources) {
+      try {
+        Set<String> containerFiles = streamContainer(datanode,
+            String.valueOf(containerId), containerDir, received);
+        deleteUnknownFiles(containerDir, containerFiles);
+        return containerDir;
+      } catch (Exception e) {
+        LOG.error("Error on streaming container {} from {}.",
+            containerId, datanode, e);
+      }
+    }
+    deleteQuietly(containerDir);
+    LOG.error("Container {} could not be streamed from any datanode",
+        containerId);
+    return null;
+  }
+
+  /**
+   * Streams the stripes of the chunk files of the container from the given
+   * sources in parallel. Failed stripes are only logged, their chunk files
+   * are streamed with the metadata later.
+   */
+  private void streamStripes(long containerId, List<DatanodeDetails> sources,
+      Path containerDir, Set<String> received)
+      throws InterruptedException {
+    final double fastest = getThroughput(sources.get(0));
+    final double[] weights = new double[sources.size()];
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = Math.max(getThroughput(sources.get(i)),
+          fastest * MIN_STRIPE_RATIO);
+    }
+    final int[] bounds = getStripeBounds(weights);
+
+    final List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < sources.size(); i++) {
+      final DatanodeDetails datanode = sources.get(i);
+      final String stripeId = ContainerStreamingSource.getStripeId(
+          containerId, bounds[i], bounds[i + 1]);
+      futures.add(executor.submit(() -> {
+        received.addAll(streamContainer(datanode, stripeId, containerDir,
+            Collections.emptySet()));
+        return null;
+      }));
+    }
+    try {
+      for (int i = 0; i < futures.size(); i++) {
+        try {
+          futures.get(i).get();
+        } catch (ExecutionException e) {
+          LOG.warn("Failed to stream stripe {} of container {} from {}",
+              i, containerId, sources.get(i), e.getCause());
+        }
+      }
+    } finally {
+      futures.forEach(f -> f.cancel(true));
+    }
+  }
+
+  /**
+   * Splits the buckets of the chunk files into consecutive stripes, in
+   * proportion to the given weights.
+   *
+   * @return the boundaries of the stripes, stripe {@code i} is the range of
+   * {@code [bounds[i], bounds[i + 1])}
+   */
+  @VisibleForTesting
+  static int[] getStripeBounds(double[] weights) {
+    double total = 0;
+    for (double weight : weights) {
+      total += weight;
+    }
+    final int[] bounds = new int[weights.length + 1];
+    double sum = 0;
+    for (int i = 0; i < weights.length - 1; i++) {
+      sum += weights[i];
+      bounds[i + 1] = (int) Math.round(
+          ContainerStreamingSource.STRIPE_BUCKETS * sum / total);
+    }
+    bounds[weights.length] = ContainerStreamingSource.STRIPE_BUCKETS;
+    return bounds;
+  }
+
+  /**
+   * @return the given datanodes, the fastest first. Datanodes without
+   * measured throughput are treated as average, in random order.
+   */
+  @VisibleForTesting
+  List<DatanodeDetails> orderByThroughput(List<DatanodeDetails> datanodes) {
+    final List<DatanodeDetails> ordered = new ArrayList<>(datanodes);
+    Collections.shuffle(ordered);
+    final Map<DatanodeDetails, Double> estimates = new HashMap<>();
+    for (DatanodeDetails datanode : ordered) {
+      estimates.put(datanode, getThroughput(datanode));
+    }
+    ordered.sort(Comparator.comparingDouble(
+        (DatanodeDetails datanode) -> estimates.get(datanode)).reversed());
+    return ordered;
+  }
+
+  /**
+   * @return the measured throughput of the datanode, or the average of all
+   * the sources if it is not known yet.
+   */
+  @VisibleForTesting
+  double getThroughput(DatanodeDetails datanode) {
+    Double value = throughput.get(datanode.getUuid());
+    if (value != null) {
+      return value;
+    }
+    return throughput.values().stream()
+        .mapToDouble(Double::doubleValue)
+        .average()
+        .orElse(1);
+  }
+
+  @VisibleForTesting
+  void updateThroughput(DatanodeDetails datanode, long bytes,
+      long elapsedNanos) {
+    if (bytes <= 0 || elapsedNanos <= 0) {
+      return;
+    }
+    final double sample = bytes * 1e9 / elapsedNanos;
+    throughput.merge(datanode.getUuid(), sample, (current, last) ->
+        current * (1 - THROUGHPUT_SAMPLE_WEIGHT)
+            + last * THROUGHPUT_SAMPLE_WEIGHT);
+  }
+
+  /**
+   * Streams the files of the given request, with retries, skipping the
+   * chunk files already received.
+   *
+   * @return the logical names of the files of the request
+   */
+  private Set<String> streamContainer(DatanodeDetails datanode, String id,
+      Path containerDir, Set<String> alreadyReceived) throws IOException {
+    final Set<String> received = new HashSet<>(alreadyReceived);
+    try (StreamingClient client = createStreamingClient(datanode,
+        name -> resolve(containerDir, name))) {
+      for (int attempt = 1;; attempt++) {
+        final List<String> filesToSkip = received.stream()
+            .filter(StreamedContainerPacker::isResumable)
+            .collect(Collectors.toList());
+        final long start = System.nanoTime();
+        try {
+          client.stream(id, filesToSkip, timeoutMillis,
+              TimeUnit.MILLISECONDS);
+          updateThroughput(datanode, getStreamedBytes(containerDir,
+              client.getReceivedFiles(), filesToSkip),
+              System.nanoTime() - start);
+          return client.getReceivedFiles();
+        } catch (StreamingException e) {
+          received.addAll(client.getReceivedFiles());
+          if (attempt >= attempts) {
+            throw e;
+          }
+          LOG.warn("Attempt {} of streaming {} from {} failed, "
+                  + "resuming without {} received files", attempt,
+              id, datanode, filesToSkip.size(), e);
+        }
+      }
+    }
+  }
+
+  private static long getStreamedBytes(Path containerDir,
+      Set<String> receivedFiles, List<String> skippedFiles)
+      throws IOException {
+    final Set<String> skipped = new HashSet<>(skippedFiles);
+    long bytes = 0;
+    for (String name : receivedFiles) {
+      if (!skipped.contains(name)) {
+        bytes += Files.size(resolve(containerDir, name));
+      }
+    }
+    return bytes;
+  }
+
+  private static Path resolve(Path containerDir, String name) {
+    Path path = containerDir.resolve(name).normalize();
+    if (!path.startsWith(containerDir)) {
+      throw new StreamingException("Invalid streamed file name: " + name);
+    }
+    return path;
+  }
+
+  /**
+   * Deletes files left by a failed attempt which are not part of the
+   * container anymore, e.g. chunk files of blocks deleted since then.
+   */
+  private static void deleteUnknownFiles(Path containerDir,
+      Set<String> receivedFiles) throws IOException {
+    final List<Path> unknownFiles;
+    try (Stream<Path> files = Files.walk(containerDir)) {
+      unknownFiles = files.filter(Files::isRegularFile)
+          .filter(f -> !receivedFiles.contains(
+              containerDir.relativize(f).toString()))
+          .collect(Collectors.toList());
+    }
+    for (Path file : unknownFiles) {
+      Files.delete(file);
+    }
+  }
+
+  private static void deleteQuietly(Path dir) {
+    try {
+      FileUtils.deleteDirectory(dir.toFile());
+    } catch (IOException e) {
+      LOG.warn("Failed to delete {}", dir, e);
+    }
+  }
+
+  @VisibleForTesting
+  protected StreamingClient createStreamingClient(DatanodeDetails datanode,
+      StreamingDestination destination) throws IOException {
+    SslContext sslContext = null;
+    if (securityConfig.isSecurityEnabled()
+        && securityConfig.isGrpcTlsEnabled()) {
+      SslContextBuilder sslContextBuilder = SslContextBuilder.forClient();
+      if (certClient != null) {
+        sslContextBuilder
+            .trustManager(certClient.getTrustManager())
+            .keyManager(certClient.getKeyManager());
+      }
+      sslContext = sslContextBuilder.build();
+    }
+    return new StreamingClient(datanode.getIpAddress(), port, destination,
+        sslContext);
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
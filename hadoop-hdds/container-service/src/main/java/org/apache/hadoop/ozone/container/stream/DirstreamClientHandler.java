@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.container.stream;
 
 import static org.apache.hadoop.ozone.container.stream.DirstreamServerHandler.END_MARKER;
+import static org.apache.hadoop.ozone.container.stream.DirstreamServerHandler.SKIPPED_SIZE;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
@@ -30,17 +31,20 @@
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Protocol definition from streaming binary files.
  *
  * Format of the protocol (TCP/IP):
  *
- * LOGICAL_NAME SIZE
+ * SIZE LOGICAL_NAME
  * ... (binary content)
- * LOGICAL_NAME SIZE
+ * SIZE LOGICAL_NAME
  * ... (binary content)
- * END 0
+ * -1 LOGICAL_NAME (file skipped on request of the client, no content)
+ * 0 END
  */
 public class DirstreamClientHandler extends ChannelInboundHandlerAdapter {
 
@@ -53,6 +57,11 @@ public class DirstreamClientHandler extends ChannelInboundHandlerAdapter {
 
   private long remaining;
 
+  /** Logical names of the files fully received or confirmed as skipped. */
+  private final Set<String> receivedFiles = new HashSet<>();
+
+  private String currentName;
+
   public DirstreamClientHandler(StreamingDestination streamingDestination) {
     this.destination = streamingDestination;
   }
@@ -73,7 +82,7 @@ public void doRead(ChannelHandlerContext ctx, ByteBuf buffer)
     if (headerMode) {
       int eolPosition = buffer.forEachByte(ByteProcessor.FIND_LF) - buffer
           .readerIndex();
-      if (eolPosition > 0) {
+      if (eolPosition >= 0) {
         headerMode = false;
         final ByteBuf name = buffer.readBytes(eolPosition);
         currentFileName += name.toString(StandardCharsets.UTF_8);
@@ -81,7 +90,17 @@ public void doRead(ChannelHandlerContext ctx, ByteBuf buffer)
         buffer.skipBytes(1);
         String[] parts = currentFileName.split(" ", 2);
         remaining = Long.parseLong(parts[0]);
-        Path destFilePath = destination.mapToDestination(parts[1]);
+        currentName = parts[1];
+        if (remaining == SKIPPED_SIZE) {
+          receivedFiles.add(currentName);
+          currentFileName = "";
+          headerMode = true;
+          if (buffer.readableBytes() > 0) {
+            doRead(ctx, buffer);
+          }
+          return;
+        }
+        Path destFilePath = destination.mapToDestination(currentName);
         final Path destfileParent = destFilePath.getParent();
         if (destfileParent == null) {
           throw new IllegalArgumentException("Streaming destination " +
@@ -90,6 +109,8 @@ public void doRead(ChannelHandlerContext ctx, ByteBuf buffer)
         Files.createDirectories(destfileParent);
         this.destFile =
             new RandomAccessFile(destFilePath.toFile(), "rw");
+        // The file may be left partially written by a failed attempt.
+        this.destFile.setLength(0);
         destFileChannel = this.destFile.getChannel();
 
       } else {
@@ -106,6 +127,7 @@ public void doRead(ChannelHandlerContext ctx, ByteBuf buffer)
         currentFileName = "";
         headerMode = true;
         destFile.close();
+        receivedFiles.add(currentName);
         if (readableBytes > 0) {
           doRead(ctx, buffer);
         }
@@ -140,6 +162,14 @@ public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
     ctx.close();
   }
 
+  /**
+   * @return the logical names of the files which are fully received, or
+   * which were skipped on request and confirmed by the server.
+   */
+  public Set<String> getReceivedFiles() {
+    return receivedFiles;
+  }
+
   public String getCurrentFileName() {
     return currentFileName;
   }
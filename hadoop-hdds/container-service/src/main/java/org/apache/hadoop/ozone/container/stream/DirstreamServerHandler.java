@@ -23,21 +23,35 @@
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedFile;
-import io.netty.util.ByteProcessor;
+import io.netty.util.ReferenceCountUtil;
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Protocol definition of the streaming.
+ * <p>
+ * The request is a single line with the identifier, optionally followed by
+ * the tab separated size and logical name of the files the client already
+ * has, e.g. {@code "12 chunks/1.block"}. Such files are not sent again if
+ * they have the same size on the server, only their header with size -1
+ * confirms that they are still part of the streamed files. Files with a
+ * different size are sent again.
+ * <p>
+ * Files are sent with zero-copy file regions, unless the channel is
+ * encrypted.
  */
 public class DirstreamServerHandler extends ChannelInboundHandlerAdapter {
 
@@ -46,38 +60,84 @@ public class DirstreamServerHandler extends ChannelInboundHandlerAdapter {
 
   public static final String END_MARKER = "0 END";
 
+  public static final String SEPARATOR = "\t";
+
+  public static final long SKIPPED_SIZE = -1;
+
+  /**
+   * Limit of the request line, which grows with the files the client
+   * already has.
+   */
+  static final int MAX_HEADER_LENGTH = 4 * 1024 * 1024;
+
   private StreamingSource source;
 
+  private final int maxHeaderLength;
+
   private boolean headerProcessed = false;
 
+  private final StringBuilder header = new StringBuilder();
+
+  private String id;
+
+  private Map<String, Path> files;
+
+  /** Size of the files the client already has, by logical name. */
+  private Map<String, Long> filesToSkip = Collections.emptyMap();
+
   public DirstreamServerHandler(StreamingSource source) {
+    this(source, MAX_HEADER_LENGTH);
+  }
+
+  DirstreamServerHandler(StreamingSource source, int maxHeaderLength) {
     this.source = source;
+    this.maxHeaderLength = maxHeaderLength;
   }
 
   @Override
   public void channelRead(ChannelHandlerContext ctx, Object msg)
       throws Exception {
-    StringBuilder id = new StringBuilder();
-    if (!headerProcessed) {
-      ByteBuf buffer = (ByteBuf) msg;
-      int eolPosition = buffer.forEachByte(ByteProcessor.FIND_LF) - buffer
-          .readerIndex();
-      if (eolPosition > 0) {
+    if (headerProcessed) {
+      ReferenceCountUtil.release(msg);
+      return;
+    }
+    ByteBuf buffer = (ByteBuf) msg;
+    try {
+      header.append(buffer.toString(StandardCharsets.UTF_8));
+    } finally {
+      buffer.release();
+    }
+    int eolPosition = header.indexOf("\n");
+    if (eolPosition < 0) {
+      if (header.length() > maxHeaderLength) {
         headerProcessed = true;
-        id.append(buffer.toString(Charset.defaultCharset()));
-      } else {
-        id.append(buffer.toString(0, eolPosition, Charset.defaultCharset()));
+        header.setLength(0);
+        throw new StreamingException("Request header is longer than "
+            + maxHeaderLength + " characters");
       }
-      buffer.release();
+      return;
     }
-
-    if (headerProcessed) {
-      final List<Entry<String, Path>> entriesToWrite = new ArrayList<>(
-          source.getFilesToStream(id.toString().trim()).entrySet());
-
-      writeOneElement(ctx, entriesToWrite, 0);
-
+    headerProcessed = true;
+
+    String[] request = header.substring(0, eolPosition).trim()
+        .split(SEPARATOR);
+    id = request[0].trim();
+    if (request.length > 1) {
+      filesToSkip = new HashMap<>();
+      for (int i = 1; i < request.length; i++) {
+        String[] file = request[i].split(" ", 2);
+        try {
+          filesToSkip.put(file[1], Long.parseLong(file[0]));
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+          throw new StreamingException("Invalid file to skip: " + request[i]);
+        }
+      }
     }
+    files = source.getFilesToStream(id);
+    final List<Entry<String, Path>> entriesToWrite =
+        new ArrayList<>(files.entrySet());
+
+    writeOneElement(ctx, entriesToWrite, 0);
   }
 
   public void writeOneElement(
@@ -86,55 +146,88 @@ public void writeOneElement(
       int i
   )
       throws IOException {
-    final Entry<String, Path> entryToWrite = entriesToWrite.get(i);
+    // Headers of skipped files are sent together with the next file.
+    StringBuilder identifier = new StringBuilder();
+    int currentIndex = i;
+    while (currentIndex < entriesToWrite.size() &&
+        isSkipped(entriesToWrite.get(currentIndex))) {
+      identifier.append(SKIPPED_SIZE).append(' ')
+          .append(entriesToWrite.get(currentIndex).getKey()).append('\n');
+      currentIndex++;
+    }
+
+    if (currentIndex == entriesToWrite.size()) {
+      identifier.append(END_MARKER);
+      ctx.writeAndFlush(wrap(identifier))
+          .addListener(ChannelFutureListener.CLOSE);
+      return;
+    }
+
+    final Entry<String, Path> entryToWrite = entriesToWrite.get(currentIndex);
     Path file = entryToWrite.getValue();
     String name = entryToWrite.getKey();
     long fileSize = Files.size(file);
-    String identifier = fileSize + " " + name + "\n";
-    ByteBuf identifierBuf =
-        Unpooled.wrappedBuffer(identifier.getBytes(
-            StandardCharsets.UTF_8));
+    identifier.append(fileSize).append(' ').append(name).append('\n');
 
-    final int currentIndex = i;
+    final int nextIndex = currentIndex + 1;
 
-    ChannelFuture lastFuture = ctx.writeAndFlush(identifierBuf);
+    ChannelFuture lastFuture = ctx.writeAndFlush(wrap(identifier));
     lastFuture.addListener(f -> {
       ChannelFuture nextFuture = ctx.writeAndFlush(
-          new ChunkedFile(file.toFile()));
-      if (currentIndex == entriesToWrite.size() - 1) {
-        nextFuture.addListener(a -> {
-          if (!a.isSuccess()) {
-            LOG.error("Error on streaming file", a.cause());
+          ctx.pipeline().get(SslHandler.class) == null
+              ? new DefaultFileRegion(file.toFile(), 0, fileSize)
+              : new ChunkedFile(file.toFile()));
+      nextFuture.addListener(a -> {
+        if (!a.isSuccess()) {
+          LOG.error("Error on streaming file {}", name, a.cause());
+          ctx.close();
+        } else {
+          try {
+            writeOneElement(ctx, entriesToWrite, nextIndex);
+          } catch (IOException e) {
+            exceptionCaught(ctx, e);
           }
-          ctx.writeAndFlush(
-              Unpooled.wrappedBuffer(
-                  END_MARKER.getBytes(StandardCharsets.UTF_8)))
-              .addListener(b -> {
-                ctx.channel().close();
-              });
-        });
-      } else {
-        nextFuture.addListener(
-            a -> writeOneElement(ctx, entriesToWrite,
-                currentIndex + 1));
-      }
+        }
+      });
     });
 
   }
 
+  /**
+   * @return true if the client already has the file with the same size
+   */
+  private boolean isSkipped(Entry<String, Path> file) throws IOException {
+    Long size = filesToSkip.get(file.getKey());
+    return size != null && size == Files.size(file.getValue());
+  }
+
+  private static ByteBuf wrap(CharSequence content) {
+    return Unpooled.wrappedBuffer(
+        content.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
   @Override
   public void channelReadComplete(ChannelHandlerContext ctx) {
     ctx.flush();
   }
 
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+    if (files != null) {
+      source.release(id, files);
+      files = null;
+    }
+    super.channelInactive(ctx);
+  }
+
   @Override
   public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause)
       throws Exception {
-    cause.printStackTrace();
+    LOG.error("Error on streaming {}", id, cause);
     if (ctx.channel().isActive()) {
-      ctx.writeAndFlush("ERR: " +
+      ctx.writeAndFlush(wrap("ERR: " +
           cause.getClass().getSimpleName() + ": " +
-          cause.getMessage() + '\n').addListener(
+          cause.getMessage() + '\n')).addListener(
           ChannelFutureListener.CLOSE);
     }
     ctx.close();
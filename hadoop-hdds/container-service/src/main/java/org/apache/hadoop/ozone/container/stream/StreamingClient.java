@@ -29,6 +29,12 @@
 import io.netty.handler.codec.string.StringEncoder;
 import io.netty.handler.ssl.SslContext;
 import io.netty.util.CharsetUtil;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -37,7 +43,8 @@
 public class StreamingClient implements AutoCloseable {
 
   private final Bootstrap bootstrap;
-  private final DirstreamClientHandler dirstreamClientHandler;
+  private final StreamingDestination streamingDestination;
+  private volatile DirstreamClientHandler dirstreamClientHandler;
   private EventLoopGroup group;
   private int port;
   private String host;
@@ -60,6 +67,7 @@ public StreamingClient(
     this.host = host;
 
     group = new NioEventLoopGroup(100);
+    this.streamingDestination = streamingDestination;
     dirstreamClientHandler = new DirstreamClientHandler(streamingDestination);
     bootstrap = new Bootstrap();
     bootstrap.group(group)
@@ -86,11 +94,40 @@ public void stream(String id) {
   }
 
   public void stream(String id, long timeout, TimeUnit unit) {
+    stream(id, Collections.emptySet(), timeout, unit);
+  }
+
+  /**
+   * Streams the files of the given identifier.
+   *
+   * @param filesToSkip logical names of the files which are already at the
+   *                    destination, typically from a failed attempt. They
+   *                    are sent again if the server has a different size.
+   */
+  public void stream(String id, Collection<String> filesToSkip,
+      long timeout, TimeUnit unit) {
+    // Each stream has its own handler, set up for the new channel.
+    dirstreamClientHandler = new DirstreamClientHandler(streamingDestination);
+    StringBuilder request = new StringBuilder(id);
+    try {
+      for (String file : filesToSkip) {
+        Path path = streamingDestination.mapToDestination(file);
+        if (Files.isRegularFile(path)) {
+          request.append(DirstreamServerHandler.SEPARATOR)
+              .append(Files.size(path)).append(' ').append(file);
+        }
+      }
+    } catch (IOException e) {
+      throw new StreamingException("Failed to list the files to skip", e);
+    }
+    request.append('\n');
     try {
       Channel channel = bootstrap.connect(host, port).sync().channel();
-      channel.writeAndFlush(id + "\n")
+      channel.writeAndFlush(request.toString())
           .await(timeout, unit);
-      channel.closeFuture().await(timeout, unit);
+      if (!channel.closeFuture().await(timeout, unit)) {
+        channel.close();
+      }
       if (!dirstreamClientHandler.isAtTheEnd()) {
         throw new StreamingException("Streaming is failed. Not all files " +
             "are streamed. Please check the log of the server." +
@@ -103,6 +140,14 @@ public void stream(String id, long timeout, TimeUnit unit) {
     }
   }
 
+  /**
+   * @return the logical names of the files received (or confirmed as
+   * skipped) by the last stream, even if it failed.
+   */
+  public Set<String> getReceivedFiles() {
+    return dirstreamClientHandler.getReceivedFiles();
+  }
+
   @Override
   public void close() {
     group.shutdownGracefully();
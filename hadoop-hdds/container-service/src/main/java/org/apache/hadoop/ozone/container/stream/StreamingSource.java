@@ -33,4 +33,14 @@ public interface StreamingSource {
    */
   Map<String, Path> getFilesToStream(String id) throws InterruptedException;
 
+  /**
+   * Called when the files returned by {@link #getFilesToStream(String)} are
+   * not needed anymore, after they are streamed or the streaming failed.
+   *
+   * @param id custom identifier
+   * @param files the files returned for the identifier
+   */
+  default void release(String id, Map<String, Path> files) {
+  }
+
 }
@@ -23,6 +23,7 @@
 import static org.apache.hadoop.ozone.container.checksum.ContainerMerkleTreeTestUtils.readChecksumFile;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -335,6 +336,43 @@ public void testFailureContainerMerkleTreeMetric() throws IOException {
     assertEquals(checksumManager.getMetrics().getMerkleTreeDiffFailure(), 1);
   }
 
+  @Test
+  public void testOpenContainerTree() {
+    // Only the containers added as open are tracked.
+    checksumManager.addCommittedBlock(CONTAINER_ID, buildBlockData(config, CONTAINER_ID, 1));
+    assertNull(checksumManager.removeOpenContainer(container));
+
+    checksumManager.addOpenContainer(CONTAINER_ID);
+    BlockData block1 = buildBlockData(config, CONTAINER_ID, 1);
+    BlockData block2 = buildBlockData(config, CONTAINER_ID, 2);
+    checksumManager.addCommittedBlock(CONTAINER_ID, block1);
+    // An incremental chunk list only has the chunks written since the last put block.
+    List<ContainerProtos.ChunkInfo> block2Chunks = block2.getChunks();
+    BlockData partialBlock2 = buildBlockData(config, CONTAINER_ID, 2);
+    partialBlock2.setChunks(block2Chunks.subList(0, 1));
+    checksumManager.addCommittedBlock(CONTAINER_ID, partialBlock2);
+    partialBlock2.setChunks(block2Chunks.subList(1, block2Chunks.size()));
+    checksumManager.addCommittedBlock(CONTAINER_ID, partialBlock2);
+
+    ContainerMerkleTreeWriter expectedTree = new ContainerMerkleTreeWriter();
+    expectedTree.addChunks(1, true, block1.getChunks());
+    expectedTree.addChunks(2, true, block2Chunks);
+    when(container.getBlockCount()).thenReturn(2L);
+    ContainerMerkleTreeWriter actualTree = checksumManager.removeOpenContainer(container);
+    assertTreesSortedAndMatch(expectedTree.toProto(), actualTree.toProto());
+    // The tree is no longer tracked once removed.
+    assertNull(checksumManager.removeOpenContainer(container));
+  }
+
+  @Test
+  public void testOpenContainerTreeWithMissingBlocks() {
+    checksumManager.addOpenContainer(CONTAINER_ID);
+    checksumManager.addCommittedBlock(CONTAINER_ID, buildBlockData(config, CONTAINER_ID, 1));
+    // A block was committed to the container without updating the tree.
+    when(container.getBlockCount()).thenReturn(2L);
+    assertNull(checksumManager.removeOpenContainer(container));
+  }
+
   @Test
   public void testChecksumTreeFilePath() {
     assertEquals(checksumFile.getAbsolutePath(),
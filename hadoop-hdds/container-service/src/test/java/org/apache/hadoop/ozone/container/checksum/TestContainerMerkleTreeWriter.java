@@ -22,6 +22,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.ByteBuffer;
@@ -699,6 +700,29 @@ public void testUpdateConflictBothDeleted() {
     assertTreesSortedAndMatch(expected, result);
   }
 
+  @Test
+  public void testUnmodifiedBlocksReusedFromProto() {
+    final long blockID1 = 1;
+    final long blockID2 = 2;
+    ContainerProtos.ChunkInfo b1c1 = buildChunk(config, 0, ByteBuffer.wrap(new byte[]{1, 2, 3}));
+    ContainerProtos.ChunkInfo b2c1 = buildChunk(config, 0, ByteBuffer.wrap(new byte[]{4, 5, 6}));
+    ContainerProtos.ChunkInfo b2c2 = buildChunk(config, 1, ByteBuffer.wrap(new byte[]{7, 8, 9}));
+    ContainerMerkleTreeWriter writer = new ContainerMerkleTreeWriter();
+    writer.addChunks(blockID1, true, b1c1);
+    writer.addChunks(blockID2, true, b2c1);
+    ContainerProtos.ContainerMerkleTree existingTree = writer.toProto();
+
+    ContainerMerkleTreeWriter fromProto = new ContainerMerkleTreeWriter(existingTree);
+    fromProto.addBlock(blockID1);
+    fromProto.addChunks(blockID2, true, b2c2);
+    ContainerProtos.ContainerMerkleTree actualTree = fromProto.toProto();
+
+    // The unmodified block is not computed again, while the modified block is.
+    assertSame(existingTree.getBlockMerkleTree(0), actualTree.getBlockMerkleTree(0));
+    writer.addChunks(blockID2, true, b2c2);
+    assertTreesSortedAndMatch(writer.toProto(), actualTree);
+  }
+
   /**
    * Merge the existing tree with the tree writer by:
    * - including deleted blocks from the existing tree into our tree writer.
@@ -34,6 +34,7 @@
 import java.io.IOException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -251,6 +252,41 @@ public void iteratorIsOrderedByScanTime(ContainerLayoutVersion layout)
     assertEquals(containerCount, containersToBeScanned);
   }
 
+  @ContainerLayoutTestInfo.ContainerTest
+  public void iteratorPrefersContainersWrittenSinceScan(
+      ContainerLayoutVersion layout) throws StorageContainerException {
+    setLayoutVersion(layout);
+    HddsVolume vol = mock(HddsVolume.class);
+    when(vol.getStorageID()).thenReturn("uuid-1");
+    ContainerSet containerSet = newContainerSet();
+    Instant now = Instant.now();
+    // 0: scanned long ago, 1: scanned recently and written since,
+    // 2: never scanned, 3: scanned recently.
+    for (int i = 0; i < 4; i++) {
+      KeyValueContainerData kvData = new KeyValueContainerData(i,
+          layout,
+          (long) StorageUnit.GB.toBytes(5), UUID.randomUUID().toString(),
+          UUID.randomUUID().toString());
+      if (i == 0) {
+        kvData.updateDataScanTime(now.minusSeconds(3600));
+      } else if (i != 2) {
+        kvData.updateDataScanTime(now.minusSeconds(60));
+      }
+      if (i == 1) {
+        kvData.updateWriteStats(1024, false);
+      }
+      kvData.setVolume(vol);
+      kvData.setState(ContainerProtos.ContainerDataProto.State.CLOSED);
+      containerSet.addContainer(
+          new KeyValueContainer(kvData, new OzoneConfiguration()));
+    }
+
+    List<Long> order = new ArrayList<>();
+    containerSet.getContainerIterator(vol).forEachRemaining(
+        c -> order.add(c.getContainerData().getContainerID()));
+    assertEquals(Arrays.asList(2L, 1L, 0L, 3L), order);
+  }
+
   @ContainerLayoutTestInfo.ContainerTest
   public void testGetContainerReport(ContainerLayoutVersion layout)
       throws IOException {
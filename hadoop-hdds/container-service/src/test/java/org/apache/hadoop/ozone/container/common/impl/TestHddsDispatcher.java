@@ -29,6 +29,8 @@
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -41,8 +43,11 @@
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -97,6 +102,7 @@
 import org.apache.hadoop.security.token.Token;
 import org.apache.ozone.test.GenericTestUtils.LogCapturer;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.thirdparty.io.grpc.stub.StreamObserver;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -285,6 +291,104 @@ public void testWriteChunkChecksum() throws IOException {
     }
   }
 
+  @Test
+  public void testReadBlock() throws Exception {
+    String testDirPath = testDir.getPath();
+    try {
+      UUID scmId = UUID.randomUUID();
+      OzoneConfiguration conf = new OzoneConfiguration();
+      conf.set(HDDS_DATANODE_DIR_KEY, testDirPath);
+      conf.set(OzoneConfigKeys.OZONE_METADATA_DIRS, testDirPath);
+      DatanodeDetails dd = randomDatanodeDetails();
+      HddsDispatcher hddsDispatcher = createDispatcher(dd, scmId, conf);
+
+      final List<ContainerCommandRequestProto> writeChunkRequests = new ArrayList<>();
+      final ContainerProtos.BlockData.Builder blockData = ContainerProtos.BlockData.newBuilder()
+          .setBlockID(new BlockID(1L, 1L).getDatanodeBlockIDProtobuf());
+      for (int i = 0; i < 3; i++) {
+        final ContainerCommandRequestProto writeChunk = getWriteChunkRequest0(dd.getUuidString(), 1L, 1L, i);
+        assertEquals(ContainerProtos.Result.SUCCESS, hddsDispatcher.dispatch(writeChunk, null).getResult());
+        writeChunkRequests.add(writeChunk);
+        blockData.addChunks(writeChunk.getWriteChunk().getChunkData());
+      }
+      blockData.setSize(3 * 32);
+      final ContainerCommandRequestProto putBlock = ContainerCommandRequestProto.newBuilder()
+          .setContainerID(1L)
+          .setCmdType(ContainerProtos.Type.PutBlock)
+          .setDatanodeUuid(dd.getUuidString())
+          .setPutBlock(ContainerProtos.PutBlockRequestProto.newBuilder().setBlockData(blockData))
+          .build();
+      assertEquals(ContainerProtos.Result.SUCCESS, hddsDispatcher.dispatch(putBlock, null).getResult());
+
+      // read the last two chunks: the first is streamed and the last is returned
+      final List<ContainerCommandResponseProto> streamed = new ArrayList<>();
+      final StreamObserver<ContainerCommandResponseProto> observer = mock(StreamObserver.class);
+      doAnswer(invocation -> streamed.add(invocation.getArgument(0))).when(observer).onNext(any());
+      final DispatcherContext context = DispatcherContext.newBuilder(Op.HANDLE_READ_BLOCK)
+          .setReleaseSupported(true)
+          .setResponseObserver(observer)
+          .build();
+      final ContainerCommandRequestProto readBlock = ContainerCommandRequestProto.newBuilder()
+          .setContainerID(1L)
+          .setCmdType(ContainerProtos.Type.ReadBlock)
+          .setDatanodeUuid(dd.getUuidString())
+          .setReadBlock(ContainerProtos.ReadBlockRequestProto.newBuilder()
+              .setBlockID(blockData.getBlockID())
+              .setOffset(40)
+              .setLength(40))
+          .build();
+      final ContainerCommandResponseProto last = hddsDispatcher.dispatch(readBlock, context);
+      context.release();
+      assertEquals(ContainerProtos.Result.SUCCESS, last.getResult());
+      assertEquals(1, streamed.size());
+      assertEquals(ContainerProtos.Result.SUCCESS, streamed.get(0).getResult());
+
+      final List<ContainerProtos.ReadBlockResponseProto> responses = Arrays.asList(
+          streamed.get(0).getReadBlock(), last.getReadBlock());
+      for (int i = 0; i < responses.size(); i++) {
+        final WriteChunkRequestProto written = writeChunkRequests.get(i + 1).getWriteChunk();
+        assertEquals(written.getChunkData(), responses.get(i).getChunkData());
+        assertEquals(written.getData(),
+            BufferUtils.concatByteStrings(responses.get(i).getData().getBuffersList()));
+      }
+
+      // ReadBlock is not supported without a response observer
+      final ContainerCommandResponseProto unsupported = hddsDispatcher.dispatch(readBlock, null);
+      assertEquals(ContainerProtos.Result.UNSUPPORTED_REQUEST, unsupported.getResult());
+
+      // the responses are sent only when the client is ready
+      final DispatcherContext.FlowControl flowControl = mock(DispatcherContext.FlowControl.class);
+      when(flowControl.awaitReady(anyLong())).thenReturn(true);
+      final ContainerCommandRequestProto readAll = readBlock.toBuilder()
+          .setReadBlock(readBlock.getReadBlock().toBuilder().setOffset(0).setLength(3 * 32))
+          .build();
+      streamed.clear();
+      final DispatcherContext flowControlled = DispatcherContext.newBuilder(Op.HANDLE_READ_BLOCK)
+          .setReleaseSupported(true)
+          .setResponseObserver(observer)
+          .setFlowControl(flowControl)
+          .build();
+      assertEquals(ContainerProtos.Result.SUCCESS, hddsDispatcher.dispatch(readAll, flowControlled).getResult());
+      flowControlled.release();
+      assertEquals(2, streamed.size());
+      verify(flowControl, times(2)).awaitReady(anyLong());
+
+      // the read fails if the client does not become ready
+      when(flowControl.awaitReady(anyLong())).thenReturn(false);
+      streamed.clear();
+      final ContainerCommandResponseProto notReady = hddsDispatcher.dispatch(readAll,
+          DispatcherContext.newBuilder(Op.HANDLE_READ_BLOCK)
+              .setReleaseSupported(true)
+              .setResponseObserver(observer)
+              .setFlowControl(flowControl)
+              .build());
+      assertEquals(ContainerProtos.Result.IO_EXCEPTION, notReady.getResult());
+      assertEquals(0, streamed.size());
+    } finally {
+      ContainerMetrics.remove();
+    }
+  }
+
   @ContainerLayoutTestInfo.ContainerTest
   public void testContainerCloseActionWhenVolumeFull(
       ContainerLayoutVersion layoutVersion) throws Exception {
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
+import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
+import org.apache.ratis.thirdparty.io.grpc.stub.ServerCallStreamObserver;
+import org.apache.ratis.thirdparty.io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link GrpcXceiverService}.
+ */
+public class TestGrpcXceiverService {
+
+  @Test
+  public void testReleaseSupportedContext() {
+    final DispatcherContext readChunk = GrpcXceiverService.newReleaseSupportedContext(Type.ReadChunk, null, null);
+    assertEquals(DispatcherContext.Op.HANDLE_READ_CHUNK, DispatcherContext.op(readChunk));
+    assertTrue(readChunk.isReleaseSupported());
+
+    final DispatcherContext getSmallFile = GrpcXceiverService.newReleaseSupportedContext(Type.GetSmallFile, null, null);
+    assertEquals(DispatcherContext.Op.HANDLE_GET_SMALL_FILE, DispatcherContext.op(getSmallFile));
+    assertTrue(getSmallFile.isReleaseSupported());
+
+    final StreamObserver<ContainerCommandResponseProto> observer = mock(StreamObserver.class);
+    final DispatcherContext.FlowControl flowControl = mock(DispatcherContext.FlowControl.class);
+    final DispatcherContext readBlock = GrpcXceiverService.newReleaseSupportedContext(Type.ReadBlock, observer,
+        flowControl);
+    assertEquals(DispatcherContext.Op.HANDLE_READ_BLOCK, DispatcherContext.op(readBlock));
+    assertTrue(readBlock.isReleaseSupported());
+    assertSame(observer, readBlock.getResponseObserver());
+    assertSame(flowControl, readBlock.getFlowControl());
+
+    assertNull(GrpcXceiverService.newReleaseSupportedContext(Type.WriteChunk, null, null));
+  }
+
+  @Test
+  public void testReleaseMultipleBuffers() {
+    final DispatcherContext context = GrpcXceiverService.newReleaseSupportedContext(Type.GetSmallFile, null, null);
+    final AtomicInteger released = new AtomicInteger();
+    context.setReleaseMethod(released::incrementAndGet);
+    context.setReleaseMethod(() -> {
+      throw new IllegalStateException("test");
+    });
+    context.setReleaseMethod(released::incrementAndGet);
+
+    // a failed release does not prevent the other buffers from being released
+    assertThrows(IllegalStateException.class, context::release);
+    assertEquals(2, released.get());
+  }
+
+  @Test
+  public void testResponseFlowControl() throws Exception {
+    final ServerCallStreamObserver<ContainerCommandResponseProto> observer = mock(ServerCallStreamObserver.class);
+    final GrpcXceiverService.ResponseFlowControl flowControl = new GrpcXceiverService.ResponseFlowControl(observer);
+    verify(observer).setOnReadyHandler(any());
+
+    // becomes ready while waiting
+    when(observer.isReady()).thenReturn(false, false, true);
+    assertTrue(flowControl.awaitReady(10_000));
+
+    // times out
+    when(observer.isReady()).thenReturn(false);
+    assertFalse(flowControl.isReady());
+    assertFalse(flowControl.awaitReady(20));
+
+    // cancelled by the client
+    when(observer.isCancelled()).thenReturn(true);
+    assertFalse(flowControl.awaitReady(10_000));
+  }
+}
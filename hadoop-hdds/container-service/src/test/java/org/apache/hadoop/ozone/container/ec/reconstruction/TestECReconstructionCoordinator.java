@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.ec.reconstruction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
+import org.apache.hadoop.hdds.scm.storage.BlockLocationInfo;
+import org.apache.hadoop.ozone.container.common.helpers.BlockData;
+import org.apache.hadoop.ozone.container.common.statemachine.StateContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Tests for reconstructing the block groups of a container in parallel
+ * by {@link ECReconstructionCoordinator}.
+ */
+@Timeout(60)
+class TestECReconstructionCoordinator {
+  private static final ECReplicationConfig REP_CONFIG = new ECReplicationConfig(3, 2);
+  /** The buffers of a block group with a single target: a data stripe and two chunks. */
+  private static final long BLOCK_GROUP_BUFFER = 5L * REP_CONFIG.getEcChunkSize();
+
+  /** Reconstruct the block group of the given local id. */
+  @FunctionalInterface
+  interface BlockGroupTask {
+    void run(long localID) throws IOException;
+  }
+
+  private ECReconstructionMetrics metrics;
+  private final AtomicInteger running = new AtomicInteger();
+  private final AtomicInteger maxRunning = new AtomicInteger();
+
+  @BeforeEach
+  void setup() {
+    metrics = ECReconstructionMetrics.create();
+  }
+
+  @AfterEach
+  void cleanup() {
+    metrics.unRegister();
+  }
+
+  private ECReconstructionCoordinator newCoordinator(int poolLimit, long bufferLimit, BlockGroupTask task)
+      throws IOException {
+    final OzoneConfiguration conf = new OzoneConfiguration();
+    final OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    clientConfig.setEcReconstructBlockGroupPoolLimit(poolLimit);
+    clientConfig.setEcReconstructBufferLimit(bufferLimit);
+    conf.setFromObject(clientConfig);
+    return new ECReconstructionCoordinator(conf, null, null, mock(StateContext.class), metrics, "test-") {
+      @Override
+      public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo, ECReplicationConfig repConfig,
+          SortedMap<Integer, DatanodeDetails> targetMap, BlockData[] blockDataGroup) throws IOException {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+          task.run(blockLocationInfo.getBlockID().getLocalID());
+        } finally {
+          running.decrementAndGet();
+        }
+      }
+    };
+  }
+
+  private static void reconstruct(ECReconstructionCoordinator coordinator, int blockGroups) throws IOException {
+    final SortedMap<Long, BlockLocationInfo> blocks = new TreeMap<>();
+    for (long localID = 1; localID <= blockGroups; localID++) {
+      blocks.put(localID, new BlockLocationInfo.Builder()
+          .setBlockID(new BlockID(1, localID))
+          .setLength(REP_CONFIG.getEcChunkSize())
+          .build());
+    }
+    final SortedMap<Integer, DatanodeDetails> targets = new TreeMap<>();
+    targets.put(1, MockDatanodeDetails.randomDatanodeDetails());
+    coordinator.reconstructECBlockGroups(blocks, REP_CONFIG, targets, new TreeMap<>());
+  }
+
+  @Test
+  void testCallerRunsWhenPoolIsBusy() throws Exception {
+    final Thread caller = Thread.currentThread();
+    final CountDownLatch callerRan = new CountDownLatch(1);
+    final List<Long> reconstructed = new CopyOnWriteArrayList<>();
+
+    try (ECReconstructionCoordinator coordinator = newCoordinator(1, 256L << 20, localID -> {
+      if (Thread.currentThread() == caller) {
+        callerRan.countDown();
+      } else if (localID == 1) {
+        // keep the only thread busy until a block group is run by the caller
+        try {
+          assertTrue(callerRan.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException(e);
+        }
+      }
+      reconstructed.add(localID);
+    })) {
+      reconstruct(coordinator, 4);
+    }
+    assertThat(reconstructed).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    assertEquals(0, callerRan.getCount());
+    assertThat(maxRunning.get()).isBetween(1, 2);
+  }
+
+  @Test
+  void testBufferLimit() throws Exception {
+    // the buffers of a single block group only
+    try (ECReconstructionCoordinator coordinator = newCoordinator(4, BLOCK_GROUP_BUFFER, localID -> {
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+    })) {
+      reconstruct(coordinator, 5);
+    }
+    assertEquals(1, maxRunning.get());
+  }
+
+  @Test
+  void testFailure() throws Exception {
+    final List<Long> reconstructed = new CopyOnWriteArrayList<>();
+    final IOException failure = new IOException("Failed to reconstruct");
+    final BlockGroupTask failSecond = localID -> {
+      reconstructed.add(localID);
+      if (localID == 2) {
+        throw failure;
+      }
+    };
+
+    // one block group at a time, so that the block groups after the failure are not run
+    try (ECReconstructionCoordinator coordinator = newCoordinator(1, BLOCK_GROUP_BUFFER, failSecond)) {
+      assertSame(failure, assertThrows(IOException.class, () -> reconstruct(coordinator, 5)));
+      assertThat(reconstructed).containsExactly(1L, 2L);
+      assertEquals(0, running.get());
+
+      // the buffers of the failed block group are released
+      reconstructed.clear();
+      reconstruct(coordinator, 1);
+      assertThat(reconstructed).containsExactly(1L);
+    }
+  }
+
+  @Test
+  void testRuntimeFailure() throws Exception {
+    final IllegalStateException failure = new IllegalStateException("Unexpected");
+    try (ECReconstructionCoordinator coordinator = newCoordinator(2, 256L << 20, localID -> {
+      if (localID == 3) {
+        throw failure;
+      }
+    })) {
+      assertSame(failure, assertThrows(IllegalStateException.class, () -> reconstruct(coordinator, 5)));
+    }
+    assertEquals(0, running.get());
+  }
+}
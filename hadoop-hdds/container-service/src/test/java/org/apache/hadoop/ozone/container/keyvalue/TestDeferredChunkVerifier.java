@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State;
+import org.apache.hadoop.ozone.common.OzoneChecksumException;
+import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
+import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
+import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.ozoneimpl.ContainerScanError;
+import org.apache.hadoop.ozone.container.ozoneimpl.ContainerScanError.FailureType;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link DeferredChunkVerifier}.
+ */
+class TestDeferredChunkVerifier {
+  private final HddsVolume volume = mock(HddsVolume.class);
+  @TempDir
+  private File dir;
+
+  private KeyValueContainer newContainer(long id) {
+    final KeyValueContainerData data = mock(KeyValueContainerData.class);
+    when(data.getContainerID()).thenReturn(id);
+    when(data.getState()).thenReturn(State.OPEN);
+    when(data.getVolume()).thenReturn(volume);
+    when(data.getLayoutVersion()).thenReturn(ContainerLayoutVersion.FILE_PER_BLOCK);
+    final File containerDir = new File(dir, String.valueOf(id));
+    final File chunksDir = new File(containerDir, "chunks");
+    assertTrue(chunksDir.mkdirs());
+    when(data.getChunksPath()).thenReturn(chunksDir.getPath());
+    when(data.getContainerPath()).thenReturn(containerDir.getPath());
+    final KeyValueContainer container = mock(KeyValueContainer.class);
+    when(container.getContainerData()).thenReturn(data);
+    return container;
+  }
+
+  private static ChunkInfo newChunk(long localID, int i) {
+    return new ChunkInfo(localID + "_chunk_" + i, i * 1024L, 1024);
+  }
+
+  private static void submit(DeferredChunkVerifier verifier, KeyValueContainer container,
+      BlockID blockID, ChunkInfo info) {
+    assertTrue(verifier.reserve(container.getContainerData().getVolume()));
+    verifier.submit(container, blockID, info, DispatcherContext.getHandleWriteChunk());
+  }
+
+  @Test
+  void testCorruptedChunks() throws Exception {
+    final KeyValueContainer good = newContainer(1);
+    final KeyValueContainer corrupted = newContainer(2);
+    final KeyValueContainer deleted = newContainer(3);
+    final Map<KeyValueContainer, List<ContainerScanError>> reported = new ConcurrentHashMap<>();
+    final CountDownLatch done = new CountDownLatch(1);
+
+    try (DeferredChunkVerifier verifier = new DeferredChunkVerifier(16,
+        (container, blockID, info, writeContext) -> {
+          if (container == corrupted) {
+            throw new OzoneChecksumException("Checksum mismatch: " + info);
+          } else if (container == deleted) {
+            throw new FileNotFoundException("Deleted: " + info);
+          } else if (info.getChunkName().endsWith("_last")) {
+            done.countDown();
+          }
+        },
+        (container, errors) -> reported.computeIfAbsent(container, c -> new CopyOnWriteArrayList<>())
+            .addAll(errors))) {
+      final BlockID blockID = new BlockID(2, 7);
+      for (int i = 0; i < 3; i++) {
+        submit(verifier, good, new BlockID(1, 7), newChunk(7, i));
+        submit(verifier, corrupted, blockID, newChunk(7, i));
+        submit(verifier, deleted, new BlockID(3, 7), newChunk(7, i));
+      }
+      submit(verifier, good, new BlockID(1, 8), new ChunkInfo("8_chunk_last", 0, 1));
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+
+      GenericTestUtils.waitFor(() -> reported.getOrDefault(corrupted, Collections.emptyList()).size() == 3,
+          10, 10_000);
+      assertThat(reported).containsOnlyKeys(corrupted);
+      for (ContainerScanError error : reported.get(corrupted)) {
+        assertEquals(FailureType.CORRUPT_CHUNK, error.getFailureType());
+        assertThat(error.getUnhealthyFile()).hasName("7.block");
+      }
+    }
+  }
+
+  @Test
+  void testOverwriteBeforeVerification() throws Exception {
+    final KeyValueContainer container = newContainer(1);
+    final BlockID blockID = new BlockID(1, 1);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(1);
+    final List<ChunkInfo> verified = new CopyOnWriteArrayList<>();
+    final List<ContainerScanError> reported = new CopyOnWriteArrayList<>();
+
+    try (DeferredChunkVerifier verifier = new DeferredChunkVerifier(16,
+        (c, b, info, writeContext) -> {
+          verified.add(info);
+          if (info.getChunkName().endsWith("_first")) {
+            started.countDown();
+            try {
+              blocked.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          } else if (info.getChunkName().endsWith("_last")) {
+            done.countDown();
+          } else if (info.getLen() != 512) {
+            // the data on disk is of the overwrite, which has a different length and checksums
+            throw new OzoneChecksumException("Checksum mismatch: " + info);
+          }
+        },
+        (c, errors) -> reported.addAll(errors))) {
+      // block the thread so that the following chunks are overwritten before they are verified
+      submit(verifier, container, blockID, new ChunkInfo("1_chunk_first", 0, 1));
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+
+      // overwritten and submitted again, e.g. by a retry
+      final ChunkInfo written = newChunk(1, 1);
+      verifier.onWrite(container, blockID, written);
+      submit(verifier, container, blockID, written);
+      final ChunkInfo overwritten = new ChunkInfo(written.getChunkName(), written.getOffset(), 512);
+      verifier.onWrite(container, blockID, overwritten);
+      submit(verifier, container, blockID, overwritten);
+
+      // overwritten without being submitted, e.g. when the queue is full
+      final ChunkInfo unsubmitted = newChunk(1, 2);
+      verifier.onWrite(container, blockID, unsubmitted);
+      submit(verifier, container, blockID, unsubmitted);
+      verifier.onWrite(container, blockID, unsubmitted);
+
+      submit(verifier, container, blockID, new ChunkInfo("1_chunk_last", 4096, 1));
+      blocked.countDown();
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+
+      // only the latest write of each chunk is verified, and the earlier writes are not reported
+      assertEquals(3, verified.size());
+      assertEquals(overwritten.getChunkName(), verified.get(1).getChunkName());
+      assertEquals(overwritten.getLen(), verified.get(1).getLen());
+      assertThat(reported).isEmpty();
+    }
+  }
+
+  @Test
+  void testQueueFull() throws Exception {
+    final KeyValueContainer container = newContainer(1);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch blocked = new CountDownLatch(1);
+
+    try (DeferredChunkVerifier verifier = new DeferredChunkVerifier(2,
+        (c, blockID, info, writeContext) -> {
+          started.countDown();
+          try {
+            blocked.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        },
+        (c, errors) -> { })) {
+      final BlockID blockID = new BlockID(1, 1);
+      // the first chunk is taken by the thread, which is then blocked
+      submit(verifier, container, blockID, newChunk(1, 0));
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+      // the place is given back since the chunk is not written
+      assertTrue(verifier.reserve(volume));
+      verifier.cancel(volume);
+      submit(verifier, container, blockID, newChunk(1, 1));
+      // the queue is full until the places are released by the thread
+      assertFalse(verifier.reserve(volume));
+      blocked.countDown();
+      GenericTestUtils.waitFor(() -> verifier.reserve(volume), 10, 10_000);
+
+      verifier.close();
+      assertFalse(verifier.reserve(mock(HddsVolume.class)));
+    }
+  }
+}
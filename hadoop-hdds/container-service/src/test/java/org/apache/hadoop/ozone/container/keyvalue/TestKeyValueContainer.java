@@ -26,6 +26,7 @@
 import static org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerUtil.isSameSchemaVersion;
 import static org.apache.hadoop.ozone.container.replication.CopyContainerCompression.NO_COMPRESSION;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
@@ -50,7 +51,9 @@
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -93,6 +96,7 @@
 import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerUtil;
 import org.apache.hadoop.ozone.container.metadata.AbstractDatanodeStore;
 import org.apache.hadoop.ozone.container.metadata.DatanodeStore;
+import org.apache.hadoop.ozone.container.replication.ContainerImporter;
 import org.apache.hadoop.ozone.container.replication.CopyContainerCompression;
 import org.apache.hadoop.util.DiskChecker;
 import org.junit.jupiter.api.AfterEach;
@@ -294,6 +298,66 @@ public void testEmptyContainerImportExport(
     checkContainerFilesPresent(data, 0);
   }
 
+  @ContainerTestVersionInfo.ContainerTest
+  public void testStreamedContainerImportExport(
+      ContainerTestVersionInfo versionInfo) throws Exception {
+    init(versionInfo);
+    createContainer();
+    long numberOfKeysToWrite = 12;
+    populate(numberOfKeysToWrite);
+    closeContainer();
+
+    KeyValueContainerData data = keyValueContainer.getContainerData();
+    Path chunkFile = Paths.get(data.getChunksPath()).resolve("1.block");
+    Files.write(chunkFile, new byte[] {1, 2, 3});
+    checkContainerFilesPresent(data, 1);
+
+    // Export the files to where they would be streamed to.
+    Path streamedDir = StreamedContainerPacker.getStreamingDirectory(
+        ContainerImporter.getUntarDirectory(data.getVolume()),
+        data.getContainerID());
+    keyValueContainer.exportContainerFiles(streamedDir);
+    assertTrue(Files.exists(streamedDir.resolve(
+        StreamedContainerPacker.CONTAINER_FILE_NAME)));
+
+    KeyValueContainerUtil.removeContainer(data, CONF);
+    keyValueContainer.delete();
+
+    keyValueContainer.importContainerData(null,
+        new StreamedContainerPacker());
+
+    checkContainerFilesPresent(data, 1);
+    assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(chunkFile));
+    assertEquals(numberOfKeysToWrite, data.getBlockCount());
+    assertFalse(Files.exists(streamedDir));
+  }
+
+  @ContainerTestVersionInfo.ContainerTest
+  public void testExportChunkFiles(ContainerTestVersionInfo versionInfo)
+      throws Exception {
+    init(versionInfo);
+    createContainer();
+    closeContainer();
+
+    KeyValueContainerData data = keyValueContainer.getContainerData();
+    Path chunksDir = Paths.get(data.getChunksPath());
+    Files.write(chunksDir.resolve("1.block"), new byte[] {1, 2, 3});
+    Files.write(chunksDir.resolve("2.block"), new byte[] {4, 5});
+
+    Path exportDir = folder.toPath().resolve("export");
+    keyValueContainer.exportChunkFiles(exportDir,
+        name -> name.equals("chunks/1.block"));
+
+    // Only the selected chunk file is exported, without any metadata.
+    try (Stream<Path> files = Files.walk(exportDir)) {
+      assertEquals(Collections.singletonList(
+              exportDir.resolve("chunks").resolve("1.block")),
+          files.filter(Files::isRegularFile).collect(Collectors.toList()));
+    }
+    assertArrayEquals(new byte[] {1, 2, 3},
+        Files.readAllBytes(exportDir.resolve("chunks").resolve("1.block")));
+  }
+
   @ContainerTestVersionInfo.ContainerTest
   public void testEmptyMerkleTreeImportExport(ContainerTestVersionInfo versionInfo) throws Exception {
     init(versionInfo);
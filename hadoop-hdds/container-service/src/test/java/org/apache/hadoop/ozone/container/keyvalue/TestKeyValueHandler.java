@@ -301,7 +301,7 @@ public void testHandlerCommandHandling() throws Exception {
     KeyValueHandler
         .dispatchRequest(handler, getSmallFileRequest, container, null);
     verify(handler, times(1)).handleGetSmallFile(
-        any(ContainerCommandRequestProto.class), any());
+        any(ContainerCommandRequestProto.class), any(), any());
 
     // Test Finalize Block Request handling
     ContainerCommandRequestProto finalizeBlock =
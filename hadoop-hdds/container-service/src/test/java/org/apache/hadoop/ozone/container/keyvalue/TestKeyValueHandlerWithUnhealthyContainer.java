@@ -196,7 +196,7 @@ public void testGetSmallFile() {
         handler.handleGetSmallFile(
             getDummyCommandRequestProto(
                 ContainerProtos.Type.GetSmallFile),
-            container);
+            container, null);
     assertEquals(UNKNOWN_BCSID, response.getResult());
   }
 
@@ -51,6 +51,7 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
+import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.keyvalue.impl.MappedBufferManager;
 import org.apache.ozone.test.GenericTestUtils;
 import org.junit.jupiter.api.Test;
@@ -77,8 +78,11 @@ class TestChunkUtils {
   static ChunkBuffer readData(File file, long off, long len)
       throws StorageContainerException {
     LOG.info("off={}, len={}", off, len);
+    final DispatcherContext context = DispatcherContext.newBuilder(DispatcherContext.Op.HANDLE_READ_CHUNK)
+        .setReleaseSupported(true)
+        .build();
     return ChunkUtils.readData(len, BUFFER_CAPACITY, file, off, null,
-        MAPPED_BUFFER_THRESHOLD, true, MAPPED_BUFFER_MANAGER);
+        MAPPED_BUFFER_THRESHOLD, MAPPED_BUFFER_MANAGER, 1, context);
   }
 
   @Test
@@ -135,6 +135,35 @@ public void testMultipleWriteSingleRead() throws Exception {
         Hex.encodeHexString(newSha.digest()));
   }
 
+  /**
+   * Dropping the written pages from the page cache must not affect the data read back.
+   */
+  @Test
+  public void testWriteWithDropCacheBehind() throws Exception {
+    final int datalen = 1024 * 1024;
+    final int chunkCount = Math.toIntExact(2 * FilePerBlockStrategy.CACHE_DROP_LAG_BYTES / datalen);
+
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ChunkManager subject = new FilePerBlockStrategy(false, null, true);
+    List<ChunkInfo> chunks = new ArrayList<>();
+    List<ChunkBuffer> written = new ArrayList<>();
+    for (int x = 0; x < chunkCount; x++) {
+      ChunkInfo info = getChunk(blockID.getLocalID(), x, (long) x * datalen, datalen);
+      ChunkBuffer data = ContainerTestHelper.getData(datalen);
+      setDataChecksum(info, data);
+      subject.writeChunk(container, blockID, info, data, WRITE_STAGE);
+      chunks.add(info);
+      written.add(data);
+    }
+
+    for (int x = 0; x < chunkCount; x++) {
+      final ChunkBufferToByteString readData = subject.readChunk(container, blockID, chunks.get(x), null);
+      assertEquals(written.get(x).rewind().toByteString(), readData.toByteString());
+    }
+    subject.shutdown();
+  }
+
   /**
    * Test partial within a single chunk.
    */
@@ -18,28 +18,138 @@
 package org.apache.hadoop.ozone.container.keyvalue.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 /**
  * Test for MappedBufferManager.
  */
 public class TestMappedBufferManager {
+  private static final long CONTAINER = 2;
+  private static final String FILE =
+      "/CID-fd49f4a7-670d-43c5-a177-8ac03aafceb2/current/containerDir0/2/chunks/113750153625600065.block";
+
+  private VolumeIOStats stats;
+  private HddsVolume volume;
+
+  @BeforeEach
+  public void setup() {
+    stats = new VolumeIOStats("TestMappedBufferManager", "/data/hdds", new int[] {60});
+    volume = newVolume("/data/hdds", stats);
+  }
+
+  @AfterEach
+  public void cleanup() {
+    stats.unregister();
+  }
+
+  private static HddsVolume newVolume(String dir, VolumeIOStats stats) {
+    final HddsVolume v = mock(HddsVolume.class);
+    when(v.getStorageDir()).thenReturn(new File(dir));
+    when(v.getVolumeIOStats()).thenReturn(stats);
+    return v;
+  }
 
   @Test
   public void testComputeIfAbsent() {
     MappedBufferManager manager = new MappedBufferManager(100);
-    String file = "/CID-fd49f4a7-670d-43c5-a177-8ac03aafceb2/current/containerDir0/2/chunks/113750153625600065.block";
     long position = 0;
     int size = 1024;
     ByteBuffer buffer1 = ByteBuffer.allocate(size);
     ByteBuffer buffer2 = ByteBuffer.allocate(size + 1);
-    ByteBuffer byteBuffer1 = manager.computeIfAbsent(file, position, size, () -> buffer1);
-    assertEquals(buffer1, byteBuffer1);
+    MappedBufferManager.Region region1 = manager.computeIfAbsent(volume, CONTAINER, FILE, position, size,
+        () -> buffer1);
+    assertEquals(buffer1, region1.getBuffer());
     // buffer should be reused
-    String file2 = "/CID-fd49f4a7-670d-43c5-a177-8ac03aafceb2/current/containerDir0/2/chunks/113750153625600065.block";
-    ByteBuffer byteBuffer2 = manager.computeIfAbsent(file2, position, size, () -> buffer2);
-    assertEquals(buffer1, byteBuffer2);
+    MappedBufferManager.Region region2 = manager.computeIfAbsent(volume, CONTAINER, FILE, position, size,
+        () -> buffer2);
+    assertSame(region1, region2);
+    assertEquals(1, stats.getMappedBufferHits());
+    assertEquals(1, stats.getMappedBufferMisses());
+
+    // a failed mapping is not cached
+    assertNull(manager.computeIfAbsent(volume, CONTAINER, FILE, size, size, () -> null));
+    assertEquals(1, manager.size());
+  }
+
+  @Test
+  public void testEviction() {
+    MappedBufferManager manager = new MappedBufferManager(2);
+    final HddsVolume otherVolume = newVolume("/data/hdds2", null);
+    final List<MappedBufferManager.Region> regions = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      regions.add(computeIfAbsent(manager, volume, FILE, i));
+      regions.add(computeIfAbsent(manager, otherVolume, FILE, i));
+    }
+    // each volume has its own capacity
+    assertEquals(4, manager.size());
+    assertEquals(1, stats.getMappedBufferEvictions());
+
+    // the evicted regions are released once their reads are released
+    regions.forEach(MappedBufferManager.Region::release);
+    for (int i = 0; i < regions.size(); i++) {
+      assertEquals(i < 2, regions.get(i).isReleased());
+    }
+
+    // the least recently used region has been evicted
+    computeIfAbsent(manager, volume, FILE, 0);
+    assertEquals(4, stats.getMappedBufferMisses());
+    assertEquals(0, stats.getMappedBufferHits());
+  }
+
+  @Test
+  public void testReleaseAfterRead() {
+    MappedBufferManager manager = new MappedBufferManager(1);
+    final MappedBufferManager.Region region = computeIfAbsent(manager, volume, FILE, 0);
+    computeIfAbsent(manager, volume, FILE, 1).release();
+    // the evicted region is still used by the read
+    assertFalse(region.isReleased());
+    region.release();
+    assertTrue(region.isReleased());
+
+    // a released region is not reused
+    assertNotSame(region, computeIfAbsent(manager, volume, FILE, 0));
+  }
+
+  @Test
+  public void testInvalidate() {
+    MappedBufferManager manager = new MappedBufferManager(10);
+    final String otherFile = FILE.replace("113750153625600065", "113750153625600066");
+    final MappedBufferManager.Region region = computeIfAbsent(manager, volume, FILE, 0);
+    region.release();
+    computeIfAbsent(manager, volume, FILE, 1).release();
+    computeIfAbsent(manager, volume, otherFile, 0).release();
+    manager.computeIfAbsent(volume, CONTAINER + 1, otherFile, 1, 1, () -> ByteBuffer.allocate(1)).release();
+    assertEquals(4, manager.size());
+
+    manager.invalidate(CONTAINER, FILE);
+    assertEquals(2, manager.size());
+    assertTrue(region.isReleased());
+    assertEquals(0, stats.getMappedBufferEvictions());
+
+    manager.invalidateContainer(CONTAINER);
+    assertEquals(1, manager.size());
+    manager.invalidateContainer(CONTAINER + 1);
+    assertEquals(0, manager.size());
+  }
+
+  private static MappedBufferManager.Region computeIfAbsent(MappedBufferManager manager, HddsVolume volume,
+      String file, long position) {
+    return manager.computeIfAbsent(volume, CONTAINER, file, position, 1, () -> ByteBuffer.allocate(1));
   }
 }
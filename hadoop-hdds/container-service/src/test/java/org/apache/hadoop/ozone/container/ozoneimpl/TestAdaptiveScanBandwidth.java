@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.ozoneimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AdaptiveScanBandwidth}.
+ */
+public class TestAdaptiveScanBandwidth {
+  private static final long MIN = OzoneConsts.MB;
+  private static final long MAX = OzoneConsts.MB * 8;
+  private static final long INTERVAL = 1000;
+
+  private VolumeIOStats stats;
+  private AdaptiveScanBandwidth bandwidth;
+  private long now;
+  private long ops;
+  private long opTime;
+
+  @BeforeEach
+  public void setup() {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setLong(ContainerScannerConfiguration.VOLUME_BYTES_PER_SECOND_KEY,
+        OzoneConsts.MB * 2);
+    conf.setLong(ContainerScannerConfiguration.VOLUME_MIN_BYTES_PER_SECOND_KEY,
+        MIN);
+    conf.setLong(ContainerScannerConfiguration.VOLUME_MAX_BYTES_PER_SECOND_KEY,
+        MAX);
+    conf.set(ContainerScannerConfiguration.ADAPTIVE_LATENCY_THRESHOLD_KEY,
+        "10ms");
+    conf.set(ContainerScannerConfiguration.ADAPTIVE_INTERVAL_KEY, "1s");
+    stats = mock(VolumeIOStats.class);
+    bandwidth = new AdaptiveScanBandwidth(
+        conf.getObject(ContainerScannerConfiguration.class), stats, now);
+  }
+
+  @Test
+  public void keepsBandwidthWithinInterval() {
+    addForegroundOps(100, 100 * 100);
+    assertEquals(OzoneConsts.MB * 2, bandwidth.getBandwidth(INTERVAL - 1));
+  }
+
+  @Test
+  public void speedsUpWhenIdle() {
+    assertEquals(OzoneConsts.MB * 4, advance());
+    assertEquals(MAX, advance());
+    assertEquals(MAX, advance());
+  }
+
+  @Test
+  public void backsOffUnderLoad() {
+    addForegroundOps(100, 100 * 20);
+    assertEquals(MIN, advance());
+    addForegroundOps(100, 100 * 20);
+    assertEquals(MIN, advance());
+  }
+
+  @Test
+  public void growsSlowlyUnderLightLoad() {
+    addForegroundOps(100, 100 * 5);
+    assertEquals(OzoneConsts.MB * 3, advance());
+    addForegroundOps(100, 100 * 5);
+    assertEquals(OzoneConsts.MB * 4, advance());
+  }
+
+  private long advance() {
+    now += INTERVAL;
+    return bandwidth.getBandwidth(now);
+  }
+
+  private void addForegroundOps(long count, long time) {
+    ops += count;
+    opTime += time;
+    when(stats.getReadOpCount()).thenReturn(ops);
+    when(stats.getCumulativeReadTime()).thenReturn(opTime);
+  }
+}
@@ -21,13 +21,18 @@
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.DatanodeID;
 import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.apache.hadoop.ozone.container.replication.ReplicationServer.ReplicationConfig;
 import org.apache.hadoop.util.Time;
 import org.junit.jupiter.api.Test;
 
@@ -120,4 +125,63 @@ public void test() throws InterruptedException {
         .withFailMessage("Execution was too slow : " + executionTime + " ms")
         .isLessThan(100_000);
   }
+
+  /**
+   * Compares the first-come first-served scheduling to the per volume
+   * queues, if one of the local volumes is much slower than the others.
+   */
+  @Test
+  public void slowVolume() throws InterruptedException {
+    final List<String> volumes =
+        Arrays.asList("slow", "fast-1", "fast-2", "fast-3");
+    final Map<String, Object> volumeLocks = new HashMap<>();
+    for (String volume : volumes) {
+      volumeLocks.put(volume, new Object());
+    }
+    final ReplicationConfig replicationConfig =
+        new OzoneConfiguration().getObject(ReplicationConfig.class);
+    replicationConfig.setReplicationMaxStreams(volumes.size());
+    replicationConfig.setVolumeStreamsLimit(1);
+
+    //import to the volume chosen by the scheduler, or round-robin
+    final AtomicInteger nextVolume = new AtomicInteger();
+    ContainerReplicator replicator = task -> {
+      final String volume = task.getVolume() != null ? task.getVolume()
+          : volumes.get(nextVolume.getAndIncrement() % volumes.size());
+      //the volume is busy during the import
+      synchronized (volumeLocks.get(volume)) {
+        try {
+          Thread.sleep(volume.equals("slow") ? 1000 : 100);
+        } catch (InterruptedException ex) {
+          throw new IllegalStateException(ex);
+        }
+      }
+    };
+
+    final long fifoTime = replicate(ReplicationSupervisor.newBuilder()
+        .replicationConfig(replicationConfig)
+        .executor(Executors.newFixedThreadPool(volumes.size()))
+        .build(), replicator);
+    final long volumeAwareTime = replicate(ReplicationSupervisor.newBuilder()
+        .replicationConfig(replicationConfig)
+        .volumes(() -> volumes)
+        .build(), replicator);
+
+    // Not asserted, since the wall-clock times vary between runs,
+    // see TestReplicationTaskQueue for the scheduling order.
+    System.out.println("First-come first-served: " + fifoTime + " ms, "
+        + "per volume queues: " + volumeAwareTime + " ms");
+  }
+
+  private long replicate(ReplicationSupervisor rs,
+      ContainerReplicator replicator) throws InterruptedException {
+    final List<DatanodeDetails> sources = new ArrayList<>();
+    sources.add(MockDatanodeDetails.randomDatanodeDetails());
+    final long start = Time.monotonicNow();
+    for (int i = 0; i < 40; i++) {
+      rs.addTask(new ReplicationTask(fromSources(i, sources), replicator));
+    }
+    rs.shutdownAfterFinish();
+    return Time.monotonicNow() - start;
+  }
 }
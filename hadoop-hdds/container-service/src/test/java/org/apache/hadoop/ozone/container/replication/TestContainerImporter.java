@@ -21,6 +21,7 @@
 import static org.apache.hadoop.ozone.container.replication.CopyContainerCompression.NO_COMPRESSION;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.anyLong;
@@ -40,6 +41,7 @@
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -234,6 +236,21 @@ public void testImportContainerResetsLastScanTime() throws Exception {
     assertEquals(Optional.empty(), containerData.lastDataScanTime());
   }
 
+  @Test
+  public void testCleanupExportDirectories() throws Exception {
+    HddsVolume volume = StorageVolumeUtil.getHddsVolumesList(
+        volumeSet.getVolumesList()).get(0);
+    Path exportDir = ContainerImporter.getExportDirectory(volume);
+    Path leftover = exportDir.resolve("1-stream").resolve("chunk");
+    Files.createDirectories(leftover.getParent());
+    Files.write(leftover, new byte[] {1});
+
+    containerImporter.cleanupExportDirectories();
+    assertFalse(Files.exists(exportDir));
+    // nothing to do when there is no export directory
+    containerImporter.cleanupExportDirectories();
+  }
+
   private File containerTarFile(long id, ContainerData data) throws IOException {
     File yamlFile = new File(tempDir, "container.yaml");
     ContainerDataYaml.createContainerFile(data, yamlFile);
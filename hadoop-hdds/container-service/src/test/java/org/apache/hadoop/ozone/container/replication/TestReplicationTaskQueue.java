@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.replication;
+
+import static org.apache.hadoop.ozone.protocol.commands.ReplicateContainerCommand.fromSources;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ReplicationCommandPriority;
+import org.apache.hadoop.ozone.container.replication.ReplicationSupervisor.TaskRunner;
+import org.apache.hadoop.ozone.protocol.commands.ReplicateContainerCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the scheduling of replication tasks by ReplicationTaskQueue.
+ */
+public class TestReplicationTaskQueue {
+
+  private static final String VOLUME_1 = "volume-1";
+  private static final String VOLUME_2 = "volume-2";
+  private static final int THREADS = 4;
+
+  private ReplicationSupervisor supervisor;
+  private ReplicationTaskQueue queue;
+
+  @BeforeEach
+  public void setUp() {
+    supervisor = ReplicationSupervisor.newBuilder()
+        .executor(mock(ExecutorService.class))
+        .build();
+    queue = new ReplicationTaskQueue(1, THREADS,
+        () -> Arrays.asList(VOLUME_1, VOLUME_2));
+  }
+
+  @Test
+  public void priorityThenDeadlineThenQueueTime() {
+    TaskRunner late = runner(1, null, 0, ReplicationCommandPriority.NORMAL);
+    TaskRunner low = runner(2, null, 1000, ReplicationCommandPriority.LOW);
+    TaskRunner early = runner(3, null, 2000, ReplicationCommandPriority.NORMAL);
+    TaskRunner first = runner(4, null, 1000, ReplicationCommandPriority.NORMAL);
+    queue.addAll(Arrays.asList(late, low, early, first));
+
+    assertEquals(first, queue.poll());
+    assertEquals(early, queue.poll());
+    assertEquals(late, queue.poll());
+    assertEquals(low, queue.poll());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  public void busyVolumeDoesNotBlockOtherVolumes() {
+    TaskRunner slow1 = runner(1, VOLUME_1, 1000, ReplicationCommandPriority.NORMAL);
+    TaskRunner slow2 = runner(2, VOLUME_1, 2000, ReplicationCommandPriority.NORMAL);
+    TaskRunner fast = runner(3, VOLUME_2, 3000, ReplicationCommandPriority.NORMAL);
+    queue.addAll(Arrays.asList(slow1, slow2, fast));
+
+    assertEquals(slow1, queue.poll());
+    // The limit of volume 1 is reached, its tasks wait for other volumes.
+    assertEquals(fast, queue.poll());
+    assertEquals(1, queue.getRunning(VOLUME_1));
+    assertEquals(1, queue.getRunning(VOLUME_2));
+
+    // Nothing else to do, the task of the busy volume is stolen.
+    assertEquals(slow2, queue.poll());
+    assertEquals(2, queue.getRunning(VOLUME_1));
+
+    queue.finished(slow1);
+    queue.finished(slow2);
+    queue.finished(fast);
+    assertEquals(0, queue.getRunning(VOLUME_1));
+    assertEquals(0, queue.getRunning(VOLUME_2));
+  }
+
+  @Test
+  public void slowVolumeLeavesThreadsToOtherVolumes() {
+    TaskRunner slow1 = runner(1, VOLUME_1, 1000, ReplicationCommandPriority.NORMAL);
+    TaskRunner slow2 = runner(2, VOLUME_1, 2000, ReplicationCommandPriority.NORMAL);
+    TaskRunner slow3 = runner(3, VOLUME_1, 3000, ReplicationCommandPriority.NORMAL);
+    TaskRunner slow4 = runner(4, VOLUME_1, 4000, ReplicationCommandPriority.NORMAL);
+    TaskRunner fast1 = runner(5, VOLUME_2, 5000, ReplicationCommandPriority.NORMAL);
+    TaskRunner fast2 = runner(6, VOLUME_2, 6000, ReplicationCommandPriority.NORMAL);
+    queue.addAll(Arrays.asList(slow1, slow2, slow3, slow4, fast1, fast2));
+
+    assertEquals(slow1, queue.poll());
+    assertEquals(fast1, queue.poll());
+    // Both volumes are at the limit, the more urgent tasks are stolen.
+    assertEquals(slow2, queue.poll());
+    assertEquals(slow3, queue.poll());
+    assertEquals(3, queue.getRunning(VOLUME_1));
+
+    // Volume 1 runs all the threads but the one left to volume 2,
+    // although its queued task is more urgent.
+    assertEquals(fast2, queue.poll());
+    assertEquals(3, queue.getRunning(VOLUME_1));
+    assertEquals(2, queue.getRunning(VOLUME_2));
+
+    // No other volume has queued tasks, all the threads can be used.
+    queue.finished(fast1);
+    queue.finished(fast2);
+    assertEquals(slow4, queue.poll());
+    assertEquals(4, queue.getRunning(VOLUME_1));
+    assertNull(queue.poll());
+  }
+
+  @Test
+  public void downloadsAreBoundToLeastBusyVolume() {
+    TaskRunner push = runner(1, VOLUME_1, 1000, ReplicationCommandPriority.NORMAL);
+    TaskRunner download1 = runner(2, null, 2000, ReplicationCommandPriority.NORMAL);
+    TaskRunner download2 = runner(3, null, 3000, ReplicationCommandPriority.NORMAL);
+    queue.addAll(Arrays.asList(push, download1, download2));
+
+    assertEquals(push, queue.poll());
+    assertEquals(download1, queue.poll());
+    assertEquals(VOLUME_2, download1.getTask().getVolume());
+
+    // Both volumes are at the limit, so the task is stolen.
+    assertEquals(download2, queue.poll());
+    assertEquals(3, queue.getRunning(VOLUME_1) + queue.getRunning(VOLUME_2));
+
+    queue.finished(push);
+    queue.finished(download1);
+    queue.finished(download2);
+  }
+
+  @Test
+  public void downloadsWithoutKnownVolumes() {
+    queue = new ReplicationTaskQueue(1, THREADS, Collections::emptyList);
+    TaskRunner download = runner(1, null, 0, ReplicationCommandPriority.NORMAL);
+    queue.add(download);
+
+    assertEquals(download, queue.poll());
+    assertNull(download.getTask().getVolume());
+  }
+
+  private TaskRunner runner(long containerId, String volume, long deadline,
+      ReplicationCommandPriority priority) {
+    ReplicateContainerCommand cmd = fromSources(containerId,
+        Collections.singletonList(MockDatanodeDetails.randomDatanodeDetails()));
+    cmd.setDeadline(deadline);
+    cmd.setPriority(priority);
+    ReplicationTask task = new ReplicationTask(cmd, t -> { });
+    task.setVolume(volume);
+    return supervisor.new TaskRunner(task);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.replication;
+
+import static org.apache.hadoop.ozone.container.replication.ContainerStreamingSource.STRIPE_BUCKETS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the selection of sources by StreamingContainerDownloader.
+ */
+public class TestStreamingContainerDownloader {
+
+  private StreamingContainerDownloader downloader;
+
+  @BeforeEach
+  public void setUp() {
+    downloader = new StreamingContainerDownloader(
+        new OzoneConfiguration(), null);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    downloader.close();
+  }
+
+  @Test
+  public void stripesAreProportionalToWeights() {
+    assertArrayEquals(new int[] {0, STRIPE_BUCKETS},
+        StreamingContainerDownloader.getStripeBounds(new double[] {5}));
+    assertArrayEquals(
+        new int[] {0, STRIPE_BUCKETS / 2, STRIPE_BUCKETS * 3 / 4,
+            STRIPE_BUCKETS},
+        StreamingContainerDownloader.getStripeBounds(
+            new double[] {2, 1, 1}));
+  }
+
+  @Test
+  public void fastestSourceFirst() {
+    DatanodeDetails slow = MockDatanodeDetails.randomDatanodeDetails();
+    DatanodeDetails fast = MockDatanodeDetails.randomDatanodeDetails();
+    DatanodeDetails unknown = MockDatanodeDetails.randomDatanodeDetails();
+
+    downloader.updateThroughput(slow, 100, 1_000_000_000L);
+    downloader.updateThroughput(fast, 300, 1_000_000_000L);
+
+    assertEquals(100, downloader.getThroughput(slow));
+    assertEquals(300, downloader.getThroughput(fast));
+    // Unknown sources are treated as average.
+    assertEquals(200, downloader.getThroughput(unknown));
+
+    List<DatanodeDetails> ordered = downloader.orderByThroughput(
+        Arrays.asList(slow, unknown, fast));
+    assertEquals(Arrays.asList(fast, unknown, slow), ordered);
+  }
+
+  @Test
+  public void throughputFollowsRecentDownloads() {
+    DatanodeDetails datanode = MockDatanodeDetails.randomDatanodeDetails();
+
+    downloader.updateThroughput(datanode, 400, 1_000_000_000L);
+    downloader.updateThroughput(datanode, 200, 1_000_000_000L);
+    assertEquals(300, downloader.getThroughput(datanode));
+
+    // Nothing was transferred, e.g. all files were skipped.
+    downloader.updateThroughput(datanode, 0, 1_000_000_000L);
+    assertEquals(300, downloader.getThroughput(datanode));
+  }
+}
@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.container.stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.netty.buffer.ByteBuf;
@@ -27,6 +28,8 @@
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -113,6 +116,22 @@ public void splitContent() throws IOException {
     assertEquals("yyy", getContent("bsd.txt"));
   }
 
+  @Test
+  public void skippedFile() throws IOException {
+
+    final DirstreamClientHandler handler = new DirstreamClientHandler(
+        new DirectoryServerDestination(
+            tmpDir));
+
+    handler.doRead(null, wrap("-1 asd.txt\n4 bsd.txt\nxxxx0 END"));
+
+    assertFalse(Files.exists(tmpDir.resolve("asd.txt")));
+    assertEquals("xxxx", getContent("bsd.txt"));
+    assertEquals(new HashSet<>(Arrays.asList("asd.txt", "bsd.txt")),
+        handler.getReceivedFiles());
+    assertTrue(handler.isAtTheEnd());
+  }
+
   @Nonnull
   private String getContent(String name) throws IOException {
     return new String(Files.readAllBytes(tmpDir.resolve(name)),
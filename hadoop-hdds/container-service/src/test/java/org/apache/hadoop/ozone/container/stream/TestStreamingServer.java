@@ -17,9 +17,16 @@
 
 package org.apache.hadoop.ozone.container.stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
@@ -27,7 +34,11 @@
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -65,6 +76,71 @@ public void simpleStream() throws Exception {
 
   }
 
+  @Test
+  public void skipFiles() throws Exception {
+    Files.createDirectories(sourceDir.resolve(SUBDIR));
+    Files.createDirectories(destDir.resolve(SUBDIR));
+
+    //GIVEN: generate files, one of them is already received
+    Files.write(sourceDir.resolve(SUBDIR).resolve("file1"), CONTENT);
+    Files.write(sourceDir.resolve(SUBDIR).resolve("file2"), CONTENT);
+    final byte[] received = new byte[CONTENT.length];
+    Files.write(destDir.resolve(SUBDIR).resolve("file1"), received);
+
+    //WHEN: stream subdir without the received file
+    final Set<String> receivedFiles;
+    try (StreamingServer server = new StreamingServer(
+        new DirectoryServerSource(sourceDir), 0)) {
+      server.start();
+      try (StreamingClient client =
+               new StreamingClient("localhost", server.getPort(),
+                   new DirectoryServerDestination(
+                       destDir))) {
+        client.stream(SUBDIR,
+            Collections.singletonList(SUBDIR + "/file1"),
+            10L, TimeUnit.SECONDS);
+        receivedFiles = client.getReceivedFiles();
+      }
+    }
+
+    //THEN: only the other file is transferred, both are confirmed
+    assertArrayEquals(received,
+        Files.readAllBytes(destDir.resolve(SUBDIR).resolve("file1")));
+    assertArrayEquals(CONTENT,
+        Files.readAllBytes(destDir.resolve(SUBDIR).resolve("file2")));
+    assertEquals(new HashSet<>(
+            Arrays.asList(SUBDIR + "/file1", SUBDIR + "/file2")),
+        receivedFiles);
+  }
+
+  @Test
+  public void skippedFileWithDifferentSize() throws Exception {
+    Files.createDirectories(sourceDir.resolve(SUBDIR));
+    Files.createDirectories(destDir.resolve(SUBDIR));
+
+    //GIVEN: the client has a truncated copy of the file
+    Files.write(sourceDir.resolve(SUBDIR).resolve("file1"), CONTENT);
+    Files.write(destDir.resolve(SUBDIR).resolve("file1"),
+        Arrays.copyOf(CONTENT, CONTENT.length / 2));
+
+    //WHEN: stream subdir without the received file
+    try (StreamingServer server = new StreamingServer(
+        new DirectoryServerSource(sourceDir), 0)) {
+      server.start();
+      try (StreamingClient client =
+               new StreamingClient("localhost", server.getPort(),
+                   new DirectoryServerDestination(destDir))) {
+        client.stream(SUBDIR,
+            Collections.singletonList(SUBDIR + "/file1"),
+            10L, TimeUnit.SECONDS);
+      }
+    }
+
+    //THEN: the file is sent again
+    assertArrayEquals(CONTENT,
+        Files.readAllBytes(destDir.resolve(SUBDIR).resolve("file1")));
+  }
+
   @Test
   public void ssl() throws Exception {
 
@@ -126,6 +202,29 @@ public void failedStream() throws Exception {
 
   }
 
+  @Test
+  public void headerTooLong() throws Exception {
+    EmbeddedChannel channel = new EmbeddedChannel(
+        new DirstreamServerHandler(new DirectoryServerSource(sourceDir), 16));
+
+    //WHEN: the request line does not end within the limit
+    channel.writeInbound(Unpooled.copiedBuffer(SUBDIR + "\tfile1",
+        StandardCharsets.UTF_8));
+    assertTrue(channel.isActive());
+    channel.writeInbound(Unpooled.copiedBuffer("\tfile2\tfile3",
+        StandardCharsets.UTF_8));
+
+    //THEN: the request is rejected
+    ByteBuf response = channel.readOutbound();
+    try {
+      assertThat(response.toString(StandardCharsets.UTF_8))
+          .startsWith("ERR: StreamingException");
+    } finally {
+      response.release();
+    }
+    assertFalse(channel.isActive());
+  }
+
   @Test
   public void timeout() throws Exception {
     Files.createDirectories(sourceDir.resolve(SUBDIR));
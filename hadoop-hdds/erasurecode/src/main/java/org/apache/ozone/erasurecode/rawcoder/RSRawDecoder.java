@@ -80,7 +80,7 @@ protected void doDecode(ByteBufferDecodingState decodingState) {
     for (int i = 0; i < getNumDataUnits(); i++) {
       realInputs[i] = decodingState.inputs[validIndexes[i]];
     }
-    RSUtil.encodeData(gfTables, realInputs, decodingState.outputs);
+    decodeData(gfTables, realInputs, decodingState.outputs);
   }
 
   @Override
@@ -96,10 +96,30 @@ protected void doDecode(ByteArrayDecodingState decodingState) {
       realInputs[i] = decodingState.inputs[validIndexes[i]];
       realInputOffsets[i] = decodingState.inputOffsets[validIndexes[i]];
     }
-    RSUtil.encodeData(gfTables, dataLen, realInputs, realInputOffsets,
+    decodeData(gfTables, dataLen, realInputs, realInputOffsets,
         decodingState.outputs, decodingState.outputOffsets);
   }
 
+  /**
+   * Multiply the valid inputs with the decoding tables into the outputs,
+   * see {@link RSUtil#encodeData(byte[], ByteBuffer[], ByteBuffer[])}.
+   */
+  protected void decodeData(byte[] tables, ByteBuffer[] inputs,
+      ByteBuffer[] outputs) {
+    RSUtil.encodeData(tables, inputs, outputs);
+  }
+
+  /**
+   * Multiply the valid inputs with the decoding tables into the outputs,
+   * see {@link RSUtil#encodeData(byte[], int, byte[][], int[], byte[][],
+   * int[])}.
+   */
+  protected void decodeData(byte[] tables, int dataLen, byte[][] inputs,
+      int[] inputOffsets, byte[][] outputs, int[] outputOffsets) {
+    RSUtil.encodeData(tables, dataLen, inputs, inputOffsets, outputs,
+        outputOffsets);
+  }
+
   private <T> void prepareDecoding(T[] inputs, int[] erasedIndexes) {
     int[] tmpValidIndexes = CoderUtil.getValidIndexes(inputs);
     if (Arrays.equals(this.cachedErasedIndexes, erasedIndexes) &&
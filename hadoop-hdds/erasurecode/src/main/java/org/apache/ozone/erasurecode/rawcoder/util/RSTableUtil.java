@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ozone.erasurecode.rawcoder.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+
+/**
+ * Table driven Reed-Solomon encoding, an alternative of
+ * {@link RSUtil#encodeData} for environments without the native coder.
+ * <p>
+ * The data is processed in segments small enough for all the inputs and
+ * outputs of a segment to stay in the CPU cache, instead of going over each
+ * input once per output. Direct buffers are copied to heap arrays in bulk per
+ * segment, so that the inner loop only accesses byte arrays, which the JIT
+ * compiles without per-byte bound and address checks of
+ * {@link ByteBuffer#get(int)}. A coefficient of 0 is skipped and a coefficient
+ * of 1 is a plain XOR.
+ */
+@InterfaceAudience.Private
+public final class RSTableUtil {
+  /** The number of bytes of each input and output in a segment. */
+  public static final int SEGMENT_SIZE = 4 * 1024;
+
+  private static final ThreadLocal<byte[]> SCRATCH =
+      ThreadLocal.withInitial(() -> new byte[0]);
+
+  private RSTableUtil() {
+  }
+
+  /**
+   * The same as {@link RSUtil#encodeData(byte[], int, byte[][], int[],
+   * byte[][], int[])}.
+   */
+  public static void encodeData(byte[] gfTables, int dataLen, byte[][] inputs,
+      int[] inputOffsets, byte[][] outputs, int[] outputOffsets) {
+    final byte[][] tableLines = getTableLines(gfTables, inputs.length,
+        outputs.length);
+    final int[] inputPositions = new int[inputs.length];
+    final int[] outputPositions = new int[outputs.length];
+    for (int offset = 0; offset < dataLen; offset += SEGMENT_SIZE) {
+      for (int j = 0; j < inputs.length; j++) {
+        inputPositions[j] = inputOffsets[j] + offset;
+      }
+      for (int l = 0; l < outputs.length; l++) {
+        outputPositions[l] = outputOffsets[l] + offset;
+      }
+      encodeSegment(tableLines, Math.min(SEGMENT_SIZE, dataLen - offset),
+          inputs, inputPositions, outputs, outputPositions);
+    }
+  }
+
+  /**
+   * The same as {@link RSUtil#encodeData(byte[], ByteBuffer[],
+   * ByteBuffer[])}.
+   * The outputs are expected to be zero-filled, and the positions of the
+   * inputs and outputs are not changed.
+   */
+  public static void encodeData(byte[] gfTables, ByteBuffer[] inputs,
+      ByteBuffer[] outputs) {
+    final int numInputs = inputs.length;
+    final int numOutputs = outputs.length;
+    final int dataLen = inputs[0].remaining();
+    final byte[][] tableLines = getTableLines(gfTables, numInputs, numOutputs);
+
+    // Heap buffers are accessed through their backing arrays, and direct
+    // buffers are copied in and out of their own segment of a scratch array.
+    final byte[] scratch = getScratch(numInputs + numOutputs);
+    final byte[][] inputArrays = new byte[numInputs][];
+    final int[] inputPositions = new int[numInputs];
+    final byte[][] outputArrays = new byte[numOutputs][];
+    final int[] outputPositions = new int[numOutputs];
+    for (int j = 0; j < numInputs; j++) {
+      inputArrays[j] = inputs[j].hasArray() ? inputs[j].array() : scratch;
+    }
+    for (int l = 0; l < numOutputs; l++) {
+      outputArrays[l] = outputs[l].hasArray() ? outputs[l].array() : scratch;
+    }
+
+    for (int offset = 0; offset < dataLen; offset += SEGMENT_SIZE) {
+      final int length = Math.min(SEGMENT_SIZE, dataLen - offset);
+      int scratchOffset = 0;
+      for (int j = 0; j < numInputs; j++) {
+        final ByteBuffer input = inputs[j];
+        if (input.hasArray()) {
+          inputPositions[j] = input.arrayOffset() + input.position() + offset;
+        } else {
+          inputPositions[j] = scratchOffset;
+          scratchOffset += SEGMENT_SIZE;
+          final ByteBuffer src = input.duplicate();
+          src.position(input.position() + offset);
+          src.get(scratch, inputPositions[j], length);
+        }
+      }
+      for (int l = 0; l < numOutputs; l++) {
+        final ByteBuffer output = outputs[l];
+        if (output.hasArray()) {
+          outputPositions[l] = output.arrayOffset() + output.position()
+              + offset;
+        } else {
+          outputPositions[l] = scratchOffset;
+          scratchOffset += SEGMENT_SIZE;
+          Arrays.fill(scratch, outputPositions[l],
+              outputPositions[l] + length, (byte) 0);
+        }
+      }
+
+      encodeSegment(tableLines, length,
+          inputArrays, inputPositions, outputArrays, outputPositions);
+
+      for (int l = 0; l < numOutputs; l++) {
+        final ByteBuffer output = outputs[l];
+        if (!output.hasArray()) {
+          final ByteBuffer dst = output.duplicate();
+          dst.position(output.position() + offset);
+          dst.put(scratch, outputPositions[l], length);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the multiplication table lines of the coding coefficients,
+   *         indexed by output * numInputs + input.
+   */
+  private static byte[][] getTableLines(byte[] gfTables, int numInputs,
+      int numOutputs) {
+    final byte[][] lines = new byte[numInputs * numOutputs][];
+    for (int l = 0; l < numOutputs; l++) {
+      for (int j = 0; j < numInputs; j++) {
+        final byte s = gfTables[j * 32 + l * numInputs * 32 + 1];
+        lines[l * numInputs + j] = GF256.gfMulTab()[s & 0xff];
+      }
+    }
+    return lines;
+  }
+
+  private static byte[] getScratch(int numBuffers) {
+    final int size = numBuffers * SEGMENT_SIZE;
+    byte[] scratch = SCRATCH.get();
+    if (scratch.length < size) {
+      scratch = new byte[size];
+      SCRATCH.set(scratch);
+    }
+    return scratch;
+  }
+
+  private static void encodeSegment(byte[][] tableLines, int length,
+      byte[][] inputs, int[] inputPositions,
+      byte[][] outputs, int[] outputPositions) {
+    final int numInputs = inputs.length;
+    for (int l = 0; l < outputs.length; l++) {
+      for (int j = 0; j < numInputs; j++) {
+        mulAndAdd(tableLines[l * numInputs + j], inputs[j], inputPositions[j],
+            outputs[l], outputPositions[l], length);
+      }
+    }
+  }
+
+  /** output[i] ^= coefficient * input[i] for the given length. */
+  private static void mulAndAdd(byte[] tableLine, byte[] input, int iPos,
+      byte[] output, int oPos, int length) {
+    if (tableLine[1] == 0) {
+      return;
+    } else if (tableLine[1] == 1) {
+      for (int i = 0; i < length; i++) {
+        output[oPos + i] ^= input[iPos + i];
+      }
+      return;
+    }
+    for (int i = 0; i < length; i++) {
+      output[oPos + i] ^= tableLine[0xff & input[iPos + i]];
+    }
+  }
+}
@@ -29,6 +29,7 @@
 import org.apache.ozone.erasurecode.rawcoder.NativeRSRawErasureCoderFactory;
 import org.apache.ozone.erasurecode.rawcoder.NativeXORRawErasureCoderFactory;
 import org.apache.ozone.erasurecode.rawcoder.RSRawErasureCoderFactory;
+import org.apache.ozone.erasurecode.rawcoder.RSTableRawErasureCoderFactory;
 import org.apache.ozone.erasurecode.rawcoder.RawErasureCoderFactory;
 import org.apache.ozone.erasurecode.rawcoder.RawErasureDecoder;
 import org.apache.ozone.erasurecode.rawcoder.RawErasureEncoder;
@@ -52,9 +53,10 @@ public void testGetCodecs() {
   public void testGetCoders() {
     List<RawErasureCoderFactory> coders = CodecRegistry.getInstance().
         getCoders(ECReplicationConfig.EcCodec.RS.name().toLowerCase());
-    assertEquals(2, coders.size());
+    assertEquals(3, coders.size());
     assertInstanceOf(NativeRSRawErasureCoderFactory.class, coders.get(0));
-    assertInstanceOf(RSRawErasureCoderFactory.class, coders.get(1));
+    assertInstanceOf(RSTableRawErasureCoderFactory.class, coders.get(1));
+    assertInstanceOf(RSRawErasureCoderFactory.class, coders.get(2));
 
     coders = CodecRegistry.getInstance().
         getCoders(ECReplicationConfig.EcCodec.XOR.name().toLowerCase());
@@ -109,25 +111,28 @@ public String getCodecName() {
     // check RS coders
     List<RawErasureCoderFactory> rsCoders = CodecRegistry.getInstance().
         getCoders(ECReplicationConfig.EcCodec.RS.name().toLowerCase());
-    assertEquals(2, rsCoders.size());
+    assertEquals(3, rsCoders.size());
     assertInstanceOf(NativeRSRawErasureCoderFactory.class, rsCoders.get(0));
-    assertInstanceOf(RSRawErasureCoderFactory.class, rsCoders.get(1));
+    assertInstanceOf(RSTableRawErasureCoderFactory.class, rsCoders.get(1));
+    assertInstanceOf(RSRawErasureCoderFactory.class, rsCoders.get(2));
 
     // check RS coder names
     String[] rsCoderNames = CodecRegistry.getInstance().
         getCoderNames(ECReplicationConfig.EcCodec.RS.name().toLowerCase());
-    assertEquals(2, rsCoderNames.length);
+    assertEquals(3, rsCoderNames.length);
     assertEquals(NativeRSRawErasureCoderFactory.CODER_NAME, rsCoderNames[0]);
-    assertEquals(RSRawErasureCoderFactory.CODER_NAME, rsCoderNames[1]);
+    assertEquals(RSTableRawErasureCoderFactory.CODER_NAME, rsCoderNames[1]);
+    assertEquals(RSRawErasureCoderFactory.CODER_NAME, rsCoderNames[2]);
   }
 
   @Test
   public void testGetCoderNames() {
     String[] coderNames = CodecRegistry.getInstance().
         getCoderNames(ECReplicationConfig.EcCodec.RS.name().toLowerCase());
-    assertEquals(2, coderNames.length);
+    assertEquals(3, coderNames.length);
     assertEquals(NativeRSRawErasureCoderFactory.CODER_NAME, coderNames[0]);
-    assertEquals(RSRawErasureCoderFactory.CODER_NAME, coderNames[1]);
+    assertEquals(RSTableRawErasureCoderFactory.CODER_NAME, coderNames[1]);
+    assertEquals(RSRawErasureCoderFactory.CODER_NAME, coderNames[2]);
 
     coderNames = CodecRegistry.getInstance().
         getCoderNames(ECReplicationConfig.EcCodec.XOR.name().toLowerCase());
@@ -143,6 +148,11 @@ public void testGetCoderByName() {
             RSRawErasureCoderFactory.CODER_NAME);
     assertInstanceOf(RSRawErasureCoderFactory.class, coder);
 
+    coder = CodecRegistry.getInstance()
+        .getCoderByName(ECReplicationConfig.EcCodec.RS.name().toLowerCase(),
+            RSTableRawErasureCoderFactory.CODER_NAME);
+    assertInstanceOf(RSTableRawErasureCoderFactory.class, coder);
+
     coder = CodecRegistry.getInstance()
         .getCoderByName(ECReplicationConfig.EcCodec.RS.name().toLowerCase(),
             NativeRSRawErasureCoderFactory.CODER_NAME);
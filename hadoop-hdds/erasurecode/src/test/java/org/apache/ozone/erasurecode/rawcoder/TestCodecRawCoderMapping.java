@@ -44,8 +44,8 @@ public void testRSDefaultRawCoder() {
       assertInstanceOf(NativeRSRawEncoder.class, encoder);
       assertInstanceOf(NativeRSRawDecoder.class, decoder);
     } else {
-      assertInstanceOf(RSRawEncoder.class, encoder);
-      assertInstanceOf(RSRawDecoder.class, decoder);
+      assertInstanceOf(RSTableRawEncoder.class, encoder);
+      assertInstanceOf(RSTableRawDecoder.class, decoder);
     }
   }
 
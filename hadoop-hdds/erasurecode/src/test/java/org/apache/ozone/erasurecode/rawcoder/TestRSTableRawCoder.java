@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ozone.erasurecode.rawcoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.ozone.erasurecode.rawcoder.util.RSTableUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test the segmented table raw Reed-solomon coder implemented in Java.
+ */
+public class TestRSTableRawCoder extends TestRSRawCoderBase {
+
+  public TestRSTableRawCoder() {
+    super(RSTableRawErasureCoderFactory.class,
+        RSTableRawErasureCoderFactory.class);
+  }
+
+  @BeforeEach
+  public void setup() {
+    setAllowDump(false);
+    // span more than one segment
+    baseChunkSize = 2 * RSTableUtil.SEGMENT_SIZE + 1024;
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  public void testSameParityAsRSRawEncoder(boolean direct) throws IOException {
+    ECReplicationConfig config = new ECReplicationConfig(6, 3);
+    int length = 3 * RSTableUtil.SEGMENT_SIZE + 7;
+    ByteBuffer[] inputs = new ByteBuffer[config.getData()];
+    for (int i = 0; i < inputs.length; i++) {
+      byte[] data = new byte[length];
+      ThreadLocalRandom.current().nextBytes(data);
+      inputs[i] = allocate(direct, length);
+      inputs[i].put(data).flip();
+    }
+
+    ByteBuffer[] expected = encode(new RSRawEncoder(config), inputs, direct);
+    ByteBuffer[] actual = encode(new RSTableRawEncoder(config), inputs, direct);
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], actual[i]);
+    }
+  }
+
+  private static ByteBuffer[] encode(RawErasureEncoder encoder,
+      ByteBuffer[] inputs, boolean direct) throws IOException {
+    ByteBuffer[] in = new ByteBuffer[inputs.length];
+    for (int i = 0; i < inputs.length; i++) {
+      in[i] = inputs[i].duplicate();
+    }
+    ByteBuffer[] outputs = new ByteBuffer[encoder.getNumParityUnits()];
+    for (int i = 0; i < outputs.length; i++) {
+      outputs[i] = allocate(direct, inputs[0].remaining());
+    }
+    encoder.encode(in, outputs);
+    return outputs;
+  }
+
+  private static ByteBuffer allocate(boolean direct, int length) {
+    return direct ? ByteBuffer.allocateDirect(length)
+        : ByteBuffer.allocate(length);
+  }
+}
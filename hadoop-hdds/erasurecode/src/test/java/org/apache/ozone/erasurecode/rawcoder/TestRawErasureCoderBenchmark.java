@@ -42,4 +42,13 @@ public void testRSCoder() throws Exception {
         RawErasureCoderBenchmark.CODER.RS_CODER, 4, 135, 20);
   }
 
+  @Test
+  public void testRSTableCoder() throws Exception {
+    // RS Java segmented table coder
+    RawErasureCoderBenchmark.performBench("encode",
+        RawErasureCoderBenchmark.CODER.RS_TABLE_CODER, 3, 200, 200);
+    RawErasureCoderBenchmark.performBench("decode",
+        RawErasureCoderBenchmark.CODER.RS_TABLE_CODER, 4, 135, 20);
+  }
+
 }
@@ -22,6 +22,7 @@
 import com.google.common.base.Preconditions;
 import com.google.common.primitives.UnsignedBytes;
 import java.io.Closeable;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -76,6 +77,23 @@ private static String countSize2String(int count, long size) {
     return count + " (" + byteSize2String(size) + ")";
   }
 
+  /** @return a copy of the readable bytes, without consuming them. */
+  private static byte[] toArray(CodecBuffer buffer) {
+    final ByteBuffer readOnly = buffer.asReadOnlyByteBuffer();
+    final byte[] array = new byte[readOnly.remaining()];
+    readOnly.get(array);
+    return array;
+  }
+
+  /** Visit the operations of a batch, see {@link #forEachOperation(OperationVisitor)}. */
+  public interface OperationVisitor {
+    void put(String family, byte[] key, byte[] value) throws IOException;
+
+    void delete(String family, byte[] key) throws IOException;
+
+    void deleteRange(String family, byte[] startKey, byte[] endKey) throws IOException;
+  }
+
   /**
    * The key type of {@link RDBBatchOperation.OpCache.FamilyCache#opsKeys}.
    * To implement {@link #equals(Object)} and {@link #hashCode()}
@@ -159,6 +177,8 @@ private Operation(Bytes keyBytes) {
 
     abstract void apply(ColumnFamily family, ManagedWriteBatch batch) throws RocksDatabaseException;
 
+    abstract void accept(String family, OperationVisitor visitor) throws IOException;
+
     abstract int keyLen();
 
     abstract int valLen();
@@ -194,6 +214,11 @@ public void apply(ColumnFamily family, ManagedWriteBatch batch) throws RocksData
       family.batchDelete(batch, this.key);
     }
 
+    @Override
+    void accept(String family, OperationVisitor visitor) throws IOException {
+      visitor.delete(family, key);
+    }
+
     @Override
     public int keyLen() {
       return key.length;
@@ -229,6 +254,11 @@ public void apply(ColumnFamily family, ManagedWriteBatch batch) throws RocksData
       family.batchPut(batch, key.asReadOnlyByteBuffer(), value.asReadOnlyByteBuffer());
     }
 
+    @Override
+    void accept(String family, OperationVisitor visitor) throws IOException {
+      visitor.put(family, toArray(key), toArray(value));
+    }
+
     @Override
     public int keyLen() {
       return key.readableBytes();
@@ -272,6 +302,11 @@ public void apply(ColumnFamily family, ManagedWriteBatch batch) throws RocksData
       family.batchPut(batch, key, value);
     }
 
+    @Override
+    void accept(String family, OperationVisitor visitor) throws IOException {
+      visitor.put(family, key, value);
+    }
+
     @Override
     public int keyLen() {
       return key.length;
@@ -306,6 +341,11 @@ public void apply(ColumnFamily family, ManagedWriteBatch batch) throws RocksData
       family.batchDeleteRange(batch, startKey, endKey);
     }
 
+    @Override
+    void accept(String family, OperationVisitor visitor) throws IOException {
+      visitor.deleteRange(family, startKey, endKey);
+    }
+
     @Override
     public int keyLen() {
       return startKey.length + endKey.length;
@@ -366,6 +406,8 @@ private class FamilyCache {
        */
       private final Map<Integer, Operation> batchOps = new HashMap<>();
       private boolean isCommit;
+      /** Have the operations been visited, see {@link #forEachOperation(OperationVisitor)}? */
+      private boolean isVisited;
 
       private long batchSize;
       private long discardedSize;
@@ -474,13 +516,24 @@ void prepareBatchWrite() throws RocksDatabaseException {
         debug(this::summary);
       }
 
+      void accept(OperationVisitor visitor) throws IOException {
+        final List<Operation> ops = batchOps.entrySet().stream()
+            .sorted(Comparator.comparingInt(Map.Entry::getKey))
+            .map(Map.Entry::getValue)
+            .collect(Collectors.toList());
+        for (Operation op : ops) {
+          op.accept(family.getName(), visitor);
+        }
+        isVisited = true;
+      }
+
       private String summary() {
         return String.format("  %s %s, #put=%s, #del=%s", this,
             batchSizeDiscardedString(), putCount, delCount);
       }
 
       void clear() {
-        final boolean warn = !isCommit && batchSize > 0;
+        final boolean warn = !isCommit && !isVisited && batchSize > 0;
         String details = warn ? summary() : null;
 
         IOUtils.close(LOG, batchOps.values());
@@ -585,6 +638,12 @@ void deleteRange(ColumnFamily family, byte[] startKey, byte[] endKey) {
           .deleteRange(startKey, endKey);
     }
 
+    void accept(OperationVisitor visitor) throws IOException {
+      for (FamilyCache f : name2cache.values()) {
+        f.accept(visitor);
+      }
+    }
+
     /** Prepare batch write for the entire cache. */
     UncheckedAutoCloseable prepareBatchWrite() throws RocksDatabaseException {
       for (Map.Entry<String, FamilyCache> e : name2cache.entrySet()) {
@@ -656,6 +715,16 @@ public void commit(RocksDatabase db, ManagedWriteOptions writeOptions) throws Ro
     }
   }
 
+  /**
+   * Visit the operations of this batch which are not yet committed.
+   * The operations of a column family are visited in the order they were added,
+   * without the operations overwritten by a later operation of the same key.
+   * This batch can still be committed after this call.
+   */
+  public void forEachOperation(OperationVisitor visitor) throws IOException {
+    opCache.accept(visitor);
+  }
+
   @Override
   public void close() {
     debug(() -> String.format("%s: close", name));
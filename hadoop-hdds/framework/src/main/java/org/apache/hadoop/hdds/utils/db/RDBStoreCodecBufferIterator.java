@@ -127,7 +127,7 @@ private void allocate() {
       if (buffer != null) {
         buffer.release();
       }
-      buffer = CodecBuffer.allocateDirect(-initialCapacity.get());
+      buffer = PooledBufferAllocator.CODEC.apply(-initialCapacity.get());
     }
 
     CodecBuffer getFromDb() {
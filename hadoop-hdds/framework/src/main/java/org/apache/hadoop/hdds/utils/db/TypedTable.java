@@ -322,7 +322,7 @@ private VALUE getFromTable(KEY key,
       for (; ;) {
         final Integer required;
         final int initial = -bufferCapacity.get(); // resizable
-        try (CodecBuffer outValue = CodecBuffer.allocateDirect(initial)) {
+        try (CodecBuffer outValue = PooledBufferAllocator.CODEC.apply(initial)) {
           required = get.apply(inKey, outValue);
           if (required == null) {
             // key not found
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.utils.db.cache;
+
+/**
+ * A view of the tables as of an epoch, for a reader which does not hold the
+ * locks of the entries it reads.
+ * <p>
+ * The view is opened by the reading thread with an epoch up to which all the
+ * updates are in the cache or in the DB. The lookups of the
+ * {@link PartialTableCache}s by the thread are then checked against the
+ * epoch: an entry of a later epoch was updated while the view was open, and
+ * its value as of the epoch may be gone. In that case the view is no longer
+ * {@link #isConsistent() consistent}, and the reader should retry.
+ * <p>
+ * Removing the entries of a later epoch from the cache, or writing them to
+ * the DB, is not detected by the view; the reader has to check it by other
+ * means.
+ */
+public final class CacheReadView implements AutoCloseable {
+
+  private static final ThreadLocal<CacheReadView> CURRENT =
+      new ThreadLocal<>();
+
+  private final long epoch;
+  private boolean consistent = true;
+
+  private CacheReadView(long epoch) {
+    this.epoch = epoch;
+  }
+
+  /**
+   * Opens a view for the current thread, replacing any view already open.
+   */
+  public static CacheReadView open(long epoch) {
+    final CacheReadView view = new CacheReadView(epoch);
+    CURRENT.set(view);
+    return view;
+  }
+
+  /**
+   * Checks an entry looked up by the current thread.
+   */
+  public static void check(CacheValue<?> value) {
+    if (value == null) {
+      return;
+    }
+    final CacheReadView view = CURRENT.get();
+    if (view != null && value.getEpoch() > view.epoch) {
+      view.consistent = false;
+    }
+  }
+
+  public long getEpoch() {
+    return epoch;
+  }
+
+  /**
+   * @return true if no entry updated after the epoch was looked up.
+   */
+  public boolean isConsistent() {
+    return consistent;
+  }
+
+  @Override
+  public void close() {
+    if (CURRENT.get() == this) {
+      CURRENT.remove();
+    }
+  }
+}
@@ -86,6 +86,7 @@ public PartialTableCache(String threadNamePrefix) {
   public CacheValue<VALUE> get(CacheKey<KEY> cachekey) {
     CacheValue<VALUE> value = cache.get(cachekey);
     statsRecorder.recordValue(value);
+    CacheReadView.check(value);
     return value;
   }
 
@@ -159,6 +160,7 @@ public CacheResult<VALUE> lookup(CacheKey<KEY> cachekey) {
 
     CacheValue<VALUE> cachevalue = cache.get(cachekey);
     statsRecorder.recordValue(cachevalue);
+    CacheReadView.check(cachevalue);
     if (cachevalue == null) {
       return (CacheResult<VALUE>) MAY_EXIST;
     } else {
@@ -26,6 +26,7 @@
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -126,4 +127,46 @@ public void testBatchOperationWithDeleteRange() throws RocksDatabaseException {
           Pair.of(Pair.of("key04", "value04"), 4)));
     }
   }
+
+  @Test
+  public void testForEachOperation() throws IOException {
+    final List<String> ops = new ArrayList<>();
+    final RDBBatchOperation.OperationVisitor visitor = new RDBBatchOperation.OperationVisitor() {
+      @Override
+      public void put(String family, byte[] key, byte[] value) {
+        ops.add(family + ": put " + bytes2String(key) + "=" + bytes2String(value));
+      }
+
+      @Override
+      public void delete(String family, byte[] key) {
+        ops.add(family + ": delete " + bytes2String(key));
+      }
+
+      @Override
+      public void deleteRange(String family, byte[] startKey, byte[] endKey) {
+        ops.add(family + ": deleteRange " + bytes2String(startKey) + ".." + bytes2String(endKey));
+      }
+    };
+    try (MockedConstruction<ManagedWriteBatch> ignored = Mockito.mockConstruction(ManagedWriteBatch.class);
+         RDBBatchOperation batchOperation = new RDBBatchOperation()) {
+      RocksDatabase.ColumnFamily columnFamily = Mockito.mock(RocksDatabase.ColumnFamily.class);
+      when(columnFamily.getName()).thenReturn("test");
+      batchOperation.put(columnFamily, string2Bytes("key01"), string2Bytes("value01"));
+      batchOperation.put(columnFamily, CodecBuffer.wrap(string2Bytes("key02")),
+          CodecBuffer.wrap(string2Bytes("value02")));
+      batchOperation.delete(columnFamily, string2Bytes("key03"));
+      batchOperation.put(columnFamily, string2Bytes("key01"), string2Bytes("value04"));
+      batchOperation.deleteRange(columnFamily, string2Bytes("key05"), string2Bytes("key06"));
+
+      batchOperation.forEachOperation(visitor);
+      assertEquals(asList("test: put key02=value02", "test: delete key03", "test: put key01=value04",
+          "test: deleteRange key05..key06"), ops);
+
+      // The operations are not consumed, so the batch can still be committed.
+      ops.clear();
+      batchOperation.forEachOperation(visitor);
+      assertEquals(4, ops.size());
+      batchOperation.commit(Mockito.mock(RocksDatabase.class));
+    }
+  }
 }
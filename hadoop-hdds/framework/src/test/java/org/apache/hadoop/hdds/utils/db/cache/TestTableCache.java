@@ -21,6 +21,7 @@
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.ArrayList;
@@ -601,6 +602,30 @@ public void testNoCache() {
     verifyStats(tableCache, 0, 0, 0);
   }
 
+  @Test
+  public void testReadView() {
+    createTableCache(TableCache.CacheType.PARTIAL_CACHE);
+    tableCache.put(new CacheKey<>("0"), CacheValue.get(1, "0"));
+    tableCache.put(new CacheKey<>("1"), CacheValue.get(2, "1"));
+
+    try (CacheReadView view = CacheReadView.open(1)) {
+      tableCache.lookup(new CacheKey<>("0"));
+      tableCache.lookup(new CacheKey<>("2"));
+      assertTrue(view.isConsistent());
+      // Updated after the epoch of the view.
+      tableCache.lookup(new CacheKey<>("1"));
+      assertFalse(view.isConsistent());
+    }
+
+    try (CacheReadView view = CacheReadView.open(2)) {
+      tableCache.get(new CacheKey<>("1"));
+      assertTrue(view.isConsistent());
+      tableCache.put(new CacheKey<>("0"), CacheValue.get(3));
+      tableCache.get(new CacheKey<>("0"));
+      assertFalse(view.isConsistent());
+    }
+  }
+
   private int writeToCache(int count, int startVal, long sleep)
       throws InterruptedException {
     int counter = 1;
@@ -891,6 +891,21 @@ public OzoneFileStatus getFileStatus(String keyName) throws IOException {
     return proxy.getOzoneFileStatus(volumeName, name, keyName);
   }
 
+  /**
+   * OzoneFS api to get file status for many entries in one request.
+   *
+   * @param keyNames Key names
+   * @return the file status of each entry in the order of the key names, or
+   *         null if the entry does not exist
+   * @throws OMException if bucket does not exist
+   * @throws IOException if there is error in the db
+   *                     invalid arguments
+   */
+  public List<OzoneFileStatus> getFileStatuses(List<String> keyNames)
+      throws IOException {
+    return proxy.getOzoneFileStatuses(volumeName, name, keyNames);
+  }
+
   /**
    * Ozone FS api to create a directory. Parent directories if do not exist
    * are created for the input directory.
@@ -24,6 +24,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.commons.collections4.CollectionUtils;
@@ -35,6 +36,7 @@
 import org.apache.hadoop.hdds.scm.storage.ByteReaderStrategy;
 import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
 import org.apache.hadoop.hdds.scm.storage.PartInputStream;
+import org.apache.hadoop.hdds.scm.storage.ReadAheadPrefetcher;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
@@ -54,6 +56,12 @@ public KeyInputStream(String keyName,
     super(keyName, inputStreams);
   }
 
+  public KeyInputStream(String keyName,
+      List<? extends BlockExtendedInputStream> inputStreams,
+      ReadAheadPrefetcher prefetcher, Executor vectoredReadExecutor) {
+    super(keyName, inputStreams, prefetcher, vectoredReadExecutor);
+  }
+
   private static List<BlockExtendedInputStream> createStreams(
       OmKeyInfo keyInfo,
       List<OmKeyLocationInfo> blockInfos,
@@ -131,8 +139,9 @@ private static LengthInputStream getFromOmKeyInfo(
     List<BlockExtendedInputStream> streams = createStreams(keyInfo,
         locationInfos, xceiverClientFactory, retryFunction,
         blockStreamFactory, config);
-    KeyInputStream keyInputStream =
-        new KeyInputStream(keyInfo.getKeyName(), streams);
+    KeyInputStream keyInputStream = new KeyInputStream(keyInfo.getKeyName(),
+        streams, blockStreamFactory.createReadAheadPrefetcher(config),
+        blockStreamFactory.getVectoredReadExecutor());
     return new LengthInputStream(keyInputStream, keyInputStream.getLength());
   }
 
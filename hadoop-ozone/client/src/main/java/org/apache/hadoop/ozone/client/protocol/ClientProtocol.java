@@ -877,6 +877,21 @@ TenantUserList listUsersInTenant(String tenantId, String prefix)
   OzoneFileStatus getOzoneFileStatus(String volumeName, String bucketName,
       String keyName) throws IOException;
 
+  /**
+   * Get the Ozone File Status of many keys of a bucket in one request.
+   *
+   * @param volumeName volume name.
+   * @param bucketName bucket name.
+   * @param keyNames   key names.
+   * @return OzoneFileStatus of each key in the order of the key names, or
+   *         null if the key does not exist.
+   * @throws OMException if bucket does not exist
+   * @throws IOException if there is error in the db
+   *                     invalid arguments
+   */
+  List<OzoneFileStatus> getOzoneFileStatuses(String volumeName,
+      String bucketName, List<String> keyNames) throws IOException;
+
   /**
    * Creates directory with keyName as the absolute path for the directory.
    *
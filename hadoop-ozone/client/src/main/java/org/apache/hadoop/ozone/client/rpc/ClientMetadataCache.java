@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.rpc;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
+import org.apache.ratis.util.function.CheckedSupplier;
+
+/**
+ * Volume and bucket info recently read from the OM by a client.
+ * <p>
+ * Many short-lived tasks of the same application resolve the same buckets,
+ * and links resolve their source buckets too. The info is kept for a short
+ * time, so changes made by other clients are seen within that time. The
+ * changes made by this client are seen at once, as the entries they affect
+ * are dropped.
+ * <p>
+ * The entries are not kept per user, so the cache must only be used for
+ * the requests made as the user of the client.
+ */
+class ClientMetadataCache {
+
+  /** Loads each entry, for the requests of other users. */
+  static final ClientMetadataCache DISABLED = new ClientMetadataCache(0, 0);
+
+  private final Cache<String, OmVolumeArgs> volumes;
+  private final Cache<String, OmBucketInfo> buckets;
+  /** Changed by each invalidation, so that racing loads are not kept. */
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * @param ttlMs the time an entry is kept, 0 to disable the cache
+   * @param maxSize the maximum number of volumes, and of buckets
+   */
+  ClientMetadataCache(long ttlMs, long maxSize) {
+    if (ttlMs <= 0 || maxSize <= 0) {
+      volumes = null;
+      buckets = null;
+    } else {
+      volumes = newCache(ttlMs, maxSize);
+      buckets = newCache(ttlMs, maxSize);
+    }
+  }
+
+  private static <V> Cache<String, V> newCache(long ttlMs, long maxSize) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  boolean isEnabled() {
+    return volumes != null;
+  }
+
+  OmVolumeArgs getVolume(String volumeName,
+      CheckedSupplier<OmVolumeArgs, IOException> loader) throws IOException {
+    return get(volumes, volumeName, loader);
+  }
+
+  OmBucketInfo getBucket(String volumeName, String bucketName,
+      CheckedSupplier<OmBucketInfo, IOException> loader) throws IOException {
+    return get(buckets, getBucketKey(volumeName, bucketName), loader);
+  }
+
+  void invalidateVolume(String volumeName) {
+    if (volumes != null) {
+      generation.incrementAndGet();
+      volumes.invalidate(volumeName);
+    }
+  }
+
+  void invalidateBucket(String volumeName, String bucketName) {
+    if (buckets != null) {
+      generation.incrementAndGet();
+      buckets.invalidate(getBucketKey(volumeName, bucketName));
+    }
+  }
+
+  void invalidateAll() {
+    if (volumes != null) {
+      generation.incrementAndGet();
+      volumes.invalidateAll();
+      buckets.invalidateAll();
+    }
+  }
+
+  private static String getBucketKey(String volumeName, String bucketName) {
+    return volumeName + '/' + bucketName;
+  }
+
+  /**
+   * Loads missing entries without holding a lock, so a slow OM call does
+   * not block the other threads of the client. Failures are not kept.
+   */
+  private <V> V get(Cache<String, V> cache, String key,
+      CheckedSupplier<V, IOException> loader) throws IOException {
+    if (cache == null) {
+      return loader.get();
+    }
+    V value = cache.getIfPresent(key);
+    if (value == null) {
+      final long loadGeneration = generation.get();
+      value = loader.get();
+      // An entry invalidated during the load may have been read before the
+      // change which invalidated it.
+      if (generation.get() == loadGeneration) {
+        cache.put(key, value);
+        if (generation.get() != loadGeneration) {
+          cache.invalidate(key);
+        }
+      }
+    }
+    return value;
+  }
+}
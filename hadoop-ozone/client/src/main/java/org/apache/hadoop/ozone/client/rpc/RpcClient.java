@@ -20,6 +20,10 @@
 import static org.apache.hadoop.ozone.OzoneAcl.LINK_BUCKET_DEFAULT_ACL;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_CLIENT_KEY_PROVIDER_CACHE_EXPIRY;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_CLIENT_KEY_PROVIDER_CACHE_EXPIRY_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_CLIENT_METADATA_CACHE_MAX_SIZE;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_CLIENT_METADATA_CACHE_MAX_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_CLIENT_METADATA_CACHE_TTL;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_CLIENT_METADATA_CACHE_TTL_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_CLIENT_REQUIRED_OM_VERSION_MIN_KEY;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_CLIENT_SERVER_DEFAULTS_VALIDITY_PERIOD_MS;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_CLIENT_SERVER_DEFAULTS_VALIDITY_PERIOD_MS_DEFAULT;
@@ -49,6 +53,7 @@
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -87,6 +92,7 @@
 import org.apache.hadoop.hdds.security.x509.certificate.client.CACertificateProvider;
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 import org.apache.hadoop.hdds.utils.IOUtils;
+import org.apache.hadoop.hdds.utils.db.PooledBufferAllocator;
 import org.apache.hadoop.io.ByteBufferPool;
 import org.apache.hadoop.io.ElasticByteBufferPool;
 import org.apache.hadoop.io.Text;
@@ -213,15 +219,19 @@ public class RpcClient implements ClientProtocol {
   private final Cache<URI, KeyProvider> keyProviderCache;
   private final boolean getLatestVersionLocation;
   private final ByteBufferPool byteBufferPool;
+  private final ByteBufferPool ecWriteBufferPool;
   private final BlockInputStreamFactory blockInputStreamFactory;
   private final OzoneManagerVersion omVersion;
   private final MemoizedSupplier<ExecutorService> ecReconstructExecutor;
   private final ContainerClientMetrics clientMetrics;
   private final MemoizedSupplier<ExecutorService> writeExecutor;
+  private final MemoizedSupplier<ExecutorService> readAheadExecutor;
+  private final MemoizedSupplier<ExecutorService> vectoredReadExecutor;
   private final AtomicBoolean isS3GRequest = new AtomicBoolean(false);
   private volatile OzoneFsServerDefaults serverDefaults;
   private volatile long serverDefaultsLastUpdate;
   private final long serverDefaultsValidityPeriod;
+  private final ClientMetadataCache metadataCache;
 
   /**
    * Creates RpcClient instance with the given configuration.
@@ -244,6 +254,14 @@ public RpcClient(ConfigurationSource conf, String omServiceId)
         "ec-reconstruct-reader-TID-%d"));
     this.writeExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
         WRITE_POOL_MIN_SIZE, Integer.MAX_VALUE, "client-write-TID-%d"));
+    // chunks are not prefetched when all the threads are busy
+    this.readAheadExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
+        0, clientConfig.getReadAheadPoolLimit(), "client-read-ahead-TID-%d",
+        new ThreadPoolExecutor.AbortPolicy()));
+    // the caller reads the blocks when all the threads are busy
+    this.vectoredReadExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
+        0, clientConfig.getVectoredReadPoolLimit(), "client-vectored-read-TID-%d",
+        new ThreadPoolExecutor.AbortPolicy()));
 
     OmTransport omTransport = createOmTransport(omServiceId);
     OzoneManagerProtocolClientSideTranslatorPB
@@ -319,14 +337,20 @@ public void onRemoval(
           }
         }).build();
     this.byteBufferPool = new ElasticByteBufferPool();
-    this.blockInputStreamFactory = BlockInputStreamFactoryImpl
-        .getInstance(byteBufferPool, ecReconstructExecutor);
+    this.ecWriteBufferPool = PooledBufferAllocator.EC_KEY_OUTPUT_STREAM.track(byteBufferPool);
     this.clientMetrics = ContainerClientMetrics.acquire();
+    this.blockInputStreamFactory = BlockInputStreamFactoryImpl
+        .getInstance(byteBufferPool, ecReconstructExecutor, readAheadExecutor, vectoredReadExecutor, clientMetrics);
 
     this.serverDefaultsValidityPeriod = conf.getTimeDuration(
         OZONE_CLIENT_SERVER_DEFAULTS_VALIDITY_PERIOD_MS,
         OZONE_CLIENT_SERVER_DEFAULTS_VALIDITY_PERIOD_MS_DEFAULT,
         TimeUnit.MILLISECONDS);
+    this.metadataCache = new ClientMetadataCache(
+        conf.getTimeDuration(OZONE_CLIENT_METADATA_CACHE_TTL,
+            OZONE_CLIENT_METADATA_CACHE_TTL_DEFAULT, TimeUnit.MILLISECONDS),
+        conf.getLong(OZONE_CLIENT_METADATA_CACHE_MAX_SIZE,
+            OZONE_CLIENT_METADATA_CACHE_MAX_SIZE_DEFAULT));
 
     TracingUtil.initTracing("client", conf);
   }
@@ -470,7 +494,11 @@ public boolean setVolumeOwner(String volumeName, String owner)
       throws IOException {
     verifyVolumeName(volumeName);
     Preconditions.checkNotNull(owner);
-    return ozoneManagerClient.setOwner(volumeName, owner);
+    try {
+      return ozoneManagerClient.setOwner(volumeName, owner);
+    } finally {
+      metadataCache.invalidateVolume(volumeName);
+    }
   }
 
   @Override
@@ -487,17 +515,32 @@ public void setVolumeQuota(String volumeName, long quotaInNamespace,
           "may be inaccurate and it is not recommended to enable quota.",
           volumeName);
     }
-    ozoneManagerClient.setQuota(volumeName, quotaInNamespace, quotaInBytes);
+    try {
+      ozoneManagerClient.setQuota(volumeName, quotaInNamespace, quotaInBytes);
+    } finally {
+      metadataCache.invalidateVolume(volumeName);
+    }
   }
 
   @Override
   public OzoneVolume getVolumeDetails(String volumeName)
       throws IOException {
     verifyVolumeName(volumeName);
-    OmVolumeArgs volume = ozoneManagerClient.getVolumeInfo(volumeName);
+    OmVolumeArgs volume = getReadCache().getVolume(volumeName,
+        () -> ozoneManagerClient.getVolumeInfo(volumeName));
     return buildOzoneVolume(volume);
   }
 
+  /**
+   * @return the cache to read volume and bucket info through. The S3 users
+   * share the client of the S3 gateway, so their requests bypass the cache,
+   * and the OM checks their access each time.
+   */
+  private ClientMetadataCache getReadCache() {
+    return getThreadLocalS3Auth() == null ? metadataCache
+        : ClientMetadataCache.DISABLED;
+  }
+
   @Override
   public S3VolumeContext getS3VolumeContext() throws IOException {
     S3VolumeContext resp = ozoneManagerClient.getS3VolumeContext();
@@ -545,7 +588,11 @@ public boolean checkVolumeAccess(String volumeName, OzoneAcl acl)
   @Override
   public void deleteVolume(String volumeName) throws IOException {
     verifyVolumeName(volumeName);
-    ozoneManagerClient.deleteVolume(volumeName);
+    try {
+      ozoneManagerClient.deleteVolume(volumeName);
+    } finally {
+      metadataCache.invalidateVolume(volumeName);
+    }
   }
 
   @Override
@@ -1180,7 +1227,7 @@ public void setBucketVersioning(
     builder.setVolumeName(volumeName)
         .setBucketName(bucketName)
         .setIsVersionEnabled(versioning);
-    ozoneManagerClient.setBucketProperty(builder.build());
+    setBucketProperty(builder.build());
   }
 
   @Override
@@ -1194,7 +1241,7 @@ public void setBucketStorageType(
     builder.setVolumeName(volumeName)
         .setBucketName(bucketName)
         .setStorageType(storageType);
-    ozoneManagerClient.setBucketProperty(builder.build());
+    setBucketProperty(builder.build());
   }
 
   @Override
@@ -1219,7 +1266,7 @@ public void setBucketQuota(String volumeName, String bucketName,
           "usedNamespace may be inaccurate and it is not recommended to " +
           "enable quota.", bucketName);
     }
-    ozoneManagerClient.setBucketProperty(builder.build());
+    setBucketProperty(builder.build());
 
   }
 
@@ -1235,8 +1282,16 @@ public void setEncryptionKey(String volumeName, String bucketName,
     builder.setVolumeName(volumeName)
         .setBucketName(bucketName)
         .setBucketEncryptionKey(bek);
-    OmBucketArgs finalArgs = builder.build();
-    ozoneManagerClient.setBucketProperty(finalArgs);
+    setBucketProperty(builder.build());
+  }
+
+  private void setBucketProperty(OmBucketArgs args) throws IOException {
+    try {
+      ozoneManagerClient.setBucketProperty(args);
+    } finally {
+      metadataCache.invalidateBucket(args.getVolumeName(),
+          args.getBucketName());
+    }
   }
 
   @Override
@@ -1260,7 +1315,7 @@ public void setReplicationConfig(
         .setBucketName(bucketName)
         .setDefaultReplicationConfig(
             new DefaultReplicationConfig(replicationConfig));
-    ozoneManagerClient.setBucketProperty(builder.build());
+    setBucketProperty(builder.build());
   }
 
   @Override
@@ -1268,7 +1323,11 @@ public void deleteBucket(
       String volumeName, String bucketName) throws IOException {
     verifyVolumeName(volumeName);
     verifyBucketName(bucketName);
-    ozoneManagerClient.deleteBucket(volumeName, bucketName);
+    try {
+      ozoneManagerClient.deleteBucket(volumeName, bucketName);
+    } finally {
+      metadataCache.invalidateBucket(volumeName, bucketName);
+    }
   }
 
   @Override
@@ -1282,8 +1341,8 @@ public OzoneBucket getBucketDetails(
       String volumeName, String bucketName) throws IOException {
     verifyVolumeName(volumeName);
     verifyBucketName(bucketName);
-    OmBucketInfo bucketInfo =
-        ozoneManagerClient.getBucketInfo(volumeName, bucketName);
+    OmBucketInfo bucketInfo = getReadCache().getBucket(volumeName, bucketName,
+        () -> ozoneManagerClient.getBucketInfo(volumeName, bucketName));
     return OzoneBucket.newBuilder(conf, this)
         .setVolumeName(bucketInfo.getVolumeName())
         .setName(bucketInfo.getBucketName())
@@ -1885,9 +1944,16 @@ public void close() throws IOException {
     if (writeExecutor.isInitialized()) {
       writeExecutor.get().shutdownNow();
     }
+    if (readAheadExecutor.isInitialized()) {
+      readAheadExecutor.get().shutdownNow();
+    }
+    if (vectoredReadExecutor.isInitialized()) {
+      vectoredReadExecutor.get().shutdownNow();
+    }
     IOUtils.cleanupWithLogger(LOG, ozoneManagerClient, xceiverClientManager);
     keyProviderCache.invalidateAll();
     keyProviderCache.cleanUp();
+    metadataCache.invalidateAll();
     ContainerClientMetrics.release();
   }
 
@@ -2165,6 +2231,19 @@ public OzoneFileStatus getOzoneFileStatus(String volumeName,
     return ozoneManagerClient.getFileStatus(keyArgs);
   }
 
+  @Override
+  public List<OzoneFileStatus> getOzoneFileStatuses(String volumeName,
+      String bucketName, List<String> keyNames) throws IOException {
+    OmKeyArgs keyArgs = new OmKeyArgs.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName("")
+        .setSortDatanodesInPipeline(topologyAwareReadEnabled)
+        .setLatestVersionLocation(getLatestVersionLocation)
+        .build();
+    return ozoneManagerClient.getFileStatuses(keyArgs, keyNames);
+  }
+
   @Override
   public void createDirectory(String volumeName, String bucketName,
       String keyName) throws IOException {
@@ -2338,7 +2417,11 @@ public List<OzoneFileStatusLight> listStatusLight(String volumeName,
    */
   @Override
   public boolean addAcl(OzoneObj obj, OzoneAcl acl) throws IOException {
-    return ozoneManagerClient.addAcl(obj, acl);
+    try {
+      return ozoneManagerClient.addAcl(obj, acl);
+    } finally {
+      invalidateAclTarget(obj);
+    }
   }
 
   /**
@@ -2351,7 +2434,11 @@ public boolean addAcl(OzoneObj obj, OzoneAcl acl) throws IOException {
    */
   @Override
   public boolean removeAcl(OzoneObj obj, OzoneAcl acl) throws IOException {
-    return ozoneManagerClient.removeAcl(obj, acl);
+    try {
+      return ozoneManagerClient.removeAcl(obj, acl);
+    } finally {
+      invalidateAclTarget(obj);
+    }
   }
 
   /**
@@ -2364,7 +2451,24 @@ public boolean removeAcl(OzoneObj obj, OzoneAcl acl) throws IOException {
    */
   @Override
   public boolean setAcl(OzoneObj obj, List<OzoneAcl> acls) throws IOException {
-    return ozoneManagerClient.setAcl(obj, acls);
+    try {
+      return ozoneManagerClient.setAcl(obj, acls);
+    } finally {
+      invalidateAclTarget(obj);
+    }
+  }
+
+  private void invalidateAclTarget(OzoneObj obj) {
+    switch (obj.getResourceType()) {
+    case VOLUME:
+      metadataCache.invalidateVolume(obj.getVolumeName());
+      break;
+    case BUCKET:
+      metadataCache.invalidateBucket(obj.getVolumeName(), obj.getBucketName());
+      break;
+    default:
+      break;
+    }
   }
 
   /**
@@ -2547,7 +2651,7 @@ private KeyOutputStream.Builder createKeyOutputStream(
         HddsProtos.ReplicationType.EC) {
       builder = new ECKeyOutputStream.Builder()
           .setReplicationConfig((ECReplicationConfig) replicationConfig)
-          .setByteBufferPool(byteBufferPool)
+          .setByteBufferPool(ecWriteBufferPool)
           .setS3CredentialsProvider(getS3CredentialsProvider());
     } else {
       builder = new KeyOutputStream.Builder()
@@ -2693,7 +2797,11 @@ public boolean setBucketOwner(String volumeName, String bucketName,
     builder.setVolumeName(volumeName)
         .setBucketName(bucketName)
         .setOwnerName(owner);
-    return ozoneManagerClient.setBucketOwner(builder.build());
+    try {
+      return ozoneManagerClient.setBucketOwner(builder.build());
+    } finally {
+      metadataCache.invalidateBucket(volumeName, bucketName);
+    }
   }
 
   @Override
@@ -2785,9 +2893,15 @@ public void deleteObjectTagging(String volumeName, String bucketName,
 
   private static ExecutorService createThreadPoolExecutor(
        int corePoolSize, int maximumPoolSize, String threadNameFormat) {
+    return createThreadPoolExecutor(corePoolSize, maximumPoolSize, threadNameFormat,
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  private static ExecutorService createThreadPoolExecutor(int corePoolSize, int maximumPoolSize,
+      String threadNameFormat, RejectedExecutionHandler rejectedExecutionHandler) {
     return new ThreadPoolExecutor(corePoolSize, maximumPoolSize,
             60, TimeUnit.SECONDS, new SynchronousQueue<>(),
                new ThreadFactoryBuilder().setNameFormat(threadNameFormat).setDaemon(true).build(),
-               new ThreadPoolExecutor.CallerRunsPolicy());
+               rejectedExecutionHandler);
   }
 }
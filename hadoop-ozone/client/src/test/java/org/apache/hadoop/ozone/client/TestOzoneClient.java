@@ -30,6 +30,7 @@
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.hadoop.conf.StorageUnit;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfigValidator;
@@ -45,7 +46,11 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
 import org.apache.hadoop.ozone.om.helpers.ServiceInfoEx;
+import org.apache.hadoop.ozone.om.protocol.S3Auth;
 import org.apache.hadoop.ozone.om.protocolPB.OmTransport;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
 import org.apache.ozone.test.LambdaTestUtils.VoidCallable;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -60,6 +65,7 @@ public class TestOzoneClient {
 
   private OzoneClient client;
   private ObjectStore store;
+  private final AtomicInteger bucketInfoRequests = new AtomicInteger();
 
   public static <E extends Throwable> void expectOmException(
       OMException.ResultCodes code,
@@ -81,7 +87,16 @@ private void createNewClient(ConfigurationSource config,
 
       @Override
       protected OmTransport createOmTransport(String omServiceId) {
-        return new MockOmTransport(blkAllocator);
+        return new MockOmTransport(blkAllocator) {
+          @Override
+          public OMResponse submitRequest(OMRequest payload)
+              throws IOException {
+            if (payload.getCmdType() == Type.InfoBucket) {
+              bucketInfoRequests.incrementAndGet();
+            }
+            return super.submitRequest(payload);
+          }
+        };
       }
 
       @Nonnull
@@ -254,6 +269,41 @@ public void testPutKeySizeMismatch() throws IOException {
     }
   }
 
+  /**
+   * The bucket info cached for the user of the client is not returned to
+   * S3 users, whose access is checked by the OM on each request.
+   */
+  @Test
+  public void testMetadataCacheIsNotSharedWithS3Users() throws IOException {
+    client.close();
+    OzoneConfiguration config = new OzoneConfiguration();
+    config.set(OzoneConfigKeys.OZONE_CLIENT_METADATA_CACHE_TTL, "1m");
+    createNewClient(config, new SinglePipelineBlockAllocator(config));
+    OzoneBucket bucket = getOzoneBucket();
+    final String volumeName = bucket.getVolumeName();
+    final String bucketName = bucket.getName();
+
+    int requests = bucketInfoRequests.get();
+    store.getVolume(volumeName).getBucket(bucketName);
+    assertEquals(requests, bucketInfoRequests.get());
+
+    try {
+      for (String user : new String[] {"user1", "user2"}) {
+        client.getProxy().setThreadLocalS3Auth(
+            new S3Auth("stringToSign", "signature", user, user));
+        store.getVolume(volumeName).getBucket(bucketName);
+        assertEquals(++requests, bucketInfoRequests.get());
+        store.getVolume(volumeName).getBucket(bucketName);
+        assertEquals(++requests, bucketInfoRequests.get());
+      }
+    } finally {
+      client.getProxy().clearThreadLocalS3Auth();
+    }
+
+    store.getVolume(volumeName).getBucket(bucketName);
+    assertEquals(requests, bucketInfoRequests.get());
+  }
+
   private OzoneBucket getOzoneBucket() throws IOException {
     String volumeName = UUID.randomUUID().toString();
     String bucketName = UUID.randomUUID().toString();
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.rpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the volume and bucket info kept by ClientMetadataCache.
+ */
+public class TestClientMetadataCache {
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  public void keepsBucketsUntilInvalidated() throws IOException {
+    ClientMetadataCache cache = new ClientMetadataCache(60_000, 10);
+    assertTrue(cache.isEnabled());
+
+    OmBucketInfo bucket = cache.getBucket("vol", "bucket",
+        () -> loadBucket("vol", "bucket"));
+    assertSame(bucket, cache.getBucket("vol", "bucket",
+        () -> loadBucket("vol", "bucket")));
+    assertEquals(1, loads.get());
+
+    // Other buckets and volumes are not affected.
+    cache.getBucket("vol", "other", () -> loadBucket("vol", "other"));
+    cache.invalidateVolume("vol");
+    cache.invalidateBucket("vol", "other");
+    assertSame(bucket, cache.getBucket("vol", "bucket",
+        () -> loadBucket("vol", "bucket")));
+    assertEquals(2, loads.get());
+
+    cache.invalidateBucket("vol", "bucket");
+    cache.getBucket("vol", "bucket", () -> loadBucket("vol", "bucket"));
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  public void keepsVolumesUntilInvalidated() throws IOException {
+    ClientMetadataCache cache = new ClientMetadataCache(60_000, 10);
+
+    OmVolumeArgs volume = cache.getVolume("vol", () -> loadVolume("vol"));
+    assertSame(volume, cache.getVolume("vol", () -> loadVolume("vol")));
+    assertEquals(1, loads.get());
+
+    cache.invalidateAll();
+    cache.getVolume("vol", () -> loadVolume("vol"));
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void doesNotKeepFailuresOrRacingLoads() throws IOException {
+    ClientMetadataCache cache = new ClientMetadataCache(60_000, 10);
+
+    assertThrows(OMException.class, () -> cache.getBucket("vol", "bucket",
+        () -> {
+          throw new OMException(OMException.ResultCodes.BUCKET_NOT_FOUND);
+        }));
+    // The bucket is changed while it is read.
+    cache.getBucket("vol", "bucket", () -> {
+      cache.invalidateBucket("vol", "bucket");
+      return loadBucket("vol", "bucket");
+    });
+    cache.getBucket("vol", "bucket", () -> loadBucket("vol", "bucket"));
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void disabled() throws IOException {
+    ClientMetadataCache cache = new ClientMetadataCache(0, 10);
+    assertFalse(cache.isEnabled());
+
+    cache.getVolume("vol", () -> loadVolume("vol"));
+    cache.getVolume("vol", () -> loadVolume("vol"));
+    assertEquals(2, loads.get());
+  }
+
+  private OmBucketInfo loadBucket(String volume, String bucket) {
+    loads.incrementAndGet();
+    return OmBucketInfo.newBuilder()
+        .setVolumeName(volume)
+        .setBucketName(bucket)
+        .build();
+  }
+
+  private OmVolumeArgs loadVolume(String volume) {
+    loads.incrementAndGet();
+    return OmVolumeArgs.newBuilder()
+        .setVolume(volume)
+        .setAdminName("admin")
+        .setOwnerName("owner")
+        .build();
+  }
+}
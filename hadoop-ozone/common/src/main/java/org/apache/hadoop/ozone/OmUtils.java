@@ -249,6 +249,7 @@ public static boolean isReadOnly(
     case ListOpenFiles:
     case ListMultiPartUploadParts:
     case GetFileStatus:
+    case GetFileStatuses:
     case LookupFile:
     case ListStatus:
     case ListStatusLight:
@@ -342,6 +343,7 @@ public static boolean isReadOnly(
     case QuotaRepair:
     case PutObjectTagging:
     case DeleteObjectTagging:
+    case PersistDb:
     case UnknownCommand:
       return false;
     case EchoRPC:
@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.om;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.apache.hadoop.ozone.OzoneAcl;
@@ -100,6 +101,34 @@ default List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
    */
   OzoneFileStatus getFileStatus(OmKeyArgs keyArgs) throws IOException;
 
+  /**
+   * OzoneFS api to get the file status of many entries of a bucket.
+   *
+   * @param args Key args of the bucket, the key name is not used
+   * @param keyNames the names of the entries
+   * @return the status of each entry in the order of the key names, or null
+   *         if the entry does not exist
+   * @throws OMException if bucket does not exist
+   * @throws IOException if there is error in the db
+   *                     invalid arguments
+   */
+  default List<OzoneFileStatus> getFileStatuses(OmKeyArgs args,
+      List<String> keyNames) throws IOException {
+    List<OzoneFileStatus> statuses = new ArrayList<>(keyNames.size());
+    for (String keyName : keyNames) {
+      try {
+        statuses.add(getFileStatus(
+            args.toBuilder().setKeyName(keyName).build()));
+      } catch (OMException e) {
+        if (e.getResult() != OMException.ResultCodes.FILE_NOT_FOUND) {
+          throw e;
+        }
+        statuses.add(null);
+      }
+    }
+    return statuses;
+  }
+
   /**
    * OzoneFS api to lookup for a file.
    *
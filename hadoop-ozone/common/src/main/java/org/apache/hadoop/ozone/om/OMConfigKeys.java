@@ -233,6 +233,30 @@ public final class OMConfigKeys {
   public static final long
       OZONE_OM_RATIS_SNAPSHOT_MAX_TOTAL_SST_SIZE_DEFAULT = 100_000_000;
 
+  // OM follower read configurations
+  public static final String OZONE_OM_FOLLOWER_READ_ENABLED_KEY =
+      "ozone.om.follower.read.enabled";
+  public static final boolean OZONE_OM_FOLLOWER_READ_ENABLED_DEFAULT = false;
+  public static final String OZONE_OM_FOLLOWER_READ_MAX_STALENESS_KEY =
+      "ozone.om.follower.read.max.staleness";
+  public static final String OZONE_OM_FOLLOWER_READ_MAX_STALENESS_DEFAULT =
+      "0s";
+
+  public static final String OZONE_OM_LOCK_FREE_READ_ENABLED_KEY =
+      "ozone.om.lock.free.read.enabled";
+  public static final boolean OZONE_OM_LOCK_FREE_READ_ENABLED_DEFAULT = false;
+
+  public static final String OZONE_OM_LIST_CURSOR_MAX_KEY =
+      "ozone.om.list.cursor.max";
+  public static final int OZONE_OM_LIST_CURSOR_MAX_DEFAULT = 0;
+  public static final String OZONE_OM_LIST_CURSOR_LEASE_KEY =
+      "ozone.om.list.cursor.lease";
+  public static final String OZONE_OM_LIST_CURSOR_LEASE_DEFAULT = "30s";
+
+  public static final String OZONE_OM_GET_FILE_STATUSES_MAX_KEYS =
+      "ozone.om.get.file.statuses.max.keys";
+  public static final int OZONE_OM_GET_FILE_STATUSES_MAX_KEYS_DEFAULT = 1000;
+
   // OM Ratis server configurations
   public static final String OZONE_OM_RATIS_SERVER_REQUEST_TIMEOUT_KEY
       = "ozone.om.ratis.server.request.timeout";
@@ -486,6 +510,13 @@ public final class OMConfigKeys {
       "ozone.om.unflushed.transaction.max.count";
   public static final int OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT
       = 10000;
+  public static final String OZONE_OM_RATIS_APPLY_PARALLELISM =
+      "ozone.om.ratis.apply.parallelism";
+  public static final int OZONE_OM_RATIS_APPLY_PARALLELISM_DEFAULT = 1;
+  public static final String OZONE_OM_LEADER_EXECUTION_ENABLED_KEY =
+      "ozone.om.leader.execution.enabled";
+  public static final boolean OZONE_OM_LEADER_EXECUTION_ENABLED_DEFAULT =
+      false;
 
   /**
    * This configuration shall be enabled to utilize the functionality of the
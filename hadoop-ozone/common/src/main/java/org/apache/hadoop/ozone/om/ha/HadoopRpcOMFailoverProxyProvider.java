@@ -28,6 +28,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.ipc.RPC;
@@ -51,6 +52,7 @@
 
   private final Text delegationTokenService;
   private Map<String, OMProxyInfo> omProxyInfos;
+  private int nextReadProxyIndex = -1;
 
   // HadoopRpcOMFailoverProxyProvider, on encountering certain exception,
   // tries each OM once in a round robin fashion. After that it waits
@@ -130,6 +132,35 @@ public synchronized ProxyInfo<T> getProxy() {
     return currentProxyInfo;
   }
 
+  /**
+   * Get the proxy of the next OM to send a read request to, if follower reads
+   * are enabled. The OMs are taken in round robin fashion, starting from a
+   * random one, so that the reads of all the clients are spread evenly.
+   * @return the OM proxy object to invoke methods upon
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized ProxyInfo<T> getNextReadProxy() {
+    List<String> omNodeIds = getOmNodeIDList();
+    if (nextReadProxyIndex < 0) {
+      nextReadProxyIndex = ThreadLocalRandom.current()
+          .nextInt(omNodeIds.size());
+    }
+    String nodeId = omNodeIds.get(nextReadProxyIndex % omNodeIds.size());
+    nextReadProxyIndex = (nextReadProxyIndex + 1) % omNodeIds.size();
+    ProxyInfo<T> proxyInfo = getOMProxyMap().get(nodeId);
+    if (proxyInfo == null) {
+      proxyInfo = createOMProxy(nodeId);
+    }
+    return proxyInfo;
+  }
+
+  /**
+   * @return the number of OMs the requests can be sent to
+   */
+  public synchronized int getOMCount() {
+    return getOmNodeIDList().size();
+  }
+
   /**
    * Creates proxy object.
    */
@@ -24,22 +24,29 @@
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.retry.FailoverProxyProvider.ProxyInfo;
 import org.apache.hadoop.io.retry.RetryProxy;
 import org.apache.hadoop.ipc.ProtobufHelper;
 import org.apache.hadoop.ipc.ProtobufRpcEngine;
 import org.apache.hadoop.ipc.RPC;
+import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.om.exceptions.OMNotLeaderException;
 import org.apache.hadoop.ozone.om.ha.HadoopRpcOMFailoverProxyProvider;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
 import org.apache.hadoop.security.UserGroupInformation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Full-featured Hadoop RPC implementation with failover support.
  */
 public class Hadoop3OmTransport implements OmTransport {
 
+  private static final Logger LOG =
+      LoggerFactory.getLogger(Hadoop3OmTransport.class);
+
   /**
    * RpcController is not used and hence is set to null.
    */
@@ -49,6 +56,8 @@ public class Hadoop3OmTransport implements OmTransport {
 
   private final OzoneManagerProtocolPB rpcProxy;
 
+  private final boolean followerReadEnabled;
+
   public Hadoop3OmTransport(ConfigurationSource conf,
       UserGroupInformation ugi, String omServiceId) throws IOException {
 
@@ -64,10 +73,21 @@ public Hadoop3OmTransport(ConfigurationSource conf,
         OzoneConfigKeys.OZONE_CLIENT_FAILOVER_MAX_ATTEMPTS_DEFAULT);
 
     this.rpcProxy = createRetryProxy(omFailoverProxyProvider, maxFailovers);
+
+    this.followerReadEnabled = conf.getBoolean(
+        OzoneConfigKeys.OZONE_CLIENT_FOLLOWER_READ_ENABLED_KEY,
+        OzoneConfigKeys.OZONE_CLIENT_FOLLOWER_READ_ENABLED_DEFAULT)
+        && omFailoverProxyProvider.getOMCount() > 1;
   }
 
   @Override
   public OMResponse submitRequest(OMRequest payload) throws IOException {
+    if (followerReadEnabled && OmUtils.isReadOnly(payload)) {
+      OMResponse omResponse = submitReadRequest(payload);
+      if (omResponse != null) {
+        return omResponse;
+      }
+    }
     try {
       OMResponse omResponse =
           rpcProxy.submitRequest(NULL_RPC_CONTROLLER, payload);
@@ -91,6 +111,23 @@ public OMResponse submitRequest(OMRequest payload) throws IOException {
     }
   }
 
+  /**
+   * Send a read request to the next OM, which may be a follower.
+   * @return the response, or null if the request should be sent to the
+   * leader instead, e.g. follower reads are disabled on the OM.
+   */
+  private OMResponse submitReadRequest(OMRequest payload) {
+    ProxyInfo<OzoneManagerProtocolPB> proxyInfo =
+        omFailoverProxyProvider.getNextReadProxy();
+    try {
+      return proxyInfo.proxy.submitRequest(NULL_RPC_CONTROLLER, payload);
+    } catch (ServiceException e) {
+      LOG.debug("Failed to read from {}, retrying on the leader OM",
+          proxyInfo.proxyInfo, e);
+      return null;
+    }
+  }
+
   @Override
   public Text getDelegationTokenService() {
     return omFailoverProxyProvider.getCurrentProxyDelegationToken();
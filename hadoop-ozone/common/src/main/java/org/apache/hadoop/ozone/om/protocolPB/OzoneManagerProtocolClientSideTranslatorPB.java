@@ -126,6 +126,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeleteVolumeRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FileStatusEntry;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeRequest;
@@ -135,6 +136,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetDelegationTokenResponseProto;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetObjectTaggingRequest;
@@ -2121,6 +2123,29 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
     return OzoneFileStatus.getFromProtobuf(resp.getStatus());
   }
 
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(OmKeyArgs args,
+      List<String> keyNames) throws IOException {
+    GetFileStatusesRequest req = GetFileStatusesRequest.newBuilder()
+        .setVolumeName(args.getVolumeName())
+        .setBucketName(args.getBucketName())
+        .addAllKeyNames(keyNames)
+        .build();
+
+    OMRequest omRequest = createOMRequest(Type.GetFileStatuses)
+        .setGetFileStatusesRequest(req)
+        .build();
+
+    final List<FileStatusEntry> entries = handleError(submitRequest(omRequest))
+        .getGetFileStatusesResponse().getStatusesList();
+    List<OzoneFileStatus> statuses = new ArrayList<>(entries.size());
+    for (FileStatusEntry entry : entries) {
+      statuses.add(entry.hasStatus()
+          ? OzoneFileStatus.getFromProtobuf(entry.getStatus()) : null);
+    }
+    return statuses;
+  }
+
   @Override
   public void createDirectory(OmKeyArgs args) throws IOException {
     KeyArgs.Builder keyArgsBuilder = KeyArgs.newBuilder()
@@ -23,6 +23,7 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_NODES_KEY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
@@ -30,6 +31,8 @@
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.StringJoiner;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.io.Text;
@@ -173,6 +176,26 @@ public void testExcludesListenerNodes() throws Exception {
     }
   }
 
+  /**
+   * Tests that read requests are spread over all the OMs.
+   */
+  @Test
+  public void testNextReadProxyRoundRobin() {
+    Map<String, Integer> counts = new HashMap<>();
+    String previous = null;
+    for (int i = 0; i < 2 * numNodes; i++) {
+      String next = provider.getNextReadProxy().proxyInfo;
+      assertNotEquals(previous, next);
+      counts.merge(next, 1, Integer::sum);
+      previous = next;
+    }
+    assertEquals(numNodes, counts.size());
+    for (int count : counts.values()) {
+      assertEquals(2, count);
+    }
+    assertEquals(numNodes, provider.getOMCount());
+  }
+
   /**
    * Failover to next node and wait time should be same as waitTimeAfter.
    */
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_ACL_AUTHORIZER_CLASS;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_ACL_ENABLED;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_ADMINISTRATORS;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_CLIENT_FOLLOWER_READ_ENABLED_KEY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED_KEY;
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.PERMISSION_DENIED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.PrivilegedExceptionAction;
+import java.util.Locale;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.IOUtils;
+import org.apache.hadoop.ozone.MiniOzoneCluster;
+import org.apache.hadoop.ozone.MiniOzoneHAClusterImpl;
+import org.apache.hadoop.ozone.client.ObjectStore;
+import org.apache.hadoop.ozone.client.OzoneClient;
+import org.apache.hadoop.ozone.client.OzoneClientFactory;
+import org.apache.hadoop.ozone.client.VolumeArgs;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.security.acl.IAccessAuthorizer;
+import org.apache.hadoop.ozone.security.acl.OzoneNativeAuthorizer;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Test that read requests served by follower OMs are checked against the
+ * ACLs as the user who sent them, not as the user the OM runs as.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestOMFollowerReadAcls {
+
+  private static final String OM_SERVICE_ID = "om-service-follower-read";
+  private static final int NUM_OF_OMS = 3;
+  private static final String TEST_USER = "testuser-" +
+      RandomStringUtils.secure().nextAlphabetic(5).toLowerCase(Locale.ROOT);
+  private static final String ADMIN_VOLUME = "adminvol-" +
+      RandomStringUtils.secure().nextAlphabetic(5).toLowerCase(Locale.ROOT);
+
+  private MiniOzoneHAClusterImpl cluster;
+  private OzoneConfiguration conf;
+  private OzoneClient client;
+
+  @BeforeAll
+  public void init() throws Exception {
+    conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_ACL_ENABLED, true);
+    conf.setClass(OZONE_ACL_AUTHORIZER_CLASS, OzoneNativeAuthorizer.class,
+        IAccessAuthorizer.class);
+    // The OMs run as the current user, who is also the only admin.
+    conf.set(OZONE_ADMINISTRATORS,
+        UserGroupInformation.getCurrentUser().getShortUserName());
+    conf.setBoolean(OZONE_OM_FOLLOWER_READ_ENABLED_KEY, true);
+    conf.setBoolean(OZONE_CLIENT_FOLLOWER_READ_ENABLED_KEY, true);
+
+    cluster = MiniOzoneCluster.newHABuilder(conf)
+        .setOMServiceId(OM_SERVICE_ID)
+        .setNumOfOzoneManagers(NUM_OF_OMS)
+        .setNumDatanodes(1)
+        .build();
+    cluster.waitForClusterToBeReady();
+
+    client = OzoneClientFactory.getRpcClient(OM_SERVICE_ID, conf);
+    client.getObjectStore().createVolume(ADMIN_VOLUME, VolumeArgs.newBuilder()
+        .setOwner(UserGroupInformation.getCurrentUser().getShortUserName())
+        .build());
+  }
+
+  @AfterAll
+  public void shutdown() {
+    IOUtils.closeQuietly(client);
+    if (cluster != null) {
+      cluster.shutdown();
+    }
+  }
+
+  @Test
+  public void testFollowerReadIsDeniedForUnauthorizedUser() throws Exception {
+    // The admin can read the volume from any OM.
+    for (int i = 0; i < 2 * NUM_OF_OMS; i++) {
+      assertEquals(ADMIN_VOLUME,
+          client.getObjectStore().getVolume(ADMIN_VOLUME).getName());
+    }
+
+    final long followerFailures = getFollowerVolumeInfoFails();
+    UserGroupInformation testUser = UserGroupInformation.createUserForTesting(
+        TEST_USER, new String[] {"testgroup"});
+    testUser.doAs((PrivilegedExceptionAction<Void>) () -> {
+      try (OzoneClient userClient =
+               OzoneClientFactory.getRpcClient(OM_SERVICE_ID, conf)) {
+        ObjectStore store = userClient.getObjectStore();
+        // Each OM, including the followers, is asked in turn.
+        for (int i = 0; i < 2 * NUM_OF_OMS; i++) {
+          OMException e = assertThrows(OMException.class,
+              () -> store.getVolume(ADMIN_VOLUME));
+          assertEquals(PERMISSION_DENIED, e.getResult());
+        }
+      }
+      return null;
+    });
+    // The reads were denied by the followers, not only by the leader.
+    assertTrue(getFollowerVolumeInfoFails() > followerFailures);
+  }
+
+  private long getFollowerVolumeInfoFails() {
+    final OzoneManager leader = cluster.getOMLeader();
+    long failures = 0;
+    for (OzoneManager om : cluster.getOzoneManagersList()) {
+      if (om != leader) {
+        failures += om.getMetrics().getNumVolumeInfoFails();
+      }
+    }
+    return failures;
+  }
+}
@@ -74,6 +74,7 @@ public enum OMAction implements AuditAction {
 
   //FS Actions
   GET_FILE_STATUS,
+  GET_FILE_STATUSES,
   CREATE_DIRECTORY,
   CREATE_FILE,
   LOOKUP_FILE,
@@ -50,6 +50,14 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_RUN_INTERVAL_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_TIMEOUT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_TIMEOUT_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GET_FILE_STATUSES_MAX_KEYS;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_GET_FILE_STATUSES_MAX_KEYS_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_LIST_CURSOR_LEASE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_LIST_CURSOR_LEASE_KEY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_LIST_CURSOR_MAX_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_LIST_CURSOR_MAX_KEY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_LOCK_FREE_READ_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_LOCK_FREE_READ_ENABLED_KEY;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_MPU_CLEANUP_SERVICE_INTERVAL;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_MPU_CLEANUP_SERVICE_INTERVAL_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_MPU_CLEANUP_SERVICE_TIMEOUT;
@@ -73,6 +81,7 @@
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.FILE_NOT_FOUND;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.INTERNAL_ERROR;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.INVALID_KMS_PROVIDER;
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.INVALID_REQUEST;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.KEY_NOT_FOUND;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.SCM_GET_PIPELINE_EXCEPTION;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.VOLUME_NOT_FOUND;
@@ -105,6 +114,7 @@
 import java.util.Set;
 import java.util.Stack;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -135,6 +145,7 @@
 import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
 import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheReadView;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.net.CachedDNSToSwitchMapping;
 import org.apache.hadoop.net.DNSToSwitchMapping;
@@ -164,6 +175,8 @@
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
 import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.WithParentObjectId;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerDoubleBuffer;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer;
 import org.apache.hadoop.ozone.om.request.OMClientRequest;
 import org.apache.hadoop.ozone.om.request.file.OMFileRequest;
 import org.apache.hadoop.ozone.om.request.key.OMKeyRequest;
@@ -183,6 +196,7 @@
 import org.apache.hadoop.util.ReflectionUtils;
 import org.apache.hadoop.util.Time;
 import org.apache.ratis.util.function.CheckedFunction;
+import org.apache.ratis.util.function.CheckedSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -190,6 +204,9 @@
  * Implementation of keyManager.
  */
 public class KeyManagerImpl implements KeyManager {
+  /** The number of lock-free attempts of a read before taking the lock. */
+  private static final int LOCK_FREE_READ_ATTEMPTS = 3;
+
   private static final Logger LOG =
       LoggerFactory.getLogger(KeyManagerImpl.class);
 
@@ -202,6 +219,9 @@ public class KeyManagerImpl implements KeyManager {
   private final long scmBlockSize;
   private final OzoneBlockTokenSecretManager secretManager;
   private final boolean grpcBlockTokenEnabled;
+  private final boolean lockFreeReadEnabled;
+  private final ListCursorCache listCursors;
+  private final int getFileStatusesMaxKeys;
 
   private KeyDeletingService keyDeletingService;
 
@@ -235,6 +255,20 @@ public KeyManagerImpl(OzoneManager om, ScmClient scmClient,
     this.grpcBlockTokenEnabled = conf.getBoolean(
         HDDS_BLOCK_TOKEN_ENABLED,
         HDDS_BLOCK_TOKEN_ENABLED_DEFAULT);
+    // Only the active DB is validated by the transactions of the OM, and
+    // outlives the open listings.
+    final boolean activeDb = om != null && metadataManager == om.getMetadataManager();
+    this.lockFreeReadEnabled = activeDb && conf.getBoolean(
+        OZONE_OM_LOCK_FREE_READ_ENABLED_KEY,
+        OZONE_OM_LOCK_FREE_READ_ENABLED_DEFAULT);
+    this.listCursors = new ListCursorCache(
+        activeDb ? conf.getInt(OZONE_OM_LIST_CURSOR_MAX_KEY,
+            OZONE_OM_LIST_CURSOR_MAX_DEFAULT) : 0,
+        conf.getTimeDuration(OZONE_OM_LIST_CURSOR_LEASE_KEY,
+            OZONE_OM_LIST_CURSOR_LEASE_DEFAULT, TimeUnit.MILLISECONDS));
+    this.getFileStatusesMaxKeys = conf.getInt(
+        OZONE_OM_GET_FILE_STATUSES_MAX_KEYS,
+        OZONE_OM_GET_FILE_STATUSES_MAX_KEYS_DEFAULT);
 
     this.ozoneManager = om;
     this.scmClient = scmClient;
@@ -466,6 +500,7 @@ KeyProviderCryptoExtension getKMSProvider() {
 
   @Override
   public void stop() {
+    listCursors.close();
     if (keyDeletingService != null) {
       keyDeletingService.shutdown();
       keyDeletingService = null;
@@ -574,25 +609,16 @@ private OmKeyInfo readKeyInfo(OmKeyArgs args, BucketLayout bucketLayout)
     String volumeName = args.getVolumeName();
     String bucketName = args.getBucketName();
     String keyName = args.getKeyName();
-    OmKeyInfo value = null;
+    OmKeyInfo value;
 
-    metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
-        bucketName);
     try {
       keyName = OMClientRequest
           .validateAndNormalizeKey(ozoneManager.getEnableFileSystemPaths(), keyName,
               bucketLayout);
-
-      if (bucketLayout.isFileSystemOptimized()) {
-        value = getOmKeyInfoFSO(volumeName, bucketName, keyName);
-      } else {
-        value = getOmKeyInfo(volumeName, bucketName, keyName, bucketLayout);
-        if (value != null) {
-          // For Legacy & OBS buckets, any key is a file by default. This is to
-          // keep getKeyInfo compatible with OFS clients.
-          value.setFile(true);
-        }
-      }
+      final String normalizedKeyName = keyName;
+      value = readBucketEntries(volumeName, bucketName,
+          () -> readKeyInfo(volumeName, bucketName, normalizedKeyName,
+              bucketLayout));
     } catch (IOException ex) {
       if (ex instanceof OMException) {
         throw ex;
@@ -601,9 +627,6 @@ private OmKeyInfo readKeyInfo(OmKeyArgs args, BucketLayout bucketLayout)
           format("Error reading key metadata: /%s/%s/%s",
               volumeName, bucketName, keyName),
           ex, INTERNAL_ERROR);
-    } finally {
-      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
-          bucketName);
     }
 
     if (value == null) {
@@ -635,6 +658,87 @@ private OmKeyInfo readKeyInfo(OmKeyArgs args, BucketLayout bucketLayout)
     return value;
   }
 
+  private OmKeyInfo readKeyInfo(String volumeName, String bucketName,
+      String keyName, BucketLayout bucketLayout) throws IOException {
+    if (bucketLayout.isFileSystemOptimized()) {
+      return getOmKeyInfoFSO(volumeName, bucketName, keyName);
+    }
+    OmKeyInfo value = getOmKeyInfo(volumeName, bucketName, keyName,
+        bucketLayout);
+    if (value != null) {
+      // For Legacy & OBS buckets, any key is a file by default. This is to
+      // keep getKeyInfo compatible with OFS clients.
+      value.setFile(true);
+    }
+    return value;
+  }
+
+  /**
+   * Reads entries of a bucket, which are consistent with each other.
+   * <p>
+   * If lock-free reads are enabled, the entries are read without the bucket
+   * lock in a {@link CacheReadView} as of the last transaction added to the
+   * double buffer. The read is valid if no entry it looked up in the cache
+   * was updated by a later transaction, and no later transaction was
+   * written to the DB meanwhile. Otherwise the read is retried, and finally
+   * done under the bucket read lock.
+   * The read may be repeated, so it must not have side effects.
+   */
+  private <T> T readBucketEntries(String volumeName, String bucketName,
+      CheckedSupplier<T, IOException> read) throws IOException {
+    final OzoneManagerDoubleBuffer doubleBuffer = getLockFreeReadBuffer();
+    if (doubleBuffer != null) {
+      for (int i = 0; i < LOCK_FREE_READ_ATTEMPTS; i++) {
+        final long index = doubleBuffer.getLastAddedIndex();
+        try (CacheReadView view = CacheReadView.open(index)) {
+          T result;
+          try {
+            result = read.get();
+          } catch (IOException | RuntimeException e) {
+            // The failure may be caused by an inconsistent read.
+            if (isValid(view, doubleBuffer)) {
+              throw e;
+            }
+            continue;
+          }
+          if (isValid(view, doubleBuffer)) {
+            return result;
+          }
+        }
+      }
+      LOG.debug("Reading /{}/{} under the bucket lock after {} attempts",
+          volumeName, bucketName, LOCK_FREE_READ_ATTEMPTS);
+    }
+
+    metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
+        bucketName);
+    try {
+      return read.get();
+    } finally {
+      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
+          bucketName);
+    }
+  }
+
+  private static boolean isValid(CacheReadView view,
+      OzoneManagerDoubleBuffer doubleBuffer) {
+    return view.isConsistent()
+        && doubleBuffer.getFlushingIndex() <= view.getEpoch();
+  }
+
+  /**
+   * @return the double buffer validating the lock-free reads, or null if
+   * the reads should be done under the lock.
+   */
+  private OzoneManagerDoubleBuffer getLockFreeReadBuffer() {
+    if (!lockFreeReadEnabled) {
+      return null;
+    }
+    final OzoneManagerRatisServer ratisServer = ozoneManager.getOmRatisServer();
+    return ratisServer == null ? null
+        : ratisServer.getOmStateMachine().getOzoneManagerDoubleBuffer();
+  }
+
   private OmKeyInfo getOmKeyInfo(String volumeName, String bucketName,
       String keyName, BucketLayout bucketLayout) throws IOException {
     String keyBytes =
@@ -1483,6 +1587,55 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args, String clientAddress)
     return getOzoneFileStatus(args, clientAddress);
   }
 
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(OmKeyArgs args,
+      List<String> keyNames, String clientAddress) throws IOException {
+    Preconditions.checkNotNull(args, "Key args can not be null");
+    if (keyNames.size() > getFileStatusesMaxKeys) {
+      throw new OMException("Too many keys in a GetFileStatuses request: "
+          + keyNames.size() + " > " + OZONE_OM_GET_FILE_STATUSES_MAX_KEYS
+          + " = " + getFileStatusesMaxKeys, INVALID_REQUEST);
+    }
+    final boolean isFSO = isBucketFSOptimized(args.getVolumeName(),
+        args.getBucketName());
+    // The pipelines of all the files are refreshed together below.
+    final OmKeyArgs headArgs = args.toBuilder().setHeadOp(true).build();
+
+    // Look up the keys in order, for the locality in the cache and the DB.
+    final Map<String, OzoneFileStatus> statuses = new TreeMap<>();
+    for (String keyName : new TreeSet<>(keyNames)) {
+      final OmKeyArgs keyArgs = headArgs.toBuilder()
+          .setKeyName(keyName)
+          .build();
+      OzoneFileStatus status;
+      if (isFSO) {
+        status = getOzoneFileStatusFSO(keyArgs, clientAddress, true);
+      } else {
+        try {
+          status = getOzoneFileStatus(keyArgs, clientAddress);
+        } catch (OMException e) {
+          if (e.getResult() != FILE_NOT_FOUND) {
+            throw e;
+          }
+          status = null;
+        }
+      }
+      statuses.put(keyName, status);
+    }
+
+    if (!args.isHeadOp()) {
+      final List<OmKeyInfo> files = statuses.values().stream()
+          .filter(status -> status != null && status.isFile())
+          .map(OzoneFileStatus::getKeyInfo)
+          .collect(Collectors.toList());
+      refreshPipeline(files);
+      if (args.getSortDatanodes()) {
+        sortDatanodes(clientAddress, files);
+      }
+    }
+    return keyNames.stream().map(statuses::get).collect(Collectors.toList());
+  }
+
   private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
       String clientAddress) throws IOException {
 
@@ -1491,69 +1644,30 @@ private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
     final String bucketName = args.getBucketName();
     final String keyName = args.getKeyName();
 
-    OmKeyInfo fileKeyInfo = null;
-    OmKeyInfo dirKeyInfo = null;
-    OmKeyInfo fakeDirKeyInfo = null;
-    metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
-        bucketName);
-    try {
-      // Check if this is the root of the filesystem.
-      if (keyName.isEmpty()) {
-        OMFileRequest.validateBucket(metadataManager, volumeName, bucketName);
-        return new OzoneFileStatus();
-      }
-
-      // Check if the key is a file.
-      String fileKeyBytes = metadataManager.getOzoneKey(
-              volumeName, bucketName, keyName);
-      BucketLayout layout =
-          getBucketLayout(metadataManager, volumeName, bucketName);
-      fileKeyInfo = metadataManager.getKeyTable(layout).get(fileKeyBytes);
-      String dirKey = OzoneFSUtils.addTrailingSlashIfNeeded(keyName);
-
-      // Check if the key is a directory.
-      if (fileKeyInfo == null) {
-        String dirKeyBytes = metadataManager.getOzoneKey(
-                volumeName, bucketName, dirKey);
-        dirKeyInfo = metadataManager.getKeyTable(layout).get(dirKeyBytes);
-        if (dirKeyInfo == null) {
-          fakeDirKeyInfo =
-              createFakeDirIfShould(volumeName, bucketName, keyName, layout);
-        }
+    final OzoneFileStatus fileStatus = readBucketEntries(volumeName,
+        bucketName, () -> readOzoneFileStatus(volumeName, bucketName, keyName));
+    if (fileStatus != null && fileStatus.isFile()) {
+      // if the key is a file
+      // then do refresh pipeline info in OM by asking SCM
+      OmKeyInfo fileKeyInfo = fileStatus.getKeyInfo();
+      if (args.getLatestVersionLocation()) {
+        slimLocationVersion(fileKeyInfo);
       }
-    } finally {
-      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
-              bucketName);
-      if (fileKeyInfo != null) {
-        // if the key is a file
-        // then do refresh pipeline info in OM by asking SCM
-        if (args.getLatestVersionLocation()) {
-          slimLocationVersion(fileKeyInfo);
-        }
-        // If operation is head, do not perform any additional steps
-        // As head operation does not need any of those details.
-        if (!args.isHeadOp()) {
-          // refreshPipeline flag check has been removed as part of
-          // https://issues.apache.org/jira/browse/HDDS-3658.
-          // Please refer this jira for more details.
-          refresh(fileKeyInfo);
-          if (args.getSortDatanodes()) {
-            sortDatanodes(clientAddress, fileKeyInfo);
-          }
+      // If operation is head, do not perform any additional steps
+      // As head operation does not need any of those details.
+      if (!args.isHeadOp()) {
+        // refreshPipeline flag check has been removed as part of
+        // https://issues.apache.org/jira/browse/HDDS-3658.
+        // Please refer this jira for more details.
+        refresh(fileKeyInfo);
+        if (args.getSortDatanodes()) {
+          sortDatanodes(clientAddress, fileKeyInfo);
         }
       }
     }
 
-    if (fileKeyInfo != null) {
-      return new OzoneFileStatus(fileKeyInfo, scmBlockSize, false);
-    }
-
-    if (dirKeyInfo != null) {
-      return new OzoneFileStatus(dirKeyInfo, scmBlockSize, true);
-    }
-
-    if (fakeDirKeyInfo != null) {
-      return new OzoneFileStatus(fakeDirKeyInfo, scmBlockSize, true);
+    if (fileStatus != null) {
+      return fileStatus;
     }
 
     // Key is not found, throws exception
@@ -1567,6 +1681,42 @@ private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
             FILE_NOT_FOUND);
   }
 
+  /**
+   * @return the status of the key as a file, a directory or a fake
+   * directory, or null if the key is not found.
+   */
+  private OzoneFileStatus readOzoneFileStatus(String volumeName,
+      String bucketName, String keyName) throws IOException {
+    // Check if this is the root of the filesystem.
+    if (keyName.isEmpty()) {
+      OMFileRequest.validateBucket(metadataManager, volumeName, bucketName);
+      return new OzoneFileStatus();
+    }
+
+    // Check if the key is a file.
+    String fileKeyBytes = metadataManager.getOzoneKey(
+            volumeName, bucketName, keyName);
+    BucketLayout layout =
+        getBucketLayout(metadataManager, volumeName, bucketName);
+    OmKeyInfo fileKeyInfo =
+        metadataManager.getKeyTable(layout).get(fileKeyBytes);
+    if (fileKeyInfo != null) {
+      return new OzoneFileStatus(fileKeyInfo, scmBlockSize, false);
+    }
+
+    // Check if the key is a directory.
+    String dirKey = OzoneFSUtils.addTrailingSlashIfNeeded(keyName);
+    String dirKeyBytes = metadataManager.getOzoneKey(
+            volumeName, bucketName, dirKey);
+    OmKeyInfo dirKeyInfo = metadataManager.getKeyTable(layout).get(dirKeyBytes);
+    if (dirKeyInfo == null) {
+      dirKeyInfo =
+          createFakeDirIfShould(volumeName, bucketName, keyName, layout);
+    }
+    return dirKeyInfo == null ? null
+        : new OzoneFileStatus(dirKeyInfo, scmBlockSize, true);
+  }
+
   /**
    * Create a fake directory if the key is a path prefix,
    * otherwise returns null.
@@ -1592,6 +1742,7 @@ private OmKeyInfo createFakeDirIfShould(String volume, String bucket,
           cacheIterator.next();
       String cacheKey = cacheEntry.getKey().getCacheKey();
       CacheValue<OmKeyInfo> cacheValue = cacheEntry.getValue();
+      CacheReadView.check(cacheValue);
       boolean exists = cacheValue != null && cacheValue.getCacheValue() != null;
       if (exists
           && cacheKey.startsWith(targetKey)
@@ -1638,25 +1789,20 @@ private OzoneFileStatus getOzoneFileStatusFSO(OmKeyArgs args,
     final String volumeName = args.getVolumeName();
     final String bucketName = args.getBucketName();
     final String keyName = args.getKeyName();
-    OzoneFileStatus fileStatus = null;
-    metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
-            bucketName);
-    try {
-      // Check if this is the root of the filesystem.
-      if (keyName.isEmpty()) {
+    // Check if this is the root of the filesystem.
+    if (keyName.isEmpty()) {
+      readBucketEntries(volumeName, bucketName, () -> {
         OMFileRequest.validateBucket(metadataManager, volumeName, bucketName);
-        return new OzoneFileStatus();
-      }
-
-      fileStatus = OMFileRequest.getOMKeyInfoIfExists(metadataManager,
-          volumeName, bucketName, keyName, scmBlockSize,
-          ozoneManager.getDefaultReplicationConfig());
-
-    } finally {
-      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
-              bucketName);
+        return null;
+      });
+      return new OzoneFileStatus();
     }
 
+    final OzoneFileStatus fileStatus = readBucketEntries(volumeName,
+        bucketName, () -> OMFileRequest.getOMKeyInfoIfExists(metadataManager,
+            volumeName, bucketName, keyName, scmBlockSize,
+            ozoneManager.getDefaultReplicationConfig()));
+
     if (fileStatus != null) {
       // if the key is a file then do refresh pipeline info in OM by asking SCM
       if (fileStatus.isFile()) {
@@ -1788,6 +1934,7 @@ private void listStatusFindKeyInTableCache(
       if (cacheKey.equals(keyArgs)) {
         continue;
       }
+      CacheReadView.check(entry.getValue());
       OmKeyInfo cacheOmKeyInfo = entry.getValue().getCacheValue();
       // cacheOmKeyInfo is null if an entry is deleted in cache
       if (cacheOmKeyInfo != null && cacheKey.startsWith(
@@ -1898,7 +2045,7 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
       OzoneListStatusHelper statusHelper =
           new OzoneListStatusHelper(metadataManager, scmBlockSize,
               this::getOzoneFileStatusFSO,
-              ozoneManager.getDefaultReplicationConfig());
+              ozoneManager.getDefaultReplicationConfig(), listCursors);
       Collection<OzoneFileStatus> statuses =
           statusHelper.listStatusFSO(args, startKey, numEntries,
           clientAddress, allowPartialPrefixes);
@@ -1921,20 +2068,20 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
     String keyArgs = OzoneFSUtils.addTrailingSlashIfNeeded(
         metadataManager.getOzoneKey(volumeName, bucketName, keyName));
 
-    TableIterator<String, ? extends KeyValue<String, OmKeyInfo>> iterator;
-    Table<String, OmKeyInfo> keyTable;
-    metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
-        bucketName);
-    try {
-      keyTable = metadataManager.getKeyTable(
-          getBucketLayout(metadataManager, volumeName, bucketName));
-      iterator = getIteratorForKeyInTableCache(recursive, startKey,
-          volumeName, bucketName, cacheKeyMap, keyArgs, keyTable);
-    } finally {
-      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
-          bucketName);
-    }
+    Table<String, OmKeyInfo> keyTable = metadataManager.getKeyTable(
+        getBucketLayout(metadataManager, volumeName, bucketName));
+    String startCacheKey = metadataManager.getOzoneKey(volumeName, bucketName,
+        startKey);
+    // First, find key in TableCache
+    readBucketEntries(volumeName, bucketName, () -> {
+      cacheKeyMap.clear();
+      listStatusFindKeyInTableCache(keyTable.cacheIterator(), keyArgs,
+          startCacheKey, recursive, cacheKeyMap);
+      return null;
+    });
 
+    TableIterator<String, ? extends KeyValue<String, OmKeyInfo>> iterator =
+        keyTable.iterator();
     try {
       findKeyInDbWithIterator(recursive, startKey, numEntries, volumeName,
           bucketName, keyName, cacheKeyMap, keyArgs, keyTable, iterator);
@@ -1978,23 +2125,6 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
     return fileStatusList;
   }
 
-  private TableIterator<String, ? extends KeyValue<String, OmKeyInfo>>
-      getIteratorForKeyInTableCache(
-      boolean recursive, String startKey, String volumeName, String bucketName,
-      TreeMap<String, OzoneFileStatus> cacheKeyMap, String keyArgs,
-      Table<String, OmKeyInfo> keyTable) throws IOException {
-    TableIterator<String, ? extends KeyValue<String, OmKeyInfo>> iterator;
-    Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>>
-        cacheIter = keyTable.cacheIterator();
-    String startCacheKey = metadataManager.getOzoneKey(volumeName, bucketName, startKey);
-
-    // First, find key in TableCache
-    listStatusFindKeyInTableCache(cacheIter, keyArgs, startCacheKey,
-        recursive, cacheKeyMap);
-    iterator = keyTable.iterator();
-    return iterator;
-  }
-
   @SuppressWarnings("parameternumber")
   private void findKeyInDbWithIterator(boolean recursive, String startKey,
       long numEntries, String volumeName, String bucketName, String keyName,
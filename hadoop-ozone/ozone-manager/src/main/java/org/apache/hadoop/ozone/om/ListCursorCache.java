@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.utils.IOUtils;
+import org.apache.hadoop.ozone.om.ListIterator.ClosableIterator;
+import org.apache.hadoop.ozone.om.ListIterator.HeapEntry;
+
+/**
+ * Listings kept open between the pages of a directory listing.
+ * <p>
+ * A page ends with the entry the next page starts from, so a listing which
+ * did not reach its end is kept under the DB key of its last entry. The
+ * request of the next page then continues the merged iteration of the table
+ * cache and the DB, instead of scanning the cache and seeking in the DB
+ * again. A listing is used by one request at a time.
+ * <p>
+ * A listing is closed if it is not continued within the lease, or to keep
+ * the number of listings up to the limit. Continued listings do not see
+ * the changes made after their first page.
+ */
+class ListCursorCache implements Closeable {
+
+  private final Cache<String, Cursor> cursors;
+
+  /**
+   * @param maxCursors the maximum number of open listings, 0 to disable
+   * @param leaseMs the time a listing is kept open for the next page
+   */
+  ListCursorCache(int maxCursors, long leaseMs) {
+    cursors = maxCursors <= 0 ? null : CacheBuilder.newBuilder()
+        .maximumSize(maxCursors)
+        .expireAfterWrite(leaseMs, TimeUnit.MILLISECONDS)
+        .<String, Cursor>removalListener(notification -> {
+          // Taken listings are still in use.
+          if (notification.getCause() != RemovalCause.EXPLICIT) {
+            IOUtils.closeQuietly(notification.getValue());
+          }
+        })
+        .build();
+  }
+
+  boolean isEnabled() {
+    return cursors != null;
+  }
+
+  /**
+   * @return the key of a listing of the entries under the prefix, starting
+   * from the start key.
+   */
+  static String getKey(String dbPrefixKey, String startKey) {
+    return dbPrefixKey + '\n' + startKey;
+  }
+
+  /**
+   * Takes a listing to continue.
+   * @return the listing, starting from the entry the last page ended with,
+   * or null if there is no such listing.
+   */
+  ClosableIterator take(String key) {
+    if (cursors == null) {
+      return null;
+    }
+    cursors.cleanUp();
+    return cursors.asMap().remove(key);
+  }
+
+  /**
+   * Keeps a listing for the next page, or closes it if disabled.
+   * @param last the last entry of the page, which the next page starts
+   *             from, with a value not changed by the page
+   * @param iterator the rest of the listing after the entry
+   */
+  void put(HeapEntry last, String dbPrefixKey, ClosableIterator iterator)
+      throws IOException {
+    if (cursors == null) {
+      iterator.close();
+      return;
+    }
+    final Cursor cursor = iterator instanceof Cursor ? (Cursor) iterator
+        : new Cursor(iterator);
+    cursor.first = last;
+    cursors.put(getKey(dbPrefixKey, last.getKey()), cursor);
+  }
+
+  int size() {
+    return cursors == null ? 0 : (int) cursors.size();
+  }
+
+  @Override
+  public void close() {
+    if (cursors == null) {
+      return;
+    }
+    final List<Cursor> open = new ArrayList<>(cursors.asMap().values());
+    cursors.invalidateAll();
+    IOUtils.closeQuietly(open);
+  }
+
+  /**
+   * A listing starting from a given entry.
+   */
+  private static final class Cursor implements ClosableIterator {
+    private final ClosableIterator rest;
+    private HeapEntry first;
+
+    private Cursor(ClosableIterator rest) {
+      this.rest = rest;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return first != null || rest.hasNext();
+    }
+
+    @Override
+    public HeapEntry next() {
+      if (first == null) {
+        return rest.next();
+      }
+      final HeapEntry next = first;
+      first = null;
+      return next;
+    }
+
+    @Override
+    public void close() throws IOException {
+      rest.close();
+    }
+  }
+}
@@ -85,6 +85,15 @@ public Object getValue() {
       return value;
     }
 
+    /**
+     * @return a copy of this entry, with a copy of the value.
+     */
+    HeapEntry copy() {
+      final Object copy = value instanceof CopyObject
+          ? ((CopyObject<?>) value).copyObject() : value;
+      return new HeapEntry(entryIteratorId, tableName, key, copy);
+    }
+
     @Override
     public int compareTo(HeapEntry other) {
       return Comparator.comparing(HeapEntry::getKey)
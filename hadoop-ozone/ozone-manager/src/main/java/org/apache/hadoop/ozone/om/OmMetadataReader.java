@@ -291,6 +291,34 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
     }
   }
 
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(OmKeyArgs args,
+      List<String> keyNames) throws IOException {
+    ResolvedBucket bucket = ozoneManager.resolveBucketLink(args);
+
+    boolean auditSuccess = true;
+    Map<String, String> auditMap = bucket.audit(args.toAuditMap());
+    auditMap.put("keyCount", String.valueOf(keyNames.size()));
+
+    args = bucket.update(args);
+
+    try {
+      metrics.incNumGetFileStatus();
+      return keyManager.getFileStatuses(args, keyNames, getClientAddress());
+    } catch (IOException ex) {
+      metrics.incNumGetFileStatusFails();
+      auditSuccess = false;
+      audit.logReadFailure(
+          buildAuditMessageForFailure(OMAction.GET_FILE_STATUSES, auditMap, ex));
+      throw ex;
+    } finally {
+      if (auditSuccess) {
+        audit.logReadSuccess(
+            buildAuditMessageForSuccess(OMAction.GET_FILE_STATUSES, auditMap));
+      }
+    }
+  }
+
   @Override
   public OmKeyInfo lookupFile(OmKeyArgs args) throws IOException {
     ResolvedBucket bucket = ozoneManager.resolveBucketLink(args);
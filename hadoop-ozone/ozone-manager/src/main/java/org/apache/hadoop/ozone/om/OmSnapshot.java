@@ -147,6 +147,18 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
         omMetadataReader.getFileStatus(normalizeOmKeyArgs(args)));
   }
 
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(OmKeyArgs args,
+      List<String> keyNames) throws IOException {
+    List<String> normalizedKeyNames = keyNames.stream()
+        .map(this::normalizeKeyName)
+        .collect(Collectors.toList());
+    return omMetadataReader.getFileStatuses(normalizeOmKeyArgs(args),
+        normalizedKeyNames).stream()
+        .map(this::denormalizeOzoneFileStatus)
+        .collect(Collectors.toList());
+  }
+
   @Override
   public OmKeyInfo lookupFile(OmKeyArgs args) throws IOException {
     return denormalizeOmKeyInfo(omMetadataReader
@@ -58,17 +58,30 @@ public class OzoneListStatusHelper {
   private final long scmBlockSize;
   private final GetFileStatusHelper getStatusHelper;
   private final ReplicationConfig omDefaultReplication;
+  private final ListCursorCache listCursors;
 
   OzoneListStatusHelper(
       OMMetadataManager metadataManager,
       long scmBlockSize,
       GetFileStatusHelper func,
       ReplicationConfig omDefaultReplication
+  ) {
+    this(metadataManager, scmBlockSize, func, omDefaultReplication,
+        new ListCursorCache(0, 0));
+  }
+
+  OzoneListStatusHelper(
+      OMMetadataManager metadataManager,
+      long scmBlockSize,
+      GetFileStatusHelper func,
+      ReplicationConfig omDefaultReplication,
+      ListCursorCache listCursors
   ) {
     this.metadataManager = metadataManager;
     this.scmBlockSize = scmBlockSize;
     this.getStatusHelper = func;
     this.omDefaultReplication = omDefaultReplication;
+    this.listCursors = listCursors;
   }
 
   /**
@@ -218,6 +231,9 @@ private String getStartKeyPrefixIfPresent(OmKeyArgs args, String startKey,
    *  fetch the sorted output using a min heap iterator where
    *  every remove from the heap will give the smallest entry and return
    *  a treemap.
+   *  The iteration is continued from the previous page if it is kept in
+   *  {@link ListCursorCache}, and kept for the next page if there are more
+   *  entries.
    */
   private TreeMap<String, OzoneFileStatus> getSortedEntries(long numEntries,
       String prefixKey, String dbPrefixKey, String startKeyPrefix,
@@ -231,27 +247,40 @@ private TreeMap<String, OzoneFileStatus> getSortedEntries(long numEntries,
             .orElse(omDefaultReplication);
 
     TreeMap<String, OzoneFileStatus> map = new TreeMap<>();
-    try (
-        ListIterator.MinHeapIterator heapIterator = new ListIterator.MinHeapIterator(
-            metadataManager, dbPrefixKey, bucketLayout, startKeyPrefix,
-            volumeName, bucketName)) {
-
-      try {
-        while (map.size() < numEntries && heapIterator.hasNext()) {
-          ListIterator.HeapEntry entry = heapIterator.next();
-          OzoneFileStatus status = getStatus(prefixKey, scmBlockSize, volumeName, bucketName,
-                  replication, entry);
-          // Caution: DO NOT use putIfAbsent. putIfAbsent undesirably overwrites
-          // the value with `status` when the existing value in the map is null.
-          if (!map.containsKey(entry.getKey())) {
-            map.put(entry.getKey(), status);
-          }
+    ListIterator.ClosableIterator heapIterator = listCursors.take(
+        ListCursorCache.getKey(dbPrefixKey, startKeyPrefix));
+    if (heapIterator == null) {
+      heapIterator = new ListIterator.MinHeapIterator(metadataManager,
+          dbPrefixKey, bucketLayout, startKeyPrefix, volumeName, bucketName);
+    }
+    try {
+      ListIterator.HeapEntry last = null;
+      while (map.size() < numEntries && heapIterator.hasNext()) {
+        ListIterator.HeapEntry entry = heapIterator.next();
+        if (map.size() == numEntries - 1 && listCursors.isEnabled()) {
+          // The next page starts from the last entry, keep it unchanged.
+          last = entry.copy();
         }
-        return map;
-      } catch (NoSuchElementException e) {
-        throw new IOException(e);
-      } catch (UncheckedIOException e) {
-        throw e.getCause();
+        OzoneFileStatus status = getStatus(prefixKey, scmBlockSize, volumeName, bucketName,
+                replication, entry);
+        // Caution: DO NOT use putIfAbsent. putIfAbsent undesirably overwrites
+        // the value with `status` when the existing value in the map is null.
+        if (!map.containsKey(entry.getKey())) {
+          map.put(entry.getKey(), status);
+        }
+      }
+      if (last != null && map.size() == numEntries && heapIterator.hasNext()) {
+        listCursors.put(last, dbPrefixKey, heapIterator);
+        heapIterator = null;
+      }
+      return map;
+    } catch (NoSuchElementException e) {
+      throw new IOException(e);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      if (heapIterator != null) {
+        heapIterator.close();
       }
     }
   }
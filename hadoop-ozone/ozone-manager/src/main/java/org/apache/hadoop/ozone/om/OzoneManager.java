@@ -3907,6 +3907,23 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(OmKeyArgs args,
+      List<String> keyNames) throws IOException {
+    // Each entry of a snapshot is read from its own snapshot.
+    if (keyNames.stream().anyMatch(keyName ->
+        OmSnapshotManager.isSnapshotKey(keyName.split(OM_KEY_PREFIX)))) {
+      return OzoneManagerProtocol.super.getFileStatuses(args, keyNames);
+    }
+    try (UncheckedAutoCloseableSupplier<IOmMetadataReader> rcReader =
+        getReader(args.getVolumeName(), args.getBucketName(), null)) {
+      return rcReader.get().getFileStatuses(args, keyNames);
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.execution;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.ServiceException;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.RDBBatchOperation;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.execution.flowcontrol.ExecutionContext;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer;
+import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerRatisUtils;
+import org.apache.hadoop.ozone.om.response.DummyOMClientResponse;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.util.OMPersistDbResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableRecord;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableUpdate;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PersistDbRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.ratis.protocol.RaftClientReply;
+import org.apache.ratis.util.ExitUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Execute key requests on the leader OM, and replicate only their DB changes,
+ * see {@link org.apache.hadoop.ozone.om.OMConfigKeys#OZONE_OM_LEADER_EXECUTION_ENABLED_KEY}.
+ * <p>
+ * The requests are executed one at a time under the append lock of the
+ * {@link OzoneManagerRatisServer}, which keeps the log in the order of
+ * execution. A request is executed with an index larger than the index of
+ * any log entry before it, and not larger than the index of its own
+ * {@link Type#PersistDb} entry, so that the epochs of the cache entries
+ * increase with the log index on all the OMs.
+ * <p>
+ * The cache of the leader is updated before the entry is committed, so that
+ * reads on the leader may see the changes before they are committed.
+ * Since the cache cannot be rolled back, the leader terminates if an
+ * executed request then fails to be committed.
+ */
+public class LeaderExecutor {
+  private static final Logger LOG = LoggerFactory.getLogger(LeaderExecutor.class);
+
+  private final OzoneManager ozoneManager;
+  /** The index of the last executed request, guarded by the append lock. */
+  private long lastIndex = -1;
+
+  public LeaderExecutor(OzoneManager ozoneManager) {
+    this.ozoneManager = ozoneManager;
+  }
+
+  /**
+   * @return can the given request be executed on the leader?
+   */
+  public static boolean isSupported(OMRequest request) {
+    return getKeyArgs(request) != null;
+  }
+
+  private static KeyArgs getKeyArgs(OMRequest request) {
+    switch (request.getCmdType()) {
+    case CreateKey:
+      return request.getCreateKeyRequest().getKeyArgs();
+    case AllocateBlock:
+      return request.getAllocateBlockRequest().getKeyArgs();
+    case CommitKey:
+      return request.getCommitKeyRequest().getKeyArgs();
+    case DeleteKey:
+      return request.getDeleteKeyRequest().getKeyArgs();
+    case CreateDirectory:
+      return request.getCreateDirectoryRequest().getKeyArgs();
+    case CreateFile:
+      return request.getCreateFileRequest().getKeyArgs();
+    default:
+      return null;
+    }
+  }
+
+  /**
+   * Execute the given preprocessed request, and submit its DB changes to Ratis.
+   * @return the response to the client.
+   */
+  public OMResponse submit(OMRequest request) throws ServiceException {
+    final OzoneManagerRatisServer ratisServer = ozoneManager.getOmRatisServer();
+    final Lock lock = ratisServer.getAppendLock();
+    CompletableFuture<RaftClientReply> reply = null;
+    boolean executed = false;
+    lock.lock();
+    try {
+      // A retried request is not executed again.
+      reply = ratisServer.getRetryCacheReply();
+      if (reply == null && ozoneManager.getPrepareState().requestAllowed(request.getCmdType())) {
+        // Execute after the requests which are executed by the state machine.
+        ratisServer.awaitReplicatedRequests();
+        final long index = Math.max(lastIndex + 1, ratisServer.getLastEntryIndex() + 1);
+        final OMRequest persistDb = execute(request, index);
+        executed = true;
+        reply = ratisServer.submitExecutedRequest(persistDb);
+        if (reply == null) {
+          terminate(request, "it is not appended to the log", null);
+        }
+        lastIndex = index;
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    if (reply == null) {
+      // Rejected in prepare mode
+      return ratisServer.submitRequest(request);
+    }
+    if (executed) {
+      final RaftClientReply r = reply.handle((raftClientReply, e) -> raftClientReply).join();
+      if (r == null || !r.isSuccess()) {
+        terminate(request, "it fails to be committed: " + (r != null ? r.getException() : null), null);
+      }
+    }
+    return ratisServer.getResponse(request, reply);
+  }
+
+  /**
+   * Execute the given request with the given index, and add its response to
+   * the state machine to be returned once its {@link Type#PersistDb} entry is applied.
+   * @return the {@link Type#PersistDb} request with the DB changes of the response.
+   */
+  private OMRequest execute(OMRequest request, long index) {
+    final ExecutionContext context = ExecutionContext.of(index, null);
+    OMClientResponse response;
+    try {
+      response = ozoneManager.getOmRatisServer().getOmStateMachine().getHandler()
+          .handleWriteRequestImpl(request, context);
+    } catch (IOException e) {
+      LOG.warn("Failed to write, Exception occurred ", e);
+      response = new DummyOMClientResponse(OzoneManagerRatisUtils.createErrorResponse(request, e));
+    } catch (Throwable e) {
+      // The cache may have been updated partially.
+      terminate(request, "it fails with exception", e);
+      return null;
+    }
+
+    final KeyArgs keyArgs = getKeyArgs(request);
+    final PersistDbRequest.Builder persistDb = PersistDbRequest.newBuilder()
+        .setIndex(index)
+        .setVolumeName(keyArgs.getVolumeName())
+        .setBucketName(keyArgs.getBucketName());
+    try {
+      getDBUpdates(ozoneManager.getMetadataManager(), response).values().forEach(persistDb::addTableUpdates);
+    } catch (IOException e) {
+      terminate(request, "its DB changes cannot be captured", e);
+    }
+    ozoneManager.getOmRatisServer().getOmStateMachine().addLeaderExecuted(index, response);
+
+    final OMRequest.Builder builder = OMRequest.newBuilder()
+        .setCmdType(Type.PersistDb)
+        .setClientId(request.getClientId())
+        .setTraceID(request.getTraceID())
+        .setPersistDbRequest(persistDb);
+    if (request.hasUserInfo()) {
+      builder.setUserInfo(request.getUserInfo());
+    }
+    if (request.hasLayoutVersion()) {
+      builder.setLayoutVersion(request.getLayoutVersion());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Capture the DB changes of the given response without writing them to the DB.
+   * The raw bytes are replicated instead of the RocksDB write batch,
+   * since the column family IDs may differ between the OMs.
+   */
+  @VisibleForTesting
+  static Map<String, DBTableUpdate.Builder> getDBUpdates(OMMetadataManager metadataManager,
+      OMClientResponse response) throws IOException {
+    final Map<String, DBTableUpdate.Builder> updates = new LinkedHashMap<>();
+    try (BatchOperation batch = metadataManager.getStore().initBatchOperation()) {
+      response.checkAndUpdateDB(metadataManager, batch);
+      ((RDBBatchOperation) batch).forEachOperation(new RDBBatchOperation.OperationVisitor() {
+        @Override
+        public void put(String family, byte[] key, byte[] value) throws IOException {
+          getUpdate(family).addRecords(DBTableRecord.newBuilder()
+              .setKey(ByteString.copyFrom(key))
+              .setValue(ByteString.copyFrom(value)));
+        }
+
+        @Override
+        public void delete(String family, byte[] key) throws IOException {
+          getUpdate(family).addRecords(DBTableRecord.newBuilder()
+              .setKey(ByteString.copyFrom(key)));
+        }
+
+        @Override
+        public void deleteRange(String family, byte[] startKey, byte[] endKey) throws IOException {
+          throw new IOException("Unexpected deleteRange in table " + family);
+        }
+
+        private DBTableUpdate.Builder getUpdate(String family) throws IOException {
+          if (!OMPersistDbResponse.isSupported(family)) {
+            throw new IOException("Unexpected table " + family);
+          }
+          return updates.computeIfAbsent(family, name -> DBTableUpdate.newBuilder().setTableName(name));
+        }
+      });
+    }
+    return updates;
+  }
+
+  private static void terminate(OMRequest request, String reason, Throwable e) {
+    final String message = "Terminating OM since the cache has been updated by executing "
+        + request.getCmdType() + " (traceID=" + request.getTraceID() + ") on the leader but " + reason;
+    if (e != null) {
+      ExitUtils.terminate(1, message, e, LOG);
+    } else {
+      ExitUtils.terminate(1, message, LOG);
+    }
+  }
+}
@@ -21,6 +21,7 @@
 
 import com.google.protobuf.ServiceException;
 import java.io.IOException;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.OMPerformanceMetrics;
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.helpers.OMAuditLogger;
@@ -36,10 +37,15 @@ public class OMExecutionFlow {
 
   private final OzoneManager ozoneManager;
   private final OMPerformanceMetrics perfMetrics;
+  /** For executing key requests on the leader; null if disabled. */
+  private final LeaderExecutor leaderExecutor;
 
   public OMExecutionFlow(OzoneManager om) {
     this.ozoneManager = om;
     this.perfMetrics = ozoneManager.getPerfMetrics();
+    this.leaderExecutor = om.getConfiguration().getBoolean(
+        OMConfigKeys.OZONE_OM_LEADER_EXECUTION_ENABLED_KEY,
+        OMConfigKeys.OZONE_OM_LEADER_EXECUTION_ENABLED_DEFAULT) ? new LeaderExecutor(om) : null;
   }
 
   /**
@@ -72,8 +78,13 @@ private OMResponse submitExecutionToRatis(OMRequest request) throws ServiceExcep
       return OzoneManagerRatisUtils.createErrorResponse(request, ex);
     }
 
-    // 2. submit request to ratis
-    OMResponse response = ozoneManager.getOmRatisServer().submitRequest(requestToSubmit);
+    // 2. execute on the leader, or submit request to ratis
+    final OMResponse response;
+    if (leaderExecutor != null && LeaderExecutor.isSupported(requestToSubmit)) {
+      response = leaderExecutor.submit(requestToSubmit);
+    } else {
+      response = ozoneManager.getOmRatisServer().submitRequest(requestToSubmit);
+    }
     if (!response.getSuccess()) {
       omClientRequest.handleRequestFailure(ozoneManager);
     }
@@ -50,6 +50,20 @@ public interface OzoneManagerFS extends IOzoneAcl {
   OzoneFileStatus getFileStatus(OmKeyArgs args, String clientAddress)
           throws IOException;
 
+  /**
+   * Get file status for many files or directories of a bucket.
+   *
+   * @param args          the args of the bucket provided by client.
+   * @param keyNames      the names of the keys.
+   * @param clientAddress a hint to key manager, order the datanode in returned
+   *                      pipeline by distance between client and datanode.
+   * @return the file status of each key in the order of the key names, or
+   *         null if the key does not exist.
+   * @throws IOException if bucket or volume does not exist
+   */
+  List<OzoneFileStatus> getFileStatuses(OmKeyArgs args, List<String> keyNames,
+      String clientAddress) throws IOException;
+
   /**
    * Look up a file. Return the info of the file to client side.
    *
@@ -100,14 +100,21 @@ public final class OzoneManagerDoubleBuffer {
   private final AtomicLong flushedTransactionCount = new AtomicLong();
   /** The number of flush iterations (for testing and debug only). */
   private final AtomicLong flushIterations = new AtomicLong();
+  /** The index of the last transaction added, see {@link #getLastAddedIndex()}. */
+  private volatile long lastAddedIndex = -1;
+  /** The index of the last transaction being flushed, see {@link #getFlushingIndex()}. */
+  private volatile long flushingIndex = -1;
 
   /** Entry for {@link #currentBuffer} and {@link #readyBuffer}. */
   private static class Entry {
     private final TermIndex termIndex;
+    /** The epoch of the cache entries of the response. */
+    private final long epoch;
     private final OMClientResponse response;
 
-    Entry(TermIndex termIndex, OMClientResponse response) {
+    Entry(TermIndex termIndex, long epoch, OMClientResponse response) {
       this.termIndex = termIndex;
+      this.epoch = epoch;
       this.response = response;
     }
 
@@ -115,6 +122,10 @@ TermIndex getTermIndex() {
       return termIndex;
     }
 
+    long getEpoch() {
+      return epoch;
+    }
+
     OMClientResponse getResponse() {
       return response;
     }
@@ -331,6 +342,9 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
         .collect(Collectors.toList());
     final int flushedTransactionsSize = flushedTransactions.size();
     final TermIndex lastTransaction = flushedTransactions.get(flushedTransactionsSize - 1);
+    // Set before the DB and the cache are changed, for the lock-free readers.
+    final long lastEpoch = buffer.stream().mapToLong(Entry::getEpoch).max().getAsLong();
+    flushingIndex = Math.max(flushingIndex, lastEpoch);
 
     try (BatchOperation batchOperation = omMetadataManager.getStore()
         .initBatchOperation()) {
@@ -457,7 +471,7 @@ private void addCleanupEntry(Entry entry, Map<String, List<Long>> cleanupEpochs)
       }
       for (String table : cleanupTables) {
         cleanupEpochs.computeIfAbsent(table, list -> new ArrayList<>())
-            .add(entry.getTermIndex().getIndex());
+            .add(entry.getEpoch());
       }
     } else {
       // This is to catch early errors, when a new response class missed to
@@ -525,11 +539,42 @@ private void terminate(Throwable t, int status, OMResponse omResponse) {
   /**
    * Add OmResponseBufferEntry to buffer.
    */
-  public synchronized void add(OMClientResponse response, TermIndex termIndex) {
-    currentBuffer.add(new Entry(termIndex, response));
+  public void add(OMClientResponse response, TermIndex termIndex) {
+    add(response, termIndex, termIndex.getIndex());
+  }
+
+  /**
+   * Add OmResponseBufferEntry to buffer, whose cache entries were added
+   * with the given epoch instead of the log index.
+   * The epochs must increase with the log index.
+   */
+  public synchronized void add(OMClientResponse response, TermIndex termIndex,
+      long epoch) {
+    currentBuffer.add(new Entry(termIndex, epoch, response));
+    lastAddedIndex = Math.max(lastAddedIndex, epoch);
     notify();
   }
 
+  /**
+   * The transactions are added in the order of their indices, after they
+   * updated the table caches. So all the transactions up to the returned
+   * index have updated the table caches, and none after it has been flushed
+   * to the DB as long as {@link #getFlushingIndex()} does not exceed it.
+   * @return the index of the last transaction added, which is the epoch of
+   * its cache entries.
+   */
+  public long getLastAddedIndex() {
+    return lastAddedIndex;
+  }
+
+  /**
+   * @return the index of the last transaction which may have been written
+   * to the DB, or removed from the table caches.
+   */
+  public long getFlushingIndex() {
+    return flushingIndex;
+  }
+
   /**
    * Check if transactions can be flushed or not. It waits till currentBuffer
    * size is greater than zero. When any item gets added to currentBuffer,
@@ -41,9 +41,13 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.HddsUtils;
@@ -74,6 +78,7 @@
 import org.apache.ratis.grpc.GrpcTlsConfig;
 import org.apache.ratis.netty.NettyConfigKeys;
 import org.apache.ratis.proto.RaftProtos.RaftPeerRole;
+import org.apache.ratis.proto.RaftProtos.RoleInfoProto;
 import org.apache.ratis.protocol.ClientId;
 import org.apache.ratis.protocol.ClientInvocationId;
 import org.apache.ratis.protocol.Message;
@@ -121,6 +126,18 @@ public final class OzoneManagerRatisServer {
   private final OzoneManagerStateMachine omStateMachine;
   private final String ratisStorageDir;
   private final OMPerformanceMetrics perfMetrics;
+  private final boolean followerReadEnabled;
+  private final long followerReadMaxStalenessMs;
+  /**
+   * For appending the write requests to the log in the order of submission,
+   * when {@link OMConfigKeys#OZONE_OM_LEADER_EXECUTION_ENABLED_KEY} is set;
+   * otherwise, null.
+   */
+  private final ReentrantLock appendLock;
+  /** The write requests submitted under the {@link #appendLock} and not yet appended. */
+  private final Map<ClientInvocationId, CompletableFuture<Void>> appending = new ConcurrentHashMap<>();
+  /** The reply of the last request appended without being executed on the leader. */
+  private CompletableFuture<RaftClientReply> lastReplicatedReply = CompletableFuture.completedFuture(null);
 
   private final ClientId clientId = ClientId.randomId();
   private static final AtomicLong CALL_ID_COUNTER = new AtomicLong();
@@ -188,6 +205,16 @@ private OzoneManagerRatisServer(ConfigurationSource conf, OzoneManager om,
       }
     });
     this.perfMetrics = om.getPerfMetrics();
+    this.followerReadEnabled = conf.getBoolean(
+        OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED_KEY,
+        OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED_DEFAULT);
+    this.followerReadMaxStalenessMs = conf.getTimeDuration(
+        OMConfigKeys.OZONE_OM_FOLLOWER_READ_MAX_STALENESS_KEY,
+        OMConfigKeys.OZONE_OM_FOLLOWER_READ_MAX_STALENESS_DEFAULT,
+        TimeUnit.MILLISECONDS);
+    this.appendLock = conf.getBoolean(
+        OMConfigKeys.OZONE_OM_LEADER_EXECUTION_ENABLED_KEY,
+        OMConfigKeys.OZONE_OM_LEADER_EXECUTION_ENABLED_DEFAULT) ? new ReentrantLock() : null;
   }
 
   /**
@@ -244,7 +271,7 @@ public OMResponse submitRequest(OMRequest omRequest) throws ServiceException {
     // through.
     if (ozoneManager.getPrepareState().requestAllowed(omRequest.getCmdType())) {
       RaftClientRequest raftClientRequest = createRaftRequest(omRequest);
-      RaftClientReply raftClientReply = submitRequestToRatis(raftClientRequest);
+      RaftClientReply raftClientReply = submitWriteRequestToRatis(raftClientRequest);
       return createOmResponse(omRequest, raftClientReply);
     } else {
       LOG.info("Rejecting write request on OM {} because it is in prepare " +
@@ -302,10 +329,198 @@ public OMResponse submitRequest(OMRequest omRequest, ClientId cliId, long callId
         .setType(RaftClientRequest.writeRequestType())
         .build();
     RaftClientReply raftClientReply =
-        submitRequestToRatis(raftClientRequest);
+        submitWriteRequestToRatis(raftClientRequest);
     return createOmResponse(omRequest, raftClientReply);
   }
 
+  /**
+   * Submit a request executed on the leader, see
+   * {@link org.apache.hadoop.ozone.om.execution.LeaderExecutor}.
+   * The caller must hold the {@link #getAppendLock()}.
+   * @return the future of the reply, or null if the request was not appended to the log.
+   */
+  public CompletableFuture<RaftClientReply> submitExecutedRequest(OMRequest omRequest) throws ServiceException {
+    return appendRequest(createRaftRequest(omRequest), true);
+  }
+
+  /**
+   * @return the response of the given request from its reply.
+   */
+  public OMResponse getResponse(OMRequest omRequest, CompletableFuture<RaftClientReply> reply)
+      throws ServiceException {
+    return createOmResponse(omRequest, getReply(reply));
+  }
+
+  /**
+   * @return the lock held when submitting write requests, or null if
+   * {@link OMConfigKeys#OZONE_OM_LEADER_EXECUTION_ENABLED_KEY} is not set.
+   */
+  public Lock getAppendLock() {
+    return appendLock;
+  }
+
+  /**
+   * Wait until the requests appended before, which were not executed on
+   * the leader, are applied. The caller must hold the {@link #getAppendLock()}.
+   */
+  public void awaitReplicatedRequests() throws ServiceException {
+    Preconditions.checkState(appendLock.isHeldByCurrentThread());
+    try {
+      lastReplicatedReply.handle((reply, e) -> null).get();
+    } catch (ExecutionException ex) {
+      throw new ServiceException(ex.getMessage(), ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ServiceException(ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * @return the index of the last entry in the log, or -1 if the log is empty.
+   */
+  public long getLastEntryIndex() {
+    final TermIndex last = getServerDivision().getRaftLog().getLastEntryTermIndex();
+    return last != null ? last.getIndex() : -1;
+  }
+
+  /**
+   * Submit a write request, under the {@link #appendLock} if it is enabled,
+   * so that it is appended to the log after the requests submitted before.
+   */
+  private RaftClientReply submitWriteRequestToRatis(RaftClientRequest raftClientRequest) throws ServiceException {
+    if (appendLock == null) {
+      return submitRequestToRatis(raftClientRequest);
+    }
+    return captureLatencyNs(perfMetrics.getSubmitToRatisLatencyNs(), () -> {
+      final CompletableFuture<RaftClientReply> reply;
+      appendLock.lock();
+      try {
+        reply = appendRequest(raftClientRequest, false);
+      } finally {
+        appendLock.unlock();
+      }
+      return getReply(reply);
+    });
+  }
+
+  /**
+   * Submit the given write request, and wait until it is appended to the
+   * log, or fails. The caller must hold the {@link #appendLock}.
+   * @param executed has the request been executed on the leader?
+   * @return the future of the reply; for an executed request, null if the
+   *         request was not appended to the log.
+   */
+  private CompletableFuture<RaftClientReply> appendRequest(RaftClientRequest raftClientRequest, boolean executed)
+      throws ServiceException {
+    Preconditions.checkState(appendLock.isHeldByCurrentThread());
+    final ClientInvocationId invocationId = ClientInvocationId.valueOf(
+        raftClientRequest.getClientId(), raftClientRequest.getCallId());
+    final CompletableFuture<Void> appended = new CompletableFuture<>();
+    appending.put(invocationId, appended);
+    try {
+      final CompletableFuture<RaftClientReply> reply = server.submitClientRequestAsync(raftClientRequest);
+      try {
+        CompletableFuture.anyOf(appended, reply).get();
+      } catch (ExecutionException e) {
+        LOG.debug("Failed to append {}", invocationId, e);
+      }
+      if (!executed) {
+        lastReplicatedReply = reply;
+      } else if (!appended.isDone()) {
+        return null;
+      }
+      return reply;
+    } catch (IOException ex) {
+      throw new ServiceException(ex.getMessage(), ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ServiceException(ex.getMessage(), ex);
+    } finally {
+      appending.remove(invocationId);
+    }
+  }
+
+  /**
+   * Notify that the given request is about to be appended to the log,
+   * see {@link OzoneManagerStateMachine#preAppendTransaction}.
+   */
+  void notifyAppend(RaftClientRequest raftClientRequest) {
+    final CompletableFuture<Void> appended = appending.get(ClientInvocationId.valueOf(
+        raftClientRequest.getClientId(), raftClientRequest.getCallId()));
+    if (appended != null) {
+      appended.complete(null);
+    }
+  }
+
+  private static RaftClientReply getReply(CompletableFuture<RaftClientReply> reply) throws ServiceException {
+    try {
+      return reply.get();
+    } catch (ExecutionException ex) {
+      throw new ServiceException(ex.getMessage(), ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ServiceException(ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Wait until this follower or listener OM can serve a read request, see
+   * {@link #isFollowerReadEnabled()}. The request itself is not sent to
+   * Ratis: the caller serves it afterwards on the RPC handler thread, where
+   * the user, the client address and the S3 authentication of the call are
+   * available for the ACL checks and the audit log.
+   * @throws ServiceException if the read cannot be served by this OM, e.g.
+   * the leader is not known, in which case the client should retry on the
+   * leader.
+   */
+  public void waitForFollowerRead() throws ServiceException {
+    RaftClientRequest raftClientRequest = RaftClientRequest.newBuilder()
+        .setClientId(getClientId())
+        .setServerId(server.getId())
+        .setGroupId(raftGroupId)
+        .setCallId(getCallId())
+        .setMessage(Message.EMPTY)
+        .setType(getReadRequestType())
+        .build();
+    RaftClientReply raftClientReply = submitRequestToRatis(raftClientRequest);
+    if (!raftClientReply.isSuccess()) {
+      LOG.debug("Failed to serve read request on follower {}", raftPeerId,
+          raftClientReply.getException());
+      throw new ServiceException(newOMNotLeaderException());
+    }
+  }
+
+  /**
+   * A follower which heard from the leader within the staleness bound and
+   * applied all the transactions it knows to be committed serves the read
+   * from its own state. Otherwise the read is linearizable: the follower
+   * asks the leader for its commit index (ReadIndex), and waits until it
+   * has applied the transactions up to that index.
+   */
+  private RaftClientRequest.Type getReadRequestType() {
+    if (followerReadMaxStalenessMs > 0) {
+      final RaftServer.Division division = getServerDivision();
+      final RoleInfoProto roleInfo = division.getInfo().getRoleInfoProto();
+      if (roleInfo.hasFollowerInfo() && roleInfo.getFollowerInfo()
+          .getLeaderInfo().getLastRpcElapsedTimeMs()
+          <= followerReadMaxStalenessMs) {
+        final long committed = division.getRaftLog().getLastCommittedIndex();
+        if (getLastAppliedTermIndex().getIndex() >= committed) {
+          return RaftClientRequest.staleReadRequestType(committed);
+        }
+      }
+    }
+    return RaftClientRequest.readRequestType();
+  }
+
+  /**
+   * @return true if read requests can be served by follower and listener
+   * OMs, false if only by the leader.
+   */
+  public boolean isFollowerReadEnabled() {
+    return followerReadEnabled;
+  }
+
   private RaftClientReply submitRequestToRatisImpl(
       RaftClientRequest raftClientRequest) throws ServiceException {
     try {
@@ -530,20 +745,22 @@ private long getCallId() {
   }
 
   public OMResponse checkRetryCache() throws ServiceException {
-    final ClientInvocationId invocationId = ClientInvocationId.valueOf(getClientId(), getCallId());
-    final RetryCache.Entry cacheEntry = getServerDivision().getRetryCache().getIfPresent(invocationId);
-    if (cacheEntry == null) {
+    final CompletableFuture<RaftClientReply> reply = getRetryCacheReply();
+    if (reply == null) {
       return null;  //cache miss
     }
     //cache hit
-    try {
-      return getOMResponse(cacheEntry.getReplyFuture().get());
-    } catch (ExecutionException ex) {
-      throw new ServiceException(ex.getMessage(), ex);
-    } catch (InterruptedException ex) {
-      Thread.currentThread().interrupt();
-      throw new ServiceException(ex.getMessage(), ex);
-    }
+    return getOMResponse(getReply(reply));
+  }
+
+  /**
+   * @return the future of the reply to the current call in the retry cache,
+   *         or null if the call is not in the retry cache.
+   */
+  public CompletableFuture<RaftClientReply> getRetryCacheReply() {
+    final ClientInvocationId invocationId = ClientInvocationId.valueOf(getClientId(), getCallId());
+    final RetryCache.Entry cacheEntry = getServerDivision().getRetryCache().getIfPresent(invocationId);
+    return cacheEntry != null ? cacheEntry.getReplyFuture() : null;
   }
 
   /**
@@ -721,10 +938,20 @@ public static RaftProperties newRaftProperties(ConfigurationSource conf,
 
     setRaftCloseThreshold(properties, conf);
 
+    setRaftReadProperties(properties, conf);
+
     getOMHAConfigs(conf).forEach(properties::set);
     return properties;
   }
 
+  private static void setRaftReadProperties(RaftProperties properties, ConfigurationSource conf) {
+    // Followers serve read requests after a ReadIndex from the leader
+    if (conf.getBoolean(OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED_KEY,
+        OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED_DEFAULT)) {
+      RaftServerConfigKeys.Read.setOption(properties, RaftServerConfigKeys.Read.Option.LINEARIZABLE);
+    }
+  }
+
   private static void setRaftLeaderElectionProperties(RaftProperties properties, ConfigurationSource conf) {
     // Disable/enable the pre vote feature in Ratis
     RaftServerConfigKeys.LeaderElection.setPreVote(properties, conf.getBoolean(
@@ -30,6 +30,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -45,10 +46,12 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.execution.flowcontrol.ExecutionContext;
 import org.apache.hadoop.ozone.om.helpers.OMRatisHelper;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.lock.OMLockDetails;
 import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerRatisUtils;
 import org.apache.hadoop.ozone.om.response.DummyOMClientResponse;
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.util.OMPersistDbResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
@@ -97,9 +100,25 @@ public class OzoneManagerStateMachine extends BaseStateMachine {
   private final SimpleStateMachineStorage storage =
       new SimpleStateMachineStorage();
   private final OzoneManager ozoneManager;
+  private final OzoneManagerRatisServer ratisServer;
   private RequestHandler handler;
   private volatile OzoneManagerDoubleBuffer ozoneManagerDoubleBuffer;
+  /** For applying transactions serially; null if {@link #parallelApplyExecutor} is used. */
   private final ExecutorService executorService;
+  /** For applying transactions of different buckets in parallel; null if disabled. */
+  private final PartitionedApplyExecutor parallelApplyExecutor;
+  /**
+   * The future of the last response added to the double buffer by {@link #parallelApplyExecutor}.
+   * It is only accessed by {@link #applyTransaction(TransactionContext)}, which is invoked serially.
+   */
+  private CompletableFuture<OMResponse> lastAddedToDoubleBuffer = CompletableFuture.completedFuture(null);
+  /**
+   * The responses of the requests executed on this OM as the leader, by their execution index,
+   * see {@link org.apache.hadoop.ozone.om.execution.LeaderExecutor}.
+   */
+  private final Map<Long, OMClientResponse> leaderExecuted = new ConcurrentHashMap<>();
+  /** The execution index of the last transaction passed to {@link #applyTransaction(TransactionContext)}. */
+  private long lastExecutionIndex = RaftLog.INVALID_LOG_INDEX;
   private final ExecutorService installSnapshotExecutor;
   private final boolean isTracingEnabled;
   private final AtomicInteger statePausedCount = new AtomicInteger(0);
@@ -116,6 +135,7 @@ public OzoneManagerStateMachine(OzoneManagerRatisServer ratisServer,
       boolean isTracingEnabled) throws IOException {
     this.isTracingEnabled = isTracingEnabled;
     this.ozoneManager = ratisServer.getOzoneManager();
+    this.ratisServer = ratisServer;
 
     loadSnapshotInfoFromDB();
     this.threadPrefix = ozoneManager.getThreadNamePrefix();
@@ -126,7 +146,17 @@ public OzoneManagerStateMachine(OzoneManagerRatisServer ratisServer,
     ThreadFactory build = new ThreadFactoryBuilder().setDaemon(true)
         .setNameFormat(threadPrefix +
             "OMStateMachineApplyTransactionThread - %d").build();
-    this.executorService = HadoopExecutors.newSingleThreadExecutor(build);
+    final int applyParallelism = ozoneManager.getConfiguration().getInt(
+        OMConfigKeys.OZONE_OM_RATIS_APPLY_PARALLELISM,
+        OMConfigKeys.OZONE_OM_RATIS_APPLY_PARALLELISM_DEFAULT);
+    if (applyParallelism > 1) {
+      LOG.info("Applying transactions of different buckets with {} threads", applyParallelism);
+      this.executorService = null;
+      this.parallelApplyExecutor = new PartitionedApplyExecutor(applyParallelism, build);
+    } else {
+      this.executorService = HadoopExecutors.newSingleThreadExecutor(build);
+      this.parallelApplyExecutor = null;
+    }
 
     ThreadFactory installSnapshotThreadFactory = new ThreadFactoryBuilder()
         .setNameFormat(threadPrefix + "InstallSnapshotThread").build();
@@ -370,6 +400,9 @@ public TransactionContext preAppendTransaction(TransactionContext trx)
     // In prepare mode, only prepare and cancel requests are allowed to go
     // through.
     if (prepareState.requestAllowed(cmdType)) {
+      if (trx.getClientRequest() != null) {
+        ratisServer.notifyAppend(trx.getClientRequest());
+      }
       return trx;
     } else {
       String message = "Cannot apply write request " +
@@ -395,30 +428,176 @@ public CompletableFuture<Message> applyTransaction(TransactionContext trx) {
           trx.getStateMachineLogEntry().getLogData());
       final TermIndex termIndex = TermIndex.valueOf(trx.getLogEntry());
       LOG.debug("{}: applyTransaction {}", getId(), termIndex);
+      final ExecutionContext context = ExecutionContext.of(getExecutionIndex(request, termIndex), termIndex);
       // In the current approach we have one single global thread executor.
       // with single thread. Right now this is being done for correctness, as
       // applyTransaction will be run on multiple OM's we want to execute the
       // transactions in the same order on all OM's, otherwise there is a
       // chance that OM replica's can be out of sync.
-      // TODO: In this way we are making all applyTransactions in
-      // OM serial order. Revisit this in future to use multiple executors for
-      // volume/bucket.
-
-      // Reason for not immediately implementing executor per volume is, if
-      // one executor operations are slow, we cannot update the
-      // lastAppliedIndex in OzoneManager StateMachine, even if other
-      // executor has completed the transactions with id more.
+      // When ozone.om.ratis.apply.parallelism > 1, transactions of different
+      // buckets are applied by multiple executors, see applyInParallel.
+      // The responses are still added to the double buffer in log order,
+      // so that the lastAppliedIndex is only updated after all the
+      // transactions with smaller indices have been flushed.
 
       //if there are too many pending requests, wait for doubleBuffer flushing
       ozoneManagerDoubleBuffer.acquireUnFlushedTransactions(1);
 
-      return CompletableFuture.supplyAsync(() -> runCommand(request, termIndex), executorService)
+      final OMClientResponse executed = request.getCmdType() == OzoneManagerProtocolProtos.Type.PersistDb
+          ? leaderExecuted.remove(context.getIndex()) : null;
+      if (executed != null) {
+        return applyLeaderExecuted(request, executed, context).thenApply(this::processResponse);
+      }
+      if (parallelApplyExecutor != null) {
+        return applyInParallel(request, context).thenApply(this::processResponse);
+      }
+      return CompletableFuture.supplyAsync(() -> runCommand(request, context), executorService)
           .thenApply(this::processResponse);
     } catch (Exception e) {
       return completeExceptionally(e);
     }
   }
 
+  /**
+   * Apply the given request using {@link #parallelApplyExecutor}.
+   * Requests modifying a single bucket are executed by the partition of the bucket,
+   * so that requests of different buckets can be executed concurrently.
+   * All other requests are barriers executed only after all the previous requests.
+   * The responses are added to the double buffer in the same order as the requests.
+   */
+  private CompletableFuture<OMResponse> applyInParallel(OMRequest request, ExecutionContext context) {
+    final String bucketKey = getApplyPartitionKey(request);
+    final CompletableFuture<OMResponse> added;
+    if (bucketKey == null) {
+      added = parallelApplyExecutor.submitBarrier(lastAddedToDoubleBuffer, () -> runCommand(request, context));
+    } else {
+      final CompletableFuture<OMClientResponse> executed = parallelApplyExecutor.submit(
+          bucketKey, () -> executeCommand(request, context));
+      added = lastAddedToDoubleBuffer.handle((r, e) -> null)
+          .thenCombine(executed, (previous, response) -> addToDoubleBuffer(response, context));
+    }
+    lastAddedToDoubleBuffer = added;
+    return added;
+  }
+
+  /**
+   * Apply a {@link OzoneManagerProtocolProtos.Type#PersistDb} request of a request executed on this OM
+   * as the leader. The cache has been updated by the execution, so only the DB changes are added to
+   * the double buffer, and the response of the execution is returned to the client.
+   */
+  private CompletableFuture<OMResponse> applyLeaderExecuted(OMRequest request, OMClientResponse executed,
+      ExecutionContext context) {
+    final OMClientResponse response = new OMPersistDbResponse(executed.getOMResponse(),
+        request.getPersistDbRequest());
+    if (parallelApplyExecutor == null) {
+      return CompletableFuture.supplyAsync(() -> {
+        addToDoubleBuffer(response, context);
+        return toOMResponse(executed);
+      }, executorService);
+    }
+    final CompletableFuture<OMResponse> added = lastAddedToDoubleBuffer.handle((r, e) -> {
+      addToDoubleBuffer(response, context);
+      return toOMResponse(executed);
+    });
+    lastAddedToDoubleBuffer = added;
+    return added;
+  }
+
+  /**
+   * @return the index of the log entry, or the index which a request executed on the leader
+   *         was executed with, which is used as the epoch of its cache entries.
+   */
+  private long getExecutionIndex(OMRequest request, TermIndex termIndex) {
+    final long index = termIndex.getIndex();
+    if (request.getCmdType() != OzoneManagerProtocolProtos.Type.PersistDb) {
+      lastExecutionIndex = index;
+      return index;
+    }
+    // The epochs must increase with the log index, and not exceed it,
+    // since the transaction info is updated with the log index.
+    final long executionIndex = request.getPersistDbRequest().getIndex();
+    if (executionIndex <= lastExecutionIndex || executionIndex > index) {
+      ExitUtils.terminate(1, "Unexpected execution index " + executionIndex + " of " + termIndex
+          + ", the last execution index is " + lastExecutionIndex, LOG);
+    }
+    lastExecutionIndex = executionIndex;
+    return executionIndex;
+  }
+
+  /**
+   * Add the response of a request executed on this OM as the leader,
+   * until its {@link OzoneManagerProtocolProtos.Type#PersistDb} request is applied.
+   */
+  public void addLeaderExecuted(long executionIndex, OMClientResponse response) {
+    leaderExecuted.put(executionIndex, response);
+  }
+
+  /**
+   * @return the bucket key if the given request only modifies keys in a single non-link bucket;
+   *         otherwise, return null.
+   */
+  @VisibleForTesting
+  String getApplyPartitionKey(OMRequest request) {
+    final String volumeName;
+    final String bucketName;
+    switch (request.getCmdType()) {
+    case DeleteKeys:
+      volumeName = request.getDeleteKeysRequest().getDeleteKeys().getVolumeName();
+      bucketName = request.getDeleteKeysRequest().getDeleteKeys().getBucketName();
+      break;
+    case PersistDb:
+      volumeName = request.getPersistDbRequest().getVolumeName();
+      bucketName = request.getPersistDbRequest().getBucketName();
+      break;
+    default:
+      final OzoneManagerProtocolProtos.KeyArgs keyArgs = getKeyArgs(request);
+      if (keyArgs == null) {
+        return null;
+      }
+      volumeName = keyArgs.getVolumeName();
+      bucketName = keyArgs.getBucketName();
+    }
+
+    final String bucketKey = ozoneManager.getMetadataManager().getBucketKey(volumeName, bucketName);
+    try {
+      final OmBucketInfo bucketInfo = ozoneManager.getMetadataManager().getBucketTable().get(bucketKey);
+      // A link bucket may share its source bucket with other buckets.
+      return bucketInfo != null && !bucketInfo.isLink() ? bucketKey : null;
+    } catch (IOException e) {
+      LOG.warn("Failed to get bucket {}, apply {} as a barrier", bucketKey, request.getCmdType(), e);
+      return null;
+    }
+  }
+
+  private static OzoneManagerProtocolProtos.KeyArgs getKeyArgs(OMRequest request) {
+    switch (request.getCmdType()) {
+    case CreateKey:
+      return request.getCreateKeyRequest().getKeyArgs();
+    case CommitKey:
+      return request.getCommitKeyRequest().getKeyArgs();
+    case AllocateBlock:
+      return request.getAllocateBlockRequest().getKeyArgs();
+    case DeleteKey:
+      return request.getDeleteKeyRequest().getKeyArgs();
+    case RenameKey:
+      return request.getRenameKeyRequest().getKeyArgs();
+    case CreateDirectory:
+      return request.getCreateDirectoryRequest().getKeyArgs();
+    case CreateFile:
+      return request.getCreateFileRequest().getKeyArgs();
+    case InitiateMultiPartUpload:
+      return request.getInitiateMultiPartUploadRequest().getKeyArgs();
+    case CommitMultiPartUpload:
+      return request.getCommitMultiPartUploadRequest().getKeyArgs();
+    case CompleteMultiPartUpload:
+      return request.getCompleteMultiPartUploadRequest().getKeyArgs();
+    case AbortMultiPartUpload:
+      return request.getAbortMultiPartUploadRequest().getKeyArgs();
+    default:
+      return null;
+    }
+  }
+
   private Message processResponse(OMResponse omResponse) {
     if (!omResponse.getSuccess()) {
       // INTERNAL_ERROR or METADATA_ERROR are considered as critical errors.
@@ -446,9 +625,14 @@ private static void terminate(OMResponse omResponse, OMException.ResultCodes res
 
   /**
    * Query the state machine. The request must be read-only.
+   * An empty request only waits for the read to be allowed, see
+   * {@link OzoneManagerRatisServer#waitForFollowerRead()}.
    */
   @Override
   public CompletableFuture<Message> query(Message request) {
+    if (request.getContent().isEmpty()) {
+      return CompletableFuture.completedFuture(Message.EMPTY);
+    }
     try {
       OMRequest omRequest = OMRatisHelper.convertByteStringToOMRequest(
           request.getContent());
@@ -593,22 +777,32 @@ public void close() {
    * @param request OMRequest
    * @return response from OM
    */
-  private OMResponse runCommand(OMRequest request, TermIndex termIndex) {
+  private OMResponse runCommand(OMRequest request, ExecutionContext context) {
     try {
-      ExecutionContext context = ExecutionContext.of(termIndex.getIndex(), termIndex);
       final OMClientResponse omClientResponse = handler.handleWriteRequest(
           request, context, ozoneManagerDoubleBuffer);
-      OMLockDetails omLockDetails = omClientResponse.getOmLockDetails();
-      OMResponse omResponse = omClientResponse.getOMResponse();
-      if (omLockDetails != null) {
-        return omResponse.toBuilder()
-            .setOmLockDetails(omLockDetails.toProtobufBuilder()).build();
-      } else {
-        return omResponse;
-      }
+      return toOMResponse(omClientResponse);
+    } catch (IOException e) {
+      LOG.warn("Failed to write, Exception occurred ", e);
+      return createErrorResponse(request, e, context);
+    } catch (Throwable e) {
+      // For any Runtime exceptions, terminate OM.
+      String errorMessage = "Request " + request + " failed with exception";
+      ExitUtils.terminate(1, errorMessage, e, LOG);
+    }
+    return null;
+  }
+
+  /**
+   * Similar to {@link #runCommand(OMRequest, ExecutionContext)}
+   * except that the response is not added to the double buffer.
+   */
+  private OMClientResponse executeCommand(OMRequest request, ExecutionContext context) {
+    try {
+      return handler.handleWriteRequestImpl(request, context);
     } catch (IOException e) {
       LOG.warn("Failed to write, Exception occurred ", e);
-      return createErrorResponse(request, e, termIndex);
+      return new DummyOMClientResponse(buildErrorResponse(request, e));
     } catch (Throwable e) {
       // For any Runtime exceptions, terminate OM.
       String errorMessage = "Request " + request + " failed with exception";
@@ -617,8 +811,31 @@ private OMResponse runCommand(OMRequest request, TermIndex termIndex) {
     return null;
   }
 
+  private OMResponse addToDoubleBuffer(OMClientResponse omClientResponse, ExecutionContext context) {
+    ozoneManagerDoubleBuffer.add(omClientResponse, context.getTermIndex(), context.getIndex());
+    return toOMResponse(omClientResponse);
+  }
+
+  private static OMResponse toOMResponse(OMClientResponse omClientResponse) {
+    OMLockDetails omLockDetails = omClientResponse.getOmLockDetails();
+    OMResponse omResponse = omClientResponse.getOMResponse();
+    if (omLockDetails != null) {
+      return omResponse.toBuilder()
+          .setOmLockDetails(omLockDetails.toProtobufBuilder()).build();
+    } else {
+      return omResponse;
+    }
+  }
+
   private OMResponse createErrorResponse(
-      OMRequest omRequest, IOException exception, TermIndex termIndex) {
+      OMRequest omRequest, IOException exception, ExecutionContext context) {
+    OMResponse omResponse = buildErrorResponse(omRequest, exception);
+    OMClientResponse omClientResponse = new DummyOMClientResponse(omResponse);
+    ozoneManagerDoubleBuffer.add(omClientResponse, context.getTermIndex(), context.getIndex());
+    return omResponse;
+  }
+
+  private static OMResponse buildErrorResponse(OMRequest omRequest, IOException exception) {
     OMResponse.Builder omResponseBuilder = OMResponse.newBuilder()
         .setStatus(OzoneManagerRatisUtils.exceptionToResponseStatus(exception))
         .setCmdType(omRequest.getCmdType())
@@ -627,10 +844,7 @@ private OMResponse createErrorResponse(
     if (exception.getMessage() != null) {
       omResponseBuilder.setMessage(exception.getMessage());
     }
-    OMResponse omResponse = omResponseBuilder.build();
-    OMClientResponse omClientResponse = new DummyOMClientResponse(omResponse);
-    ozoneManagerDoubleBuffer.add(omClientResponse, termIndex);
-    return omResponse;
+    return omResponseBuilder.build();
   }
 
   public void loadSnapshotInfoFromDB() throws IOException {
@@ -678,7 +892,12 @@ public OzoneManagerRequestHandler getHandler() {
 
   public void stop() {
     ozoneManagerDoubleBuffer.stop();
-    HadoopExecutors.shutdown(executorService, LOG, 5, TimeUnit.SECONDS);
+    if (executorService != null) {
+      HadoopExecutors.shutdown(executorService, LOG, 5, TimeUnit.SECONDS);
+    }
+    if (parallelApplyExecutor != null) {
+      parallelApplyExecutor.shutdown(LOG, 5, TimeUnit.SECONDS);
+    }
     HadoopExecutors.shutdown(installSnapshotExecutor, LOG, 5, TimeUnit.SECONDS);
     if (this.nettyMetrics != null) {
       this.nettyMetrics.unregister();
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.hadoop.util.concurrent.HadoopExecutors;
+import org.apache.ratis.util.Preconditions;
+import org.slf4j.Logger;
+
+/**
+ * Run tasks on a fixed number of single-threaded partitions.
+ * <p>
+ * Tasks submitted with the same partition key run one by one in submission order.
+ * Tasks submitted with a null partition key are barriers:
+ * a barrier runs after all the previously submitted tasks have completed,
+ * and before any task submitted after it.
+ * <p>
+ * This class is not threadsafe; {@link #submit} must be invoked by a single thread.
+ */
+class PartitionedApplyExecutor {
+  private final ExecutorService[] executors;
+  /** The last future submitted to each partition. */
+  private final CompletableFuture<?>[] lastSubmitted;
+
+  PartitionedApplyExecutor(int numPartitions, ThreadFactory threadFactory) {
+    Preconditions.assertTrue(numPartitions > 0, () -> "numPartitions = " + numPartitions + " <= 0");
+    this.executors = new ExecutorService[numPartitions];
+    this.lastSubmitted = new CompletableFuture<?>[numPartitions];
+    for (int i = 0; i < numPartitions; i++) {
+      executors[i] = HadoopExecutors.newSingleThreadExecutor(threadFactory);
+      lastSubmitted[i] = CompletableFuture.completedFuture(null);
+    }
+  }
+
+  int getNumPartitions() {
+    return executors.length;
+  }
+
+  /**
+   * Submit the given task.
+   * The outcome of the previous tasks does not affect whether the task runs.
+   *
+   * @param partitionKey the key to select the partition, or null for a barrier.
+   * @param task the task to run.
+   * @return a future of the task result.
+   */
+  <T> CompletableFuture<T> submit(Object partitionKey, Supplier<T> task) {
+    if (partitionKey == null) {
+      return submitBarrier(task);
+    }
+    final int i = Math.floorMod(partitionKey.hashCode(), executors.length);
+    final CompletableFuture<T> future = lastSubmitted[i].handleAsync((r, e) -> task.get(), executors[i]);
+    lastSubmitted[i] = future;
+    return future;
+  }
+
+  /**
+   * Submit a barrier depending on the given future in addition to the previously submitted tasks.
+   */
+  <T> CompletableFuture<T> submitBarrier(CompletableFuture<?> dependency, Supplier<T> task) {
+    final CompletableFuture<?>[] dependencies = Arrays.copyOf(lastSubmitted, lastSubmitted.length + 1);
+    dependencies[lastSubmitted.length] = dependency;
+    return submitBarrier(dependencies, task);
+  }
+
+  private <T> CompletableFuture<T> submitBarrier(Supplier<T> task) {
+    return submitBarrier(lastSubmitted.clone(), task);
+  }
+
+  private <T> CompletableFuture<T> submitBarrier(CompletableFuture<?>[] dependencies, Supplier<T> task) {
+    final CompletableFuture<T> future = CompletableFuture.allOf(dependencies)
+        .handleAsync((r, e) -> task.get(), executors[0]);
+    Arrays.fill(lastSubmitted, future);
+    return future;
+  }
+
+  void shutdown(Logger log, long timeout, TimeUnit unit) {
+    for (ExecutorService executor : executors) {
+      HadoopExecutors.shutdown(executor, log, timeout, unit);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.util;
+
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource.BUCKET_LOCK;
+
+import java.io.IOException;
+import org.apache.hadoop.hdds.utils.db.DBColumnFamilyDefinition;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.codec.OMDBDefinition;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.execution.flowcontrol.ExecutionContext;
+import org.apache.hadoop.ozone.om.request.OMClientRequest;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.util.OMPersistDbResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableRecord;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableUpdate;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PersistDbRequest;
+
+/**
+ * Handles PersistDb request, which carries the DB changes of a request
+ * executed on the leader, see {@link org.apache.hadoop.ozone.om.execution.LeaderExecutor}.
+ * The changes are applied to the cache with the index which the request
+ * was executed with on the leader, and then written to the DB.
+ */
+public class OMPersistDbRequest extends OMClientRequest {
+
+  public OMPersistDbRequest(OMRequest omRequest) {
+    super(omRequest);
+  }
+
+  @Override
+  public OMRequest preExecute(OzoneManager ozoneManager) throws IOException {
+    throw new OMException("PersistDb request can only be created by the leader OM",
+        OMException.ResultCodes.INVALID_REQUEST);
+  }
+
+  @Override
+  public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, ExecutionContext context) {
+    final PersistDbRequest request = getOmRequest().getPersistDbRequest();
+    final OMMetadataManager omMetadataManager = ozoneManager.getMetadataManager();
+    final OMResponse.Builder omResponse = OmResponseUtil.getOMResponseBuilder(getOmRequest());
+
+    final String volumeName = request.getVolumeName();
+    final String bucketName = request.getBucketName();
+    mergeOmLockDetails(omMetadataManager.getLock().acquireWriteLock(BUCKET_LOCK, volumeName, bucketName));
+    final boolean acquiredLock = getOmLockDetails().isLockAcquired();
+    OMClientResponse omClientResponse;
+    try {
+      for (DBTableUpdate update : request.getTableUpdatesList()) {
+        addCacheEntries(omMetadataManager, update, context.getIndex());
+      }
+      omClientResponse = new OMPersistDbResponse(omResponse.build(), request);
+    } catch (IOException ex) {
+      // The DB of this OM would diverge from the leader.
+      omClientResponse = new OMPersistDbResponse(createErrorOMResponse(omResponse,
+          new OMException(ex, OMException.ResultCodes.METADATA_ERROR)), PersistDbRequest.getDefaultInstance());
+    } finally {
+      if (acquiredLock) {
+        mergeOmLockDetails(omMetadataManager.getLock().releaseWriteLock(BUCKET_LOCK, volumeName, bucketName));
+      }
+    }
+    omClientResponse.setOmLockDetails(getOmLockDetails());
+    return omClientResponse;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K, V> void addCacheEntries(OMMetadataManager omMetadataManager, DBTableUpdate update,
+      long epoch) throws IOException {
+    final String tableName = update.getTableName();
+    final DBColumnFamilyDefinition<K, V> definition =
+        (DBColumnFamilyDefinition<K, V>) OMDBDefinition.get().getColumnFamily(tableName);
+    if (definition == null || !OMPersistDbResponse.isSupported(tableName)) {
+      throw new IOException("Unexpected table " + tableName);
+    }
+    final Table<K, V> table = omMetadataManager.getTable(tableName);
+    for (DBTableRecord record : update.getRecordsList()) {
+      final K key = definition.getKeyCodec().fromPersistedFormat(record.getKey().toByteArray());
+      final CacheValue<V> value = record.hasValue()
+          ? CacheValue.get(epoch, definition.getValueCodec().fromPersistedFormat(record.getValue().toByteArray()))
+          : CacheValue.get(epoch);
+      table.addCacheEntry(new CacheKey<>(key), value);
+    }
+  }
+}
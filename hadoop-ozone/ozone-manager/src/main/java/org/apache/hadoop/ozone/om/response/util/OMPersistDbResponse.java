@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.response.util;
+
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.BUCKET_TABLE;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.DELETED_DIR_TABLE;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.DELETED_TABLE;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.DIRECTORY_TABLE;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.FILE_TABLE;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.KEY_TABLE;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.OPEN_FILE_TABLE;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.OPEN_KEY_TABLE;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableRecord;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableUpdate;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PersistDbRequest;
+
+/**
+ * Response for PersistDb request, which writes the DB changes of a request
+ * executed on the leader.
+ */
+@CleanupTableInfo(cleanupTables = {OPEN_KEY_TABLE, KEY_TABLE, OPEN_FILE_TABLE,
+    FILE_TABLE, DIRECTORY_TABLE, DELETED_TABLE, DELETED_DIR_TABLE, BUCKET_TABLE})
+public class OMPersistDbResponse extends OMClientResponse {
+
+  private static final Set<String> TABLES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+      OMPersistDbResponse.class.getAnnotation(CleanupTableInfo.class).cleanupTables())));
+
+  private final PersistDbRequest persistDbRequest;
+
+  public OMPersistDbResponse(OMResponse omResponse, PersistDbRequest persistDbRequest) {
+    super(omResponse);
+    this.persistDbRequest = persistDbRequest;
+  }
+
+  /**
+   * @return can the changes of the given table be persisted by this response?
+   *         The cache of the other tables would not be cleaned up.
+   */
+  public static boolean isSupported(String tableName) {
+    return TABLES.contains(tableName);
+  }
+
+  /**
+   * The changes are written regardless of the status, since they have been
+   * captured from the response of the executed request.
+   */
+  @Override
+  public void checkAndUpdateDB(OMMetadataManager omMetadataManager,
+      BatchOperation batchOperation) throws IOException {
+    addToDBBatch(omMetadataManager, batchOperation);
+  }
+
+  @Override
+  protected void addToDBBatch(OMMetadataManager omMetadataManager,
+      BatchOperation batchOperation) throws IOException {
+    for (DBTableUpdate update : persistDbRequest.getTableUpdatesList()) {
+      final Table<byte[], byte[]> table = omMetadataManager.getStore().getTable(update.getTableName());
+      for (DBTableRecord record : update.getRecordsList()) {
+        if (record.hasValue()) {
+          table.putWithBatch(batchOperation, record.getKey().toByteArray(), record.getValue().toByteArray());
+        } else {
+          table.deleteWithBatch(batchOperation, record.getKey().toByteArray());
+        }
+      }
+    }
+  }
+}
@@ -184,11 +184,15 @@ public OMRequest getLastRequestToSubmit() {
 
   private OMResponse submitReadRequestToOM(OMRequest request)
       throws ServiceException {
-    // Check if this OM is the leader.
+    // Check if this OM is the leader, or can serve reads as a follower.
     RaftServerStatus raftServerStatus = omRatisServer.getLeaderStatus();
     if (raftServerStatus == LEADER_AND_READY ||
         request.getCmdType().equals(PrepareStatus)) {
       return handler.handleReadRequest(request);
+    } else if (raftServerStatus == NOT_LEADER &&
+        omRatisServer.isFollowerReadEnabled()) {
+      omRatisServer.waitForFollowerRead();
+      return handler.handleReadRequest(request);
     } else {
       throw createLeaderErrorException(raftServerStatus);
     }
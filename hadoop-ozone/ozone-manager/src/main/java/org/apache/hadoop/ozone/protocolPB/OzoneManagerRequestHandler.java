@@ -106,10 +106,13 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CheckVolumeAccessResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FileStatusEntry;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetObjectTaggingRequest;
@@ -270,6 +273,10 @@ public OMResponse handleReadRequest(OMRequest request) {
             request.getGetFileStatusRequest(), request.getVersion());
         responseBuilder.setGetFileStatusResponse(getFileStatusResponse);
         break;
+      case GetFileStatuses:
+        responseBuilder.setGetFileStatusesResponse(getOzoneFileStatuses(
+            request.getGetFileStatusesRequest(), request.getVersion()));
+        break;
       case LookupFile:
         LookupFileResponse lookupFileResponse =
             lookupFile(request.getLookupFileRequest(), request.getVersion());
@@ -1069,6 +1076,28 @@ private GetFileStatusResponse getOzoneFileStatus(
     return rb.build();
   }
 
+  private GetFileStatusesResponse getOzoneFileStatuses(
+      GetFileStatusesRequest request, int clientVersion) throws IOException {
+    OmKeyArgs omKeyArgs = new OmKeyArgs.Builder()
+        .setVolumeName(request.getVolumeName())
+        .setBucketName(request.getBucketName())
+        .setKeyName("")
+        .build();
+    List<String> keyNames = request.getKeyNamesList();
+    List<OzoneFileStatus> statuses = impl.getFileStatuses(omKeyArgs, keyNames);
+
+    GetFileStatusesResponse.Builder rb = GetFileStatusesResponse.newBuilder();
+    for (int i = 0; i < keyNames.size(); i++) {
+      FileStatusEntry.Builder entry = FileStatusEntry.newBuilder()
+          .setKeyName(keyNames.get(i));
+      if (statuses.get(i) != null) {
+        entry.setStatus(statuses.get(i).getProtobuf(clientVersion));
+      }
+      rb.addStatuses(entry);
+    }
+    return rb.build();
+  }
+
   private RangerBGSyncResponse triggerRangerBGSync(
       RangerBGSyncRequest rangerBGSyncRequest) throws IOException {
 
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.apache.hadoop.hdds.HddsConfigKeys.OZONE_METADATA_DIRS;
+import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.ONE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_LOCK_FREE_READ_ENABLED_KEY;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.KEY_TABLE;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource.BUCKET_LOCK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerDoubleBuffer;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerStateMachine;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.ratis.server.protocol.TermIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test that the key reads done without the bucket lock are consistent,
+ * while the double buffer flushes the transactions to the DB concurrently.
+ */
+public class TestKeyManagerLockFreeRead {
+
+  private static final String VOLUME = "vol";
+  private static final String BUCKET = "bucket";
+  private static final String KEY = "key";
+  private static final String DIR = "dir";
+  private static final int TRANSACTIONS = 2000;
+  private static final int READERS = 4;
+
+  @TempDir
+  private Path folder;
+  private OMMetadataManager metadataManager;
+  private OzoneManagerDoubleBuffer doubleBuffer;
+  private KeyManagerImpl keyManager;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OZONE_METADATA_DIRS, folder.toAbsolutePath().toString());
+    conf.setBoolean(OZONE_OM_LOCK_FREE_READ_ENABLED_KEY, true);
+    metadataManager = new OmMetadataManagerImpl(conf, null);
+    doubleBuffer = OzoneManagerDoubleBuffer.newBuilder()
+        .setOmMetadataManager(metadataManager)
+        .setMaxUnFlushedTransactionCount(10000)
+        .build()
+        .start();
+
+    OzoneManager om = mock(OzoneManager.class);
+    OzoneManagerRatisServer ratisServer = mock(OzoneManagerRatisServer.class);
+    OzoneManagerStateMachine stateMachine =
+        mock(OzoneManagerStateMachine.class);
+    when(om.getMetadataManager()).thenReturn(metadataManager);
+    when(om.getOmRatisServer()).thenReturn(ratisServer);
+    when(ratisServer.getOmStateMachine()).thenReturn(stateMachine);
+    when(stateMachine.getOzoneManagerDoubleBuffer()).thenReturn(doubleBuffer);
+    keyManager = new KeyManagerImpl(om, null, metadataManager, conf, null,
+        null, null);
+
+    OMRequestTestUtils.addVolumeAndBucketToDB(VOLUME, BUCKET, metadataManager,
+        BucketLayout.LEGACY);
+    getKeyTable().put(getOzoneKey(KEY), createKeyInfo(KEY, 0));
+    getKeyTable().put(getOzoneKey(getChild(0)), createKeyInfo(getChild(0), 0));
+  }
+
+  @AfterEach
+  public void stop() throws Exception {
+    doubleBuffer.stop();
+    metadataManager.stop();
+  }
+
+  /**
+   * Each transaction updates the version of a key, and replaces the only
+   * key of a directory, as the readers look them up.
+   * A read of the cache and the DB torn by a flush would miss the key
+   * of the directory, and a view mixing the epochs would go back to an
+   * older version of the key.
+   */
+  @Test
+  public void testReadsDuringFlush() throws Exception {
+    final AtomicBoolean done = new AtomicBoolean();
+    final CountDownLatch started = new CountDownLatch(READERS);
+    final ExecutorService executor = Executors.newFixedThreadPool(READERS);
+    try {
+      final List<Future<Long>> readers = new ArrayList<>();
+      for (int i = 0; i < READERS; i++) {
+        readers.add(executor.submit(() -> {
+          started.countDown();
+          return read(done);
+        }));
+      }
+      started.await();
+
+      for (int v = 1; v <= TRANSACTIONS; v++) {
+        write(v);
+      }
+      // Keep reading until all the transactions are flushed.
+      doubleBuffer.awaitFlush();
+      done.set(true);
+
+      for (Future<Long> reader : readers) {
+        assertThat(reader.get()).isGreaterThan(0);
+      }
+    } finally {
+      done.set(true);
+      executor.shutdownNow();
+    }
+
+    assertEquals(TRANSACTIONS, lookup(KEY).getKeyInfo().getDataSize());
+    assertTrue(lookup(DIR).isDirectory());
+  }
+
+  /**
+   * Updates the cache as a request of transaction v does under the bucket
+   * lock, then adds the response to the double buffer.
+   */
+  private void write(long v) throws IOException {
+    final OmKeyInfo key = createKeyInfo(KEY, v);
+    final OmKeyInfo child = createKeyInfo(getChild(v), v);
+    metadataManager.getLock().acquireWriteLock(BUCKET_LOCK, VOLUME, BUCKET);
+    try {
+      getKeyTable().addCacheEntry(getOzoneKey(KEY), key, v);
+      getKeyTable().addCacheEntry(getOzoneKey(getChild(v)), child, v);
+      getKeyTable().addCacheEntry(getOzoneKey(getChild(v - 1)), v);
+    } finally {
+      metadataManager.getLock().releaseWriteLock(BUCKET_LOCK, VOLUME, BUCKET);
+    }
+    doubleBuffer.add(new DummyKeyResponse(key, child, getChild(v - 1)),
+        TermIndex.valueOf(1, v));
+  }
+
+  /**
+   * Looks up the key and the directory until done.
+   * @return the number of reads
+   */
+  private long read(AtomicBoolean done) throws IOException {
+    long version = 0;
+    long reads = 0;
+    do {
+      final long read = lookup(KEY).getKeyInfo().getDataSize();
+      assertThat(read).isGreaterThanOrEqualTo(version);
+      version = read;
+      // Not found, if the child was read as deleted in the cache, and its
+      // replacement as not yet written to the DB.
+      assertTrue(lookup(DIR).isDirectory());
+      reads++;
+    } while (!done.get());
+    return reads;
+  }
+
+  private OzoneFileStatus lookup(String keyName) throws IOException {
+    return keyManager.getFileStatus(new OmKeyArgs.Builder()
+        .setVolumeName(VOLUME)
+        .setBucketName(BUCKET)
+        .setKeyName(keyName)
+        .setHeadOp(true)
+        .build());
+  }
+
+  private Table<String, OmKeyInfo> getKeyTable() {
+    return metadataManager.getKeyTable(BucketLayout.LEGACY);
+  }
+
+  private String getOzoneKey(String keyName) {
+    return metadataManager.getOzoneKey(VOLUME, BUCKET, keyName);
+  }
+
+  private static String getChild(long v) {
+    return DIR + "/k" + v;
+  }
+
+  /** @return the key info with the version v as its size. */
+  private static OmKeyInfo createKeyInfo(String keyName, long v) {
+    return OMRequestTestUtils.createOmKeyInfo(VOLUME, BUCKET, keyName,
+            RatisReplicationConfig.getInstance(ONE))
+        .setDataSize(v)
+        .setUpdateID(v)
+        .build();
+  }
+
+  /**
+   * Writes the key and the child of the directory of a transaction to the
+   * DB, and deletes the previous child.
+   */
+  @CleanupTableInfo(cleanupTables = {KEY_TABLE})
+  private final class DummyKeyResponse extends OMClientResponse {
+    private final OmKeyInfo key;
+    private final OmKeyInfo child;
+    private final String deletedChild;
+
+    DummyKeyResponse(OmKeyInfo key, OmKeyInfo child, String deletedChild) {
+      super(OMResponse.newBuilder()
+          .setCmdType(OzoneManagerProtocolProtos.Type.CommitKey)
+          .setStatus(OzoneManagerProtocolProtos.Status.OK)
+          .build());
+      this.key = key;
+      this.child = child;
+      this.deletedChild = deletedChild;
+    }
+
+    @Override
+    public void addToDBBatch(OMMetadataManager omMetadataManager,
+        BatchOperation batchOperation) throws IOException {
+      getKeyTable().putWithBatch(batchOperation,
+          getOzoneKey(key.getKeyName()), key);
+      getKeyTable().putWithBatch(batchOperation,
+          getOzoneKey(child.getKeyName()), child);
+      getKeyTable().deleteWithBatch(batchOperation,
+          getOzoneKey(deletedChild));
+    }
+  }
+}
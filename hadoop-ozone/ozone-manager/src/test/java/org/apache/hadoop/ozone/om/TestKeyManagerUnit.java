@@ -23,6 +23,8 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.anySet;
 import static org.mockito.Mockito.mock;
@@ -64,6 +66,7 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
@@ -115,6 +118,7 @@ void setup(@TempDir Path testDir) throws Exception {
     ExitUtils.disableSystemExit();
     OzoneConfiguration configuration = new OzoneConfiguration();
     configuration.set(HddsConfigKeys.OZONE_METADATA_DIRS, testDir.toString());
+    configuration.setInt(OMConfigKeys.OZONE_OM_GET_FILE_STATUSES_MAX_KEYS, 5);
     containerClient = mock(StorageContainerLocationProtocol.class);
     blockClient = mock(ScmBlockLocationProtocol.class);
     InnerNode.Factory factory = InnerNodeImpl.FACTORY;
@@ -767,4 +771,72 @@ public void listStatus() throws Exception {
         null, Long.MAX_VALUE, client);
     verify(containerClient, times(1)).getContainerWithPipelineBatch(anySet());
   }
+
+  @Test
+  public void getFileStatuses() throws Exception {
+    String volume = volumeName();
+    String bucket = "bucket";
+    String client = "client.host";
+
+    OMRequestTestUtils.addVolumeToDB(volume, OzoneConsts.OZONE,
+        metadataManager);
+    OMRequestTestUtils.addBucketToDB(volume, bucket, metadataManager);
+
+    final Pipeline pipeline = MockPipeline.createPipeline(3);
+    Set<Long> containerIDs = new HashSet<>();
+    List<ContainerWithPipeline> containersWithPipeline = new ArrayList<>();
+    for (long i = 1; i <= 3; i++) {
+      final long containerID = CONTAINER_ID.incrementAndGet();
+      containersWithPipeline.add(new ContainerWithPipeline(
+          new ContainerInfo.Builder().setContainerID(containerID).build(),
+          pipeline));
+      containerIDs.add(containerID);
+
+      OmKeyInfo keyInfo = new OmKeyInfo.Builder()
+          .setVolumeName(volume)
+          .setBucketName(bucket)
+          .setCreationTime(Time.now())
+          .setOmKeyLocationInfos(singletonList(
+              new OmKeyLocationInfoGroup(0, new ArrayList<>())))
+          .setReplicationConfig(RatisReplicationConfig
+              .getInstance(ReplicationFactor.THREE))
+          .setKeyName("key" + i)
+          .setObjectID(i)
+          .setUpdateID(i)
+          .build();
+      keyInfo.appendNewBlocks(singletonList(new OmKeyLocationInfo.Builder()
+          .setBlockID(new BlockID(containerID, 1L))
+          .setPipeline(pipeline)
+          .setLength(256000)
+          .build()), false);
+      OMRequestTestUtils.addKeyToOM(metadataManager, keyInfo);
+    }
+
+    when(containerClient.getContainerWithPipelineBatch(containerIDs))
+        .thenReturn(containersWithPipeline);
+
+    OmKeyArgs args = new OmKeyArgs.Builder()
+        .setVolumeName(volume)
+        .setBucketName(bucket)
+        .setKeyName("")
+        .setSortDatanodesInPipeline(true)
+        .build();
+    List<OzoneFileStatus> statuses = keyManager.getFileStatuses(args,
+        Arrays.asList("key3", "missing", "key1", "key2", "key3"), client);
+
+    assertEquals(5, statuses.size());
+    assertEquals("key3", statuses.get(0).getKeyInfo().getKeyName());
+    assertNull(statuses.get(1));
+    assertEquals("key1", statuses.get(2).getKeyInfo().getKeyName());
+    assertEquals("key2", statuses.get(3).getKeyInfo().getKeyName());
+    assertEquals("key3", statuses.get(4).getKeyInfo().getKeyName());
+    assertTrue(statuses.get(0).isFile());
+    // The pipelines of all the keys are refreshed together.
+    verify(containerClient).getContainerWithPipelineBatch(containerIDs);
+
+    // The number of keys in a request is limited.
+    final OMException e = assertThrows(OMException.class, () -> keyManager.getFileStatuses(args,
+        Arrays.asList("key1", "key2", "key3", "key4", "key5", "key6"), client));
+    assertEquals(OMException.ResultCodes.INVALID_REQUEST, e.getResult());
+  }
 }
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import org.apache.hadoop.ozone.om.ListIterator.ClosableIterator;
+import org.apache.hadoop.ozone.om.ListIterator.HeapEntry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the listings kept open by ListCursorCache.
+ */
+public class TestListCursorCache {
+
+  private static final String PREFIX = "/1/2/3/";
+
+  @Test
+  public void continuesFromLastEntry() throws IOException {
+    ListCursorCache cache = new ListCursorCache(10, 60_000);
+    TestIterator listing = new TestIterator("b", "c");
+
+    cache.put(entry("a"), PREFIX, listing);
+    assertEquals(1, cache.size());
+    assertNull(cache.take(ListCursorCache.getKey(PREFIX, PREFIX + "b")));
+
+    ClosableIterator continued =
+        cache.take(ListCursorCache.getKey(PREFIX, PREFIX + "a"));
+    assertEquals(PREFIX + "a", continued.next().getKey());
+    assertEquals(PREFIX + "b", continued.next().getKey());
+    // A listing is only continued once.
+    assertNull(cache.take(ListCursorCache.getKey(PREFIX, PREFIX + "a")));
+
+    // The same listing is kept again for the next page.
+    cache.put(entry("b"), PREFIX, continued);
+    continued = cache.take(ListCursorCache.getKey(PREFIX, PREFIX + "b"));
+    assertEquals(PREFIX + "b", continued.next().getKey());
+    assertEquals(PREFIX + "c", continued.next().getKey());
+    assertFalse(continued.hasNext());
+    assertFalse(listing.closed);
+  }
+
+  @Test
+  public void closesEvictedListings() throws IOException {
+    ListCursorCache cache = new ListCursorCache(1, 60_000);
+    TestIterator first = new TestIterator("b");
+    TestIterator second = new TestIterator("y");
+
+    cache.put(entry("a"), PREFIX, first);
+    cache.put(entry("x"), PREFIX, second);
+    assertTrue(first.closed);
+    assertEquals(1, cache.size());
+
+    cache.close();
+    assertTrue(second.closed);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void closesListingsIfDisabled() throws IOException {
+    ListCursorCache cache = new ListCursorCache(0, 60_000);
+    TestIterator listing = new TestIterator("b");
+
+    assertFalse(cache.isEnabled());
+    cache.put(entry("a"), PREFIX, listing);
+    assertTrue(listing.closed);
+    assertNull(cache.take(ListCursorCache.getKey(PREFIX, PREFIX + "a")));
+  }
+
+  private static HeapEntry entry(String name) {
+    return new HeapEntry(0, "fileTable", PREFIX + name, name);
+  }
+
+  private static final class TestIterator implements ClosableIterator {
+    private final Iterator<String> names;
+    private boolean closed;
+
+    private TestIterator(String... names) {
+      this.names = Arrays.asList(names).iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return names.hasNext();
+    }
+
+    @Override
+    public HeapEntry next() {
+      return entry(names.next());
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
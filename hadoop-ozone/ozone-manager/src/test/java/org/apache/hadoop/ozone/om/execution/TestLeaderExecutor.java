@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.execution;
+
+import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.ONE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_DIRS;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.BUCKET_TABLE;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.KEY_TABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.Map;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.execution.flowcontrol.ExecutionContext;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.apache.hadoop.ozone.om.request.util.OMPersistDbRequest;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeyDeleteResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableRecord;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableUpdate;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PersistDbRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.ratis.server.protocol.TermIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test that the DB changes of a request executed on the leader,
+ * see {@link LeaderExecutor}, are applied the same by the other OMs.
+ */
+public class TestLeaderExecutor {
+
+  private static final String VOLUME = "vol";
+  private static final String BUCKET = "bucket";
+  private static final String KEY = "key";
+  private static final long INDEX = 100;
+
+  @TempDir
+  private Path folder;
+  private OMMetadataManager leader;
+  private OMMetadataManager follower;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    leader = newMetadataManager("leader");
+    follower = newMetadataManager("follower");
+  }
+
+  @AfterEach
+  public void stop() throws Exception {
+    leader.stop();
+    follower.stop();
+  }
+
+  private OMMetadataManager newMetadataManager(String name) throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OZONE_OM_DB_DIRS, folder.resolve(name).toAbsolutePath().toString());
+    OMMetadataManager metadataManager = new OmMetadataManagerImpl(conf, null);
+    OMRequestTestUtils.addVolumeAndBucketToDB(VOLUME, BUCKET, metadataManager, BucketLayout.LEGACY);
+    OMRequestTestUtils.addKeyToTable(false, VOLUME, BUCKET, KEY, 0L,
+        RatisReplicationConfig.getInstance(ONE), metadataManager);
+    return metadataManager;
+  }
+
+  @Test
+  public void testPersistDb() throws Exception {
+    // Execute a key delete on the leader.
+    final String ozoneKey = leader.getOzoneKey(VOLUME, BUCKET, KEY);
+    final OmKeyInfo keyInfo = leader.getKeyTable(BucketLayout.LEGACY).get(ozoneKey);
+    final OmBucketInfo bucketInfo = leader.getBucketTable().get(leader.getBucketKey(VOLUME, BUCKET))
+        .toBuilder().setUsedNamespace(10).build();
+    final OMClientResponse executed = new OMKeyDeleteResponse(OMResponse.newBuilder()
+        .setCmdType(Type.DeleteKey)
+        .setStatus(Status.OK)
+        .build(), keyInfo, bucketInfo, null);
+
+    final PersistDbRequest.Builder persistDb = PersistDbRequest.newBuilder()
+        .setIndex(INDEX)
+        .setVolumeName(VOLUME)
+        .setBucketName(BUCKET);
+    final Map<String, DBTableUpdate.Builder> updates = LeaderExecutor.getDBUpdates(leader, executed);
+    assertThat(updates).containsKeys(KEY_TABLE, BUCKET_TABLE);
+    updates.values().forEach(persistDb::addTableUpdates);
+    final OMRequest request = OMRequest.newBuilder()
+        .setCmdType(Type.PersistDb)
+        .setClientId("client")
+        .setPersistDbRequest(persistDb)
+        .build();
+
+    // Apply the changes on the follower.
+    final OzoneManager om = mock(OzoneManager.class);
+    when(om.getMetadataManager()).thenReturn(follower);
+    final OMClientResponse applied = new OMPersistDbRequest(request)
+        .validateAndUpdateCache(om, ExecutionContext.of(INDEX, TermIndex.valueOf(1, INDEX + 2)));
+    assertEquals(Status.OK, applied.getOMResponse().getStatus());
+
+    // The cache is updated with the index of the execution.
+    final CacheValue<OmKeyInfo> deleted = follower.getKeyTable(BucketLayout.LEGACY)
+        .getCacheValue(new CacheKey<>(ozoneKey));
+    assertNotNull(deleted);
+    assertNull(deleted.getCacheValue());
+    assertEquals(INDEX, deleted.getEpoch());
+    assertEquals(10, follower.getBucketTable().get(follower.getBucketKey(VOLUME, BUCKET)).getUsedNamespace());
+
+    // The DBs are the same after the changes are written.
+    commit(leader, executed);
+    commit(follower, applied);
+    for (DBTableUpdate update : request.getPersistDbRequest().getTableUpdatesList()) {
+      final Table<byte[], byte[]> leaderTable = leader.getStore().getTable(update.getTableName());
+      final Table<byte[], byte[]> followerTable = follower.getStore().getTable(update.getTableName());
+      for (DBTableRecord record : update.getRecordsList()) {
+        final byte[] key = record.getKey().toByteArray();
+        assertArrayEquals(leaderTable.get(key), followerTable.get(key));
+      }
+    }
+    assertNull(follower.getKeyTable(BucketLayout.LEGACY).getSkipCache(ozoneKey));
+  }
+
+  @Test
+  public void testClientCannotSubmitPersistDb() {
+    final OMRequest request = OMRequest.newBuilder()
+        .setCmdType(Type.PersistDb)
+        .setClientId("client")
+        .setPersistDbRequest(PersistDbRequest.newBuilder()
+            .setIndex(INDEX)
+            .setVolumeName(VOLUME)
+            .setBucketName(BUCKET))
+        .build();
+    final OMException e = assertThrows(OMException.class,
+        () -> new OMPersistDbRequest(request).preExecute(mock(OzoneManager.class)));
+    assertEquals(OMException.ResultCodes.INVALID_REQUEST, e.getResult());
+  }
+
+  private static void commit(OMMetadataManager metadataManager, OMClientResponse response) throws Exception {
+    try (BatchOperation batch = metadataManager.getStore().initBatchOperation()) {
+      response.checkAndUpdateDB(metadataManager, batch);
+      metadataManager.getStore().commitBatchOperation(batch);
+    }
+  }
+}
@@ -107,9 +107,9 @@ public void testUnknownRequestHandling()
     OMMetadataManager omMetadataManager = new OmMetadataManagerImpl(ozoneConfiguration,
         ozoneManager);
     when(ozoneManager.getMetadataManager()).thenReturn(omMetadataManager);
+    when(ozoneManager.getConfiguration()).thenReturn(ozoneConfiguration);
     OMExecutionFlow omExecutionFlow = new OMExecutionFlow(ozoneManager);
     when(ozoneManager.getOmExecutionFlow()).thenReturn(omExecutionFlow);
-    when(ozoneManager.getConfiguration()).thenReturn(ozoneConfiguration);
     final OmConfig omConfig = ozoneConfiguration.getObject(OmConfig.class);
     when(ozoneManager.getConfig()).thenReturn(omConfig);
 
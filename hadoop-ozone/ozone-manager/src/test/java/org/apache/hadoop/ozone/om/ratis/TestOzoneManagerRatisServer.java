@@ -49,7 +49,9 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.security.OMCertificateClient;
 import org.apache.ozone.test.GenericTestUtils.LogCapturer;
+import org.apache.ratis.conf.RaftProperties;
 import org.apache.ratis.protocol.RaftGroupId;
+import org.apache.ratis.server.RaftServerConfigKeys;
 import org.apache.ratis.server.protocol.TermIndex;
 import org.apache.ratis.statemachine.SnapshotInfo;
 import org.apache.ratis.util.ExitUtils;
@@ -194,6 +196,21 @@ public void testIsReadOnlyCapturesAllCmdTypeEnums() throws Exception {
     }
   }
 
+  @Test
+  public void testFollowerReadProperties(@TempDir Path ratisDir) {
+    OzoneConfiguration newConf = new OzoneConfiguration();
+    RaftProperties properties = OzoneManagerRatisServer.newRaftProperties(
+        newConf, 0, ratisDir.toString());
+    assertEquals(RaftServerConfigKeys.Read.Option.DEFAULT,
+        RaftServerConfigKeys.Read.option(properties));
+
+    newConf.setBoolean(OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED_KEY, true);
+    properties = OzoneManagerRatisServer.newRaftProperties(
+        newConf, 0, ratisDir.toString());
+    assertEquals(RaftServerConfigKeys.Read.Option.LINEARIZABLE,
+        RaftServerConfigKeys.Read.option(properties));
+  }
+
   @Test
   public void verifyRaftGroupIdGenerationWithDefaultOmServiceId() throws
       Exception {
@@ -20,6 +20,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
@@ -40,6 +41,8 @@
 import org.apache.hadoop.ozone.om.OzoneManagerPrepareState;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.OMRatisHelper;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
@@ -263,6 +266,44 @@ public void testApplyTransactionExceptionAuditLog() throws Exception {
     }
   }
 
+  @Test
+  public void testApplyPartitionKey() throws Exception {
+    final OMMetadataManager omMetadataManager = ozoneManagerStateMachine.getHandler()
+        .getOzoneManager().getMetadataManager();
+    OMRequestTestUtils.addBucketToDB("volume", "bucket", omMetadataManager);
+    OMRequestTestUtils.addBucketToDB(omMetadataManager, OmBucketInfo.newBuilder()
+        .setVolumeName("volume").setBucketName("link")
+        .setSourceVolume("volume").setSourceBucket("bucket"));
+
+    final OMRequest.Builder createKey = OMRequest.newBuilder()
+        .setCmdType(Type.CreateKey)
+        .setClientId("123");
+    final KeyArgs.Builder args = KeyArgs.newBuilder()
+        .setVolumeName("volume")
+        .setBucketName("bucket")
+        .setKeyName("key");
+    createKey.setCreateKeyRequest(CreateKeyRequest.newBuilder().setKeyArgs(args));
+    assertEquals(omMetadataManager.getBucketKey("volume", "bucket"),
+        ozoneManagerStateMachine.getApplyPartitionKey(createKey.build()));
+
+    // link buckets and non-existing buckets are barriers
+    args.setBucketName("link");
+    createKey.setCreateKeyRequest(CreateKeyRequest.newBuilder().setKeyArgs(args));
+    assertNull(ozoneManagerStateMachine.getApplyPartitionKey(createKey.build()));
+    args.setBucketName("nonExisting");
+    createKey.setCreateKeyRequest(CreateKeyRequest.newBuilder().setKeyArgs(args));
+    assertNull(ozoneManagerStateMachine.getApplyPartitionKey(createKey.build()));
+
+    // requests not bound to a single bucket are barriers
+    final OMRequest deleteBucket = OMRequest.newBuilder()
+        .setCmdType(Type.DeleteBucket)
+        .setClientId("123")
+        .setDeleteBucketRequest(OzoneManagerProtocolProtos.DeleteBucketRequest.newBuilder()
+            .setVolumeName("volume").setBucketName("bucket"))
+        .build();
+    assertNull(ozoneManagerStateMachine.getApplyPartitionKey(deleteBucket));
+  }
+
   private TransactionContext mockTransactionContext(OMRequest request) {
     RaftProtos.StateMachineLogEntryProto logEntry =
         RaftProtos.StateMachineLogEntryProto.newBuilder()
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test {@link PartitionedApplyExecutor}.
+ */
+public class TestPartitionedApplyExecutor {
+  private static final Logger LOG = LoggerFactory.getLogger(TestPartitionedApplyExecutor.class);
+
+  private PartitionedApplyExecutor executor;
+
+  @BeforeEach
+  public void setup() {
+    executor = new PartitionedApplyExecutor(4, new ThreadFactoryBuilder()
+        .setDaemon(true).setNameFormat("TestApply-%d").build());
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdown(LOG, 5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testSamePartitionInOrder() throws Exception {
+    final List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+    CompletableFuture<Integer> last = null;
+    for (int i = 0; i < 100; i++) {
+      final int index = i;
+      last = executor.submit("bucket", () -> {
+        applied.add(index);
+        return index;
+      });
+    }
+    assertEquals(99, last.get(10, TimeUnit.SECONDS));
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, applied.get(i));
+    }
+  }
+
+  @Test
+  public void testDifferentPartitionsInParallel() throws Exception {
+    // find a key which is not mapped to the same partition as "slow"
+    String fastKey = null;
+    for (int i = 0; fastKey == null; i++) {
+      final String key = "bucket" + i;
+      if (Math.floorMod(key.hashCode(), 4) != Math.floorMod("slow".hashCode(), 4)) {
+        fastKey = key;
+      }
+    }
+
+    final CountDownLatch latch = new CountDownLatch(1);
+    final CompletableFuture<Boolean> slow = executor.submit("slow", () -> {
+      try {
+        return latch.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    });
+    // the fast task is not blocked by the slow task in another partition
+    executor.submit(fastKey, () -> null).get(10, TimeUnit.SECONDS);
+    assertFalse(slow.isDone());
+    latch.countDown();
+    assertTrue(slow.get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testBarrier() throws Exception {
+    final List<String> applied = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch latch = new CountDownLatch(1);
+    executor.submit("slow", () -> {
+      try {
+        latch.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      applied.add("slow");
+      return null;
+    });
+    final CompletableFuture<Object> barrier = executor.submit(null, () -> applied.add("barrier"));
+    final List<CompletableFuture<Boolean>> afterBarrier = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      final String key = "bucket" + i;
+      afterBarrier.add(executor.submit(key, () -> applied.add(key)));
+    }
+
+    // neither the barrier nor the tasks after it run before the slow task
+    TimeUnit.MILLISECONDS.sleep(100);
+    assertFalse(barrier.isDone());
+    assertTrue(applied.isEmpty());
+
+    latch.countDown();
+    for (CompletableFuture<Boolean> f : afterBarrier) {
+      f.get(10, TimeUnit.SECONDS);
+    }
+    assertEquals(12, applied.size());
+    assertEquals("slow", applied.get(0));
+    assertEquals("barrier", applied.get(1));
+  }
+
+  @Test
+  public void testFailureDoesNotBlockLaterTasks() throws Exception {
+    final CompletableFuture<Object> failed = executor.submit("bucket", () -> {
+      throw new IllegalStateException("test");
+    });
+    assertEquals(1, executor.submit("bucket", () -> 1).get(10, TimeUnit.SECONDS));
+    assertEquals(2, executor.submit(null, () -> 2).get(10, TimeUnit.SECONDS));
+    assertTrue(failed.isCompletedExceptionally());
+  }
+}
@@ -22,14 +22,23 @@
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.ReadOnlyBufferException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
 import org.apache.hadoop.fs.ByteBufferPositionedReadable;
 import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.CanUnbuffer;
 import org.apache.hadoop.fs.FSInputStream;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem.Statistics;
 import org.apache.hadoop.fs.Seekable;
+import org.apache.hadoop.fs.VectoredReadUtils;
+import org.apache.hadoop.fs.impl.CombinedFileRange;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.hdds.annotation.InterfaceStability;
+import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 
 /**
@@ -199,4 +208,56 @@ public void readFully(long position, ByteBuffer buf) throws IOException {
       }
     }
   }
+
+  /**
+   * Read the given ranges asynchronously.
+   * <p>
+   * The nearby ranges are merged
+   * as specified by {@link #minSeekForVectorReads()} and {@link #maxReadSizeForVectorReads()}.
+   * For a key stream, the merged ranges are grouped by block and the blocks are read in parallel,
+   * see {@link MultipartInputStream#readRanges(long[], List)}.
+   * Other streams fall back to reading the ranges one by one.
+   *
+   * @param ranges the byte ranges to read.
+   * @param allocate the function to allocate the buffers.
+   * @throws IOException if the ranges are invalid or the reads cannot be started.
+   */
+  @Override
+  public void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    if (!(inputStream instanceof MultipartInputStream)) {
+      super.readVectored(ranges, allocate);
+      return;
+    }
+    try (TracingUtil.TraceCloseable ignored = TracingUtil.createActivatedSpan("OzoneFSInputStream.readVectored")) {
+      final MultipartInputStream in = (MultipartInputStream) inputStream;
+      final List<? extends FileRange> sorted = VectoredReadUtils.validateAndSortRanges(
+          ranges, Optional.of(in.getLength()));
+      final List<CombinedFileRange> merged = VectoredReadUtils.mergeSortedRanges(
+          sorted, 1, minSeekForVectorReads(), maxReadSizeForVectorReads());
+
+      final long[] positions = new long[merged.size()];
+      final List<ByteBuffer> buffers = new ArrayList<>(merged.size());
+      for (int i = 0; i < positions.length; i++) {
+        positions[i] = merged.get(i).getOffset();
+        buffers.add(allocate.apply(merged.get(i).getLength()));
+      }
+      final List<CompletableFuture<Void>> futures = in.readRanges(positions, buffers);
+
+      for (int i = 0; i < positions.length; i++) {
+        final CombinedFileRange combined = merged.get(i);
+        final ByteBuffer buffer = buffers.get(i);
+        final CompletableFuture<ByteBuffer> read = futures.get(i).thenApply(v -> {
+          if (statistics != null) {
+            statistics.incrementBytesRead(combined.getLength());
+          }
+          return buffer;
+        });
+        for (FileRange range : combined.getUnderlying()) {
+          range.setData(read.thenApply(
+              data -> VectoredReadUtils.sliceTo(data, combined.getOffset(), range)));
+        }
+      }
+    }
+  }
 }
@@ -19,6 +19,7 @@
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
@@ -28,12 +29,16 @@
 
 import com.google.common.collect.ImmutableList;
 import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.IntFunction;
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.hadoop.conf.Configuration;
@@ -41,8 +46,12 @@
 import org.apache.hadoop.crypto.CryptoCodec;
 import org.apache.hadoop.crypto.CryptoInputStream;
 import org.apache.hadoop.crypto.Decryptor;
+import org.apache.hadoop.fs.ByteBufferReadable;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.StreamCapabilities;
+import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
+import org.apache.hadoop.hdds.scm.storage.PartInputStream;
 import org.apache.hadoop.ozone.client.io.KeyInputStream;
 import org.junit.jupiter.api.Test;
 
@@ -164,6 +173,48 @@ public void testCryptoStreamUnbuffer()
     }
   }
 
+  @Test
+  public void testReadVectored() throws Exception {
+    final int partLength = 100_000;
+    final byte[] source = RandomUtils.secure().randomBytes(3 * partLength);
+    final List<ByteArrayPart> parts = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      parts.add(new ByteArrayPart(
+          Arrays.copyOfRange(source, i * partLength, (i + 1) * partLength)));
+    }
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    final FileSystem.Statistics statistics = new FileSystem.Statistics("test");
+    try (OzoneFSInputStream subject = new OzoneFSInputStream(
+        new MultipartInputStream("key", parts, null, executor), statistics)) {
+      subject.seek(50);
+      // the first two ranges are merged; the third range spans two parts
+      final List<FileRange> ranges = Arrays.asList(
+          FileRange.createFileRange(250_000, 50),
+          FileRange.createFileRange(10, 10),
+          FileRange.createFileRange(25, 10),
+          FileRange.createFileRange(99_995, 20));
+      subject.readVectored(ranges, ByteBuffer::allocate);
+
+      for (FileRange range : ranges) {
+        final ByteBuffer data = range.getData().get();
+        final byte[] content = new byte[data.remaining()];
+        data.get(content);
+        assertArrayEquals(Arrays.copyOfRange(source, (int) range.getOffset(),
+            (int) range.getOffset() + range.getLength()), content);
+      }
+      assertEquals(50, subject.getPos());
+      assertEquals(50, parts.get(0).getPos());
+      assertEquals(0, parts.get(2).getPos());
+      assertEquals(25 + 20 + 50, statistics.getBytesRead());
+
+      assertThrows(EOFException.class, () -> subject.readVectored(
+          Arrays.asList(FileRange.createFileRange(299_990, 20)),
+          ByteBuffer::allocate));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   private static OzoneFSInputStream createTestSubject(InputStream input) {
     return new OzoneFSInputStream(input,
         new FileSystem.Statistics("test"));
@@ -187,4 +238,47 @@ public int read() {
     };
   }
 
+  /** A part of a {@link MultipartInputStream} reading from a byte array. */
+  private static class ByteArrayPart extends ByteArrayInputStream
+      implements PartInputStream, ByteBufferReadable {
+
+    ByteArrayPart(byte[] data) {
+      super(data);
+    }
+
+    @Override
+    public long getLength() {
+      return count;
+    }
+
+    @Override
+    public synchronized long getPos() {
+      return pos;
+    }
+
+    @Override
+    public synchronized void seek(long position) {
+      pos = (int) position;
+    }
+
+    @Override
+    public boolean seekToNewSource(long targetPos) {
+      return false;
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer target) {
+      final int n = Math.min(target.remaining(), available());
+      if (n == 0) {
+        return target.hasRemaining() ? -1 : 0;
+      }
+      target.put(buf, pos, n);
+      pos += n;
+      return n;
+    }
+
+    @Override
+    public void unbuffer() {
+    }
+  }
 }
@@ -525,6 +525,12 @@ public OzoneFileStatus getOzoneFileStatus(String volumeName,
     return null;
   }
 
+  @Override
+  public List<OzoneFileStatus> getOzoneFileStatuses(String volumeName,
+      String bucketName, List<String> keyNames) throws IOException {
+    return null;
+  }
+
   @Override
   public void createDirectory(String volumeName, String bucketName,
                               String keyName) throws IOException {